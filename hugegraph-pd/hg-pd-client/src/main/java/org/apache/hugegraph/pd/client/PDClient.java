@@ -212,6 +212,7 @@ public class PDClient {
     private synchronized void closeStub(boolean closeWatcher) {
         stubProxy.set(null);
         cache.reset();
+        eventListeners.forEach(PDEventListener::onCacheReset);
 
         if (closeWatcher) {
             if (partitionWatcher != null) {
@@ -1295,6 +1296,13 @@ public class PDClient {
         default void onShardGroupChanged(WatchResponse event) {
         }
 
+        /**
+         * Called when the cache is reset, like the watch is broken,
+         * the events before the watch is recovered may be lost
+         */
+        default void onCacheReset() {
+        }
+
     }
 
     static class StubProxy {
@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.pd;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.hugegraph.pd.common.KVPair;
+import org.apache.hugegraph.pd.grpc.Metapb;
+
+/**
+ * Plan the moves of partition shards and leaders between stores by the load
+ * of stores rather than the counts of shards and leaders.
+ * <p>
+ * The load of a store is a vector of the shards count, the bytes, the write
+ * rate, the read rate and the leaders count, the writes are applied by all
+ * the shards of a partition and the reads are served by the leader. The cost
+ * of a store is the sum of its load normalized by the average load of all
+ * stores, so that the dimensions are comparable and the dimension without
+ * any load is ignored.
+ * <p>
+ * The moves are planned greedily: take the store of the peak cost, move one
+ * of its shards (or leaders) to the store which minimizes the peak cost of
+ * the two stores, until no move can lower the peak or the moves reach the
+ * limit. A move is planned only if it strictly lowers the cost of the source
+ * store without making the target exceed it, so the plans converge rather
+ * than move partitions back and forth between rounds.
+ */
+public class LoadBalancePlanner {
+
+    private static final int SHARDS = 0;
+    private static final int BYTES = 1;
+    private static final int WRITES = 2;
+    private static final int READS = 3;
+    private static final int LEADERS = 4;
+    private static final int DIMENSIONS = 5;
+
+    private static final double EPSILON = 1e-9;
+
+    // Store id -> (partition id -> whether the shard is leader)
+    private final Map<Long, Map<Integer, Boolean>> stores;
+    // Partition id -> bytes, write rate and read rate
+    private final Map<Integer, double[]> partitions;
+
+    public LoadBalancePlanner() {
+        // Sorted to make the plans stable
+        this.stores = new TreeMap<>();
+        this.partitions = new HashMap<>();
+    }
+
+    public void addStore(long storeId) {
+        this.stores.putIfAbsent(storeId, new TreeMap<>());
+    }
+
+    public void addShard(long storeId, int partitionId, boolean leader) {
+        this.addStore(storeId);
+        this.stores.get(storeId).put(partitionId, leader);
+    }
+
+    public void setPartitionLoad(int partitionId, double bytes,
+                                 double writeRate, double readRate) {
+        this.partitions.put(partitionId,
+                            new double[]{bytes, writeRate, readRate});
+    }
+
+    /**
+     * Add the load of partitions estimated by the stats reported by a store:
+     * the bytes of a partition are the max size reported by its shards, and
+     * the keys read/written by the store in the reported interval are shared
+     * by its leaders/shards in proportion to the keys of the partitions.
+     */
+    public void addStoreStats(Metapb.StoreStats stats) {
+        // Partition id -> bytes, keys and whether it's leader in the store
+        Map<Integer, double[]> shards = new HashMap<>();
+        double keys = 0;
+        double leaderKeys = 0;
+        for (Metapb.GraphStats graphStats : stats.getGraphStatsList()) {
+            double[] shard = shards.computeIfAbsent(graphStats.getPartitionId(),
+                                                    k -> new double[3]);
+            shard[0] += graphStats.getApproximateSize();
+            shard[1] += graphStats.getApproximateKeys();
+            keys += graphStats.getApproximateKeys();
+            if (graphStats.getRole() == Metapb.ShardRole.Leader) {
+                shard[2] = 1;
+                leaderKeys += graphStats.getApproximateKeys();
+            }
+        }
+
+        long seconds = stats.getInterval().getEndTimestamp() -
+                       stats.getInterval().getStartTimestamp();
+        double writeRate = seconds > 0 ? (double) stats.getKeysWritten() / seconds : 0;
+        double readRate = seconds > 0 ? (double) stats.getKeysRead() / seconds : 0;
+        for (Map.Entry<Integer, double[]> e : shards.entrySet()) {
+            double[] shard = e.getValue();
+            double[] load = this.partitions.computeIfAbsent(e.getKey(), k -> new double[3]);
+            load[0] = Math.max(load[0], shard[0]);
+            if (keys > 0) {
+                load[1] = Math.max(load[1], writeRate * shard[1] / keys);
+            }
+            if (shard[2] > 0 && leaderKeys > 0) {
+                load[2] += readRate * shard[1] / leaderKeys;
+            }
+        }
+    }
+
+    /**
+     * Plan the moves of shards from the overloaded stores to the others
+     *
+     * @param maxMoves          the max number of shards to be moved
+     * @param maxShardsPerStore the max number of shards of a store
+     * @return partition id -> (source store id, target store id)
+     */
+    public Map<Integer, KVPair<Long, Long>> planShardMoves(int maxMoves,
+                                                           int maxShardsPerStore) {
+        Map<Integer, KVPair<Long, Long>> moves = new LinkedHashMap<>();
+        if (this.stores.size() < 2) {
+            return moves;
+        }
+        Map<Long, double[]> loads = this.storeLoads();
+        double[] means = means(loads);
+
+        while (moves.size() < maxMoves) {
+            long source = peakStore(loads, means);
+            double sourceCost = cost(loads.get(source), means);
+
+            int bestPartition = -1;
+            long bestTarget = -1L;
+            double bestPeak = sourceCost;
+            double bestTargetCost = Double.MAX_VALUE;
+            for (Map.Entry<Integer, Boolean> shard :
+                    this.stores.get(source).entrySet()) {
+                int partitionId = shard.getKey();
+                if (moves.containsKey(partitionId)) {
+                    // Move a partition once in a round
+                    continue;
+                }
+                double[] delta = this.shardLoad(partitionId, shard.getValue());
+                double sourcePeak = cost(loads.get(source), delta, -1, means);
+                for (Map.Entry<Long, Map<Integer, Boolean>> e :
+                        this.stores.entrySet()) {
+                    long target = e.getKey();
+                    if (target == source || e.getValue().containsKey(partitionId) ||
+                        e.getValue().size() >= maxShardsPerStore) {
+                        continue;
+                    }
+                    double targetCost = cost(loads.get(target), delta, 1, means);
+                    double peak = Math.max(sourcePeak, targetCost);
+                    if (better(peak, targetCost, bestPeak, bestTargetCost,
+                               bestPartition >= 0)) {
+                        bestPeak = peak;
+                        bestTargetCost = targetCost;
+                        bestPartition = partitionId;
+                        bestTarget = target;
+                    }
+                }
+            }
+            if (bestPartition < 0) {
+                break;
+            }
+
+            Boolean leader = this.stores.get(source).remove(bestPartition);
+            this.stores.get(bestTarget).put(bestPartition, leader);
+            double[] delta = this.shardLoad(bestPartition, leader);
+            add(loads.get(source), delta, -1);
+            add(loads.get(bestTarget), delta, 1);
+            moves.put(bestPartition, new KVPair<>(source, bestTarget));
+        }
+        return moves;
+    }
+
+    /**
+     * Plan the transfers of leaders from the overloaded stores to the stores
+     * of the followers
+     *
+     * @param maxTransfers the max number of leaders to be transferred
+     * @return partition id -> target store id
+     */
+    public Map<Integer, Long> planLeaderTransfers(int maxTransfers) {
+        Map<Integer, Long> transfers = new LinkedHashMap<>();
+        if (this.stores.size() < 2) {
+            return transfers;
+        }
+        Map<Long, double[]> loads = this.storeLoads();
+        double[] means = means(loads);
+
+        while (transfers.size() < maxTransfers) {
+            long source = peakStore(loads, means);
+            double sourceCost = cost(loads.get(source), means);
+
+            int bestPartition = -1;
+            long bestTarget = -1L;
+            double bestPeak = sourceCost;
+            double bestTargetCost = Double.MAX_VALUE;
+            for (Map.Entry<Integer, Boolean> shard :
+                    this.stores.get(source).entrySet()) {
+                int partitionId = shard.getKey();
+                if (!shard.getValue() || transfers.containsKey(partitionId)) {
+                    continue;
+                }
+                double[] delta = this.leaderLoad(partitionId);
+                double sourcePeak = cost(loads.get(source), delta, -1, means);
+                for (Map.Entry<Long, Map<Integer, Boolean>> e :
+                        this.stores.entrySet()) {
+                    long target = e.getKey();
+                    if (target == source || !e.getValue().containsKey(partitionId)) {
+                        continue;
+                    }
+                    double targetCost = cost(loads.get(target), delta, 1, means);
+                    double peak = Math.max(sourcePeak, targetCost);
+                    if (better(peak, targetCost, bestPeak, bestTargetCost,
+                               bestPartition >= 0)) {
+                        bestPeak = peak;
+                        bestTargetCost = targetCost;
+                        bestPartition = partitionId;
+                        bestTarget = target;
+                    }
+                }
+            }
+            if (bestPartition < 0) {
+                break;
+            }
+
+            this.stores.get(source).put(bestPartition, false);
+            this.stores.get(bestTarget).put(bestPartition, true);
+            double[] delta = this.leaderLoad(bestPartition);
+            add(loads.get(source), delta, -1);
+            add(loads.get(bestTarget), delta, 1);
+            transfers.put(bestPartition, bestTarget);
+        }
+        return transfers;
+    }
+
+    /**
+     * Get the costs of stores, the average cost is the number of dimensions
+     * with load, and the higher cost means the more overloaded store
+     */
+    public Map<Long, Double> costs() {
+        Map<Long, double[]> loads = this.storeLoads();
+        double[] means = means(loads);
+        Map<Long, Double> costs = new LinkedHashMap<>();
+        for (Map.Entry<Long, double[]> e : loads.entrySet()) {
+            costs.put(e.getKey(), cost(e.getValue(), means));
+        }
+        return costs;
+    }
+
+    private Map<Long, double[]> storeLoads() {
+        Map<Long, double[]> loads = new HashMap<>();
+        for (Map.Entry<Long, Map<Integer, Boolean>> e : this.stores.entrySet()) {
+            double[] load = new double[DIMENSIONS];
+            for (Map.Entry<Integer, Boolean> shard : e.getValue().entrySet()) {
+                add(load, this.shardLoad(shard.getKey(), shard.getValue()), 1);
+            }
+            loads.put(e.getKey(), load);
+        }
+        return loads;
+    }
+
+    private double[] shardLoad(int partitionId, boolean leader) {
+        double[] partition = this.partitions.getOrDefault(partitionId,
+                                                          new double[3]);
+        double[] load = new double[DIMENSIONS];
+        load[SHARDS] = 1.0D;
+        load[BYTES] = partition[0];
+        load[WRITES] = partition[1];
+        if (leader) {
+            load[READS] = partition[2];
+            load[LEADERS] = 1.0D;
+        }
+        return load;
+    }
+
+    private double[] leaderLoad(int partitionId) {
+        double[] load = this.shardLoad(partitionId, true);
+        double[] follower = this.shardLoad(partitionId, false);
+        add(load, follower, -1);
+        return load;
+    }
+
+    private long peakStore(Map<Long, double[]> loads, double[] means) {
+        long peak = -1L;
+        double peakCost = -1.0D;
+        for (Long storeId : this.stores.keySet()) {
+            double cost = cost(loads.get(storeId), means);
+            if (cost > peakCost) {
+                peakCost = cost;
+                peak = storeId;
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Prefer the move of the lower peak, or the move to the less loaded
+     * target if the peaks are the same, which spreads the moves to targets
+     */
+    private static boolean better(double peak, double targetCost,
+                                  double bestPeak, double bestTargetCost,
+                                  boolean found) {
+        if (peak < bestPeak - EPSILON) {
+            return true;
+        }
+        return found && peak < bestPeak + EPSILON &&
+               targetCost < bestTargetCost - EPSILON;
+    }
+
+    private static double[] means(Map<Long, double[]> loads) {
+        double[] means = new double[DIMENSIONS];
+        for (double[] load : loads.values()) {
+            add(means, load, 1);
+        }
+        for (int i = 0; i < DIMENSIONS; i++) {
+            means[i] /= loads.size();
+        }
+        return means;
+    }
+
+    private static double cost(double[] load, double[] means) {
+        double cost = 0.0D;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            if (means[i] > 0.0D) {
+                cost += load[i] / means[i];
+            }
+        }
+        return cost;
+    }
+
+    private static double cost(double[] load, double[] delta, int sign,
+                               double[] means) {
+        double cost = 0.0D;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            if (means[i] > 0.0D) {
+                cost += (load[i] + sign * delta[i]) / means[i];
+            }
+        }
+        return cost;
+    }
+
+    private static void add(double[] load, double[] delta, int sign) {
+        for (int i = 0; i < DIMENSIONS; i++) {
+            load[i] += sign * delta[i];
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.pd;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The monitor data points of a store within a time range, stored as one
+ * value of the metadata store.
+ * <p>
+ * The points are encoded by columns: the timestamps as the delta of deltas
+ * (zero for the points saved at a fixed interval), and the values of every
+ * metric as the deltas to the previous point, all of them as zigzag varints,
+ * so a block of points takes a few bytes per point and metric.
+ */
+public final class MonitorDataBlock {
+
+    private static final byte VERSION = 1;
+
+    private final long start;
+    // timestamp -> metric -> value
+    private final NavigableMap<Long, Map<String, Long>> points;
+
+    public MonitorDataBlock(long start) {
+        this.start = start;
+        this.points = new TreeMap<>();
+    }
+
+    public long getStart() {
+        return this.start;
+    }
+
+    public int size() {
+        return this.points.size();
+    }
+
+    public boolean isEmpty() {
+        return this.points.isEmpty();
+    }
+
+    public void add(long ts, Map<String, Long> metrics) {
+        this.points.put(ts, new HashMap<>(metrics));
+    }
+
+    /**
+     * Add the point if there is no point of the timestamp
+     */
+    public void addIfAbsent(long ts, Map<String, Long> metrics) {
+        this.points.putIfAbsent(ts, new HashMap<>(metrics));
+    }
+
+    /**
+     * @return the points in range [from, to)
+     */
+    public NavigableMap<Long, Map<String, Long>> points(long from, long to) {
+        return this.points.subMap(from, true, to, false);
+    }
+
+    /**
+     * Remove the points before till(not include)
+     *
+     * @return the number of points removed
+     */
+    public int removeBefore(long till) {
+        NavigableMap<Long, Map<String, Long>> expired = this.points.headMap(till, false);
+        int size = expired.size();
+        expired.clear();
+        return size;
+    }
+
+    /**
+     * Downsample the points to one point per step, the value of every metric
+     * is the average of the values in the step
+     *
+     * @param step the seconds of a step
+     * @return the downsampled points, timestamp -> metric -> value
+     */
+    public NavigableMap<Long, Map<String, Long>> downsample(long step) {
+        NavigableMap<Long, Map<String, long[]>> buckets = new TreeMap<>();
+        for (Map.Entry<Long, Map<String, Long>> point : this.points.entrySet()) {
+            long ts = point.getKey() - Math.floorMod(point.getKey(), step);
+            Map<String, long[]> bucket = buckets.computeIfAbsent(ts, k -> new HashMap<>());
+            for (Map.Entry<String, Long> metric : point.getValue().entrySet()) {
+                // sum, count
+                long[] agg = bucket.computeIfAbsent(metric.getKey(), k -> new long[2]);
+                agg[0] += metric.getValue();
+                agg[1]++;
+            }
+        }
+
+        NavigableMap<Long, Map<String, Long>> result = new TreeMap<>();
+        for (Map.Entry<Long, Map<String, long[]>> bucket : buckets.entrySet()) {
+            Map<String, Long> metrics = new HashMap<>();
+            bucket.getValue().forEach((metric, agg) -> metrics.put(metric, agg[0] / agg[1]));
+            result.put(bucket.getKey(), metrics);
+        }
+        return result;
+    }
+
+    public String encode() {
+        List<String> metrics = new ArrayList<>(this.metrics());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeVLong(out, this.points.size());
+            writeVLong(out, metrics.size());
+            for (String metric : metrics) {
+                out.writeUTF(metric);
+            }
+
+            long prevTs = this.start;
+            long prevDelta = 0L;
+            for (long ts : this.points.keySet()) {
+                long delta = ts - prevTs;
+                writeVLong(out, zigzag(delta - prevDelta));
+                prevTs = ts;
+                prevDelta = delta;
+            }
+
+            for (String metric : metrics) {
+                // the presence bitmap, then the deltas of the present values
+                byte[] presence = new byte[(this.points.size() + 7) / 8];
+                int i = 0;
+                for (Map<String, Long> point : this.points.values()) {
+                    if (point.containsKey(metric)) {
+                        presence[i / 8] |= (byte) (1 << (i % 8));
+                    }
+                    i++;
+                }
+                out.write(presence);
+
+                long prev = 0L;
+                for (Map<String, Long> point : this.points.values()) {
+                    Long value = point.get(metric);
+                    if (value != null) {
+                        writeVLong(out, zigzag(value - prev));
+                        prev = value;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    public static MonitorDataBlock decode(long start, String value) {
+        MonitorDataBlock block = new MonitorDataBlock(start);
+        byte[] bytes = Base64.getDecoder().decode(value);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(
+                        "Unsupported monitor data block version: " + version);
+            }
+            int size = (int) readVLong(in);
+            int metricSize = (int) readVLong(in);
+            String[] metrics = new String[metricSize];
+            for (int i = 0; i < metricSize; i++) {
+                metrics[i] = in.readUTF();
+            }
+
+            List<Map<String, Long>> rows = new ArrayList<>(size);
+            long prevTs = start;
+            long prevDelta = 0L;
+            for (int i = 0; i < size; i++) {
+                long delta = prevDelta + unzigzag(readVLong(in));
+                long ts = prevTs + delta;
+                Map<String, Long> row = new HashMap<>();
+                block.points.put(ts, row);
+                rows.add(row);
+                prevTs = ts;
+                prevDelta = delta;
+            }
+
+            for (String metric : metrics) {
+                byte[] presence = new byte[(size + 7) / 8];
+                in.readFully(presence);
+                long prev = 0L;
+                for (int i = 0; i < size; i++) {
+                    if ((presence[i / 8] & (1 << (i % 8))) != 0) {
+                        prev += unzigzag(readVLong(in));
+                        rows.get(i).put(metric, prev);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return block;
+    }
+
+    private TreeSet<String> metrics() {
+        TreeSet<String> metrics = new TreeSet<>();
+        for (Map<String, Long> point : this.points.values()) {
+            metrics.addAll(point.keySet());
+        }
+        return metrics;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVLong(DataInputStream in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in monitor data block");
+    }
+}
@@ -382,6 +382,27 @@ public class PartitionService implements RaftStateListener {
         return partitionMeta.getPartitionStats(graphName, partitionId);
     }
 
+    /**
+     * Get the sampled accesses of key ranges of the partition reported by the store
+     */
+    private List<Metapb.HotRange> getHotRanges(String graphName, int partitionId) {
+        if (!pdConfig.getPartition().isLoadSplitEnabled()) {
+            return Collections.emptyList();
+        }
+        try {
+            Metapb.PartitionStats stats = getPartitionStats(graphName, partitionId);
+            if (stats == null) {
+                return Collections.emptyList();
+            }
+            return stats.getHotRangeList().stream()
+                        .filter(range -> graphName.equals(range.getGraphName()))
+                        .collect(Collectors.toList());
+        } catch (PDException e) {
+            log.warn("Failed to get hot ranges of partition {}-{}", graphName, partitionId, e);
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Get the partition status of the graph
      */
@@ -685,38 +706,23 @@ public class PartitionService implements RaftStateListener {
                     partitionMeta.getPartitionById(graph.getGraphName(), pair.getKey());
             if (partition != null) {
                 var splitCount = pair.getValue();
-                long splitLen = (partition.getEndKey() - partition.getStartKey()) / splitCount;
+                // Split by the accesses of the key ranges, or into the ranges of same length
+                List<Long> keys = PartitionSplitPlanner.splitKeys(
+                        partition.getStartKey(), partition.getEndKey(), splitCount,
+                        getHotRanges(graph.getGraphName(), partition.getId()));
 
                 List<Metapb.Partition> newPartitions = new ArrayList<>();
-                // The first partition is the original partition
-                newPartitions.add(partition.toBuilder()
-                                           .setStartKey(partition.getStartKey())
-                                           .setEndKey(partition.getStartKey() + splitLen)
-                                           .setId(partition.getId())
-                                           .setState(Metapb.PartitionState.PState_Offline)
-                                           .build());
-
-                int idx = 0;
-
-                for (; idx < splitCount - 2; idx++) {
+                for (int idx = 0; idx < splitCount; idx++) {
+                    // The first partition is the original partition
+                    int id = idx == 0 ? partition.getId() : i++;
                     newPartitions.add(partition.toBuilder()
-                                               .setStartKey(newPartitions.get(idx).getEndKey())
-                                               .setEndKey(newPartitions.get(idx).getEndKey() +
-                                                          splitLen)
-                                               .setId(i)
+                                               .setStartKey(keys.get(idx))
+                                               .setEndKey(keys.get(idx + 1))
+                                               .setId(id)
                                                .setState(Metapb.PartitionState.PState_Offline)
                                                .build());
-                    i += 1;
                 }
 
-                newPartitions.add(partition.toBuilder()
-                                           .setStartKey(newPartitions.get(idx).getEndKey())
-                                           .setEndKey(partition.getEndKey())
-                                           .setId(i)
-                                           .setState(Metapb.PartitionState.PState_Offline)
-                                           .build());
-                i += 1;
-
                 // try to save new partitions, and repair shard group
                 for (int j = 0; j < newPartitions.size(); j++) {
                     var newPartition = newPartitions.get(j);
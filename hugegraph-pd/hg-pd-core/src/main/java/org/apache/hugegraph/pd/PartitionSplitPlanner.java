@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.pd;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.hugegraph.pd.grpc.Metapb;
+
+/**
+ * Plan the split keys of a partition by the sampled accesses of its key code
+ * ranges reported by the store, rather than splitting the partition into the
+ * ranges of the same length.
+ * <p>
+ * The split keys are the quantiles of the accesses, assuming the accesses of
+ * a reported range are uniform in the range. The split key falling into a hot
+ * range, which takes at least the average accesses of the new partitions and
+ * is HOT_DENSITY times denser than the partition, is moved to the nearer edge
+ * of the hot range, so that the hot range (like the range of a celebrity
+ * vertex) is isolated into a partition rather than cut by a key which may not
+ * divide its accesses.
+ */
+public class PartitionSplitPlanner {
+
+    private static final int HOT_DENSITY = 4;
+
+    /**
+     * Plan the keys of the new partitions
+     *
+     * @param startKey   the start key of the partition
+     * @param endKey     the end key of the partition
+     * @param splitCount the count of the new partitions
+     * @param ranges     the sampled ranges of the partition
+     * @return the keys from the start key to the end key, whose size is
+     * splitCount + 1, the new partition i is [keys[i], keys[i + 1])
+     */
+    public static List<Long> splitKeys(long startKey, long endKey, int splitCount,
+                                       List<Metapb.HotRange> ranges) {
+        List<Long> keys = null;
+        if (ranges != null && !ranges.isEmpty()) {
+            keys = weightedSplitKeys(startKey, endKey, splitCount, ranges);
+        }
+        if (keys == null) {
+            keys = evenSplitKeys(startKey, endKey, splitCount);
+        }
+        return keys;
+    }
+
+    public static List<Long> evenSplitKeys(long startKey, long endKey, int splitCount) {
+        long splitLen = (endKey - startKey) / splitCount;
+        List<Long> keys = new ArrayList<>(splitCount + 1);
+        for (int i = 0; i < splitCount; i++) {
+            keys.add(startKey + splitLen * i);
+        }
+        keys.add(endKey);
+        return keys;
+    }
+
+    /**
+     * @return the keys split by the accesses, or null if the accesses are
+     * not enough to split the partition
+     */
+    private static List<Long> weightedSplitKeys(long startKey, long endKey, int splitCount,
+                                                List<Metapb.HotRange> ranges) {
+        List<Metapb.HotRange> sorted = new ArrayList<>();
+        long total = 0L;
+        for (Metapb.HotRange range : ranges) {
+            // Ignore the ranges out of the partition, like the stale ranges
+            // reported before the partition changed
+            if (range.getAccesses() == 0L || range.getStartKey() < startKey ||
+                range.getEndKey() > endKey || range.getStartKey() >= range.getEndKey()) {
+                continue;
+            }
+            sorted.add(range);
+            total += range.getAccesses();
+        }
+        if (total < splitCount || endKey - startKey < splitCount) {
+            return null;
+        }
+        sorted.sort(Comparator.comparingLong(Metapb.HotRange::getStartKey));
+
+        TreeSet<Long> cuts = cuts(startKey, endKey, splitCount, sorted, total, true);
+        if (cuts.size() != splitCount - 1) {
+            // Some cuts are merged into the edges of a hot range
+            cuts = cuts(startKey, endKey, splitCount, sorted, total, false);
+        }
+        if (cuts.size() != splitCount - 1) {
+            return null;
+        }
+
+        List<Long> keys = new ArrayList<>(splitCount + 1);
+        keys.add(startKey);
+        keys.addAll(cuts);
+        keys.add(endKey);
+        return keys;
+    }
+
+    private static TreeSet<Long> cuts(long startKey, long endKey, int splitCount,
+                                      List<Metapb.HotRange> sorted, long total,
+                                      boolean isolate) {
+        TreeSet<Long> cuts = new TreeSet<>();
+        double average = (double) total / splitCount;
+        double density = (double) total / (endKey - startKey);
+        int index = 0;
+        double accumulated = 0.0D;
+        for (int i = 1; i < splitCount; i++) {
+            double target = average * i;
+            while (index < sorted.size() &&
+                   accumulated + sorted.get(index).getAccesses() < target) {
+                accumulated += sorted.get(index).getAccesses();
+                index++;
+            }
+            if (index >= sorted.size()) {
+                break;
+            }
+            Metapb.HotRange range = sorted.get(index);
+            long length = range.getEndKey() - range.getStartKey();
+            double ratio = (target - accumulated) / range.getAccesses();
+            long cut = range.getStartKey() + (long) (length * ratio);
+            if (isolate && range.getAccesses() >= average &&
+                range.getAccesses() >= length * density * HOT_DENSITY) {
+                // Isolate the hot range
+                cut = cut - range.getStartKey() <= range.getEndKey() - cut ?
+                      range.getStartKey() : range.getEndKey();
+            }
+            if (cut > startKey && cut < endKey) {
+                cuts.add(cut);
+            }
+        }
+        return cuts;
+    }
+}
@@ -26,21 +26,30 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.hugegraph.pd.common.PDException;
 import org.apache.hugegraph.pd.config.PDConfig;
 import org.apache.hugegraph.pd.grpc.Metapb;
 import org.apache.hugegraph.pd.meta.MetadataKeyHelper;
+import org.apache.hugegraph.pd.raft.RaftStateListener;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
-public class StoreMonitorDataService {
+public class StoreMonitorDataService implements RaftStateListener {
 
     private static final String MONITOR_DATA_PREFIX = "SMD";
+    private static final String MONITOR_BLOCK_PREFIX = "SMB";
+    // The open block is written through raft when the points not written
+    // reach the count, or the last write is older than the seconds
+    private static final int FLUSH_POINTS = 10;
+    private static final long FLUSH_INTERVAL = 600L;
     private final PDConfig pdConfig;
     private final KvService kvService;
     /**
@@ -48,11 +57,17 @@ public class StoreMonitorDataService {
      * used for determine the gap of store's heartbeat.
      */
     private final Map<Long, Long> lastStoreStateTimestamp;
+    /**
+     * the raw data block of each store that the monitor data is appended to,
+     * which is reloaded from the kv store when the leader changed
+     */
+    private final Map<Long, OpenBlock> openBlocks;
 
     public StoreMonitorDataService(PDConfig pdConfig) {
         this.pdConfig = pdConfig;
         this.kvService = new KvService(pdConfig);
         this.lastStoreStateTimestamp = new HashMap<>();
+        this.openBlocks = new HashMap<>();
     }
 
     /**
@@ -60,7 +75,7 @@ public class StoreMonitorDataService {
      *
      * @param storeStats
      */
-    public void saveMonitorData(Metapb.StoreStats storeStats) throws PDException {
+    public synchronized void saveMonitorData(Metapb.StoreStats storeStats) throws PDException {
         long storeId = storeStats.getStoreId();
         /**
          * load the latest store timestamp when start up or alter leader
@@ -84,7 +99,31 @@ public class StoreMonitorDataService {
     }
 
     /**
-     * save the snapshot of store status
+     * write the points of the open blocks not written yet to the kv store
+     */
+    public synchronized void flush() throws PDException {
+        for (Map.Entry<Long, OpenBlock> e : this.openBlocks.entrySet()) {
+            if (e.getValue().pending > 0) {
+                flush(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * the open blocks of the former leader may be stale, they are reloaded
+     * from the kv store on the next save. The points not written by the
+     * former leader are discarded.
+     */
+    @Override
+    public synchronized void onRaftLeaderChanged() {
+        this.openBlocks.clear();
+        this.lastStoreStateTimestamp.clear();
+    }
+
+    /**
+     * save the snapshot of store status, the snapshot is appended to the raw
+     * data block of the store, and the block is rolled up when a new block begins.
+     * The block is written in batches of points rather than each snapshot.
      *
      * @param storeStats store status
      * @param ts,        timestamp
@@ -92,10 +131,73 @@ public class StoreMonitorDataService {
      * @throws PDException
      */
     private void saveMonitorDataToDb(Metapb.StoreStats storeStats, long ts) throws PDException {
-        String key = getMonitorDataKey(storeStats.getStoreId(), ts);
-        log.debug("store id: {}, save monitor data info, ts:{}, my key:{}", storeStats.getStoreId(),
-                  ts, key);
-        kvService.put(key, extractMetricsFromStoreStatus(storeStats));
+        long storeId = storeStats.getStoreId();
+        OpenBlock open = getOpenBlock(storeId, ts);
+        open.block.add(ts, extractMetricsFromStoreStatus(storeStats));
+        open.pending++;
+        if (open.pending >= FLUSH_POINTS || ts - open.flushed >= FLUSH_INTERVAL) {
+            flush(storeId, open);
+        }
+    }
+
+    private void flush(long storeId, OpenBlock open) throws PDException {
+        String key = getMonitorBlockKey(storeId, Resolution.RAW, open.block.getStart());
+        log.debug("store id: {}, save monitor data info, points:{}, my key:{}",
+                  storeId, open.pending, key);
+        kvService.put(key, open.block.encode());
+        open.pending = 0;
+        open.flushed = System.currentTimeMillis() / 1000;
+    }
+
+    private OpenBlock getOpenBlock(long storeId, long ts) throws PDException {
+        long start = Resolution.RAW.blockStart(ts);
+        OpenBlock open = this.openBlocks.get(storeId);
+        MonitorDataBlock block = null;
+        if (open == null) {
+            // load the blocks of the store when start up or alter leader
+            long span = Resolution.RAW.getBlockSpan();
+            for (MonitorDataBlock b : scanBlocks(storeId, Resolution.RAW,
+                                                 start - span, start + span)) {
+                if (b.getStart() == start) {
+                    block = b;
+                } else if (b.getStart() < start) {
+                    rollup(storeId, b);
+                }
+            }
+        } else if (open.block.getStart() != start) {
+            if (open.pending > 0) {
+                flush(storeId, open);
+            }
+            rollup(storeId, open.block);
+        } else {
+            return open;
+        }
+        open = new OpenBlock(block == null ? new MonitorDataBlock(start) : block);
+        this.openBlocks.put(storeId, open);
+        return open;
+    }
+
+    /**
+     * roll up the points of a raw data block to the minutes and the hours,
+     * the rolled up points already exist are kept.
+     */
+    private void rollup(long storeId, MonitorDataBlock raw) throws PDException {
+        for (Resolution resolution : Resolution.ROLLUPS) {
+            NavigableMap<Long, Map<String, Long>> points = raw.downsample(resolution.getStep());
+            while (!points.isEmpty()) {
+                long start = resolution.blockStart(points.firstKey());
+                String key = getMonitorBlockKey(storeId, resolution, start);
+                String value = kvService.get(key);
+                MonitorDataBlock block = StringUtils.isEmpty(value) ?
+                                         new MonitorDataBlock(start) :
+                                         MonitorDataBlock.decode(start, value);
+                NavigableMap<Long, Map<String, Long>> part =
+                        points.headMap(start + resolution.getBlockSpan(), false);
+                part.forEach(block::addIfAbsent);
+                part.clear();
+                kvService.put(key, block.encode());
+            }
+        }
     }
 
     public String debugMonitorInfo(List<Metapb.RecordPair> systemInfo) {
@@ -125,8 +227,34 @@ public class StoreMonitorDataService {
                   storeId,
                   getMonitorDataKey(storeId, start),
                   getMonitorDataKey(storeId, end));
-        return kvService.scanRange(getMonitorDataKey(storeId, start),
-                                   getMonitorDataKey(storeId, end));
+        Map<String, String> result = new HashMap<>();
+        readMonitorData(storeId, start, end, Resolution.RAW).forEach((ts, metrics) -> {
+            List<String> list = new ArrayList<>();
+            metrics.forEach((k, v) -> list.add("\"" + k + "\":" + v));
+            result.put(getMonitorDataKey(storeId, ts), String.join(",", list));
+        });
+        return result;
+    }
+
+    /**
+     * get the historical monitor data by store id and resolution, by range(start, end),
+     * only the data blocks overlapping with the range are read.
+     *
+     * @param storeId    store id
+     * @param start      range start
+     * @param end        range end
+     * @param resolution the raw data or the rolled up data
+     * @return list of store stats, sorted by ts
+     */
+    public List<Map<String, Long>> getStoreMonitorData(long storeId, long start, long end,
+                                                       Resolution resolution) throws PDException {
+        List<Map<String, Long>> result = new LinkedList<>();
+        readMonitorData(storeId, start, end, resolution).forEach((ts, metrics) -> {
+            Map<String, Long> map = new HashMap<>(metrics);
+            map.put("ts", ts);
+            result.add(map);
+        });
+        return result;
     }
 
     /**
@@ -137,31 +265,15 @@ public class StoreMonitorDataService {
      * @throws PDException
      */
     public List<Map<String, Long>> getStoreMonitorData(long storeId) throws PDException {
-        List<Map<String, Long>> result = new LinkedList<>();
         long current = System.currentTimeMillis() / 1000;
         long start = current - this.pdConfig.getStore().getRetentionPeriod();
 
         try {
-            for (Map.Entry<String, String> entry : getStoreMonitorData(storeId, start,
-                                                                       current).entrySet()) {
-                String[] arr =
-                        entry.getKey().split(String.valueOf(MetadataKeyHelper.getDelimiter()));
-                Map<String, Long> map = new HashMap();
-                long timestamp = Long.parseLong(arr[arr.length - 1]);
-                map.put("ts", timestamp);
-                for (String pair : entry.getValue().split(",")) {
-                    String[] p = pair.split(":");
-                    if (p.length == 2) {
-                        map.put(p[0], Long.parseLong(p[1]));
-                    }
-                }
-                result.add(map);
-            }
-            result.sort((o1, o2) -> o1.get("ts").compareTo(o2.get("ts")));
+            return getStoreMonitorData(storeId, start, current + 1, Resolution.RAW);
         } catch (PDException e) {
             log.error(e.getMessage());
         }
-        return result;
+        return new LinkedList<>();
     }
 
     /**
@@ -221,6 +333,46 @@ public class StoreMonitorDataService {
             log.debug("remove monitor data, key: {}", key);
             records += 1;
         }
+        return records + removeExpiredMonitorData(storeId, till, Resolution.RAW);
+    }
+
+    /**
+     * remove the monitor data of the store and resolution that before till(not include),
+     * the raw data is rolled up before removed.
+     *
+     * @param storeId    store id
+     * @param till       expire time
+     * @param resolution the raw data or the rolled up data
+     * @return affect rows
+     */
+    public synchronized int removeExpiredMonitorData(long storeId, long till,
+                                                     Resolution resolution) throws PDException {
+        int records = 0;
+        OpenBlock open = this.openBlocks.get(storeId);
+        if (resolution == Resolution.RAW && open != null && open.pending > 0) {
+            flush(storeId, open);
+        }
+        for (MonitorDataBlock block : scanBlocks(storeId, resolution, 0L, till)) {
+            if (block.points(block.getStart(), till).isEmpty()) {
+                continue;
+            }
+            if (resolution == Resolution.RAW) {
+                rollup(storeId, block);
+            }
+            int removed = block.removeBefore(till);
+            String key = getMonitorBlockKey(storeId, resolution, block.getStart());
+            if (block.isEmpty()) {
+                kvService.delete(key);
+            } else {
+                kvService.put(key, block.encode());
+            }
+            log.debug("remove monitor data, key: {}, records: {}", key, removed);
+            records += removed;
+        }
+        if (resolution == Resolution.RAW) {
+            // reload the open block on the next save
+            this.openBlocks.remove(storeId);
+        }
         return records;
     }
 
@@ -234,18 +386,74 @@ public class StoreMonitorDataService {
         long maxId = 0L;
         long current = System.currentTimeMillis() / 1000;
         long start = current - this.pdConfig.getStore().getMonitorInterval();
-        String keyStart = getMonitorDataKey(storeId, start);
-        String keyEnd = getMonitorDataKey(storeId, current);
         try {
-            for (String key : kvService.scanRange(keyStart, keyEnd).keySet()) {
-                String[] arr = key.split(String.valueOf(MetadataKeyHelper.getDelimiter()));
-                maxId = Math.max(maxId, Long.parseLong(arr[arr.length - 1]));
+            NavigableMap<Long, Map<String, Long>> points =
+                    readMonitorData(storeId, start, current + 1, Resolution.RAW);
+            if (!points.isEmpty()) {
+                maxId = points.lastKey();
             }
         } catch (PDException e) {
         }
         return maxId;
     }
 
+    /**
+     * read the points in range [start, end), including the points saved one
+     * key per point by the former versions
+     */
+    private NavigableMap<Long, Map<String, Long>> readMonitorData(long storeId, long start,
+                                                                  long end,
+                                                                  Resolution resolution) throws
+                                                                                         PDException {
+        NavigableMap<Long, Map<String, Long>> points = new TreeMap<>();
+        if (resolution == Resolution.RAW) {
+            for (Map.Entry<String, String> entry :
+                    kvService.scanRange(getMonitorDataKey(storeId, start),
+                                        getMonitorDataKey(storeId, end)).entrySet()) {
+                String[] arr =
+                        entry.getKey().split(String.valueOf(MetadataKeyHelper.getDelimiter()));
+                Map<String, Long> map = new HashMap<>();
+                for (String pair : entry.getValue().split(",")) {
+                    String[] p = pair.split(":");
+                    if (p.length == 2) {
+                        map.put(p[0].replace("\"", ""), Long.parseLong(p[1]));
+                    }
+                }
+                points.put(Long.parseLong(arr[arr.length - 1]), map);
+            }
+        }
+        for (MonitorDataBlock block : scanBlocks(storeId, resolution, start, end)) {
+            points.putAll(block.points(start, end));
+        }
+        if (resolution == Resolution.RAW) {
+            // the points of the open block not written yet
+            synchronized (this) {
+                OpenBlock open = this.openBlocks.get(storeId);
+                if (open != null) {
+                    points.putAll(open.block.points(start, end));
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * scan the data blocks overlapping with range [start, end)
+     */
+    private List<MonitorDataBlock> scanBlocks(long storeId, Resolution resolution,
+                                              long start, long end) throws PDException {
+        List<MonitorDataBlock> blocks = new ArrayList<>();
+        String keyStart = getMonitorBlockKey(storeId, resolution, resolution.blockStart(start));
+        String keyEnd = getMonitorBlockKey(storeId, resolution, end);
+        for (Map.Entry<String, String> entry : kvService.scanRange(keyStart, keyEnd).entrySet()) {
+            String[] arr = entry.getKey().split(String.valueOf(MetadataKeyHelper.getDelimiter()));
+            blocks.add(MonitorDataBlock.decode(Long.parseLong(arr[arr.length - 1]),
+                                               entry.getValue()));
+        }
+        blocks.sort((o1, o2) -> Long.compare(o1.getStart(), o2.getStart()));
+        return blocks;
+    }
+
     private String getMonitorDataKey(long storeId, long ts) {
         String builder = MONITOR_DATA_PREFIX +
                          MetadataKeyHelper.getDelimiter() +
@@ -255,11 +463,76 @@ public class StoreMonitorDataService {
         return builder;
     }
 
-    private String extractMetricsFromStoreStatus(Metapb.StoreStats storeStats) {
-        List<String> list = new ArrayList<>();
+    /**
+     * the start timestamp is padded, so that the blocks are sorted by time
+     */
+    private String getMonitorBlockKey(long storeId, Resolution resolution, long start) {
+        return MONITOR_BLOCK_PREFIX +
+               MetadataKeyHelper.getDelimiter() +
+               storeId +
+               MetadataKeyHelper.getDelimiter() +
+               resolution.getCode() +
+               MetadataKeyHelper.getDelimiter() +
+               String.format("%019d", Math.max(start, 0L));
+    }
+
+    private Map<String, Long> extractMetricsFromStoreStatus(Metapb.StoreStats storeStats) {
+        Map<String, Long> metrics = new HashMap<>();
         for (Metapb.RecordPair pair : storeStats.getSystemMetricsList()) {
-            list.add("\"" + pair.getKey() + "\":" + pair.getValue());
+            metrics.put(pair.getKey(), pair.getValue());
+        }
+        return metrics;
+    }
+
+    private static class OpenBlock {
+
+        private final MonitorDataBlock block;
+        // the points not written to the kv store
+        private int pending;
+        // the timestamp of the last write
+        private long flushed;
+
+        private OpenBlock(MonitorDataBlock block) {
+            this.block = block;
+            this.flushed = System.currentTimeMillis() / 1000;
+        }
+    }
+
+    /**
+     * the resolutions of the monitor data, the points of each resolution are
+     * saved in the blocks covering blockSpan seconds.
+     */
+    public enum Resolution {
+        RAW("R", 0L, 3600L),
+        MINUTE("M", 60L, 86400L),
+        HOUR("H", 3600L, 86400L * 30);
+
+        private static final Resolution[] ROLLUPS = {MINUTE, HOUR};
+
+        private final String code;
+        private final long step;
+        private final long blockSpan;
+
+        Resolution(String code, long step, long blockSpan) {
+            this.code = code;
+            this.step = step;
+            this.blockSpan = blockSpan;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public long getStep() {
+            return step;
+        }
+
+        public long getBlockSpan() {
+            return blockSpan;
+        }
+
+        public long blockStart(long ts) {
+            return ts - Math.floorMod(ts, this.blockSpan);
         }
-        return String.join(",", list);
     }
 }
@@ -96,6 +96,10 @@ public class TaskScheduleService {
         this.executor = new ScheduledThreadPoolExecutor(16);
     }
 
+    public StoreMonitorDataService getStoreMonitorDataService() {
+        return this.storeMonitorDataService;
+    }
+
     public void init() {
         executor.scheduleWithFixedDelay(() -> {
             try {
@@ -129,8 +133,9 @@ public class TaskScheduleService {
         // clean expired monitor data each 10 minutes, delay 3min.
         if (isLeader() && this.pdConfig.getStore().isMonitorDataEnabled()) {
             executor.scheduleAtFixedRate(() -> {
-                Long expTill = System.currentTimeMillis() / 1000 -
-                               this.pdConfig.getStore().getRetentionPeriod();
+                long current = System.currentTimeMillis() / 1000;
+                Long expTill = current - this.pdConfig.getStore().getRetentionPeriod();
+                long rollupExpTill = current - this.pdConfig.getStore().getRollupRetentionPeriod();
                 log.debug("monitor data keys before " + expTill + " will be deleted");
                 int records = 0;
                 try {
@@ -138,6 +143,12 @@ public class TaskScheduleService {
                         int cnt =
                                 this.storeMonitorDataService.removeExpiredMonitorData(store.getId(),
                                                                                       expTill);
+                        for (StoreMonitorDataService.Resolution resolution :
+                                List.of(StoreMonitorDataService.Resolution.MINUTE,
+                                        StoreMonitorDataService.Resolution.HOUR)) {
+                            cnt += this.storeMonitorDataService.removeExpiredMonitorData(
+                                    store.getId(), rollupExpTill, resolution);
+                        }
                         log.debug("store id :{}, records:{}", store.getId(), cnt);
                         records += cnt;
                     }
@@ -339,6 +350,23 @@ public class TaskScheduleService {
             return null;
         }
 
+        if (pdConfig.getPartition().isLoadBalanceEnabled()) {
+            LoadBalancePlanner planner = newLoadBalancePlanner();
+            partitionMap.forEach((storeId, shards) -> {
+                shards.forEach((partId, role) -> {
+                    planner.addShard(storeId, partId, role == Metapb.ShardRole.Leader);
+                });
+            });
+            log.info("balancePartitionShard by load, store costs: {}", planner.costs());
+            Map<Integer, KVPair<Long, Long>> movedPartitions =
+                    planner.planShardMoves(pdConfig.getPartition().getMaxBalanceMoves(),
+                                           pdConfig.getPartition().getMaxShardsPerStore());
+            if (movedPartitions.isEmpty()) {
+                return movedPartitions;
+            }
+            return movePartitionShards(movedPartitions);
+        }
+
         // According to shard sort the quantity from highest to lowest
         List<KVPair<Long, Integer>> sortedList = new ArrayList<>();
         partitionMap.forEach((storeId, shards) -> {
@@ -439,6 +467,11 @@ public class TaskScheduleService {
             maxHeap.addAll(tmpList);
         }
 
+        return movePartitionShards(movedPartitions);
+    }
+
+    private Map<Integer, KVPair<Long, Long>> movePartitionShards(
+            Map<Integer, KVPair<Long, Long>> movedPartitions) throws PDException {
         kvService.put(BALANCE_SHARD_KEY, "DOING", 180 * 1000);
 
         // Start the migration
@@ -488,6 +521,27 @@ public class TaskScheduleService {
             return results;
         }
 
+        if (pdConfig.getPartition().isLoadBalanceEnabled()) {
+            LoadBalancePlanner planner = newLoadBalancePlanner();
+            Map<Integer, Map<Long, Metapb.Shard>> groupShards = new HashMap<>();
+            shardGroups.forEach(group -> {
+                group.getShardsList().forEach(shard -> {
+                    planner.addShard(shard.getStoreId(), group.getId(),
+                                     shard.getRole() == Metapb.ShardRole.Leader);
+                    groupShards.computeIfAbsent(group.getId(), k -> new HashMap<>())
+                               .put(shard.getStoreId(), shard);
+                });
+            });
+            log.info("balancePartitionLeader by load, store costs: {}", planner.costs());
+            int maxTransfers = pdConfig.getPartition().getMaxBalanceLeaders();
+            planner.planLeaderTransfers(maxTransfers).forEach((groupId, storeId) -> {
+                log.info("shard group {}, store id: {}, set to leader", groupId, storeId);
+                partitionService.transferLeader(groupId, groupShards.get(groupId).get(storeId));
+                results.put(groupId, storeId);
+            });
+            return results;
+        }
+
         Map<Long, Integer> storeShardCount = new HashMap<>();
 
         shardGroups.forEach(group -> {
@@ -558,6 +612,23 @@ public class TaskScheduleService {
         return results;
     }
 
+    /**
+     * Create a planner with the load of partitions, which is estimated by the
+     * stats reported by stores, see LoadBalancePlanner.addStoreStats()
+     */
+    private LoadBalancePlanner newLoadBalancePlanner() throws PDException {
+        LoadBalancePlanner planner = new LoadBalancePlanner();
+        for (Metapb.Store store : storeService.getActiveStores()) {
+            planner.addStore(store.getId());
+            Metapb.StoreStats stats =
+                    storeService.getStoreInfoMeta().getStoreStats(store.getId());
+            if (stats != null) {
+                planner.addStoreStats(stats);
+            }
+        }
+        return planner;
+    }
+
     private long getMaxIndexGap(Map<Integer, Map<Long, Long>> committedIndexMap, int partitionId) {
         long maxGap = Long.MAX_VALUE;
         if (committedIndexMap == null || !committedIndexMap.containsKey(partitionId)) {
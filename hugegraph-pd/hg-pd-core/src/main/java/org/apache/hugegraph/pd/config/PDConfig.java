@@ -175,6 +175,9 @@ public class PDConfig {
         @Value("${store.monitor_data_retention: 1 day}")
         private String monitorDataRetention = "1 day";
 
+        @Value("${store.monitor_data_rollup_retention: 1 month}")
+        private String monitorDataRollupRetention = "1 month";
+
         /**
          * interval -> seconds.
          * minimum value is 1 seconds.
@@ -195,6 +198,16 @@ public class PDConfig {
             return parseTimeExpression(this.monitorDataRetention);
         }
 
+        /**
+         * the monitor data rolled up to the minutes and the hours,
+         * will be deleted out of period
+         *
+         * @return the period of the rolled up monitor data should keep
+         */
+        public Long getRollupRetentionPeriod() {
+            return parseTimeExpression(this.monitorDataRollupRetention);
+        }
+
         /**
          * parse time expression , support pattern:
          * [1-9][ ](second, minute, hour, day, month, year)
@@ -259,6 +272,22 @@ public class PDConfig {
         @Value("${partition.default-shard-count:3}")
         private int shardCount = 3;
 
+        // Balance the shards and leaders by the load of stores rather than the counts
+        @Value("${partition.load-balance-enabled:false}")
+        private boolean loadBalanceEnabled = false;
+
+        // The max number of shards migrated concurrently by a balancing
+        @Value("${partition.max-balance-moves:4}")
+        private int maxBalanceMoves = 4;
+
+        // The max number of leaders transferred by a balancing
+        @Value("${partition.max-balance-leaders:2}")
+        private int maxBalanceLeaders = 2;
+
+        // Split the partitions by the accesses of key ranges reported by stores
+        @Value("${partition.load-split-enabled:true}")
+        private boolean loadSplitEnabled = true;
+
         public int getTotalCount() {
             if (totalCount == 0) {
                 totalCount = getInitialPartitionCount();
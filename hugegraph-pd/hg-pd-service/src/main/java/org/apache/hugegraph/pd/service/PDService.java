@@ -166,11 +166,12 @@ public class PDService extends PDGrpc.PDImplBase implements ServiceGrpc, RaftSta
         taskService = new TaskScheduleService(pdConfig, storeNodeService, partitionService);
         idService = new IdService(pdConfig);
         logService = new LogService(pdConfig);
-        storeMonitorDataService = new StoreMonitorDataService(pdConfig);
+        storeMonitorDataService = taskService.getStoreMonitorDataService();
         //if (licenseVerifierService == null) {
         //    licenseVerifierService = new LicenseVerifierService(pdConfig);
         //}
         RaftEngine.getInstance().addStateListener(partitionService);
+        RaftEngine.getInstance().addStateListener(storeMonitorDataService);
         pdConfig.setIdService(idService);
 
         // Receive a heartbeat message
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.pd.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.apache.hugegraph.pd.LoadBalancePlanner;
+import org.apache.hugegraph.pd.common.KVPair;
+import org.apache.hugegraph.pd.grpc.Metapb;
+import org.junit.Test;
+
+public class LoadBalancePlannerTest {
+
+    @Test
+    public void testPlanShardMovesByCount() {
+        LoadBalancePlanner planner = newPlanner();
+        Map<Integer, KVPair<Long, Long>> moves = planner.planShardMoves(10, 24);
+        assertEquals(4, moves.size());
+        long toStore2 = moves.values().stream().filter(v -> v.getValue() == 2L).count();
+        assertEquals(2L, toStore2);
+        moves.values().forEach(v -> assertEquals(1L, (long) v.getKey()));
+        assertBalanced(planner.costs());
+
+        // Bounded by the max moves and the max shards per store
+        assertEquals(1, newPlanner().planShardMoves(1, 24).size());
+        assertEquals(2, newPlanner().planShardMoves(10, 1).size());
+    }
+
+    @Test
+    public void testPlanShardMovesByLoad() {
+        LoadBalancePlanner planner = new LoadBalancePlanner();
+        // The hot partition 0 and partition 1 on store 1
+        planner.addShard(1L, 0, true);
+        planner.addShard(1L, 1, true);
+        planner.addShard(2L, 2, true);
+        planner.addShard(2L, 3, true);
+        planner.setPartitionLoad(0, 100, 1000, 1000);
+        planner.setPartitionLoad(1, 100, 100, 100);
+        planner.setPartitionLoad(2, 100, 100, 100);
+        planner.setPartitionLoad(3, 100, 100, 100);
+
+        // Move the cold partition away from the hot one
+        Map<Integer, KVPair<Long, Long>> moves = planner.planShardMoves(10, 24);
+        assertEquals(1, moves.size());
+        assertEquals(new KVPair<>(1L, 2L), moves.get(1));
+
+        // No move can lower the peak any more
+        assertTrue(planner.planShardMoves(10, 24).isEmpty());
+    }
+
+    @Test
+    public void testPlanLeaderTransfers() {
+        LoadBalancePlanner planner = new LoadBalancePlanner();
+        for (int i = 0; i < 6; i++) {
+            planner.addShard(1L, i, true);
+            planner.addShard(2L, i, false);
+            planner.addShard(3L, i, false);
+        }
+
+        Map<Integer, Long> transfers = planner.planLeaderTransfers(10);
+        assertEquals(4, transfers.size());
+        assertBalanced(planner.costs());
+        assertTrue(planner.planLeaderTransfers(10).isEmpty());
+
+        // Transfer the leaders of cold partitions away from the hot leader
+        planner = new LoadBalancePlanner();
+        for (int i = 0; i < 4; i++) {
+            planner.addShard(1L, i, i < 2);
+            planner.addShard(2L, i, i >= 2);
+            planner.setPartitionLoad(i, 100, 10, i == 0 ? 1000 : 10);
+        }
+        transfers = planner.planLeaderTransfers(10);
+        assertEquals(1, transfers.size());
+        assertEquals(2L, (long) transfers.get(1));
+    }
+
+    @Test
+    public void testLoadByStoreStats() {
+        LoadBalancePlanner planner = new LoadBalancePlanner();
+        planner.addShard(1L, 0, true);
+        planner.addShard(1L, 1, true);
+        planner.addShard(2L, 2, true);
+        planner.addShard(2L, 3, true);
+        // Store 1 reads 1000 keys/s and writes 500 keys/s, mostly partition 0
+        planner.addStoreStats(newStoreStats(1L, 10000L, 5000L, 0, 900L, 1, 100L));
+        planner.addStoreStats(newStoreStats(2L, 400L, 0L, 2, 100L, 3, 100L));
+
+        Map<Long, Double> costs = planner.costs();
+        assertTrue(costs.get(1L) > costs.get(2L) + 3.0D);
+
+        // Move the cold partition away from the hot one
+        Map<Integer, KVPair<Long, Long>> moves = planner.planShardMoves(1, 24);
+        assertEquals(1, moves.size());
+        assertEquals(new KVPair<>(1L, 2L), moves.get(1));
+
+        // Without the interval the rates are unknown, balanced by the others
+        planner = new LoadBalancePlanner();
+        planner.addShard(1L, 0, true);
+        planner.addShard(2L, 1, true);
+        planner.addStoreStats(newStoreStats(1L, 10000L, 5000L, 0, 900L, 1, 100L)
+                                      .toBuilder().clearInterval().build());
+        assertBalanced(planner.costs());
+    }
+
+    private static Metapb.StoreStats newStoreStats(long storeId, long keysRead,
+                                                   long keysWritten, int partition1,
+                                                   long keys1, int partition2,
+                                                   long keys2) {
+        Metapb.StoreStats.Builder builder = Metapb.StoreStats.newBuilder();
+        builder.setStoreId(storeId)
+               .setKeysRead(keysRead)
+               .setKeysWritten(keysWritten)
+               .setInterval(Metapb.TimeInterval.newBuilder()
+                                               .setStartTimestamp(1000L)
+                                               .setEndTimestamp(1010L));
+        for (int i = 0; i < 2; i++) {
+            builder.addGraphStats(Metapb.GraphStats.newBuilder()
+                                                   .setGraphName("g")
+                                                   .setPartitionId(i == 0 ? partition1 :
+                                                                   partition2)
+                                                   .setApproximateKeys(i == 0 ? keys1 : keys2)
+                                                   .setApproximateSize(100L)
+                                                   .setRole(Metapb.ShardRole.Leader));
+        }
+        return builder.build();
+    }
+
+    private static LoadBalancePlanner newPlanner() {
+        // All the 6 partitions are on store 1
+        LoadBalancePlanner planner = new LoadBalancePlanner();
+        for (int i = 0; i < 6; i++) {
+            planner.addShard(1L, i, true);
+        }
+        planner.addStore(2L);
+        planner.addStore(3L);
+        return planner;
+    }
+
+    private static void assertBalanced(Map<Long, Double> costs) {
+        double first = costs.values().iterator().next();
+        costs.values().forEach(cost -> assertEquals(first, cost, 0.0001D));
+    }
+}
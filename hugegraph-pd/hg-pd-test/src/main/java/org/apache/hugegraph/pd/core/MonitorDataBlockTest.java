@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.pd.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.apache.hugegraph.pd.MonitorDataBlock;
+import org.junit.Test;
+
+public class MonitorDataBlockTest {
+
+    @Test
+    public void testEncode() {
+        MonitorDataBlock block = new MonitorDataBlock(3600);
+        for (int i = 0; i < 60; i++) {
+            block.add(3600 + i * 60L, Map.of("cpu", 50L + i % 3, "mem", 1L << 40));
+        }
+        // an irregular point without the metric mem
+        block.add(7199, Map.of("cpu", -1L));
+
+        String value = block.encode();
+        // a few bytes per point and metric
+        assertTrue(value.length() < 61 * 8);
+
+        MonitorDataBlock decoded = MonitorDataBlock.decode(3600, value);
+        assertEquals(61, decoded.size());
+        assertEquals(block.points(0, Long.MAX_VALUE), decoded.points(0, Long.MAX_VALUE));
+        assertEquals(Map.of("cpu", -1L), decoded.points(7199, 7200).get(7199L));
+    }
+
+    @Test
+    public void testDownsample() {
+        MonitorDataBlock block = new MonitorDataBlock(0);
+        block.add(0, Map.of("cpu", 10L));
+        block.add(30, Map.of("cpu", 20L, "mem", 5L));
+        block.add(60, Map.of("cpu", 40L));
+
+        var points = block.downsample(60);
+        assertEquals(2, points.size());
+        assertEquals(Map.of("cpu", 15L, "mem", 5L), points.get(0L));
+        assertEquals(Map.of("cpu", 40L), points.get(60L));
+
+        assertEquals(2, block.removeBefore(60));
+        assertEquals(1, block.size());
+    }
+}
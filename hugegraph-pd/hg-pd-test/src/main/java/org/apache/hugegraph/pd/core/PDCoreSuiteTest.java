@@ -33,9 +33,12 @@ import lombok.extern.slf4j.Slf4j;
         KvServiceTest.class,
         LogServiceTest.class,
         PartitionServiceTest.class,
+        MonitorDataBlockTest.class,
         StoreMonitorDataServiceTest.class,
         StoreServiceTest.class,
-        TaskScheduleServiceTest.class
+        TaskScheduleServiceTest.class,
+        LoadBalancePlannerTest.class,
+        PartitionSplitPlannerTest.class
 })
 @Slf4j
 public class PDCoreSuiteTest {
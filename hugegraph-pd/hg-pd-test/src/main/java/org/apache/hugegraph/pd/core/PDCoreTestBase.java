@@ -94,8 +94,9 @@ public class PDCoreTestBase {
         partitionService = new PartitionService(pdConfig, storeNodeService);
         taskService = new TaskScheduleService(pdConfig, storeNodeService, partitionService);
         var idService = new IdService(pdConfig);
-        storeMonitorDataService = new StoreMonitorDataService(pdConfig);
+        storeMonitorDataService = taskService.getStoreMonitorDataService();
         RaftEngine.getInstance().addStateListener(partitionService);
+        RaftEngine.getInstance().addStateListener(storeMonitorDataService);
         pdConfig.setIdService(idService);
 
         storeNodeService.init(partitionService);
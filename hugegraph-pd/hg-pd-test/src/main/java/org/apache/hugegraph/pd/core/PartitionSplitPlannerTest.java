@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.pd.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hugegraph.pd.PartitionSplitPlanner;
+import org.apache.hugegraph.pd.grpc.Metapb;
+import org.junit.Test;
+
+public class PartitionSplitPlannerTest {
+
+    @Test
+    public void testEvenSplit() {
+        assertEquals(Arrays.asList(0L, 3L, 6L, 10L),
+                     PartitionSplitPlanner.splitKeys(0, 10, 3, Collections.emptyList()));
+        // Not enough accesses
+        assertEquals(Arrays.asList(0L, 5L, 10L),
+                     PartitionSplitPlanner.splitKeys(0, 10, 2,
+                                                     Arrays.asList(range(0, 2, 1))));
+        // The stale ranges out of the partition are ignored
+        assertEquals(Arrays.asList(100L, 150L, 200L),
+                     PartitionSplitPlanner.splitKeys(100, 200, 2,
+                                                     Arrays.asList(range(0, 100, 100))));
+    }
+
+    @Test
+    public void testWeightedSplit() {
+        // The accesses are in the second half of the partition
+        List<Metapb.HotRange> ranges = Arrays.asList(range(0, 500, 10),
+                                                     range(500, 1000, 90));
+        List<Long> keys = PartitionSplitPlanner.splitKeys(0, 1000, 2, ranges);
+        assertEquals(Arrays.asList(0L, 722L, 1000L), keys);
+    }
+
+    @Test
+    public void testIsolateHotRange() {
+        // The hot range [400, 416) of a celebrity vertex
+        List<Metapb.HotRange> ranges = Arrays.asList(range(416, 1000, 20),
+                                                     range(0, 400, 20),
+                                                     range(400, 416, 60));
+        assertEquals(Arrays.asList(0L, 400L, 1000L),
+                     PartitionSplitPlanner.splitKeys(0, 1000, 2, ranges));
+        assertEquals(Arrays.asList(0L, 400L, 416L, 1000L),
+                     PartitionSplitPlanner.splitKeys(0, 1000, 3, ranges));
+
+        // Cut the hot range if it can't be isolated by the split count
+        ranges = Arrays.asList(range(0, 16, 100), range(16, 1000, 1));
+        assertEquals(Arrays.asList(0L, 5L, 10L, 1000L),
+                     PartitionSplitPlanner.splitKeys(0, 1000, 3, ranges));
+    }
+
+    private static Metapb.HotRange range(long start, long end, long accesses) {
+        return Metapb.HotRange.newBuilder().setStartKey(start).setEndKey(end)
+                              .setAccesses(accesses).build();
+    }
+}
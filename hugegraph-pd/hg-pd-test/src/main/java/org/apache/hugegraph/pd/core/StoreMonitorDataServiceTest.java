@@ -17,6 +17,8 @@
 
 package org.apache.hugegraph.pd.core;
 
+import static org.apache.hugegraph.pd.StoreMonitorDataService.Resolution.HOUR;
+import static org.apache.hugegraph.pd.StoreMonitorDataService.Resolution.MINUTE;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -67,9 +69,63 @@ public class StoreMonitorDataServiceTest extends PDCoreTestBase {
         assertEquals(0, this.service.getStoreMonitorData(1).size());
     }
 
+    @Test
+    public void testRollup() throws InterruptedException, PDException {
+        long now = System.currentTimeMillis() / 1000;
+        for (int i = 0; i < 2; i++) {
+            this.service.saveMonitorData(genStats(2));
+            now = System.currentTimeMillis() / 1000;
+            Thread.sleep(1100);
+        }
+        // the raw data is rolled up before removed
+        assertEquals(2, this.service.removeExpiredMonitorData(2, now + 1));
+
+        var minutes = this.service.getStoreMonitorData(2, 0, now + 1, MINUTE);
+        assertTrue(minutes.size() >= 1 && minutes.size() <= 2);
+        assertEquals(1L, (long) minutes.get(0).get("key1"));
+        assertEquals(0L, minutes.get(0).get("ts") % 60);
+
+        var hours = this.service.getStoreMonitorData(2, 0, now + 1, HOUR);
+        assertTrue(hours.size() >= 1 && hours.size() <= 2);
+        assertEquals(0, this.service.getStoreMonitorData(2, now + 1, now + 2, HOUR).size());
+
+        assertEquals(minutes.size(),
+                     this.service.removeExpiredMonitorData(2, now + 1, MINUTE));
+        assertEquals(0, this.service.getStoreMonitorData(2, 0, now + 1, MINUTE).size());
+    }
+
+    @Test
+    public void testReloadOnLeaderChanged() throws InterruptedException, PDException {
+        this.service.saveMonitorData(genStats(4));
+        // the open block is not written on each save
+        var other = new StoreMonitorDataService(getPdConfig());
+        assertEquals(0, other.getStoreMonitorData(4).size());
+        assertEquals(1, this.service.getStoreMonitorData(4).size());
+        this.service.flush();
+        assertEquals(1, other.getStoreMonitorData(4).size());
+
+        // the block written by another leader is reloaded
+        Thread.sleep(1100);
+        other.saveMonitorData(genStats(4));
+        other.flush();
+        this.service.onRaftLeaderChanged();
+        Thread.sleep(1100);
+        this.service.saveMonitorData(genStats(4));
+        this.service.flush();
+        this.service.onRaftLeaderChanged();
+        assertEquals(3, this.service.getStoreMonitorData(4).size());
+
+        long now = System.currentTimeMillis() / 1000;
+        this.service.removeExpiredMonitorData(4, now + 1);
+    }
+
     private Metapb.StoreStats genStats() {
+        return genStats(1);
+    }
+
+    private Metapb.StoreStats genStats(long storeId) {
         return Metapb.StoreStats.newBuilder()
-                                .setStoreId(1)
+                                .setStoreId(storeId)
                                 .addSystemMetrics(
                                         Metapb.RecordPair.newBuilder().setKey("key1").setValue(1)
                                                          .build())
@@ -17,7 +17,9 @@
 
 package org.apache.hugegraph.pd.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -75,6 +77,33 @@ public class TaskScheduleServiceTest extends PDCoreTestBase {
         getStoreNodeService().getStoreInfoMeta().removeAll();
     }
 
+    @Test
+    public void testBalancePartitionLeaderByLoad() throws PDException {
+        var list = new ArrayList<Metapb.Partition>();
+        for (int i = 0; i < 6; i++) {
+            getStoreNodeService().getStoreInfoMeta().updateShardGroup(genShardGroup(i));
+            list.add(genPartition(i));
+        }
+
+        getPdConfig().getPartition().setShardCount(3);
+        getPdConfig().getPartition().setLoadBalanceEnabled(true);
+        getPdConfig().getPartition().setMaxBalanceLeaders(2);
+
+        getPartitionService().updatePartition(list);
+        try {
+            // All the leaders are on store 1, bounded by the max leaders
+            var rst = this.service.balancePartitionLeader(true);
+            assertEquals(2, rst.size());
+            rst.values().forEach(storeId -> assertNotEquals(1L, (long) storeId));
+        } finally {
+            // recover
+            getPdConfig().getPartition().setShardCount(1);
+            getPdConfig().getPartition().setLoadBalanceEnabled(false);
+            getPdConfig().getPartition().setMaxBalanceLeaders(2);
+            getStoreNodeService().getStoreInfoMeta().removeAll();
+        }
+    }
+
     // TODO
     public void testSplitPartition() {
 
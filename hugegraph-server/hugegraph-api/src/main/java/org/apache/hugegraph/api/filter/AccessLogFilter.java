@@ -26,6 +26,7 @@ import static org.apache.hugegraph.metrics.MetricsUtil.METRICS_PATH_TOTAL_COUNTE
 import java.io.IOException;
 import java.net.URI;
 
+import org.apache.hugegraph.backend.query.QueryProfile;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.config.ServerOptions;
 import org.apache.hugegraph.core.GraphManager;
@@ -114,8 +115,15 @@ public class AccessLogFilter implements ContainerResponseFilter {
             if (timeThreshold > 0 && executeTime > timeThreshold &&
                 needRecordLog(requestContext)) {
                 // TODO: set RequestBody null, handle it later & should record "client IP"
-                LOG.info("[Slow Query] execTime={}ms, body={}, method={}, path={}, query={}",
-                         executeTime, null, method, path, uri.getQuery());
+                Object profile = requestContext.getProperty(ProfileFilter.PROFILE);
+                if (profile == null) {
+                    LOG.info("[Slow Query] execTime={}ms, body={}, method={}, path={}, query={}",
+                             executeTime, null, method, path, uri.getQuery());
+                } else {
+                    LOG.info("[Slow Query] execTime={}ms, body={}, method={}, path={}, query={}, " +
+                             "profile={}", executeTime, null, method, path, uri.getQuery(),
+                             ((QueryProfile) profile).end());
+                }
             }
         }
 
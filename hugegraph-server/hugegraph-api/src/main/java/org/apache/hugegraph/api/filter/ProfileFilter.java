@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.api.filter;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.backend.query.QueryProfile;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.config.ServerOptions;
+import org.apache.hugegraph.util.JsonUtil;
+import org.apache.hugegraph.util.Log;
+import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
+import org.apache.tinkerpop.shaded.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Profile the request with parameter 'profile=true' and add the profile
+ * to the json object of response as the field 'profile', or profile the
+ * requests which may be logged as slow query if 'log.slow_query_profile'
+ * is enabled.
+ * <p>
+ * NOTE: the Gremlin requests are executed by the Gremlin server rather
+ * than the thread of the request, use the 'profile()' step to profile
+ * them instead.
+ */
+@Provider
+@Singleton
+public class ProfileFilter implements ContainerRequestFilter,
+                                      ContainerResponseFilter {
+
+    private static final Logger LOG = Log.logger(ProfileFilter.class);
+
+    public static final String PROFILE = "profile";
+
+    private static final String PROFILE_PARAM = "profile";
+
+    @Context
+    private jakarta.inject.Provider<HugeConfig> configProvider;
+
+    @Override
+    public void filter(ContainerRequestContext context) throws IOException {
+        // Discard the profile left by the request failed before
+        QueryProfile left = QueryProfile.current();
+        if (left != null) {
+            left.end();
+        }
+
+        boolean requested = requested(context);
+        if (!requested) {
+            HugeConfig config = this.configProvider.get();
+            if (!config.get(ServerOptions.SLOW_QUERY_LOG_PROFILE) ||
+                config.get(ServerOptions.SLOW_QUERY_LOG_TIME_THRESHOLD) <= 0L ||
+                !AccessLogFilter.needRecordLog(context)) {
+                return;
+            }
+        }
+        String name = context.getMethod() + " " +
+                      context.getUriInfo().getPath();
+        context.setProperty(PROFILE, QueryProfile.begin(name));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext,
+                       ContainerResponseContext responseContext)
+                       throws IOException {
+        Object property = requestContext.getProperty(PROFILE);
+        if (property == null) {
+            return;
+        }
+        QueryProfile profile = ((QueryProfile) property).end();
+        if (!requested(requestContext)) {
+            return;
+        }
+
+        // Add the profile as a field of the json object of response
+        Object entity = responseContext.getEntity();
+        if (!(entity instanceof String)) {
+            return;
+        }
+        JsonNode json;
+        try {
+            json = JsonUtil.fromJson((String) entity, JsonNode.class);
+        } catch (HugeException e) {
+            LOG.debug("Can't add profile to the response of non-json", e);
+            return;
+        }
+        if (!(json instanceof ObjectNode)) {
+            return;
+        }
+        ((ObjectNode) json).putPOJO(PROFILE, profile.asMap());
+        responseContext.setEntity(JsonUtil.toJson(json));
+    }
+
+    private static boolean requested(ContainerRequestContext context) {
+        String value = context.getUriInfo().getQueryParameters()
+                              .getFirst(PROFILE_PARAM);
+        return Boolean.parseBoolean(value);
+    }
+}
@@ -298,15 +298,7 @@ public interface HugeAuthenticator extends Authenticator {
                 // Deny all if no specified permission
                 return false;
             }
-            List<HugeResource> ress;
-            if (permission instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<HugeResource> list = (List<HugeResource>) permission;
-                ress = list;
-            } else {
-                ress = HugeResource.parseResources(permission.toString());
-            }
-            for (HugeResource res : ress) {
+            for (HugeResource res : resources(permission)) {
                 if (res.filter(requiredResource)) {
                     return true;
                 }
@@ -314,6 +306,36 @@ public interface HugeAuthenticator extends Authenticator {
             return false;
         }
 
+        private boolean matchResourceType(HugePermission requiredAction,
+                                          String owner, ResourceType type) {
+            Map<HugePermission, Object> permissions = this.roles.get(owner);
+            if (permissions == null) {
+                return false;
+            }
+            Object permission = matchedAction(requiredAction, permissions);
+            if (permission == null) {
+                return false;
+            }
+            // Any label and any properties of the type
+            HugeResource required = new HugeResource(type, HugeResource.ANY,
+                                                     null);
+            for (HugeResource res : resources(permission)) {
+                if (res.contains(required)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static List<HugeResource> resources(Object permission) {
+            if (permission instanceof List) {
+                @SuppressWarnings("unchecked")
+                List<HugeResource> list = (List<HugeResource>) permission;
+                return list;
+            }
+            return HugeResource.parseResources(permission.toString());
+        }
+
         private static Object matchedAction(HugePermission action,
                                             Map<HugePermission, Object> perms) {
             Object matched = perms.get(action);
@@ -367,6 +389,22 @@ public interface HugeAuthenticator extends Authenticator {
             return rolePerm.matchResource(required, resourceObject);
         }
 
+        /**
+         * Match the permission of all the resources of a type in a graph,
+         * which is not limited by the label or properties of the resources
+         */
+        public static boolean matchAll(Object role, HugePermission required,
+                                       String owner, ResourceType type) {
+            if (role == ROLE_ADMIN) {
+                return true;
+            }
+            if (role == ROLE_NONE) {
+                return false;
+            }
+            RolePerm rolePerm = RolePerm.fromJson(role);
+            return rolePerm.matchResourceType(required, owner, type);
+        }
+
         public static boolean match(Object role, RolePermission grant,
                                     ResourceObject<?> resourceObject) {
             if (role == ROLE_ADMIN) {
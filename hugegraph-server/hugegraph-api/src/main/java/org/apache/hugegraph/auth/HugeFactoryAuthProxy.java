@@ -276,7 +276,7 @@ public final class HugeFactoryAuthProxy {
                                            "matchEdgeSortKeys", "rightResultFromIndexQuery");
         Reflection.registerFieldsToFilter(IndexableTransaction.class, "$assertionsDisabled");
         Reflection.registerMethodsToFilter(IndexableTransaction.class, "indexTransaction",
-                                           "commit2Backend", "reset");
+                                           "commit2Backend", "reset", "afterCommit");
         Reflection.registerFieldsToFilter(AbstractTransaction.class, "LOG", "ownerThread",
                                           "autoCommit", "closed", "committing",
                                           "committing2Backend", "graph", "store", "mutation",
@@ -285,7 +285,7 @@ public final class HugeFactoryAuthProxy {
                                            "prepareCommit", "params", "mutation", "commit2Backend",
                                            "autoCommit", "beforeRead", "afterWrite", "afterRead",
                                            "commitMutation2Backend", "checkOwnerThread", "doAction",
-                                           "store", "reset");
+                                           "store", "reset", "afterCommit");
         Reflection.registerFieldsToFilter(HugeFactory.class, "LOG", "NAME_REGEX", "graphs");
         Reflection.registerMethodsToFilter(HugeFactory.class, "lambda$0");
         Reflection.registerFieldsToFilter(SchemaElement.class, "graph", "id", "name", "userdata",
@@ -79,6 +79,7 @@ import org.apache.hugegraph.task.TaskStatus;
 import org.apache.hugegraph.traversal.optimize.HugeScriptTraversal;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.Nameable;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.GraphMode;
 import org.apache.hugegraph.type.define.GraphReadMode;
 import org.apache.hugegraph.util.E;
@@ -538,6 +539,31 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return verifyElemPermission(HugePermission.READ, edges);
     }
 
+    @Override
+    public Iterator<Id> adjacentVertexIds(Query query) {
+        // The permission of edges need to be verified one by one
+        Iterator<Edge> edges = this.edges(query);
+        return new MapperIterator<>(edges, edge -> {
+            return ((HugeEdge) edge).id().otherVertexId();
+        });
+    }
+
+    @Override
+    public Collection<Id> traverseVertexIds(Id source, Directions dir,
+                                            Id label, int depth, long degree,
+                                            long capacity, long limit) {
+        /*
+         * The edges are traversed in store and can't be verified one by one,
+         * so it's only allowed if the user can read all the edges, otherwise
+         * return null to let the caller traverse the verified edges instead
+         */
+        if (!this.matchAllPermission(HugePermission.READ, ResourceType.EDGE)) {
+            return null;
+        }
+        return this.hugegraph.traverseVertexIds(source, dir, label, depth,
+                                                degree, capacity, limit);
+    }
+
     @Override
     public Number queryNumber(Query query) {
         ResourceType resType;
@@ -833,6 +859,16 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         });
     }
 
+    private boolean matchAllPermission(HugePermission actionPerm,
+                                       ResourceType resType) {
+        Context context = getContext();
+        E.checkState(context != null,
+                     "Missing authentication context " +
+                     "when verifying resource permission");
+        return RolePerm.matchAll(context.user().role(), actionPerm,
+                                 this.hugegraph.name(), resType);
+    }
+
     private <V extends AuthElement> V verifyUserPermission(
             HugePermission actionPerm,
             V elementFetcher) {
@@ -323,6 +323,16 @@ public class ServerOptions extends OptionHolder {
                     1000L
             );
 
+    public static final ConfigOption<Boolean> SLOW_QUERY_LOG_PROFILE =
+            new ConfigOption<>(
+                    "log.slow_query_profile",
+                    "Whether to profile the queries and log the profile " +
+                    "of slow query, a query can also be profiled by the " +
+                    "request parameter 'profile=true'.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<Double> JVM_MEMORY_MONITOR_THRESHOLD =
             new ConfigOption<>(
                     "memory_monitor.threshold",
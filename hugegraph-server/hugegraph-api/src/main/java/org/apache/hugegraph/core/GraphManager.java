@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.core;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
@@ -39,7 +40,10 @@ import org.apache.hugegraph.auth.StandardAuthenticator;
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.cache.Cache;
 import org.apache.hugegraph.backend.cache.CacheManager;
+import org.apache.hugegraph.backend.cache.SingleFlight;
 import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.store.BackendLatencies;
+import org.apache.hugegraph.backend.store.BackendStore;
 import org.apache.hugegraph.backend.store.BackendStoreInfo;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
@@ -65,6 +69,7 @@ import org.apache.hugegraph.testutil.Whitebox;
 import org.apache.hugegraph.type.define.NodeRole;
 import org.apache.hugegraph.util.ConfigUtil;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.LatencyHistogram;
 import org.apache.hugegraph.util.Events;
 import org.apache.hugegraph.util.Log;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticationException;
@@ -75,6 +80,8 @@ import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.slf4j.Logger;
 
 import com.alipay.sofa.rpc.config.ServerConfig;
+import com.codahale.metrics.CachedGauge;
+import com.codahale.metrics.MetricRegistry;
 
 import jakarta.ws.rs.core.SecurityContext;
 
@@ -82,6 +89,11 @@ public final class GraphManager {
 
     private static final Logger LOG = Log.logger(GraphManager.class);
 
+    private static final double[] LATENCY_QUANTILES = {0.5, 0.95, 0.99,
+                                                       0.999};
+    // The snapshot of a latency histogram is reused within a scrape
+    private static final long LATENCY_SNAPSHOT_TTL = 1000L;
+
     private final String graphsDir;
     private final Map<String, Graph> graphs;
     private final HugeAuthenticator authenticator;
@@ -541,6 +553,12 @@ public final class GraphManager {
             return count;
         });
 
+        // Add metrics for latencies of backend operations
+        BackendLatencies.listen(GraphManager::registerLatencyMetrics);
+        BackendLatencies.listenRemoved(GraphManager::unregisterLatencyMetrics);
+        BackendLatencies.histograms()
+                        .forEach(GraphManager::registerLatencyMetrics);
+
         // Add metrics for task
         MetricsUtil.registerGauge(TaskManager.class, "workers", () -> {
             return TaskManager.instance().workerPoolSize();
@@ -637,6 +655,65 @@ public final class GraphManager {
         }
     }
 
+    private static synchronized void registerLatencyMetrics(
+                                     String name, LatencyHistogram histogram) {
+        String key = String.format("latency.%s", name);
+
+        // Avoid registering multiple times
+        String count = String.format("%s.%s", key, "count");
+        Set<String> names = MetricManager.INSTANCE.getRegistry().getNames();
+        if (names.contains(MetricRegistry.name(BackendStore.class, count))) {
+            return;
+        }
+
+        // The gauges of a histogram share the snapshot taken in a scrape
+        CachedGauge<LatencyHistogram.Snapshot> snapshot;
+        snapshot = new CachedGauge<LatencyHistogram.Snapshot>(
+                           LATENCY_SNAPSHOT_TTL, TimeUnit.MILLISECONDS) {
+            @Override
+            protected LatencyHistogram.Snapshot loadValue() {
+                return histogram.snapshot();
+            }
+        };
+
+        // The latencies are in microseconds
+        MetricsUtil.registerGauge(BackendStore.class, count, () -> {
+            return snapshot.getValue().count();
+        });
+        MetricsUtil.registerGauge(BackendStore.class, key + ".mean_us", () -> {
+            return micros(snapshot.getValue().mean());
+        });
+        for (double quantile : LATENCY_QUANTILES) {
+            String quantileKey = String.format("%s.p%s_us", key,
+                                               quantileName(quantile));
+            MetricsUtil.registerGauge(BackendStore.class, quantileKey, () -> {
+                return micros(snapshot.getValue().value(quantile));
+            });
+        }
+        MetricsUtil.registerGauge(BackendStore.class, key + ".max_us", () -> {
+            return micros(snapshot.getValue().max());
+        });
+    }
+
+    private static synchronized void unregisterLatencyMetrics(String name) {
+        String prefix = MetricRegistry.name(BackendStore.class,
+                                            "latency." + name + ".");
+        MetricManager.INSTANCE.getRegistry().removeMatching((key, metric) -> {
+            return key.startsWith(prefix);
+        });
+    }
+
+    private static String quantileName(double quantile) {
+        // Like 0.5 -> 50, 0.999 -> 999
+        String name = BigDecimal.valueOf(quantile).toPlainString();
+        name = name.substring(name.indexOf('.') + 1);
+        return name.length() == 1 ? name + "0" : name;
+    }
+
+    private static double micros(double nanos) {
+        return nanos / 1000.0D;
+    }
+
     private static void registerCacheMetrics(Map<String, Cache<?, ?>> caches) {
         Set<String> names = MetricManager.INSTANCE.getRegistry().getNames();
         for (Map.Entry<String, Cache<?, ?>> entry : caches.entrySet()) {
@@ -648,6 +725,8 @@ public final class GraphManager {
             String exp = String.format("%s.%s", key, "expire");
             String size = String.format("%s.%s", key, "size");
             String cap = String.format("%s.%s", key, "capacity");
+            String coalesced = String.format("%s.%s", key, "coalesced");
+            String batched = String.format("%s.%s", key, "batched");
 
             // Avoid registering multiple times
             if (names.stream().anyMatch(name -> name.endsWith(hits))) {
@@ -659,6 +738,22 @@ public final class GraphManager {
             MetricsUtil.registerGauge(Cache.class, exp, cache::expire);
             MetricsUtil.registerGauge(Cache.class, size, cache::size);
             MetricsUtil.registerGauge(Cache.class, cap, cache::capacity);
+            MetricsUtil.registerGauge(Cache.class, coalesced, () -> {
+                // The loads coalesced on cache miss, only for graph caches
+                Object loads = cache.attachment();
+                if (loads instanceof SingleFlight) {
+                    return ((SingleFlight<?, ?>) loads).coalesced();
+                }
+                return 0L;
+            });
+            MetricsUtil.registerGauge(Cache.class, batched, () -> {
+                // The loads batched with other callers on cache miss
+                Object loads = cache.attachment();
+                if (loads instanceof SingleFlight) {
+                    return ((SingleFlight<?, ?>) loads).batched();
+                }
+                return 0L;
+            });
         }
     }
 }
@@ -123,6 +123,39 @@ public class CassandraOptions extends OptionHolder {
                     7199
             );
 
+    public static final ConfigOption<Integer> CASSANDRA_PREPARED_STATEMENTS =
+            new ConfigOption<>(
+                    "cassandra.prepared_statements",
+                    "The max number of write statement templates prepared " +
+                    "and cached for each store, the writes are sent as " +
+                    "bound statements of the cached templates, " +
+                    "0 means never prepare the write statements.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    1000
+            );
+
+    public static final ConfigOption<Boolean> CASSANDRA_UNLOGGED_BATCH =
+            new ConfigOption<>(
+                    "cassandra.unlogged_batch",
+                    "Whether to commit the writes spanning multiple " +
+                    "partitions as unlogged batches grouped by partition " +
+                    "key, which are sent to the replicas of each partition " +
+                    "in parallel. Note that a commit is no longer atomic " +
+                    "across partitions when it's enabled, e.g. a vertex may " +
+                    "be written without its index if the commit failed.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Integer> CASSANDRA_MAX_INFLIGHT_BATCHES =
+            new ConfigOption<>(
+                    "cassandra.max_inflight_batches",
+                    "The max number of unlogged batches sent in parallel " +
+                    "by a commit.",
+                    rangeInt(1, 65535),
+                    128
+            );
+
     public static final ConfigOption<Integer> AGGR_TIMEOUT =
             new ConfigOption<>(
                     "cassandra.aggregation_timeout",
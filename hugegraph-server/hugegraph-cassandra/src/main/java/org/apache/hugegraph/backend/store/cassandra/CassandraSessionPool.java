@@ -17,9 +17,14 @@
 
 package org.apache.hugegraph.backend.store.cassandra;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.store.BackendSession.AbstractBackendSession;
@@ -28,15 +33,20 @@ import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.util.E;
 
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Cluster.Builder;
+import com.datastax.driver.core.CodecRegistry;
 import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ProtocolOptions.Compression;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.querybuilder.BuiltStatement;
 
 public class CassandraSessionPool extends BackendSessionPool {
 
@@ -44,12 +54,15 @@ public class CassandraSessionPool extends BackendSessionPool {
 
     private Cluster cluster;
     private final String keyspace;
+    // The prepared write statements of this store, keyed by the cql template
+    private final ConcurrentMap<String, PreparedStatement> preparedStatements;
 
     public CassandraSessionPool(HugeConfig config,
                                 String keyspace, String store) {
         super(config, keyspace + "/" + store);
         this.cluster = null;
         this.keyspace = keyspace;
+        this.preparedStatements = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -125,6 +138,7 @@ public class CassandraSessionPool extends BackendSessionPool {
 
     @Override
     protected synchronized void doClose() {
+        this.preparedStatements.clear();
         if (this.cluster != null && !this.cluster.isClosed()) {
             this.cluster.close();
         }
@@ -136,6 +150,31 @@ public class CassandraSessionPool extends BackendSessionPool {
         return !this.cluster.isClosed();
     }
 
+    /**
+     * Group the statements by the partition key they are routed to, the
+     * statements without routing key are grouped alone one by one
+     */
+    protected static List<List<Statement>> groupByPartition(
+                                           Collection<Statement> statements,
+                                           ProtocolVersion protocol,
+                                           CodecRegistry codecs) {
+        Map<ByteBuffer, List<Statement>> partitions = new LinkedHashMap<>();
+        List<List<Statement>> groups = new ArrayList<>();
+        for (Statement statement : statements) {
+            ByteBuffer key = statement.getRoutingKey(protocol, codecs);
+            if (key == null) {
+                List<Statement> group = new ArrayList<>(1);
+                group.add(statement);
+                groups.add(group);
+                continue;
+            }
+            partitions.computeIfAbsent(key, k -> new ArrayList<>())
+                      .add(statement);
+        }
+        groups.addAll(partitions.values());
+        return groups;
+    }
+
     /**
      * The Session class is a wrapper of driver Session
      * Expect every thread hold its own session(wrapper)
@@ -151,7 +190,7 @@ public class CassandraSessionPool extends BackendSessionPool {
         }
 
         public BatchStatement add(Statement statement) {
-            return this.batch.add(statement);
+            return this.batch.add(this.prepare(statement));
         }
 
         @Override
@@ -161,7 +200,23 @@ public class CassandraSessionPool extends BackendSessionPool {
 
         @Override
         public ResultSet commit() {
-            ResultSet rs = this.session.execute(this.batch);
+            Collection<Statement> statements = this.batch.getStatements();
+            List<List<Statement>> partitions = groupByPartition(
+                                               statements,
+                                               this.protocolVersion(),
+                                               this.codecRegistry());
+            ResultSet rs;
+            if (partitions.size() == 1) {
+                /*
+                 * All the statements are in the same partition, which is
+                 * atomic and isolated without the batch log
+                 */
+                rs = this.session.execute(this.unloggedBatch(statements));
+            } else if (this.unloggedBatchEnabled()) {
+                rs = this.commitPartitions(partitions);
+            } else {
+                rs = this.session.execute(this.batch);
+            }
             // Clear batch if execute() successfully (retained if failed)
             this.batch.clear();
             return rs;
@@ -191,6 +246,109 @@ public class CassandraSessionPool extends BackendSessionPool {
             this.batch.clear();
         }
 
+        private ResultSet commitPartitions(List<List<Statement>> partitions) {
+            HugeConfig conf = CassandraSessionPool.this.config();
+            int maxInflight = conf.get(
+                              CassandraOptions.CASSANDRA_MAX_INFLIGHT_BATCHES);
+
+            /*
+             * Each partition is written by an unlogged batch, which is
+             * routed to the replicas of the partition by token-aware policy
+             */
+            ResultSet rs = null;
+            List<ResultSetFuture> results = new ArrayList<>(maxInflight);
+            for (List<Statement> partition : partitions) {
+                results.add(this.session.executeAsync(
+                            this.unloggedBatch(partition)));
+                if (results.size() >= maxInflight) {
+                    rs = waitResults(results);
+                }
+            }
+            if (!results.isEmpty()) {
+                rs = waitResults(results);
+            }
+            return rs;
+        }
+
+        private Statement unloggedBatch(Collection<Statement> statements) {
+            if (statements.size() == 1) {
+                return statements.iterator().next();
+            }
+            BatchStatement batch = new BatchStatement(
+                                   BatchStatement.Type.UNLOGGED);
+            return batch.addAll(statements);
+        }
+
+        private ResultSet waitResults(List<ResultSetFuture> results) {
+            ResultSet rs = null;
+            for (ResultSetFuture future : results) {
+                rs = future.getUninterruptibly();
+            }
+            results.clear();
+            return rs;
+        }
+
+        private Statement prepare(Statement statement) {
+            if (!(statement instanceof BuiltStatement)) {
+                return statement;
+            }
+            BuiltStatement built = (BuiltStatement) statement;
+            CodecRegistry codecs = this.codecRegistry();
+            if (!built.hasValues(codecs)) {
+                return statement;
+            }
+
+            /*
+             * The values of built statement are sent as bind variables of
+             * the same cql, so bind the serialized values to the prepared
+             * statement of the cql, which is also routed token-aware
+             */
+            PreparedStatement prepared = this.prepared(
+                                         built.getQueryString(codecs));
+            if (prepared == null) {
+                return statement;
+            }
+            ByteBuffer[] values = built.getValues(this.protocolVersion(),
+                                                  codecs);
+            BoundStatement bound = prepared.bind();
+            for (int i = 0; i < values.length; i++) {
+                bound.setBytesUnsafe(i, values[i]);
+            }
+            return bound;
+        }
+
+        private PreparedStatement prepared(String cql) {
+            Map<String, PreparedStatement> statements = preparedStatements;
+            PreparedStatement prepared = statements.get(cql);
+            if (prepared != null) {
+                return prepared;
+            }
+
+            HugeConfig conf = CassandraSessionPool.this.config();
+            int capacity = conf.get(
+                           CassandraOptions.CASSANDRA_PREPARED_STATEMENTS);
+            if (statements.size() >= capacity) {
+                return null;
+            }
+            prepared = this.session.prepare(cql);
+            PreparedStatement old = statements.putIfAbsent(cql, prepared);
+            return old != null ? old : prepared;
+        }
+
+        private boolean unloggedBatchEnabled() {
+            HugeConfig conf = CassandraSessionPool.this.config();
+            return conf.get(CassandraOptions.CASSANDRA_UNLOGGED_BATCH);
+        }
+
+        private ProtocolVersion protocolVersion() {
+            return cluster().getConfiguration().getProtocolOptions()
+                            .getProtocolVersion();
+        }
+
+        private CodecRegistry codecRegistry() {
+            return cluster().getConfiguration().getCodecRegistry();
+        }
+
         public ResultSet query(Statement statement) {
             assert !this.hasChanges();
             return this.execute(statement);
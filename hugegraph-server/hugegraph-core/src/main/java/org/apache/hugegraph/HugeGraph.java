@@ -46,11 +46,13 @@ import org.apache.hugegraph.schema.SchemaManager;
 import org.apache.hugegraph.schema.VertexLabel;
 import org.apache.hugegraph.structure.HugeFeatures;
 import org.apache.hugegraph.task.TaskScheduler;
+import org.apache.hugegraph.traversal.optimize.CachedTraversalStrategies;
 import org.apache.hugegraph.traversal.optimize.HugeCountStepStrategy;
 import org.apache.hugegraph.traversal.optimize.HugeGraphStepStrategy;
 import org.apache.hugegraph.traversal.optimize.HugePrimaryKeyStrategy;
 import org.apache.hugegraph.traversal.optimize.HugeVertexStepStrategy;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.GraphMode;
 import org.apache.hugegraph.type.define.GraphReadMode;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
@@ -184,6 +186,20 @@ public interface HugeGraph extends Graph {
 
     Iterator<Edge> adjacentEdges(Id vertexId);
 
+    Iterator<Id> adjacentVertexIds(Query query);
+
+    /**
+     * Traverse from the source vertex by `depth` steps inside the backend
+     * store, the vertices visited by the previous steps are skipped, only
+     * supported if backendStoreFeatures().supportsTraverseInStore()
+     * @return the ids of the vertices reached by the last step, or null if
+     *         the edges can't be traversed in store, like the edges can't be
+     *         read by the user without verifying them one by one
+     */
+    Collection<Id> traverseVertexIds(Id source, Directions dir, Id label,
+                                     int depth, long degree, long capacity,
+                                     long limit);
+
     Number queryNumber(Query query);
 
     String name();
@@ -348,6 +364,7 @@ public interface HugeGraph extends Graph {
                                  HugeCountStepStrategy.instance(),
                                  HugePrimaryKeyStrategy.instance());
 
-        TraversalStrategies.GlobalCache.registerStrategies(clazz, strategies);
+        TraversalStrategies.GlobalCache.registerStrategies(
+                clazz, new CachedTraversalStrategies(strategies));
     }
 }
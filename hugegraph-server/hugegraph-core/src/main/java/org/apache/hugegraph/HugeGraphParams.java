@@ -17,8 +17,11 @@
 
 package org.apache.hugegraph;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.hugegraph.analyzer.Analyzer;
 import org.apache.hugegraph.backend.LocalCounter;
+import org.apache.hugegraph.backend.query.IndexStatistics;
 import org.apache.hugegraph.backend.serializer.AbstractSerializer;
 import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendStore;
@@ -93,6 +96,10 @@ public interface HugeGraphParams {
 
     RamTable ramtable();
 
+    IndexStatistics indexStatistics();
+
+    ExecutorService analyzerExecutor();
+
     <T> void submitEphemeralJob(EphemeralJob<T> job);
 
     String schedulerType();
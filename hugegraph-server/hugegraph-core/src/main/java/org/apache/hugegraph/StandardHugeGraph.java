@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,10 +42,12 @@ import org.apache.hugegraph.backend.cache.CachedSchemaTransactionV2;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.id.IdGenerator;
 import org.apache.hugegraph.backend.id.SnowflakeIdGenerator;
+import org.apache.hugegraph.backend.query.IndexStatistics;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.serializer.AbstractSerializer;
 import org.apache.hugegraph.backend.serializer.SerializerFactory;
 import org.apache.hugegraph.backend.store.BackendFeatures;
+import org.apache.hugegraph.backend.store.BackendLatencies;
 import org.apache.hugegraph.backend.store.BackendProviderFactory;
 import org.apache.hugegraph.backend.store.BackendStore;
 import org.apache.hugegraph.backend.store.BackendStoreInfo;
@@ -91,12 +94,14 @@ import org.apache.hugegraph.task.ServerInfoManager;
 import org.apache.hugegraph.task.TaskManager;
 import org.apache.hugegraph.task.TaskScheduler;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.GraphMode;
 import org.apache.hugegraph.type.define.GraphReadMode;
 import org.apache.hugegraph.util.ConfigUtil;
 import org.apache.hugegraph.util.DateUtil;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Events;
+import org.apache.hugegraph.util.ExecutorUtil;
 import org.apache.hugegraph.util.LockUtil;
 import org.apache.hugegraph.util.Log;
 import org.apache.hugegraph.variables.HugeVariables;
@@ -141,6 +146,7 @@ public class StandardHugeGraph implements HugeGraph {
             CoreOptions.OLTP_COLLECTION_TYPE,
             CoreOptions.VERTEX_DEFAULT_LABEL,
             CoreOptions.VERTEX_ENCODE_PK_NUMBER,
+            CoreOptions.QUERY_PLAN_CACHE_CAPACITY,
             CoreOptions.STORE_GRAPH,
             CoreOptions.STORE
     );
@@ -177,6 +183,8 @@ public class StandardHugeGraph implements HugeGraph {
     private final TinkerPopTransaction tx;
 
     private final RamTable ramtable;
+    private final IndexStatistics indexStatistics;
+    private final ExecutorService analyzerExecutor;
 
     private final String schedulerType;
 
@@ -205,10 +213,16 @@ public class StandardHugeGraph implements HugeGraph {
         } else {
             this.ramtable = null;
         }
+        this.indexStatistics = new IndexStatistics();
 
         this.taskManager = TaskManager.instance();
 
         this.name = config.get(CoreOptions.STORE);
+        int analyzerThreads = config.get(CoreOptions.TEXT_ANALYZER_THREADS);
+        this.analyzerExecutor = analyzerThreads > 0 ?
+                                ExecutorUtil.newFixedThreadPool(
+                                analyzerThreads, "text-analyzer-" + this.name) :
+                                null;
         this.started = false;
         this.closed = false;
         this.mode = GraphMode.NONE;
@@ -751,6 +765,20 @@ public class StandardHugeGraph implements HugeGraph {
         return this.graphTransaction().queryEdgesByVertex(vertexId);
     }
 
+    @Override
+    public Iterator<Id> adjacentVertexIds(Query query) {
+        return this.graphTransaction().queryAdjacentVertexIds(query);
+    }
+
+    @Override
+    public Collection<Id> traverseVertexIds(Id source, Directions dir,
+                                            Id label, int depth, long degree,
+                                            long capacity, long limit) {
+        return this.graphTransaction().traverseVertexIds(source, dir, label,
+                                                         depth, degree,
+                                                         capacity, limit);
+    }
+
     @Override
     public Number queryNumber(Query query) {
         return this.graphTransaction().queryNumber(query);
@@ -994,6 +1022,10 @@ public class StandardHugeGraph implements HugeGraph {
             this.closed = true;
             this.storeProvider.close();
             LockUtil.destroy(this.name);
+            BackendLatencies.remove(this.name);
+            if (this.analyzerExecutor != null) {
+                this.analyzerExecutor.shutdown();
+            }
         }
         // Make sure that all transactions are closed in all threads
         E.checkState(this.tx.closed(),
@@ -1335,6 +1367,16 @@ public class StandardHugeGraph implements HugeGraph {
             return StandardHugeGraph.this.ramtable;
         }
 
+        @Override
+        public IndexStatistics indexStatistics() {
+            return StandardHugeGraph.this.indexStatistics;
+        }
+
+        @Override
+        public ExecutorService analyzerExecutor() {
+            return StandardHugeGraph.this.analyzerExecutor;
+        }
+
         @Override
         public <T> void submitEphemeralJob(EphemeralJob<T> job) {
             this.ephemeralJobQueue.add(job);
@@ -225,6 +225,12 @@ public class CachedBackendStore implements BackendStore {
             this.hashCode = q.hashCode();
         }
 
+        public QueryId(Query q, long version) {
+            // Results of the query are cached with the version of them
+            this.query = q.toString() + "@" + version;
+            this.hashCode = q.hashCode() ^ Long.hashCode(version);
+        }
+
         @Override
         public IdType type() {
             return IdType.UNKNOWN;
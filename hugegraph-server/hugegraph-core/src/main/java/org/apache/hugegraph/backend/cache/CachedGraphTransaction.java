@@ -21,15 +21,23 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import org.apache.hugegraph.HugeGraphParams;
 import org.apache.hugegraph.backend.cache.CachedBackendStore.QueryId;
+import org.apache.hugegraph.backend.id.EdgeId;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.IdQuery;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.query.QueryProfile;
 import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
@@ -41,15 +49,18 @@ import org.apache.hugegraph.event.EventHub;
 import org.apache.hugegraph.event.EventListener;
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.iterator.ExtendableIterator;
-import org.apache.hugegraph.iterator.ListIterator;
+import org.apache.hugegraph.iterator.MapperIterator;
 import org.apache.hugegraph.perf.PerfUtil.Watched;
 import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.structure.HugeVertex;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Events;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 public final class CachedGraphTransaction extends GraphTransaction {
@@ -62,6 +73,16 @@ public final class CachedGraphTransaction extends GraphTransaction {
 
     private final Cache<Id, Object> verticesCache;
     private final Cache<Id, Object> edgesCache;
+    /*
+     * The version of cached edges of each owner vertex, edges cached with
+     * an old version are invalid, which makes it possible to invalidate
+     * the edges of just the changed vertices instead of clearing all
+     */
+    private final Cache<Id, Object> edgesVersions;
+    private final VersionCounter versionCounter;
+    // The loads of cache missed vertices/edges shared by transactions
+    private final SingleFlight<Id, Object> verticesLoads;
+    private final SingleFlight<Id, Object> edgesLoads;
 
     private EventListener storeEventListener;
     private EventListener cacheEventListener;
@@ -82,6 +103,15 @@ public final class CachedGraphTransaction extends GraphTransaction {
         expire = conf.get(CoreOptions.EDGE_CACHE_EXPIRE);
         this.edgesCache = this.cache("edge", type, capacity,
                                      AVG_EDGE_ENTRY_SIZE, expire);
+        String name = "edge-version-" + this.params().name();
+        this.edgesVersions = CacheManager.instance().cache(name, capacity);
+        this.versionCounter = this.edgesVersions.attachment(
+                              new VersionCounter());
+        int window = conf.get(CoreOptions.VERTEX_CACHE_LOAD_WINDOW);
+        int batchSize = conf.get(CoreOptions.QUERY_BATCH_SIZE);
+        this.verticesLoads = this.verticesCache.attachment(
+                             new SingleFlight<>(window, batchSize));
+        this.edgesLoads = this.edgesCache.attachment(new SingleFlight<>());
 
         this.listenChanges();
     }
@@ -147,31 +177,14 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 HugeType type = (HugeType) args[1];
                 if (type.isVertex()) {
                     // Invalidate vertex cache
-                    Object arg2 = args[2];
-                    if (arg2 instanceof Id) {
-                        Id id = (Id) arg2;
+                    for (Id id : ids(args[2])) {
                         this.verticesCache.invalidate(id);
-                    } else if (arg2 != null && arg2.getClass().isArray()) {
-                        int size = Array.getLength(arg2);
-                        for (int i = 0; i < size; i++) {
-                            Object id = Array.get(arg2, i);
-                            E.checkArgument(id instanceof Id,
-                                            "Expect instance of Id in array, " +
-                                            "but got '%s'", id.getClass());
-                            this.verticesCache.invalidate((Id) id);
-                        }
-                    } else {
-                        E.checkArgument(false,
-                                        "Expect Id or Id[], but got: %s",
-                                        arg2);
+                        this.verticesLoads.forget(id);
                     }
+                    this.versionCounter.vertices = this.versionCounter.next();
                 } else if (type.isEdge()) {
-                    /*
-                     * Invalidate edge cache via clear instead of invalidate
-                     * because of the cacheKey is QueryId not EdgeId
-                     */
-                    // this.edgesCache.invalidate(id);
-                    this.edgesCache.clear();
+                    // Invalidate edges cache of the owner vertices
+                    this.invalidateEdges(ids(args[2]));
                 }
                 return true;
             } else if (Cache.ACTION_CLEAR.equals(args[0])) {
@@ -188,6 +201,24 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
     }
 
+    private static List<Id> ids(Object arg) {
+        if (arg instanceof Id) {
+            return ImmutableList.of((Id) arg);
+        }
+        E.checkArgument(arg != null && arg.getClass().isArray(),
+                        "Expect Id or Id[], but got: %s", arg);
+        int size = Array.getLength(arg);
+        List<Id> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Object id = Array.get(arg, i);
+            E.checkArgument(id instanceof Id,
+                            "Expect instance of Id in array, " +
+                            "but got '%s'", id.getClass());
+            ids.add((Id) id);
+        }
+        return ids;
+    }
+
     private void unlistenChanges() {
         // Unlisten store event
         this.store().provider().unlisten(this.storeEventListener);
@@ -210,9 +241,11 @@ public final class CachedGraphTransaction extends GraphTransaction {
     private void clearCache(HugeType type, boolean notify) {
         if (type == null || type == HugeType.VERTEX) {
             this.verticesCache.clear();
+            this.verticesLoads.forgetAll();
         }
         if (type == null || type == HugeType.EDGE) {
             this.edgesCache.clear();
+            this.edgesLoads.forgetAll();
         }
 
         if (notify) {
@@ -228,6 +261,49 @@ public final class CachedGraphTransaction extends GraphTransaction {
         return this.edgesCache.capacity() > 0L;
     }
 
+    private long edgesVersion(Id owner) {
+        if (owner == null) {
+            // Edges not belong to a vertex, like querying edges by index
+            return this.versionCounter.general;
+        }
+        Object version = this.edgesVersions.get(owner);
+        if (version == null) {
+            Long newVersion = this.versionCounter.next();
+            if (!this.edgesVersions.updateIfAbsent(owner, newVersion)) {
+                version = this.edgesVersions.get(owner);
+            }
+            if (version == null) {
+                version = newVersion;
+            }
+        }
+        return (Long) version;
+    }
+
+    private void invalidateEdges(Collection<Id> owners) {
+        for (Id owner : owners) {
+            this.edgesVersions.update(owner, this.versionCounter.next());
+        }
+        // Any edge changed may change the results of general edge queries
+        this.versionCounter.general = this.versionCounter.next();
+    }
+
+    private static Id edgesOwner(Query query) {
+        if (query instanceof ConditionQuery) {
+            Object owner = ((ConditionQuery) query).condition(
+                                                    HugeKeys.OWNER_VERTEX);
+            if (owner instanceof Id) {
+                return (Id) owner;
+            }
+        }
+        if (query.idsSize() == 1 && query.conditionsSize() == 0) {
+            Id id = query.ids().iterator().next();
+            if (id instanceof EdgeId) {
+                return ((EdgeId) id).ownerVertexId();
+            }
+        }
+        return null;
+    }
+
     private boolean needCacheVertex(HugeVertex vertex) {
         return vertex.sizeOfSubProperties() <= MAX_CACHE_PROPS_PER_VERTEX;
     }
@@ -250,60 +326,113 @@ public final class CachedGraphTransaction extends GraphTransaction {
             HugeVertex vertex = (HugeVertex) this.verticesCache.get(vertexId);
             if (vertex != null) {
                 if (!vertex.expired()) {
+                    QueryProfile.count("cache_hits", 1L);
                     return QueryResults.iterator(vertex);
                 }
                 this.verticesCache.invalidate(vertexId);
             }
-            Iterator<HugeVertex> rs = super.queryVerticesFromBackend(query);
-            vertex = QueryResults.one(rs);
+            QueryProfile.count("cache_misses", 1L);
+            vertex = this.loadVertices(query, query.ids()).get(vertexId);
             if (vertex == null) {
                 return QueryResults.emptyIterator();
             }
-            if (needCacheVertex(vertex)) {
-                this.verticesCache.update(vertex.id(), vertex);
-            }
             return QueryResults.iterator(vertex);
         }
 
-        IdQuery newQuery = new IdQuery(HugeType.VERTEX, query);
-        List<HugeVertex> vertices = new ArrayList<>();
+        List<Id> missedIds = new ArrayList<>();
+        Map<Id, HugeVertex> vertices = new HashMap<>(query.idsSize());
         for (Id vertexId : query.ids()) {
             HugeVertex vertex = (HugeVertex) this.verticesCache.get(vertexId);
             if (vertex == null) {
-                newQuery.query(vertexId);
+                missedIds.add(vertexId);
             } else if (vertex.expired()) {
-                newQuery.query(vertexId);
+                missedIds.add(vertexId);
                 this.verticesCache.invalidate(vertexId);
             } else {
-                vertices.add(vertex);
+                vertices.put(vertexId, vertex);
             }
         }
 
-        // Join results from cache and backend
-        ExtendableIterator<HugeVertex> results = new ExtendableIterator<>();
-        if (!vertices.isEmpty()) {
-            results.extend(vertices.iterator());
-        } else {
-            // Just use the origin query if find none from the cache
-            newQuery = query;
+        QueryProfile.count("cache_hits", vertices.size());
+        QueryProfile.count("cache_misses", missedIds.size());
+        if (!missedIds.isEmpty()) {
+            // Generally there are not too much data with id query
+            vertices.putAll(this.loadVertices(query, missedIds));
         }
 
-        if (!newQuery.empty()) {
+        // Join results from cache and backend in the order of query ids
+        List<HugeVertex> results = new ArrayList<>(vertices.size());
+        for (Id vertexId : query.ids()) {
+            HugeVertex vertex = vertices.get(vertexId);
+            if (vertex != null) {
+                results.add(vertex);
+            }
+        }
+        return results.iterator();
+    }
+
+    private Map<Id, HugeVertex> loadVertices(IdQuery query,
+                                             Collection<Id> ids) {
+        Function<Collection<Id>, Map<Id, Object>> loader = keys -> {
+            IdQuery newQuery = query;
+            // The keys may be part of query, or with the keys of others
+            if (keys.size() != query.idsSize() ||
+                !keys.containsAll(query.ids())) {
+                newQuery = new IdQuery(HugeType.VERTEX, query);
+                newQuery.query(ImmutableSet.copyOf(keys));
+            }
+            Map<Id, Object> vertices = new HashMap<>(keys.size());
             Iterator<HugeVertex> rs = super.queryVerticesFromBackend(newQuery);
-            // Generally there are not too much data with id query
-            ListIterator<HugeVertex> listIterator = QueryResults.toList(rs);
-            for (HugeVertex vertex : listIterator.list()) {
+            while (rs.hasNext()) {
+                HugeVertex vertex = rs.next();
+                vertices.put(vertex.id(), vertex);
                 // Skip large vertex
                 if (needCacheVertex(vertex)) {
                     this.verticesCache.update(vertex.id(), vertex);
                 }
             }
-            results.extend(listIterator);
-        }
+            return vertices;
+        };
 
+        Map<Id, Object> vertices;
+        if (query.withProperties() && !query.showExpired()) {
+            // Wait for (or load in a batch with) other transactions
+            vertices = this.verticesLoads.load(ids, loader);
+        } else {
+            // The results may be different from the normal query
+            vertices = loader.apply(ids);
+        }
+        @SuppressWarnings("unchecked")
+        Map<Id, HugeVertex> results = (Map<Id, HugeVertex>) (Object) vertices;
         return results;
     }
 
+    @Override
+    @Watched(prefix = "graphcache")
+    public Iterator<Id> queryAdjacentVertexIds(Query query) {
+        if (!this.adjacentEdgesInMemory(query)) {
+            return super.queryAdjacentVertexIds(query);
+        }
+        // Prefer the edges in ramtable or cache to decoding from backend
+        Iterator<Edge> edges = this.queryEdges(query);
+        return new MapperIterator<>(edges, edge -> {
+            return ((HugeEdge) edge).id().otherVertexId();
+        });
+    }
+
+    private boolean adjacentEdgesInMemory(Query query) {
+        RamTable ramtable = this.params().ramtable();
+        if (ramtable != null && ramtable.matched(query)) {
+            return true;
+        }
+        if (!this.enableCacheEdge() || query.empty() ||
+            query.paging() || query.bigCapacity()) {
+            return false;
+        }
+        long version = this.edgesVersion(edgesOwner(query));
+        return this.edgesCache.containsKey(new QueryId(query, version));
+    }
+
     @Override
     @Watched(prefix = "graphcache")
     protected Iterator<HugeEdge> queryEdgesFromBackend(Query query) {
@@ -318,7 +447,12 @@ public final class CachedGraphTransaction extends GraphTransaction {
             return super.queryEdgesFromBackend(query);
         }
 
-        Id cacheKey = new QueryId(query);
+        /*
+         * Get the version before querying from backend, so that the
+         * results won't be visible if the edges are changed in the meantime
+         */
+        long version = this.edgesVersion(edgesOwner(query));
+        Id cacheKey = new QueryId(query, version);
         Object value = this.edgesCache.get(cacheKey);
         @SuppressWarnings("unchecked")
         Collection<HugeEdge> edges = (Collection<HugeEdge>) value;
@@ -333,30 +467,71 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
 
         if (value != null) {
-            // Not cached or the cache expired
+            QueryProfile.count("cache_hits", 1L);
+            long verticesVersion = this.versionCounter.vertices;
+            if (value instanceof CachedEdges &&
+                ((CachedEdges) value).verticesVersion != verticesVersion) {
+                /*
+                 * The edges are not invalidated when the adjacent vertices
+                 * are changed, don't share the adjacent vertices loaded
+                 * before the change
+                 */
+                CachedEdges copies = new CachedEdges(edges.size(),
+                                                     verticesVersion);
+                for (HugeEdge edge : edges) {
+                    copies.add(edge.copyWithOtherVertexUnloaded());
+                }
+                this.edgesCache.update(cacheKey, copies);
+                edges = copies;
+            }
             return edges.iterator();
         }
 
-        Iterator<HugeEdge> rs = super.queryEdgesFromBackend(query);
-
+        QueryProfile.count("cache_misses", 1L);
         /*
-         * Iterator can't be cached, caching list instead
-         * there may be super node and too many edges in a query,
-         * try fetch a few of the head results and determine whether to cache.
+         * Wait for the same query being loaded by other transactions, the
+         * edges are shared only if they can be cached, otherwise the query
+         * will be executed again.
          */
-        final int tryMax = 1 + MAX_CACHE_EDGES_PER_QUERY;
-        edges = new ArrayList<>(tryMax);
-        for (int i = 0; rs.hasNext() && i < tryMax; i++) {
-            edges.add(rs.next());
-        }
+        List<Iterator<HugeEdge>> loaded = new ArrayList<>(1);
+        value = this.edgesLoads.load(cacheKey, () -> {
+            Iterator<HugeEdge> rs = super.queryEdgesFromBackend(query);
 
-        if (edges.isEmpty()) {
-            this.edgesCache.update(cacheKey, Collections.emptyList());
-        } else if (edges.size() <= MAX_CACHE_EDGES_PER_QUERY) {
-            this.edgesCache.update(cacheKey, edges);
-        }
+            /*
+             * Iterator can't be cached, caching list instead
+             * there may be super node and too many edges in a query,
+             * try fetch a few of the head results and determine whether
+             * to cache.
+             */
+            final int tryMax = 1 + MAX_CACHE_EDGES_PER_QUERY;
+            CachedEdges results = new CachedEdges(tryMax,
+                                                  this.versionCounter.vertices);
+            for (int i = 0; rs.hasNext() && i < tryMax; i++) {
+                results.add(rs.next());
+            }
+            loaded.add(new ExtendableIterator<>(results.iterator(), rs));
+
+            if (results.isEmpty()) {
+                this.edgesCache.update(cacheKey, Collections.emptyList());
+                return Collections.emptyList();
+            } else if (results.size() <= MAX_CACHE_EDGES_PER_QUERY) {
+                this.edgesCache.update(cacheKey, results);
+                return results;
+            }
+            return null;
+        });
 
-        return new ExtendableIterator<>(edges.iterator(), rs);
+        if (!loaded.isEmpty()) {
+            // Loaded by the current transaction
+            return loaded.get(0);
+        }
+        if (value == null) {
+            // Too many edges to share, query by self
+            return super.queryEdgesFromBackend(query);
+        }
+        @SuppressWarnings("unchecked")
+        Collection<HugeEdge> shared = (Collection<HugeEdge>) value;
+        return shared.iterator();
     }
 
     @Override
@@ -368,7 +543,25 @@ public final class CachedGraphTransaction extends GraphTransaction {
         Id[] vertexIds = new Id[updates.size() + deletions.size()];
         int vertexOffset = 0;
 
-        int edgesInTxSize = this.edgesInTxSize();
+        /*
+         * The edges of a vertex are changed if any edge of it is changed,
+         * for vertex change, the edges linked with should also be updated
+         */
+        Set<Id> edgesOwners = new HashSet<>();
+        if (this.enableCacheEdge()) {
+            for (HugeEdge edge : this.edgesInTx()) {
+                // NOTE: the vertices of edge may be absent if removed by id
+                EdgeId edgeId = (EdgeId) edge.id();
+                edgesOwners.add(edgeId.ownerVertexId());
+                edgesOwners.add(edgeId.otherVertexId());
+            }
+            for (HugeVertex vertex : updates) {
+                edgesOwners.add(vertex.id());
+            }
+            for (HugeVertex vertex : deletions) {
+                edgesOwners.add(vertex.id());
+            }
+        }
 
         try {
             super.commitMutation2Backend(mutations);
@@ -383,6 +576,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
                         // Skip large vertex
                         this.verticesCache.invalidate(vertex.id());
                     }
+                    this.verticesLoads.forget(vertex.id());
                 }
             }
         } finally {
@@ -391,23 +585,22 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 for (HugeVertex vertex : deletions) {
                     vertexIds[vertexOffset++] = vertex.id();
                     this.verticesCache.invalidate(vertex.id());
+                    this.verticesLoads.forget(vertex.id());
                 }
                 if (vertexOffset > 0) {
                     this.notifyChanges(Cache.ACTION_INVALIDED,
                                        HugeType.VERTEX, vertexIds);
                 }
             }
+            if (!updates.isEmpty() || !deletions.isEmpty()) {
+                this.versionCounter.vertices = this.versionCounter.next();
+            }
 
-            /*
-             * Update edge cache if any vertex or edge changed
-             * For vertex change, the edges linked with should also be updated
-             * Before we find a more precise strategy, just clear all the edge cache now
-             */
-            boolean invalidEdgesCache = (edgesInTxSize + updates.size() + deletions.size()) > 0;
-            if (invalidEdgesCache && this.enableCacheEdge()) {
-                // TODO: Use a more precise strategy to update the edge cache
-                this.edgesCache.clear();
-                this.notifyChanges(Cache.ACTION_CLEARED, HugeType.EDGE);
+            // Update edge cache of the changed vertices whatever success or fail
+            if (!edgesOwners.isEmpty()) {
+                this.invalidateEdges(edgesOwners);
+                this.notifyChanges(Cache.ACTION_INVALIDED, HugeType.EDGE,
+                                   edgesOwners.toArray(new Id[0]));
             }
         }
     }
@@ -425,4 +618,28 @@ public final class CachedGraphTransaction extends GraphTransaction {
             }
         }
     }
+
+    private static final class VersionCounter {
+
+        private final AtomicLong versions = new AtomicLong();
+        private volatile long general = 0L;
+        private volatile long vertices = 0L;
+
+        public long next() {
+            return this.versions.incrementAndGet();
+        }
+    }
+
+    private static final class CachedEdges extends ArrayList<HugeEdge> {
+
+        private static final long serialVersionUID = -2484431262620180426L;
+
+        // The version of vertices when the adjacent vertices are loaded
+        private final long verticesVersion;
+
+        public CachedEdges(int capacity, long verticesVersion) {
+            super(capacity);
+            this.verticesVersion = verticesVersion;
+        }
+    }
 }
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.backend.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Coalesce the concurrent loads of the same keys on cache miss: only one
+ * caller loads a key from backend, and the other callers of the key wait
+ * for its result instead of loading it again. This avoids the thundering
+ * herd on backend when a hot key is expired or invalidated.
+ * <p>
+ * The missed keys of different callers can also be loaded in one batch:
+ * with a batch window, the first caller waits for the window (or until the
+ * batch is full) to collect the keys of the concurrent callers, then loads
+ * them all by one call of its loader.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> loads;
+    // The number of keys loaded from backend
+    private final LongAdder loaded;
+    // The number of keys waited for the loads of other callers
+    private final LongAdder coalesced;
+    // The number of keys loaded in the batches of other callers
+    private final LongAdder batched;
+
+    private final long batchWindow;
+    private final int batchSize;
+    private final Object batchLock;
+    // The batch collecting the keys, loaded after the window by its leader
+    private Batch<K, V> pending;
+
+    public SingleFlight() {
+        this(0L, 0);
+    }
+
+    /**
+     * @param batchWindow the milliseconds to collect the keys of a batch,
+     *                    0 means loading the keys of each caller directly
+     * @param batchSize   the max number of keys of a batch, a full batch
+     *                    is loaded without waiting for the window
+     */
+    public SingleFlight(long batchWindow, int batchSize) {
+        E.checkArgument(batchWindow >= 0L,
+                        "The batch window must be >= 0, but got %s",
+                        batchWindow);
+        E.checkArgument(batchWindow == 0L || batchSize > 0,
+                        "The batch size must be > 0, but got %s", batchSize);
+        this.loads = new ConcurrentHashMap<>();
+        this.loaded = new LongAdder();
+        this.coalesced = new LongAdder();
+        this.batched = new LongAdder();
+        this.batchWindow = batchWindow;
+        this.batchSize = batchSize;
+        this.batchLock = new Object();
+        this.pending = null;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        // The loader of a single key can't load the keys of others
+        Map<K, V> values = this.load(ImmutableList.of(key), keys -> {
+            V value = loader.get();
+            return value == null ? ImmutableMap.of() :
+                                   ImmutableMap.of(key, value);
+        }, false);
+        return values.get(key);
+    }
+
+    /**
+     * Load the values of keys, the keys being loaded by other callers are
+     * waited for, and the rest keys are loaded by one call of the loader,
+     * which may also load the keys of other callers in the same batch
+     * @param keys   the keys to be loaded
+     * @param loader the function to load values of keys from backend, the
+     *               keys without value are absent from the returned map
+     * @return the values of keys, the keys without value are absent
+     */
+    public Map<K, V> load(Collection<K> keys,
+                          Function<Collection<K>, Map<K, V>> loader) {
+        return this.load(keys, loader, this.batchWindow > 0L);
+    }
+
+    private Map<K, V> load(Collection<K> keys,
+                           Function<Collection<K>, Map<K, V>> loader,
+                           boolean batching) {
+        Map<K, CompletableFuture<V>> owned = InsertionOrderUtil.newMap();
+        Map<K, CompletableFuture<V>> waited = InsertionOrderUtil.newMap();
+        for (K key : keys) {
+            if (owned.containsKey(key) || waited.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> loading = this.loads.putIfAbsent(key, future);
+            if (loading == null) {
+                owned.put(key, future);
+            } else {
+                waited.put(key, loading);
+            }
+        }
+
+        /*
+         * Load the owned keys (or hand them to the leader of the batch)
+         * before waiting for others, so that callers never wait for each
+         * other, since the leader never waits for others before loading
+         */
+        if (!owned.isEmpty()) {
+            if (!batching) {
+                this.loadOwned(owned, loader);
+            } else {
+                Batch<K, V> batch = this.joinBatch(owned);
+                if (batch != null) {
+                    this.awaitBatch(batch);
+                    this.loadOwned(batch.futures, loader);
+                } else {
+                    this.batched.add(owned.size());
+                }
+            }
+        }
+
+        Map<K, V> results = new HashMap<>();
+        joinAll(owned, results);
+        joinAll(waited, results);
+        this.coalesced.add(waited.size());
+        return results;
+    }
+
+    private void loadOwned(Map<K, CompletableFuture<V>> owned,
+                           Function<Collection<K>, Map<K, V>> loader) {
+        try {
+            Map<K, V> values = loader.apply(owned.keySet());
+            this.loaded.add(owned.size());
+            for (Map.Entry<K, CompletableFuture<V>> e : owned.entrySet()) {
+                e.getValue().complete(values.get(e.getKey()));
+            }
+        } catch (RuntimeException | Error e) {
+            for (CompletableFuture<V> future : owned.values()) {
+                future.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            for (Map.Entry<K, CompletableFuture<V>> e : owned.entrySet()) {
+                this.loads.remove(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Add the owned keys to the pending batch
+     * @return the batch if the caller is its leader to load it, or null if
+     *         the keys will be loaded by the leader of the batch
+     */
+    private Batch<K, V> joinBatch(Map<K, CompletableFuture<V>> owned) {
+        synchronized (this.batchLock) {
+            Batch<K, V> batch = this.pending;
+            boolean leader = batch == null;
+            if (leader) {
+                batch = new Batch<>();
+                this.pending = batch;
+            }
+            batch.futures.putAll(owned);
+            if (batch.futures.size() >= this.batchSize) {
+                // Wake up the leader to load the full batch
+                this.batchLock.notifyAll();
+            }
+            return leader ? batch : null;
+        }
+    }
+
+    /**
+     * Wait for the keys of other callers until the window is over or the
+     * batch is full, then close the batch so that no more keys are added
+     */
+    private void awaitBatch(Batch<K, V> batch) {
+        synchronized (this.batchLock) {
+            long deadline = System.nanoTime() +
+                            TimeUnit.MILLISECONDS.toNanos(this.batchWindow);
+            long remaining = deadline - System.nanoTime();
+            while (batch.futures.size() < this.batchSize && remaining > 0L) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this.batchLock, remaining);
+                } catch (InterruptedException e) {
+                    // Load the keys collected without waiting any more
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            assert this.pending == batch;
+            this.pending = null;
+        }
+    }
+
+    /**
+     * Forget the loading of a key, the callers after it will load the key
+     * again rather than wait for the result which may be out of date
+     */
+    public void forget(K key) {
+        this.loads.remove(key);
+    }
+
+    public void forgetAll() {
+        this.loads.clear();
+    }
+
+    public long loaded() {
+        return this.loaded.sum();
+    }
+
+    public long coalesced() {
+        return this.coalesced.sum();
+    }
+
+    public long batched() {
+        return this.batched.sum();
+    }
+
+    private static <K, V> void joinAll(Map<K, CompletableFuture<V>> futures,
+                                       Map<K, V> results) {
+        for (Map.Entry<K, CompletableFuture<V>> e : futures.entrySet()) {
+            V value = join(e.getValue());
+            if (value != null) {
+                results.put(e.getKey(), value);
+            }
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new HugeException("Failed to wait for loading", cause);
+        }
+    }
+
+    private static final class Batch<K, V> {
+
+        private final Map<K, CompletableFuture<V>> futures;
+
+        public Batch() {
+            this.futures = InsertionOrderUtil.newMap();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.backend.page;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Set;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * Intersect the id postings of joint indexes as sorted id runs.
+ * <p>
+ * The candidate ids are kept sorted, numeric ids in a primitive long array
+ * and the others in an Id array, so that each batch streamed from another
+ * index can be sorted and merged into the candidates by galloping search,
+ * the memory is bounded by the candidates plus one batch no matter how
+ * large the other postings are.
+ */
+public final class SortedIdIntersector {
+
+    private long[] numberIds;
+    private int numberSize;
+    private Id[] otherIds;
+    private int otherSize;
+
+    private BitSet numberHits;
+    private BitSet otherHits;
+
+    public SortedIdIntersector() {
+        this.numberIds = new long[0];
+        this.numberSize = 0;
+        this.otherIds = new Id[0];
+        this.otherSize = 0;
+        this.numberHits = null;
+        this.otherHits = null;
+    }
+
+    public SortedIdIntersector(Collection<Id> ids) {
+        this();
+        this.addAll(ids);
+        this.seal();
+    }
+
+    public int size() {
+        return this.numberSize + this.otherSize;
+    }
+
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Append ids to the candidates, must call seal() after all ids added
+     * @param ids the ids to append
+     */
+    public void addAll(Collection<Id> ids) {
+        E.checkState(this.numberHits == null,
+                     "Can't add ids during intersection");
+        int numbers = 0;
+        for (Id id : ids) {
+            if (id.type() == Id.IdType.LONG) {
+                numbers++;
+            }
+        }
+        this.numberIds = ensureCapacity(this.numberIds,
+                                        this.numberSize + numbers);
+        this.otherIds = ensureCapacity(this.otherIds,
+                                       this.otherSize + ids.size() - numbers);
+        for (Id id : ids) {
+            if (id.type() == Id.IdType.LONG) {
+                this.numberIds[this.numberSize++] = id.asLong();
+            } else {
+                this.otherIds[this.otherSize++] = id;
+            }
+        }
+    }
+
+    /**
+     * Sort and deduplicate the appended candidates
+     */
+    public void seal() {
+        Arrays.sort(this.numberIds, 0, this.numberSize);
+        this.numberSize = dedup(this.numberIds, this.numberSize);
+        Arrays.sort(this.otherIds, 0, this.otherSize);
+        this.otherSize = dedup(this.otherIds, this.otherSize);
+    }
+
+    /**
+     * Start intersecting with a new posting, the following batches of the
+     * posting should be passed to retainBatch(), and then call retainEnd()
+     */
+    public void retainBegin() {
+        this.numberHits = new BitSet(this.numberSize);
+        this.otherHits = new BitSet(this.otherSize);
+    }
+
+    /**
+     * Mark the candidates that appear in a batch of current posting
+     * @param batch one batch of ids read from the posting
+     */
+    public void retainBatch(Collection<Id> batch) {
+        E.checkState(this.numberHits != null,
+                     "Must call retainBegin() before retainBatch()");
+        SortedIdIntersector sorted = new SortedIdIntersector(batch);
+        leapfrog(this.numberIds, this.numberSize,
+                 sorted.numberIds, sorted.numberSize, this.numberHits);
+        leapfrog(this.otherIds, this.otherSize,
+                 sorted.otherIds, sorted.otherSize, this.otherHits);
+    }
+
+    /**
+     * Remove the candidates that don't appear in current posting
+     */
+    public void retainEnd() {
+        E.checkState(this.numberHits != null,
+                     "Must call retainBegin() before retainEnd()");
+        this.numberSize = compact(this.numberIds, this.numberHits);
+        this.otherSize = compact(this.otherIds, this.otherHits);
+        this.numberHits = null;
+        this.otherHits = null;
+    }
+
+    public void retainAll(Collection<Id> posting) {
+        this.retainBegin();
+        this.retainBatch(posting);
+        this.retainEnd();
+    }
+
+    public Set<Id> ids() {
+        Set<Id> ids = InsertionOrderUtil.newSet(this.size());
+        for (int i = 0; i < this.numberSize; i++) {
+            ids.add(IdGenerator.of(this.numberIds[i]));
+        }
+        for (int i = 0; i < this.otherSize; i++) {
+            ids.add(this.otherIds[i]);
+        }
+        return ids;
+    }
+
+    private static void leapfrog(long[] candidates, int size,
+                                 long[] batch, int batchSize, BitSet hits) {
+        int i = 0;
+        int j = 0;
+        while (i < size && j < batchSize) {
+            long candidate = candidates[i];
+            long id = batch[j];
+            if (candidate == id) {
+                hits.set(i);
+                i++;
+                j++;
+            } else if (candidate < id) {
+                i = gallop(candidates, i + 1, size, id);
+            } else {
+                j = gallop(batch, j + 1, batchSize, candidate);
+            }
+        }
+    }
+
+    private static void leapfrog(Id[] candidates, int size,
+                                 Id[] batch, int batchSize, BitSet hits) {
+        int i = 0;
+        int j = 0;
+        while (i < size && j < batchSize) {
+            Id candidate = candidates[i];
+            Id id = batch[j];
+            int cmp = candidate.compareTo(id);
+            if (cmp == 0) {
+                if (candidate.equals(id)) {
+                    hits.set(i);
+                }
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                i = gallop(candidates, i + 1, size, id);
+            } else {
+                j = gallop(batch, j + 1, batchSize, candidate);
+            }
+        }
+    }
+
+    /**
+     * Find the first index in [from, to) whose value is >= key, by probing
+     * exponentially growing steps and then binary search the last step
+     */
+    static int gallop(long[] values, int from, int to, long key) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < to && values[high] < key) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        if (high > to) {
+            high = to;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static int gallop(Id[] values, int from, int to, Id key) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < to && values[high].compareTo(key) < 0) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        if (high > to) {
+            high = to;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int dedup(long[] values, int size) {
+        if (size <= 1) {
+            return size;
+        }
+        int last = 0;
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[last]) {
+                values[++last] = values[i];
+            }
+        }
+        return last + 1;
+    }
+
+    private static int dedup(Id[] values, int size) {
+        if (size <= 1) {
+            return size;
+        }
+        int last = 0;
+        for (int i = 1; i < size; i++) {
+            if (!values[i].equals(values[last])) {
+                values[++last] = values[i];
+            }
+        }
+        for (int i = last + 1; i < size; i++) {
+            values[i] = null;
+        }
+        return last + 1;
+    }
+
+    private static int compact(long[] values, BitSet hits) {
+        int size = 0;
+        for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+            values[size++] = values[i];
+        }
+        return size;
+    }
+
+    private static int compact(Id[] values, BitSet hits) {
+        int size = 0;
+        for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+            values[size++] = values[i];
+        }
+        for (int i = size; i < values.length && values[i] != null; i++) {
+            values[i] = null;
+        }
+        return size;
+    }
+
+    private static long[] ensureCapacity(long[] values, int capacity) {
+        if (values.length >= capacity) {
+            return values;
+        }
+        return Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+    }
+
+    private static Id[] ensureCapacity(Id[] values, int capacity) {
+        if (values.length >= capacity) {
+            return values;
+        }
+        return Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+    }
+}
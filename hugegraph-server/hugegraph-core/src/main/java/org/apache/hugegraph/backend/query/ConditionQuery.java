@@ -49,6 +49,7 @@ import org.apache.hugegraph.util.LongEncoding;
 import org.apache.hugegraph.util.NumericUtil;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.gson.Gson;
@@ -90,6 +91,7 @@ public class ConditionQuery extends IdQuery {
     private OptimizedType optimizedType = OptimizedType.NONE;
     private ResultsFilter resultsFilter = null;
     private Element2IndexValueMap element2IndexValueMap = null;
+    private Map<String, Double> indexCosts = null;
 
     public ConditionQuery(HugeType resultType) {
         super(resultType);
@@ -189,6 +191,34 @@ public class ConditionQuery extends IdQuery {
         this.element2IndexValueMap().selectedIndexField(indexField);
     }
 
+    /**
+     * Record the estimated cost of the index selected by this query, which
+     * is recorded in the root origin query to be exposed by profile
+     * @param indexLabel name of the selected index label
+     * @param cost       estimated cost, see IndexStatistics.cost()
+     */
+    public void recordIndexCost(String indexLabel, double cost) {
+        ConditionQuery root = this.originConditionQuery();
+        if (root == null) {
+            root = this;
+        }
+        synchronized (root) {
+            if (root.indexCosts == null) {
+                root.indexCosts = InsertionOrderUtil.newMap();
+            }
+            root.indexCosts.put(indexLabel, cost);
+        }
+    }
+
+    public Map<String, Double> indexCosts() {
+        if (this.indexCosts == null) {
+            return ImmutableMap.of();
+        }
+        synchronized (this) {
+            return ImmutableMap.copyOf(this.indexCosts);
+        }
+    }
+
     public void removeElementLeftIndex(Id elementId) {
         if (this.element2IndexValueMap == null) {
             return;
@@ -577,6 +607,7 @@ public class ConditionQuery extends IdQuery {
         }
         query.optimizedType = OptimizedType.NONE;
         query.resultsFilter = null;
+        query.indexCosts = null;
 
         return query;
     }
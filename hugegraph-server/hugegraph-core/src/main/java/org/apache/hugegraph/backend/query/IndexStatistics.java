@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.backend.query;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Condition.Relation;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.type.define.IndexType;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * The cardinality statistics of index labels of a graph, which are used to
+ * estimate the cost of an index query (the expected number of index
+ * entries to be read) when choosing index or ordering joint indexes.
+ * <p>
+ * The statistics of an index label are collected by IndexLabelStatisticsJob,
+ * then maintained incrementally when the index updates are committed. They
+ * only live in memory of current server, an index label has UNKNOWN_COST
+ * until it's refreshed by the job, since the number of elements indexed
+ * before can't be known from the incremental updates.
+ */
+public final class IndexStatistics {
+
+    public static final double UNKNOWN_COST = -1.0D;
+
+    // The selectivity of a range condition if no histogram is collected
+    private static final double DEFAULT_RANGE_SELECTIVITY = 1.0D / 3.0D;
+
+    private final Map<Id, Stat> stats;
+
+    public IndexStatistics() {
+        this.stats = new ConcurrentHashMap<>();
+    }
+
+    public Stat stat(Id indexLabel) {
+        return this.stats.get(indexLabel);
+    }
+
+    /**
+     * Replace the statistics of an index label with the one collected by
+     * traversing all the indexed elements
+     */
+    public void refresh(Id indexLabel, Stat stat) {
+        E.checkNotNull(stat, "stat");
+        this.stats.put(indexLabel, stat);
+    }
+
+    public void remove(Id indexLabel) {
+        this.stats.remove(indexLabel);
+    }
+
+    public void update(IndexLabel indexLabel, List<Object> values,
+                       boolean removed) {
+        // Only keep the refreshed statistics up to date
+        Stat stat = this.stats.get(indexLabel.id());
+        if (stat != null) {
+            stat.update(values, removed);
+        }
+    }
+
+    /**
+     * Estimate the number of index entries to be read when querying by the
+     * index label with the conditions of a query
+     * @param indexLabel the index label to query
+     * @param query      the element query contains conditions of index fields
+     * @return the estimated cost, or UNKNOWN_COST if not refreshed yet
+     */
+    public double cost(IndexLabel indexLabel, ConditionQuery query) {
+        Stat stat = this.stats.get(indexLabel.id());
+        if (stat == null || stat.entries() <= 0L) {
+            return UNKNOWN_COST;
+        }
+        double entries = stat.entries();
+        double distinct = Math.max(1L, Math.min(stat.distinct(),
+                                                stat.entries()));
+        IndexType type = indexLabel.indexType();
+        if (type.isUnique()) {
+            return 1.0D;
+        }
+        if (type.isRange()) {
+            double selectivity = stat.rangeSelectivity(
+                                 query.userpropRelations(),
+                                 indexLabel.indexField());
+            if (selectivity < 0.0D) {
+                // Equal condition on range index
+                return entries / distinct;
+            }
+            return entries * selectivity;
+        }
+        if (type.isSearch()) {
+            return entries / distinct;
+        }
+
+        // Secondary or shard index, may be matched by a prefix of fields
+        List<Id> fields = indexLabel.indexFields();
+        Map<Id, Integer> valuesCount = InsertionOrderUtil.newMap();
+        for (Relation r : query.userpropRelations()) {
+            if (!fields.contains((Id) r.key())) {
+                continue;
+            }
+            int count = 1;
+            if (r.relation() == Condition.RelationType.IN) {
+                count = ((Collection<?>) r.value()).size();
+            }
+            valuesCount.merge((Id) r.key(), count, Math::max);
+        }
+        int covered = 0;
+        double values = 1.0D;
+        for (Id field : fields) {
+            Integer count = valuesCount.get(field);
+            if (count == null) {
+                break;
+            }
+            covered++;
+            values *= count;
+        }
+        if (covered == 0) {
+            return entries;
+        }
+        double coveredDistinct = Math.pow(distinct,
+                                          (double) covered / fields.size());
+        return Math.min(entries, entries / coveredDistinct * values);
+    }
+
+    /**
+     * The statistics of an index label: the number of indexed elements,
+     * the approximate number of distinct values, and the histogram of
+     * values for range index.
+     */
+    public static final class Stat {
+
+        // 2^10 registers, the standard error is about 3.25%
+        private static final int HLL_BITS = 10;
+        private static final int HLL_REGISTERS = 1 << HLL_BITS;
+
+        private final LongAdder entries;
+        private final AtomicIntegerArray registers;
+        private volatile Histogram histogram;
+
+        public Stat() {
+            this.entries = new LongAdder();
+            this.registers = new AtomicIntegerArray(HLL_REGISTERS);
+            this.histogram = null;
+        }
+
+        public long entries() {
+            return Math.max(0L, this.entries.sum());
+        }
+
+        public long distinct() {
+            double sum = 0.0D;
+            int zeros = 0;
+            for (int i = 0; i < HLL_REGISTERS; i++) {
+                int register = this.registers.get(i);
+                sum += 1.0D / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+            double alpha = 0.7213D / (1.0D + 1.079D / HLL_REGISTERS);
+            double estimate = alpha * HLL_REGISTERS * HLL_REGISTERS / sum;
+            if (estimate <= 2.5D * HLL_REGISTERS && zeros > 0) {
+                // Small range correction by linear counting
+                estimate = HLL_REGISTERS *
+                           Math.log((double) HLL_REGISTERS / zeros);
+            }
+            return Math.round(estimate);
+        }
+
+        public Histogram histogram() {
+            return this.histogram;
+        }
+
+        public void histogram(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        public void update(List<Object> values, boolean removed) {
+            if (removed) {
+                this.entries.decrement();
+            } else {
+                this.entries.increment();
+                // Distinct values can't be decreased until refreshed
+                this.addDistinct(values.hashCode());
+            }
+            Histogram histogram = this.histogram;
+            if (histogram != null && values.size() == 1) {
+                double value = toDouble(values.get(0));
+                if (!Double.isNaN(value)) {
+                    histogram.update(value, removed ? -1L : 1L);
+                }
+            }
+        }
+
+        public void addDistinct(long hash) {
+            hash = mix(hash);
+            int index = (int) (hash >>> (Long.SIZE - HLL_BITS));
+            int rank = Long.numberOfLeadingZeros(
+                       (hash << HLL_BITS) | (1L << (HLL_BITS - 1))) + 1;
+            int current;
+            do {
+                current = this.registers.get(index);
+                if (rank <= current) {
+                    return;
+                }
+            } while (!this.registers.compareAndSet(index, current, rank));
+        }
+
+        public void addEntries(long count) {
+            this.entries.add(count);
+        }
+
+        /**
+         * Estimate the selectivity of range conditions on the field
+         * @return -1 if there is only equal condition on the field
+         */
+        private double rangeSelectivity(List<Relation> relations, Id field) {
+            double low = Double.NEGATIVE_INFINITY;
+            double high = Double.POSITIVE_INFINITY;
+            boolean range = false;
+            for (Relation r : relations) {
+                if (!field.equals(r.key())) {
+                    continue;
+                }
+                double value = toDouble(r.value());
+                switch (r.relation()) {
+                    case GT:
+                    case GTE:
+                        low = Math.max(low, value);
+                        range = true;
+                        break;
+                    case LT:
+                    case LTE:
+                        high = Math.min(high, value);
+                        range = true;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (!range) {
+                return -1.0D;
+            }
+            Histogram histogram = this.histogram;
+            if (histogram == null || Double.isNaN(low) ||
+                Double.isNaN(high)) {
+                return DEFAULT_RANGE_SELECTIVITY;
+            }
+            return histogram.selectivity(low, high);
+        }
+
+        private static long mix(long hash) {
+            // The finalizer of MurmurHash3
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+
+    /**
+     * The equi-width histogram of values of a range index
+     */
+    public static final class Histogram {
+
+        private final double min;
+        private final double max;
+        private final AtomicLongArray buckets;
+
+        public Histogram(double min, double max, long[] buckets) {
+            E.checkArgument(min <= max,
+                            "The min value %s must be <= max value %s",
+                            min, max);
+            E.checkArgument(buckets.length > 0,
+                            "The histogram buckets can't be empty");
+            this.min = min;
+            this.max = max;
+            this.buckets = new AtomicLongArray(buckets);
+        }
+
+        public double min() {
+            return this.min;
+        }
+
+        public double max() {
+            return this.max;
+        }
+
+        public long[] buckets() {
+            long[] buckets = new long[this.buckets.length()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = this.buckets.get(i);
+            }
+            return buckets;
+        }
+
+        public int bucket(double value) {
+            int size = this.buckets.length();
+            if (this.max <= this.min || value <= this.min) {
+                return 0;
+            }
+            if (value >= this.max) {
+                return size - 1;
+            }
+            int bucket = (int) ((value - this.min) / (this.max - this.min) *
+                                size);
+            return Math.min(bucket, size - 1);
+        }
+
+        public void update(double value, long delta) {
+            this.buckets.addAndGet(this.bucket(value), delta);
+        }
+
+        public double selectivity(double low, double high) {
+            if (high < this.min || low > this.max || low > high) {
+                return 0.0D;
+            }
+            int size = this.buckets.length();
+            double width = (this.max - this.min) / size;
+            double total = 0.0D;
+            double matched = 0.0D;
+            for (int i = 0; i < size; i++) {
+                long count = Math.max(0L, this.buckets.get(i));
+                total += count;
+                if (width <= 0.0D) {
+                    matched += count;
+                    continue;
+                }
+                double start = this.min + i * width;
+                double end = start + width;
+                double overlap = Math.min(end, high) - Math.max(start, low);
+                if (overlap > 0.0D) {
+                    // Assume values are uniform in a bucket
+                    matched += count * Math.min(1.0D, overlap / width);
+                }
+            }
+            if (total <= 0.0D) {
+                return DEFAULT_RANGE_SELECTIVITY;
+            }
+            return matched / total;
+        }
+    }
+
+    public static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return Double.NaN;
+    }
+}
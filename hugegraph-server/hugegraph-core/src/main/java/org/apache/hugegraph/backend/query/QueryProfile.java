@@ -0,0 +1,471 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.backend.query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.hugegraph.iterator.WrappedIterator;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.JsonUtil;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The profile of a request, which collects a tree of spans with the time
+ * and counters of each step like applying strategies, querying index and
+ * querying backend.
+ * <p>
+ * A profile is bound to the thread handling the request, the spans are
+ * only collected when a profile is begun in the current thread, otherwise
+ * each hook costs a thread local lookup. The spans of lazy results are
+ * timed while the results are being iterated, and the spans created in
+ * the meantime are attached to them as children.
+ * <p>
+ * The spans of a profile are bounded: once a span has MAX_CHILDREN
+ * children or the profile has MAX_SPANS spans, a new span is merged into
+ * the last sibling with the same name, which counts the spans merged into
+ * it, or it's dropped and only counted by the root if there is no such
+ * sibling.
+ */
+public final class QueryProfile {
+
+    public static final int MAX_SPANS = 10000;
+    public static final int MAX_CHILDREN = 100;
+
+    private static final ThreadLocal<QueryProfile> PROFILES =
+            new ThreadLocal<>();
+
+    private final Span root;
+    private final AtomicInteger spans;
+    private final LongAdder dropped;
+    private Span current;
+
+    private QueryProfile(String name) {
+        this.spans = new AtomicInteger(1);
+        this.dropped = new LongAdder();
+        this.root = new Span(this, name, null, null);
+        this.current = this.root;
+    }
+
+    /**
+     * Begin to profile the requests in current thread, the profile begun
+     * before in the thread is discarded
+     */
+    public static QueryProfile begin(String name) {
+        QueryProfile profile = new QueryProfile(name);
+        PROFILES.set(profile);
+        return profile;
+    }
+
+    public static QueryProfile current() {
+        return PROFILES.get();
+    }
+
+    /**
+     * Start a span as the child of the current span
+     * @return the span started, or null if not profiling
+     */
+    public static Span span(String name, Object detail) {
+        QueryProfile profile = PROFILES.get();
+        if (profile == null) {
+            return null;
+        }
+        return profile.current.child(name, detail);
+    }
+
+    /**
+     * Enter a span as the current span until it's closed, used like:
+     * try (Span span = QueryProfile.enter(name, detail)) {...}
+     * @return the span entered, or null if not profiling
+     */
+    public static Span enter(String name, Object detail) {
+        QueryProfile profile = PROFILES.get();
+        if (profile == null) {
+            return null;
+        }
+        Span span = profile.current.child(name, detail);
+        profile.current = span;
+        return span;
+    }
+
+    /**
+     * Profile the results of a query, the span is the current span while
+     * the query is being built and the results are being iterated
+     * @return the results got from the supplier, which are wrapped if
+     *         profiling
+     */
+    public static <T> Iterator<T> trace(String name, Object detail,
+                                        Supplier<Iterator<T>> query) {
+        QueryProfile profile = PROFILES.get();
+        if (profile == null) {
+            return query.get();
+        }
+        Span span = profile.current.child(name, detail);
+        Iterator<T> results;
+        Span parent = profile.current;
+        profile.current = span;
+        long start = System.nanoTime();
+        try {
+            results = query.get();
+        } finally {
+            span.addElapsed(System.nanoTime() - start);
+            profile.current = parent;
+        }
+        return new ProfiledIterator<>(profile, span, results);
+    }
+
+    public static void count(String key, long delta) {
+        QueryProfile profile = PROFILES.get();
+        if (profile != null) {
+            profile.current.count(key, delta);
+        }
+    }
+
+    public static void time(String key, long startNanos) {
+        QueryProfile profile = PROFILES.get();
+        if (profile != null) {
+            profile.current.time(key, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * End the profile and unbind it from current thread if it's bound
+     */
+    public QueryProfile end() {
+        if (!this.root.finished) {
+            this.root.finish();
+        }
+        if (PROFILES.get() == this) {
+            PROFILES.remove();
+        }
+        return this;
+    }
+
+    public Span root() {
+        return this.root;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> map = this.root.asMap();
+        long dropped = this.dropped.sum();
+        if (dropped > 0L) {
+            map.put("dropped_spans", dropped);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.toJson(this.asMap());
+    }
+
+    public static final class Span implements AutoCloseable {
+
+        private final QueryProfile profile;
+        private final String name;
+        // Converted to string only when the profile is output
+        private final Object detail;
+        private final long start;
+        // The span restored as current when the span is closed
+        private final Span parent;
+        /*
+         * The span recording the time and counters of this span, which is
+         * itself if attached to the tree, the sibling if merged into it,
+         * or null if dropped
+         */
+        private final Span target;
+        private final Map<String, LongAdder> counters;
+        private final Map<String, Object> values;
+        private final List<Span> children;
+        // The nanos of the span, or the nanos iterating if it's lazy
+        private final LongAdder elapsed;
+        private final LongAdder merged;
+
+        private volatile boolean finished;
+
+        private Span(QueryProfile profile, String name, Object detail,
+                     Span parent) {
+            this(profile, name, detail, parent, null, true);
+        }
+
+        private Span(QueryProfile profile, String name, Object detail,
+                     Span parent, Span mergeTo, boolean attached) {
+            this.profile = profile;
+            this.name = name;
+            this.detail = detail;
+            this.start = System.nanoTime();
+            this.parent = parent;
+            this.finished = false;
+            if (attached) {
+                this.target = this;
+                this.counters = new ConcurrentHashMap<>();
+                this.values = new ConcurrentHashMap<>();
+                this.children = new ArrayList<>();
+                this.elapsed = new LongAdder();
+                this.merged = new LongAdder();
+            } else {
+                this.target = mergeTo;
+                this.counters = null;
+                this.values = null;
+                this.children = null;
+                this.elapsed = null;
+                this.merged = null;
+            }
+        }
+
+        public String name() {
+            return this.name;
+        }
+
+        public String detail() {
+            return this.detail == null ? null : this.detail.toString();
+        }
+
+        public long elapsed() {
+            return this.target == null ? 0L : this.target.elapsed.sum();
+        }
+
+        /**
+         * @return the count of spans merged into this span
+         */
+        public long merged() {
+            return this.target == null ? 0L : this.target.merged.sum();
+        }
+
+        public List<Span> children() {
+            if (this.target == null) {
+                return ImmutableList.of();
+            }
+            synchronized (this.target.children) {
+                return ImmutableList.copyOf(this.target.children);
+            }
+        }
+
+        public Object counter(String key) {
+            if (this.target == null) {
+                return null;
+            }
+            Object value = this.target.values.get(key);
+            if (value != null) {
+                return value;
+            }
+            LongAdder counter = this.target.counters.get(key);
+            return counter == null ? null : counter.sum();
+        }
+
+        public void count(String key, long delta) {
+            if (this.target != null) {
+                this.target.counters.computeIfAbsent(key, k -> new LongAdder())
+                                    .add(delta);
+            }
+        }
+
+        public void time(String key, long nanos) {
+            this.count(key, nanos);
+        }
+
+        public void put(String key, Object value) {
+            if (this.target != null && value != null) {
+                this.target.values.put(key, value);
+            }
+        }
+
+        /**
+         * Finish the span and restore its parent as the current span
+         */
+        @Override
+        public void close() {
+            this.finish();
+            QueryProfile profile = PROFILES.get();
+            if (profile == this.profile && profile.current == this) {
+                profile.current = this.parent;
+            }
+        }
+
+        public Map<String, Object> asMap() {
+            Map<String, Object> map = InsertionOrderUtil.newMap();
+            map.put("name", this.name);
+            String detail = this.detail();
+            if (detail != null) {
+                map.put("detail", detail);
+            }
+            map.put("time_us", this.elapsed() / 1000L);
+            if (this.target != this) {
+                return map;
+            }
+            long merged = this.merged.sum();
+            if (merged > 0L) {
+                map.put("merged", merged);
+            }
+            map.putAll(new TreeMap<>(this.values));
+            Map<String, LongAdder> counters = new TreeMap<>(this.counters);
+            for (Map.Entry<String, LongAdder> e : counters.entrySet()) {
+                String key = e.getKey();
+                long value = e.getValue().sum();
+                if (key.endsWith("_time")) {
+                    // The time counters are recorded in nanos
+                    value = value / 1000L;
+                    key = key + "_us";
+                }
+                map.put(key, value);
+            }
+            List<Span> children = this.children();
+            if (!children.isEmpty()) {
+                List<Object> list = new ArrayList<>(children.size());
+                for (Span child : children) {
+                    list.add(child.asMap());
+                }
+                map.put("children", list);
+            }
+            return map;
+        }
+
+        private Span child(String name, Object detail) {
+            if (this.target == null) {
+                this.profile.dropped.increment();
+                return new Span(this.profile, name, detail, this, null, false);
+            }
+            return this.target.addChild(name, detail, this);
+        }
+
+        private Span addChild(String name, Object detail, Span parent) {
+            synchronized (this.children) {
+                // The children of a merged span are merged too if possible
+                boolean merging = parent != this;
+                Span span = merging ? null : this.attach(name, detail, parent);
+                if (span == null) {
+                    span = this.mergeChild(name, detail, parent);
+                }
+                if (span == null && merging) {
+                    span = this.attach(name, detail, parent);
+                }
+                if (span != null) {
+                    return span;
+                }
+            }
+            this.profile.dropped.increment();
+            return new Span(this.profile, name, detail, parent, null, false);
+        }
+
+        private Span attach(String name, Object detail, Span parent) {
+            if (this.children.size() >= MAX_CHILDREN ||
+                this.profile.spans.get() >= MAX_SPANS) {
+                return null;
+            }
+            this.profile.spans.incrementAndGet();
+            Span span = new Span(this.profile, name, detail, parent);
+            this.children.add(span);
+            return span;
+        }
+
+        private Span mergeChild(String name, Object detail, Span parent) {
+            // Merge into the last sibling with the same name
+            for (int i = this.children.size() - 1; i >= 0; i--) {
+                Span sibling = this.children.get(i);
+                if (sibling.name.equals(name)) {
+                    sibling.merged.increment();
+                    return new Span(this.profile, name, detail, parent,
+                                    sibling, false);
+                }
+            }
+            return null;
+        }
+
+        private void addElapsed(long nanos) {
+            if (this.target != null) {
+                this.target.elapsed.add(nanos);
+            }
+        }
+
+        private void finish() {
+            if (!this.finished) {
+                this.finished = true;
+                this.addElapsed(System.nanoTime() - this.start);
+            }
+        }
+    }
+
+    private static class ProfiledIterator<T> extends WrappedIterator<T> {
+
+        private final QueryProfile profile;
+        private final Span span;
+        private final Iterator<T> results;
+
+        public ProfiledIterator(QueryProfile profile, Span span,
+                                Iterator<T> results) {
+            this.profile = profile;
+            this.span = span;
+            this.results = results;
+        }
+
+        @Override
+        protected Iterator<T> originIterator() {
+            return this.results;
+        }
+
+        @Override
+        protected boolean fetch() {
+            if (this.span.finished) {
+                return this.fetchOrigin();
+            }
+            // Only trace the iterating in the thread of the profile
+            boolean bound = PROFILES.get() == this.profile;
+            Span parent = this.profile.current;
+            if (bound) {
+                this.profile.current = this.span;
+            }
+            long start = System.nanoTime();
+            try {
+                if (this.fetchOrigin()) {
+                    this.span.count("rows", 1L);
+                    return true;
+                }
+                this.span.count("rows", 0L);
+                this.span.finished = true;
+                return false;
+            } finally {
+                this.span.addElapsed(System.nanoTime() - start);
+                if (bound) {
+                    this.profile.current = parent;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            this.span.finished = true;
+            super.close();
+        }
+
+        private boolean fetchOrigin() {
+            if (this.results.hasNext()) {
+                this.current = this.results.next();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -197,9 +197,14 @@ public class BinarySerializer extends AbstractSerializer {
     }
 
     protected BackendColumn formatProperty(HugeProperty<?> prop) {
-        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_PROPERTY);
-        buffer.writeProperty(prop.propertyKey(), prop.value());
-        return BackendColumn.of(this.formatPropertyName(prop), buffer.bytes());
+        BytesBuffer buffer = BytesBuffer.allocatePooled();
+        try {
+            buffer.writeProperty(prop.propertyKey(), prop.value());
+            return BackendColumn.of(this.formatPropertyName(prop),
+                                    buffer.bytes());
+        } finally {
+            buffer.release();
+        }
     }
 
     protected void parseProperty(Id pkeyId, BytesBuffer buffer,
@@ -211,13 +216,13 @@ public class BinarySerializer extends AbstractSerializer {
 
         // Set properties of vertex/edge
         if (pkey.cardinality() == Cardinality.SINGLE) {
-            owner.addProperty(pkey, value);
+            owner.loadProperty(pkey, value);
         } else {
             if (!(value instanceof Collection)) {
                 throw new BackendException(
                         "Invalid value of non-single property: %s", value);
             }
-            owner.addProperty(pkey, value);
+            owner.loadProperty(pkey, value);
         }
     }
 
@@ -252,21 +257,24 @@ public class BinarySerializer extends AbstractSerializer {
     }
 
     protected byte[] formatEdgeValue(HugeEdge edge) {
-        int propsCount = edge.sizeOfProperties();
-        BytesBuffer buffer = BytesBuffer.allocate(4 + 16 * propsCount);
-
-        // Write edge id
-        //buffer.writeId(edge.id());
-
-        // Write edge properties
-        this.formatProperties(edge.getProperties(), buffer);
+        // Write into the reused buffer, then copy out the exact bytes
+        BytesBuffer buffer = BytesBuffer.allocatePooled();
+        try {
+            // Write edge id
+            //buffer.writeId(edge.id());
+
+            // Write edge properties
+            this.formatProperties(edge.getProperties(), buffer);
+
+            // Write edge expired time if needed
+            if (edge.hasTtl()) {
+                this.formatExpiredTime(edge.expiredTime(), buffer);
+            }
 
-        // Write edge expired time if needed
-        if (edge.hasTtl()) {
-            this.formatExpiredTime(edge.expiredTime(), buffer);
+            return buffer.bytes();
+        } finally {
+            buffer.release();
         }
-
-        return buffer.bytes();
     }
 
     protected void parseEdge(BackendColumn col, HugeVertex vertex,
@@ -414,25 +422,30 @@ public class BinarySerializer extends AbstractSerializer {
             return entry;
         }
 
-        int propsCount = vertex.sizeOfProperties();
-        BytesBuffer buffer = BytesBuffer.allocate(8 + 16 * propsCount);
-
-        // Write vertex label
-        buffer.writeId(vertex.schemaLabel().id());
+        // Write into the reused buffer, then copy out the exact bytes
+        BytesBuffer buffer = BytesBuffer.allocatePooled();
+        byte[] value;
+        try {
+            // Write vertex label
+            buffer.writeId(vertex.schemaLabel().id());
 
-        // Write all properties of the vertex
-        this.formatProperties(vertex.getProperties(), buffer);
+            // Write all properties of the vertex
+            this.formatProperties(vertex.getProperties(), buffer);
 
-        // Write vertex expired time if needed
-        if (vertex.hasTtl()) {
-            entry.ttl(vertex.ttl());
-            this.formatExpiredTime(vertex.expiredTime(), buffer);
+            // Write vertex expired time if needed
+            if (vertex.hasTtl()) {
+                entry.ttl(vertex.ttl());
+                this.formatExpiredTime(vertex.expiredTime(), buffer);
+            }
+            value = buffer.bytes();
+        } finally {
+            buffer.release();
         }
 
         // Fill column
         byte[] name = this.keyWithIdPrefix ?
                       entry.id().asBytes() : BytesBuffer.BYTES_EMPTY;
-        entry.column(name, buffer.bytes());
+        entry.column(name, value);
 
         return entry;
     }
@@ -575,6 +588,38 @@ public class BinarySerializer extends AbstractSerializer {
                                     (edge) -> edge);
     }
 
+    /**
+     * Read the adjacent vertex ids of edges in an entry, only the edge
+     * column names are parsed, the edge values (properties and expired
+     * time) are skipped and no edge or vertex object is constructed
+     */
+    public Iterator<Id> readAdjacentVertexIds(BackendEntry bytesEntry) {
+        BinaryBackendEntry entry = this.convertEntry(bytesEntry);
+        E.checkArgument(entry.type().isEdge(),
+                        "Expect edge entry, but got %s", entry.type());
+        return new MapperIterator<>(entry.columns().iterator(),
+                                    this::parseAdjacentVertexId);
+    }
+
+    protected Id parseAdjacentVertexId(BackendColumn col) {
+        // owner-vertex + dir + edge-label + sort-values + other-vertex
+
+        BytesBuffer buffer = BytesBuffer.wrap(col.name);
+        if (this.keyWithIdPrefix) {
+            // Consume owner-vertex id
+            buffer.skipId();
+        }
+        byte type = buffer.read();
+        if (type != HugeType.EDGE_IN.code() &&
+            type != HugeType.EDGE_OUT.code()) {
+            // Ignore the columns which are not edge
+            return null;
+        }
+        // Consume edge-label + sub-edge-label + sort-values
+        buffer.skipId().skipId().skipStringWithEnding();
+        return buffer.readId();
+    }
+
     @Override
     public BackendEntry writeIndex(HugeIndex index) {
         BinaryBackendEntry entry;
@@ -896,14 +941,18 @@ public class BinarySerializer extends AbstractSerializer {
         } else {
             edgeId = EdgeId.parse(id.asString());
         }
-        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
-        if (this.enablePartition) {
-            buffer.writeShort(getPartition(HugeType.EDGE, edgeId.ownerVertexId()));
-            buffer.writeEdgeId(edgeId);
-        } else {
-            buffer.writeEdgeId(edgeId);
+        BytesBuffer buffer = BytesBuffer.allocatePooled();
+        try {
+            if (this.enablePartition) {
+                buffer.writeShort(getPartition(HugeType.EDGE, edgeId.ownerVertexId()));
+                buffer.writeEdgeId(edgeId);
+            } else {
+                buffer.writeEdgeId(edgeId);
+            }
+            return new BinaryId(buffer.bytes(), id);
+        } finally {
+            buffer.release();
         }
-        return new BinaryId(buffer.bytes(), id);
     }
 
     private void writePartitionedId(HugeType type, Id id, BytesBuffer buffer) {
@@ -81,10 +81,21 @@ public final class BytesBuffer extends OutputStream {
     public static final int BUF_EDGE_ID = 128;
     public static final int BUF_PROPERTY = 64;
 
+    // The max capacity of the buffer kept by the pool of each thread
+    public static final int POOLED_CAPACITY_MAX = 256 * 1024; // 256K
+
     public static final byte[] BYTES_EMPTY = new byte[0];
 
+    /*
+     * The buffer reused by the serializer of each thread to write elements,
+     * it's null while being used, so nested allocations get a new buffer
+     */
+    private static final ThreadLocal<BytesBuffer> POOLED_BUFFER =
+            ThreadLocal.withInitial(() -> new BytesBuffer(BUF_EDGE_ID, true));
+
     private ByteBuffer buffer;
     private final boolean resize;
+    private final boolean pooled;
 
     public BytesBuffer() {
         this(DEFAULT_CAPACITY);
@@ -95,18 +106,57 @@ public final class BytesBuffer extends OutputStream {
                         "Capacity exceeds max buffer capacity: %s", MAX_BUFFER_CAPACITY);
         this.buffer = ByteBuffer.allocate(capacity);
         this.resize = true;
+        this.pooled = false;
     }
 
     public BytesBuffer(ByteBuffer buffer) {
         E.checkNotNull(buffer, "buffer");
         this.buffer = buffer;
         this.resize = false;
+        this.pooled = false;
+    }
+
+    private BytesBuffer(int capacity, boolean pooled) {
+        this.buffer = ByteBuffer.allocate(capacity);
+        this.resize = true;
+        this.pooled = pooled;
     }
 
     public static BytesBuffer allocate(int capacity) {
         return new BytesBuffer(capacity);
     }
 
+    /**
+     * Get the reusable buffer of current thread to write temporarily, the
+     * written bytes must be got by bytes() which always returns a copy, and
+     * then the buffer must be returned to the pool by release()
+     * @return the buffer of current thread, or a new buffer if it's in use
+     */
+    public static BytesBuffer allocatePooled() {
+        BytesBuffer buffer = POOLED_BUFFER.get();
+        if (buffer == null) {
+            return new BytesBuffer(BUF_EDGE_ID, true);
+        }
+        POOLED_BUFFER.set(null);
+        buffer.buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Return the buffer got by allocatePooled() to the pool of current
+     * thread, the buffer can't be used any more after releasing
+     */
+    public void release() {
+        E.checkState(this.pooled, "Can't release the buffer not pooled");
+        if (this.buffer.capacity() > POOLED_CAPACITY_MAX) {
+            // Don't keep the too big buffer which is rarely needed
+            return;
+        }
+        if (POOLED_BUFFER.get() == null) {
+            POOLED_BUFFER.set(this);
+        }
+    }
+
     public static BytesBuffer wrap(ByteBuffer buffer) {
         return new BytesBuffer(buffer);
     }
@@ -140,7 +190,7 @@ public final class BytesBuffer extends OutputStream {
     public byte[] bytes() {
         byte[] bytes = this.buffer.array();
         int position = this.buffer.position();
-        if (position == bytes.length) {
+        if (position == bytes.length && !this.pooled) {
             return bytes;
         } else {
             return Arrays.copyOf(bytes, position);
@@ -327,6 +377,13 @@ public final class BytesBuffer extends OutputStream {
     }
 
     public BytesBuffer writeString(String val) {
+        int length = val.length();
+        if (length <= BYTES_LEN_MAX && isAscii(val)) {
+            // Write ascii chars directly without encoding to a byte array
+            this.writeVInt(length);
+            this.writeAscii(val);
+            return this;
+        }
         byte[] bytes = StringEncoding.encode(val);
         this.writeBytes(bytes);
         return this;
@@ -367,6 +424,19 @@ public final class BytesBuffer extends OutputStream {
         return StringEncoding.decode(this.readBytesWithEnding());
     }
 
+    public BytesBuffer skipStringWithEnding() {
+        boolean foundEnding = false;
+        int remaining = this.remaining();
+        for (int i = 0; i < remaining; i++) {
+            if (this.read() == STRING_ENDING_BYTE) {
+                foundEnding = true;
+                break;
+            }
+        }
+        E.checkArgument(foundEnding, "Not found ending '0x%s'", Bytes.toHex(STRING_ENDING_BYTE));
+        return this;
+    }
+
     public BytesBuffer writeStringToRemaining(String value) {
         byte[] bytes = StringEncoding.encode(value);
         this.write(bytes);
@@ -646,8 +716,11 @@ public final class BytesBuffer extends OutputStream {
                 break;
             default:
                 // String Id (VertexID)
-                bytes = id.asBytes();
-                int len = bytes.length;
+                String str = id instanceof IdGenerator.StringId ?
+                             id.asString() : null;
+                boolean ascii = str != null && isAscii(str);
+                bytes = ascii ? null : id.asBytes();
+                int len = ascii ? str.length() : bytes.length;
                 E.checkArgument(len > 0, "Can't write empty id");
                 E.checkArgument(len <= ID_LEN_MAX, "Big id max length is %s, but got %s {%s}",
                                 ID_LEN_MAX, len, id);
@@ -662,7 +735,11 @@ public final class BytesBuffer extends OutputStream {
                     this.writeUInt8(high | 0xc0);
                     this.writeUInt8(low);
                 }
-                this.write(bytes);
+                if (ascii) {
+                    this.writeAscii(str);
+                } else {
+                    this.write(bytes);
+                }
                 break;
         }
         return this;
@@ -696,6 +773,55 @@ public final class BytesBuffer extends OutputStream {
         }
     }
 
+    /**
+     * Skip an id written by writeId() without constructing it, used to
+     * parse the needed parts of a key only
+     */
+    public BytesBuffer skipId() {
+        byte b = this.read();
+        boolean number = (b & 0x80) == 0;
+        if (number) {
+            if (b == 0x7f) {
+                // UUID Id
+                this.skip(Id.UUID_LENGTH);
+            } else if (b == 0x7e) {
+                // Edge Id
+                this.readEdgeId();
+            } else {
+                // Number Id
+                this.readNumber(b);
+            }
+        } else {
+            // String Id
+            int len = b & 0x3f;
+            if ((b & 0x40) != 0) {
+                len = (len << 8) + this.readUInt8();
+            }
+            this.skip(len + 1);
+        }
+        return this;
+    }
+
+    private void writeAscii(String val) {
+        require(val.length());
+        for (int i = 0, n = val.length(); i < n; i++) {
+            this.buffer.put((byte) val.charAt(i));
+        }
+    }
+
+    private static boolean isAscii(String val) {
+        for (int i = 0, n = val.length(); i < n; i++) {
+            if (val.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skip(int length) {
+        this.buffer.position(this.buffer.position() + length);
+    }
+
     public BytesBuffer writeEdgeId(Id id) {
         // owner-vertex + dir + edge-label + sub-edge-label + sort-values + other-vertex
         EdgeId edge = (EdgeId) id;
@@ -107,13 +107,13 @@ public abstract class TableSerializer extends AbstractSerializer {
 
         // Set properties of vertex/edge
         if (pkey.cardinality() == Cardinality.SINGLE) {
-            owner.addProperty(pkey, value);
+            owner.loadProperty(pkey, value);
         } else {
             if (!(value instanceof Collection)) {
                 throw new BackendException(
                         "Invalid value of non-single property: %s", value);
             }
-            owner.addProperty(pkey, value);
+            owner.loadProperty(pkey, value);
         }
     }
 
@@ -161,7 +161,7 @@ public class TextSerializer extends AbstractSerializer {
 
         // Set properties of vertex/edge
         if (pkey.cardinality() == Cardinality.SINGLE) {
-            owner.addProperty(pkey, value);
+            owner.loadProperty(pkey, value);
         } else {
             if (!(value instanceof Collection)) {
                 throw new BackendException(
@@ -169,7 +169,7 @@ public class TextSerializer extends AbstractSerializer {
             }
             for (Object v : (Collection<?>) value) {
                 v = JsonUtil.castNumber(v, pkey.dataType().clazz());
-                owner.addProperty(pkey, v);
+                owner.loadProperty(pkey, v);
             }
         }
     }
@@ -39,6 +39,14 @@ public interface BackendFeatures {
         return true;
     }
 
+    /**
+     * Whether the store can traverse the vertices by several steps itself,
+     * see HugeGraph.traverseVertexIds()
+     */
+    default boolean supportsTraverseInStore() {
+        return false;
+    }
+
     boolean supportsScanToken();
 
     boolean supportsScanKeyPrefix();
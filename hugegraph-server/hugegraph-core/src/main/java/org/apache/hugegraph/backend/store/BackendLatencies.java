@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.backend.store;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.hugegraph.iterator.WrappedIterator;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.LatencyHistogram;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * The latency histograms of the operations on a backend store, which are
+ * indexed by table (HugeType) and operation, the histograms are created on
+ * the first recording and removed when the graph is closed.
+ */
+public final class BackendLatencies {
+
+    private static final Logger LOG = Log.logger(BackendLatencies.class);
+
+    public enum Op {
+
+        GET,
+        MULTIGET,
+        SCAN,
+        INDEX_QUERY,
+        COMMIT,
+        SERIALIZE;
+
+        public String string() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    // The table of the operations on the whole store like commit
+    public static final String TABLE_ALL = "all";
+
+    private static final int TABLES = HugeType.values().length + 1;
+    private static final int OPS = Op.values().length;
+
+    private static final ConcurrentMap<String, BackendLatencies> STORES =
+            new ConcurrentHashMap<>();
+
+    private static volatile BiConsumer<String, LatencyHistogram> listener;
+    private static volatile Consumer<String> removedListener;
+
+    private final String name;
+    private final AtomicReferenceArray<LatencyHistogram> histograms;
+
+    private BackendLatencies(String name) {
+        this.name = name;
+        this.histograms = new AtomicReferenceArray<>(TABLES * OPS);
+    }
+
+    public static BackendLatencies of(String graph, BackendStore store) {
+        String name = graph + "." + store.store();
+        return STORES.computeIfAbsent(name, BackendLatencies::new);
+    }
+
+    /**
+     * Get all the histograms recorded
+     * @return the histograms keyed by "{graph}.{store}.{table}.{op}"
+     */
+    public static Map<String, LatencyHistogram> histograms() {
+        Map<String, LatencyHistogram> results = InsertionOrderUtil.newMap();
+        for (BackendLatencies latencies : STORES.values()) {
+            for (int i = 0; i < TABLES * OPS; i++) {
+                LatencyHistogram histogram = latencies.histograms.get(i);
+                if (histogram != null) {
+                    results.put(latencies.key(i), histogram);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Listen to the histograms created later, the listener is called once
+     * for each histogram by the thread recording it at the first time
+     * @param listener the listener accepts the key of histogram like
+     *                 {@link #histograms()} and the histogram
+     */
+    public static void listen(BiConsumer<String, LatencyHistogram> listener) {
+        BackendLatencies.listener = listener;
+    }
+
+    /**
+     * Listen to the histograms removed with their graphs
+     * @param listener the listener accepts the key of histogram like
+     *                 {@link #histograms()}
+     */
+    public static void listenRemoved(Consumer<String> listener) {
+        BackendLatencies.removedListener = listener;
+    }
+
+    /**
+     * Remove the histograms of all the stores of a graph, like the graph
+     * is closed or dropped
+     */
+    public static void remove(String graph) {
+        String prefix = graph + ".";
+        for (Iterator<BackendLatencies> iter = STORES.values().iterator();
+             iter.hasNext();) {
+            BackendLatencies latencies = iter.next();
+            if (!latencies.name.startsWith(prefix)) {
+                continue;
+            }
+            iter.remove();
+            for (int i = 0; i < TABLES * OPS; i++) {
+                if (latencies.histograms.get(i) != null) {
+                    latencies.removed(i);
+                }
+            }
+        }
+    }
+
+    public static Op queryOp(HugeType type, int ids) {
+        if (type.isIndex()) {
+            return Op.INDEX_QUERY;
+        }
+        if (ids == 1) {
+            return Op.GET;
+        }
+        return ids > 1 ? Op.MULTIGET : Op.SCAN;
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * Get the histogram of an operation
+     * @param table the table operated, or null for the whole store
+     * @param op    the operation
+     * @return the histogram, which is created if not exists
+     */
+    public LatencyHistogram histogram(HugeType table, Op op) {
+        int tableIndex = table == null ? TABLES - 1 : table.ordinal();
+        int index = tableIndex * OPS + op.ordinal();
+        LatencyHistogram histogram = this.histograms.get(index);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            if (this.histograms.compareAndSet(index, null, histogram)) {
+                this.created(index, histogram);
+            } else {
+                histogram = this.histograms.get(index);
+            }
+        }
+        return histogram;
+    }
+
+    private void created(int index, LatencyHistogram histogram) {
+        BiConsumer<String, LatencyHistogram> listener =
+                BackendLatencies.listener;
+        if (listener == null || STORES.get(this.name) != this) {
+            // The histograms of a removed graph recorded by the stale txs
+            return;
+        }
+        try {
+            listener.accept(this.key(index), histogram);
+        } catch (Throwable e) {
+            // Never fail the operation recorded
+            LOG.warn("Failed to notify the created histogram '{}'",
+                     this.key(index), e);
+        }
+    }
+
+    private void removed(int index) {
+        Consumer<String> listener = BackendLatencies.removedListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.accept(this.key(index));
+        } catch (Throwable e) {
+            LOG.warn("Failed to notify the removed histogram '{}'",
+                     this.key(index), e);
+        }
+    }
+
+    private String key(int index) {
+        String table = index / OPS < HugeType.values().length ?
+                       HugeType.values()[index / OPS].name().toLowerCase() :
+                       TABLE_ALL;
+        String op = Op.values()[index % OPS].string();
+        return String.join(".", this.name, table, op);
+    }
+
+    public void record(HugeType table, Op op, long startNanos) {
+        this.histogram(table, op).recordSince(startNanos);
+    }
+
+    /**
+     * Record the latency of a query until the first result is fetched (or
+     * no result is found), the time spent by the consumer on the results is
+     * not recorded. The results never fetched are not recorded, since the
+     * backend may not be accessed by a lazy iterator.
+     */
+    public <T> Iterator<T> record(HugeType table, Op op, long startNanos,
+                                  Iterator<T> results) {
+        return new RecordingIterator<>(results, this.histogram(table, op),
+                                       startNanos);
+    }
+
+    private static class RecordingIterator<T> extends WrappedIterator<T> {
+
+        private final Iterator<T> results;
+        private final LatencyHistogram histogram;
+        private final long startNanos;
+        private boolean recorded;
+
+        public RecordingIterator(Iterator<T> results,
+                                 LatencyHistogram histogram,
+                                 long startNanos) {
+            this.results = results;
+            this.histogram = histogram;
+            this.startNanos = startNanos;
+            this.recorded = false;
+        }
+
+        @Override
+        protected Iterator<T> originIterator() {
+            return this.results;
+        }
+
+        @Override
+        protected boolean fetch() {
+            boolean hasNext = this.results.hasNext();
+            if (hasNext) {
+                this.current = this.results.next();
+            }
+            if (!this.recorded) {
+                this.recorded = true;
+                this.histogram.recordSince(this.startNanos);
+            }
+            return hasNext;
+        }
+    }
+}
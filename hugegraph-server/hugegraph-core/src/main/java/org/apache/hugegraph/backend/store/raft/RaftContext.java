@@ -261,6 +261,12 @@ public final class RaftContext {
         String snapshotUri = Paths.get(raftPath, "snapshot").toString();
         FileUtils.forceMkdir(new File(snapshotUri));
         nodeOptions.setSnapshotUri(snapshotUri);
+        /*
+         * The follower reuses the files of its last snapshot which have the
+         * same name and checksum as the leader's, instead of copying them,
+         * so only the new sst files linked by the snapshot are transferred
+         */
+        nodeOptions.setFilterBeforeCopyRemote(this.snapshotHardLink());
 
         RaftOptions raftOptions = nodeOptions.getRaftOptions();
         /*
@@ -350,6 +356,10 @@ public final class RaftContext {
         return this.config().get(CoreOptions.RAFT_SAFE_READ);
     }
 
+    public boolean snapshotHardLink() {
+        return this.config().get(CoreOptions.RAFT_SNAPSHOT_HARD_LINK);
+    }
+
     public ExecutorService snapshotExecutor() {
         return this.snapshotExecutor;
     }
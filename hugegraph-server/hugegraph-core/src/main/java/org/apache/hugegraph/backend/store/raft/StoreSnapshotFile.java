@@ -19,13 +19,22 @@ package org.apache.hugegraph.backend.store.raft;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
 import java.util.zip.Checksum;
 
 import org.apache.commons.io.FileUtils;
@@ -52,13 +61,24 @@ public class StoreSnapshotFile {
 
     public static final String SNAPSHOT_DIR = "snapshot";
     private static final String TAR = ".zip";
+    private static final String SST = ".sst";
+    // Replace the file separator of relative path to make a flat file name
+    private static final char PATH_SEPARATOR = '@';
 
     private final RaftBackendStore[] stores;
+    private final boolean hardLink;
     private final Map<String, String> dataDisks;
     private final AtomicBoolean compressing;
+    // The checksums of the immutable sst files computed by the last save
+    private final Map<String, String> sstChecksums;
 
     public StoreSnapshotFile(RaftBackendStore[] stores) {
+        this(stores, false);
+    }
+
+    public StoreSnapshotFile(RaftBackendStore[] stores, boolean hardLink) {
         this.stores = stores;
+        this.hardLink = hardLink;
         this.dataDisks = new HashMap<>();
         for (RaftBackendStore raftStore : stores) {
             // Call RocksDBStore method reportDiskMapping()
@@ -66,6 +86,7 @@ public class StoreSnapshotFile {
                                                   "reportDiskMapping"));
         }
         this.compressing = new AtomicBoolean(false);
+        this.sstChecksums = new ConcurrentHashMap<>();
         /*
          * Like that:
          * general=/parent_path/rocksdb-data
@@ -88,7 +109,11 @@ public class StoreSnapshotFile {
                 }
 
                 try {
-                    this.compressSnapshotDir(writer, snapshotDirMaps);
+                    if (this.hardLink) {
+                        this.linkSnapshotDir(writer, snapshotDirMaps);
+                    } else {
+                        this.compressSnapshotDir(writer, snapshotDirMaps);
+                    }
                     this.deleteSnapshotDirs(snapshotDirMaps.keySet());
                     done.run(Status.OK());
                 } catch (Throwable e) {
@@ -108,8 +133,8 @@ public class StoreSnapshotFile {
     }
 
     public boolean load(SnapshotReader reader) {
-        Set<String> snapshotDirTars = reader.listFiles();
-        LOG.info("The snapshot tar files to be loaded are {}", snapshotDirTars);
+        Set<String> snapshotFiles = reader.listFiles();
+        LOG.info("The snapshot files to be loaded are {}", snapshotFiles);
         Set<String> snapshotDirs = new HashSet<>();
         if (!this.compressing.compareAndSet(false, true)) {
             LOG.info("Last decompress task doesn't finish, skipped it");
@@ -117,10 +142,14 @@ public class StoreSnapshotFile {
         }
 
         try {
-            for (String snapshotDirTar : snapshotDirTars) {
-                String snapshotDir = this.decompressSnapshot(reader, snapshotDirTar);
-                snapshotDirs.add(snapshotDir);
+            for (String snapshotFile : snapshotFiles) {
+                if (snapshotFile.endsWith(TAR)) {
+                    // The snapshot saved by compressing
+                    String snapshotDir = this.decompressSnapshot(reader, snapshotFile);
+                    snapshotDirs.add(snapshotDir);
+                }
             }
+            this.linkSnapshotFiles(reader, snapshotFiles, snapshotDirs);
         } catch (Throwable e) {
             LOG.error("Failed to decompress snapshot tar", e);
             return false;
@@ -230,6 +259,157 @@ public class StoreSnapshotFile {
         return snapshotDir;
     }
 
+    /**
+     * Save the checkpoint dirs by hard linking every file into the writer
+     * path with a flat name, like: snapshot_rocksdb-data@g@000012.sst.
+     * The sst files of rocksdb are immutable, so the follower can reuse
+     * the files that have the same name and checksum in its last snapshot,
+     * then only the new sst files will be transferred by raft.
+     */
+    private void linkSnapshotDir(SnapshotWriter writer,
+                                 Map<String, String> snapshotDirMaps) {
+        String writerPath = writer.getPath();
+        Set<String> sstKeys = new HashSet<>();
+        for (Map.Entry<String, String> entry : snapshotDirMaps.entrySet()) {
+            Path snapshotDir = Paths.get(entry.getKey()).toAbsolutePath();
+            String diskTableKey = entry.getValue();
+            Path rootDir = snapshotDir.getParent();
+            long begin = System.currentTimeMillis();
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(snapshotDir)) {
+                files = stream.filter(Files::isRegularFile)
+                              .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new RaftException("Failed to list snapshot dir '%s'",
+                                        e, snapshotDir);
+            }
+            for (Path file : files) {
+                String relativePath = rootDir.relativize(file).toString();
+                E.checkArgument(relativePath.indexOf(PATH_SEPARATOR) < 0,
+                                "The snapshot file path '%s' can't contain '%s'",
+                                relativePath, PATH_SEPARATOR);
+                String fileName = relativePath.replace(File.separatorChar,
+                                                       PATH_SEPARATOR);
+                String checksum;
+                try {
+                    linkOrCopy(file, Paths.get(writerPath, fileName));
+                    checksum = this.snapshotChecksum(file, sstKeys);
+                } catch (IOException e) {
+                    throw new RaftException("Failed to link snapshot file " +
+                                            "'%s' to '%s'", e, file, writerPath);
+                }
+
+                LocalFileMeta.Builder metaBuilder = LocalFileMeta.newBuilder();
+                metaBuilder.setChecksum(checksum);
+                metaBuilder.setUserMeta(ByteString.copyFromUtf8(diskTableKey));
+                if (!writer.addFile(fileName, metaBuilder.build())) {
+                    throw new RaftException("Failed to add snapshot file: '%s'",
+                                            fileName);
+                }
+            }
+            long end = System.currentTimeMillis();
+            LOG.info("Linked {} files of dir '{}' to '{}', took {} seconds",
+                     files.size(), snapshotDir, writerPath,
+                     (end - begin) / 1000.0F);
+        }
+        // Forget the checksums of the sst files deleted by compaction
+        this.sstChecksums.keySet().retainAll(sstKeys);
+    }
+
+    private void linkSnapshotFiles(SnapshotReader reader,
+                                   Set<String> snapshotFiles,
+                                   Set<String> snapshotDirs) throws IOException {
+        for (String fileName : snapshotFiles) {
+            if (fileName.endsWith(TAR)) {
+                continue;
+            }
+            LocalFileMeta meta = (LocalFileMeta) reader.getFileMeta(fileName);
+            if (meta == null) {
+                throw new IOException("Can't find snapshot file, path=" + fileName);
+            }
+
+            String diskTableKey = meta.getUserMeta().toStringUtf8();
+            E.checkArgument(this.dataDisks.containsKey(diskTableKey),
+                            "The data path for '%s' should be exist", diskTableKey);
+            String dataPath = this.dataDisks.get(diskTableKey);
+            Path parentPath = Paths.get(dataPath).toAbsolutePath().getParent();
+            Path target = parentPath.resolve(
+                          fileName.replace(PATH_SEPARATOR, File.separatorChar));
+            // Like: parent_path/snapshot_rocksdb-data
+            String snapshotDir = parentPath.resolve(
+                                 parentPath.relativize(target).getName(0))
+                                           .toString();
+            if (snapshotDirs.add(snapshotDir)) {
+                FileUtils.deleteDirectory(new File(snapshotDir));
+                LOG.info("Delete stale snapshot dir {}", snapshotDir);
+            }
+
+            Path source = Paths.get(reader.getPath(), fileName);
+            if (meta.hasChecksum()) {
+                String expected = meta.getChecksum();
+                String actual = checksum(source);
+                E.checkArgument(expected.equals(actual),
+                                "Snapshot checksum error of '%s': '%s' != '%s'",
+                                fileName, actual, expected);
+            }
+            Files.createDirectories(target.getParent());
+            linkOrCopy(source, target);
+        }
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Maybe on different file stores
+            LOG.debug("Failed to link '{}' to '{}', copy it", source, target, e);
+            Files.copy(source, target);
+        }
+    }
+
+    /**
+     * Compute the checksum of a snapshot file to save. The sst files are
+     * immutable and linked by every snapshot until compacted, so the
+     * checksum of a sst file is computed once and reused by later snapshots
+     */
+    private String snapshotChecksum(Path file, Set<String> sstKeys)
+                                    throws IOException {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(SST)) {
+            return checksum(file);
+        }
+        BasicFileAttributes attrs = Files.readAttributes(
+                                    file, BasicFileAttributes.class);
+        if (attrs.fileKey() == null) {
+            return checksum(file);
+        }
+        // The inode may be reused by a new sst file with another name
+        String key = attrs.fileKey() + "/" + name + "/" + attrs.size();
+        sstKeys.add(key);
+        String checksum = this.sstChecksums.get(key);
+        if (checksum == null) {
+            checksum = checksum(file);
+            this.sstChecksums.put(key, checksum);
+        }
+        return checksum;
+    }
+
+    /**
+     * Compute the CRC32C checksum of the whole file
+     */
+    private static String checksum(Path file) throws IOException {
+        Checksum checksum = new CRC32C();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                checksum.update(buffer, 0, read);
+            }
+        }
+        return Long.toHexString(checksum.getValue());
+    }
+
     private void deleteSnapshotDirs(Set<String> snapshotDirs) {
         for (String snapshotDir : snapshotDirs) {
             FileUtils.deleteQuietly(new File(snapshotDir));
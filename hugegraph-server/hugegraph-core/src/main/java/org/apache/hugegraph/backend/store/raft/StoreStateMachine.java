@@ -55,7 +55,8 @@ public final class StoreStateMachine extends StateMachineAdapter {
 
     public StoreStateMachine(RaftContext context) {
         this.context = context;
-        this.snapshotFile = new StoreSnapshotFile(context.stores());
+        this.snapshotFile = new StoreSnapshotFile(context.stores(),
+                                                  context.snapshotHardLink());
     }
 
     private BackendStore store(StoreType type) {
@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.backend.tx;
 
+import java.util.Iterator;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -28,8 +29,11 @@ import org.apache.hugegraph.backend.Transaction;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.query.IdQuery;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.query.QueryProfile;
 import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.backend.serializer.AbstractSerializer;
+import org.apache.hugegraph.backend.store.BackendLatencies;
+import org.apache.hugegraph.backend.store.BackendLatencies.Op;
 import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.hugegraph.backend.store.BackendEntryIterator;
 import org.apache.hugegraph.backend.store.BackendFeatures;
@@ -62,6 +66,7 @@ public abstract class AbstractTransaction implements Transaction {
 
     private final HugeGraphParams graph;
     private final BackendStore store;
+    private final BackendLatencies latencies;
 
     private BackendMutation mutation;
 
@@ -75,6 +80,7 @@ public abstract class AbstractTransaction implements Transaction {
         this.serializer = this.graph.serializer();
 
         this.store = store;
+        this.latencies = BackendLatencies.of(graph.name(), store);
         this.reset();
 
         store.open(this.graph.configuration());
@@ -95,6 +101,10 @@ public abstract class AbstractTransaction implements Transaction {
         return this.store;
     }
 
+    protected BackendLatencies latencies() {
+        return this.latencies;
+    }
+
     public BackendFeatures storeFeatures() {
         return this.store.features();
     }
@@ -158,7 +168,17 @@ public abstract class AbstractTransaction implements Transaction {
         this.beforeRead();
         try {
             this.injectOlapPkIfNeeded(squery);
-            return new QueryResults<>(this.store.query(squery), query);
+            Iterator<BackendEntry> entries = QueryProfile.trace(
+                                             "backend", squery, () -> {
+                long start = System.nanoTime();
+                Iterator<BackendEntry> rs = this.store.query(squery);
+                // Record the latency until the first entry is fetched
+                HugeType table = squery.resultType();
+                int ids = squery instanceof IdQuery ? squery.idsSize() : 0;
+                Op op = BackendLatencies.queryOp(table, ids);
+                return this.latencies.record(table, op, start, rs);
+            });
+            return new QueryResults<>(entries, query);
         } finally {
             this.afterRead(); // TODO: not complete the iteration currently
         }
@@ -303,7 +323,9 @@ public abstract class AbstractTransaction implements Transaction {
     }
 
     protected void commit2Backend() {
+        long start = System.nanoTime();
         BackendMutation mutation = this.prepareCommit();
+        this.latencies.record(null, Op.SERIALIZE, start);
         assert !mutation.isEmpty();
         this.commitMutation2Backend(mutation);
     }
@@ -313,13 +335,20 @@ public abstract class AbstractTransaction implements Transaction {
         this.committing2Backend = true;
 
         // If an exception occurred, catch in the upper layer and rollback
+        long start = System.nanoTime();
         this.store.beginTx();
         for (BackendMutation mutation : mutations) {
             this.store.mutate(mutation);
         }
         this.store.commitTx();
+        this.latencies.record(null, Op.COMMIT, start);
 
         this.committing2Backend = false;
+        this.afterCommit();
+    }
+
+    protected void afterCommit() {
+        // pass
     }
 
     protected void rollbackBackend() {
@@ -28,6 +28,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -36,7 +40,10 @@ import org.apache.hugegraph.HugeException;
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.HugeGraphParams;
 import org.apache.hugegraph.analyzer.Analyzer;
+import org.apache.hugegraph.backend.cache.Cache;
+import org.apache.hugegraph.backend.cache.CacheManager;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
 import org.apache.hugegraph.backend.page.IdHolder;
 import org.apache.hugegraph.backend.page.IdHolder.BatchIdHolder;
 import org.apache.hugegraph.backend.page.IdHolder.FixedIdHolder;
@@ -46,6 +53,7 @@ import org.apache.hugegraph.backend.page.PageIds;
 import org.apache.hugegraph.backend.page.PageInfo;
 import org.apache.hugegraph.backend.page.PageState;
 import org.apache.hugegraph.backend.page.SortByCountIdHolderList;
+import org.apache.hugegraph.backend.page.SortedIdIntersector;
 import org.apache.hugegraph.backend.query.Condition;
 import org.apache.hugegraph.backend.query.Condition.RangeConditions;
 import org.apache.hugegraph.backend.query.Condition.Relation;
@@ -53,6 +61,7 @@ import org.apache.hugegraph.backend.query.Condition.RelationType;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.ConditionQuery.OptimizedType;
 import org.apache.hugegraph.backend.query.ConditionQueryFlatten;
+import org.apache.hugegraph.backend.query.IndexStatistics;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.backend.serializer.AbstractSerializer;
@@ -101,18 +110,64 @@ public class GraphIndexTransaction extends AbstractTransaction {
     public static final String END_SYMBOL = ")";
     public static final String WORD_DELIMITER = "|";
 
+    // Long texts are rarely repeated, don't cache the words of them
+    private static final int MAX_CACHED_TEXT_LENGTH = 4096;
+
     private final Analyzer textAnalyzer;
+    private final Cache<Id, Object> wordsCache;
+    private final ExecutorService analyzerExecutor;
+    private final int analyzerThreads;
+    private final Map<String, Set<String>> preparedWords;
+    private final IndexStatistics indexStatistics;
+    // The statistics updates of index, applied after committed
+    private List<StatUpdate> statUpdates;
     private final int indexIntersectThresh;
+    private final boolean indexIntersectStreaming;
 
     public GraphIndexTransaction(HugeGraphParams graph, BackendStore store) {
         super(graph, store);
 
         this.textAnalyzer = graph.analyzer();
         assert this.textAnalyzer != null;
+        this.indexStatistics = graph.indexStatistics();
 
         final HugeConfig conf = graph.configuration();
         this.indexIntersectThresh =
                 conf.get(CoreOptions.QUERY_INDEX_INTERSECT_THRESHOLD);
+        this.indexIntersectStreaming =
+                conf.get(CoreOptions.QUERY_INDEX_INTERSECT_STREAMING);
+
+        long capacity = conf.get(CoreOptions.TEXT_ANALYZER_CACHE_CAPACITY);
+        if (capacity > 0L) {
+            String name = "text-words-" + graph.name();
+            this.wordsCache = CacheManager.instance().cache(name, capacity);
+            this.wordsCache.enableMetrics(true);
+        } else {
+            this.wordsCache = null;
+        }
+        this.analyzerExecutor = graph.analyzerExecutor();
+        this.analyzerThreads = conf.get(CoreOptions.TEXT_ANALYZER_THREADS);
+        this.preparedWords = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+
+        // It's null when called by super AbstractTransaction()
+        if (this.statUpdates == null || !this.statUpdates.isEmpty()) {
+            this.statUpdates = new ArrayList<>();
+        }
+    }
+
+    @Override
+    protected void afterCommit() {
+        // Count the index entries only if they are committed
+        for (StatUpdate update : this.statUpdates) {
+            this.indexStatistics.update(update.indexLabel, update.values,
+                                        update.removed);
+        }
+        this.statUpdates.clear();
     }
 
     protected void asyncRemoveIndexLeft(ConditionQuery query,
@@ -241,6 +296,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
         // Not build index for record with nullable field (except unique index)
         List<Object> nnPropValues = allPropValues.subList(0, firstNullField);
+        this.statUpdates.add(new StatUpdate(indexLabel, nnPropValues,
+                                            removed));
 
         // Expired time
         long expiredTime = element.expiredTime();
@@ -571,11 +628,14 @@ public class GraphIndexTransaction extends AbstractTransaction {
                      "large amount of data, please use single index + filter " +
                      "instead of joint index: {}", queries.rootQuery());
         }
+        if (this.indexIntersectStreaming) {
+            return this.doJointIndexByStreaming(queries);
+        }
         // All queries are joined with AND
         Set<Id> intersectIds = null;
         boolean filtering = false;
         IdHolder resultHolder = null;
-        for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
+        for (Map.Entry<IndexLabel, ConditionQuery> e : this.sortByCost(queries)) {
             IndexLabel indexLabel = e.getKey();
             ConditionQuery query = e.getValue();
             assert !query.paging();
@@ -632,6 +692,123 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    @Watched(prefix = "index")
+    private IdHolder doJointIndexByStreaming(IndexQueries queries) {
+        /*
+         * Intersect joint indexes by sorted id postings:
+         * 1 Peek the first batch of each index, the indexes not exceeded the
+         *   threshold are read completely, intersect them as candidates.
+         * 2 If all indexes exceeded the threshold, read the first index
+         *   completely as candidates, and transform into partial index
+         *   query then filter after back-table if it exceeded the capacity.
+         * 3 Stream the left indexes batch by batch, and retain candidates
+         *   which appear in each of them, the memory is bounded by the
+         *   candidates plus one batch.
+         */
+        SortedIdIntersector candidates = null;
+        List<BatchIdHolder> largeHolders = new ArrayList<>();
+        Map.Entry<IndexLabel, ConditionQuery> first = null;
+        for (Map.Entry<IndexLabel, ConditionQuery> e : this.sortByCost(queries)) {
+            IndexLabel indexLabel = e.getKey();
+            ConditionQuery query = e.getValue();
+            assert !query.paging();
+            if (!query.noLimit() && queries.size() > 1) {
+                // Unset limit for intersection operation
+                query.limit(Query.NO_LIMIT);
+            }
+            BatchIdHolder holder = (BatchIdHolder) this.doIndexQuery(indexLabel,
+                                                                     query);
+            if (first == null) {
+                first = e;
+                this.storeSelectedIndexField(indexLabel, query);
+            }
+            assert this.indexIntersectThresh > 0; // default value is 1000
+            Set<Id> ids = holder.peekNext(this.indexIntersectThresh).ids();
+            if (ids.size() >= this.indexIntersectThresh) {
+                largeHolders.add(holder);
+                continue;
+            }
+            if (candidates == null) {
+                candidates = new SortedIdIntersector(ids);
+            } else {
+                candidates.retainAll(ids);
+            }
+            if (candidates.isEmpty()) {
+                largeHolders.forEach(BatchIdHolder::close);
+                return new FixedIdHolder(queries.asJointQuery(),
+                                         InsertionOrderUtil.newSet());
+            }
+        }
+
+        if (candidates == null) {
+            assert !largeHolders.isEmpty();
+            BatchIdHolder driver = largeHolders.remove(0);
+            candidates = new SortedIdIntersector();
+            while (driver.hasNext()) {
+                Set<Id> ids = driver.fetchNext(null, this.indexIntersectThresh)
+                                    .ids();
+                candidates.addAll(ids);
+                if (candidates.size() > Query.DEFAULT_CAPACITY) {
+                    // Transform into filtering
+                    driver.close();
+                    largeHolders.forEach(BatchIdHolder::close);
+                    ConditionQuery query = first.getValue();
+                    query.optimized(OptimizedType.INDEX_FILTER);
+                    return this.doIndexQuery(first.getKey(), query);
+                }
+            }
+            candidates.seal();
+        }
+
+        for (BatchIdHolder holder : largeHolders) {
+            if (candidates.isEmpty()) {
+                holder.close();
+                continue;
+            }
+            candidates.retainBegin();
+            while (holder.hasNext()) {
+                Set<Id> ids = holder.fetchNext(null, this.indexIntersectThresh)
+                                    .ids();
+                candidates.retainBatch(ids);
+            }
+            candidates.retainEnd();
+        }
+        return new FixedIdHolder(queries.asJointQuery(), candidates.ids());
+    }
+
+    /**
+     * Sort the joint index queries by estimated cost, so that the most
+     * selective index is intersected first, the indexes without statistics
+     * are kept in original order after the others.
+     */
+    private List<Map.Entry<IndexLabel, ConditionQuery>> sortByCost(
+                                                        IndexQueries queries) {
+        List<Map.Entry<IndexLabel, ConditionQuery>> entries =
+                new ArrayList<>(queries.entrySet());
+        ConditionQuery parent = queries.parentQuery();
+        if (parent == null) {
+            return entries;
+        }
+        Map<IndexLabel, Double> costs = new HashMap<>();
+        for (Map.Entry<IndexLabel, ConditionQuery> e : entries) {
+            IndexLabel il = e.getKey();
+            double cost = this.indexStatistics.cost(il, parent);
+            costs.put(il, cost);
+            parent.recordIndexCost(il.name(), cost);
+        }
+        entries.sort((e1, e2) -> {
+            double c1 = costs.get(e1.getKey());
+            double c2 = costs.get(e2.getKey());
+            if (c1 == IndexStatistics.UNKNOWN_COST ||
+                c2 == IndexStatistics.UNKNOWN_COST) {
+                return Boolean.compare(c1 == IndexStatistics.UNKNOWN_COST,
+                                       c2 == IndexStatistics.UNKNOWN_COST);
+            }
+            return Double.compare(c1, c2);
+        });
+        return entries;
+    }
+
     private void storeSelectedIndexField(IndexLabel indexLabel,
                                          ConditionQuery query) {
         // Only store range index field
@@ -827,7 +1004,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
             return null;
         }
         // Try to match single or composite index
-        Set<IndexLabel> matchedILs = matchSingleOrCompositeIndex(query, ils);
+        Set<IndexLabel> matchedILs = this.matchSingleOrCompositeIndex(query,
+                                                                      ils);
         if (matchedILs.isEmpty()) {
             // Try to match joint indexes
             matchedILs = matchJointIndexes(query, ils);
@@ -890,6 +1068,79 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return CollectionUtil.hasIntersection(propValues, words);
     }
 
+    /**
+     * Segment the texts of search index of the elements in parallel, the
+     * segmented words are used by updating index until calling
+     * clearPreparedWords(), so that the analyzer is not the bottleneck of
+     * committing a batch of elements with search index
+     * @param elements the elements to be committed
+     */
+    @Watched(prefix = "index")
+    public void prepareWords(Collection<? extends HugeElement> elements) {
+        if (this.analyzerExecutor == null || elements.size() < 2) {
+            return;
+        }
+
+        ISchemaTransaction schema = this.params().schemaTransaction();
+        Set<String> texts = new HashSet<>();
+        for (HugeElement element : elements) {
+            for (Id id : element.schemaLabel().indexLabels()) {
+                IndexLabel indexLabel = schema.getIndexLabel(id);
+                if (indexLabel == null ||
+                    indexLabel.indexType() != IndexType.SEARCH) {
+                    continue;
+                }
+                HugeProperty<Object> property = element.getProperty(
+                                                indexLabel.indexField());
+                if (property == null) {
+                    continue;
+                }
+                String text = propertyValueToString(property.value());
+                if (!isSpecifiedWords(text) && this.cachedWords(text) == null) {
+                    texts.add(text);
+                }
+            }
+        }
+        if (texts.size() < 2) {
+            return;
+        }
+
+        int workers = Math.min(this.analyzerThreads, texts.size());
+        List<List<String>> partitions = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        int i = 0;
+        for (String text : texts) {
+            partitions.get(i++ % workers).add(text);
+        }
+
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (List<String> partition : partitions) {
+            futures.add(this.analyzerExecutor.submit(() -> {
+                // The analyzer may be not thread safe, use one for each task
+                Analyzer analyzer = this.params().analyzer();
+                for (String text : partition) {
+                    Set<String> words = segmentWords(analyzer, text);
+                    this.preparedWords.put(text, words);
+                    this.cacheWords(text, words);
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new HugeException("Failed to segment texts of search index",
+                                    e);
+        }
+    }
+
+    public void clearPreparedWords() {
+        this.preparedWords.clear();
+    }
+
     private Set<String> segmentWords(String text) {
         /*
          Support 3 kinds of query:
@@ -898,7 +1149,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
          - Text.contains("words"): query by words splitted from analyzer;
          Note: all kinds support words exact match
          */
-        if (text.startsWith(START_SYMBOL) && text.endsWith(END_SYMBOL)) {
+        if (isSpecifiedWords(text)) {
             String subText = text.substring(1, text.length() - 1);
             if (subText.contains(WORD_DELIMITER)) {
                 String[] texts = StringUtils.split(subText, WORD_DELIMITER);
@@ -907,7 +1158,39 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 return ImmutableSet.of(subText);
             }
         }
-        Set<String> segments = this.textAnalyzer.segment(text);
+
+        Set<String> words = this.preparedWords.get(text);
+        if (words == null) {
+            words = this.cachedWords(text);
+        }
+        if (words == null) {
+            words = segmentWords(this.textAnalyzer, text);
+            this.cacheWords(text, words);
+        }
+        return words;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> cachedWords(String text) {
+        if (this.wordsCache == null || text.length() > MAX_CACHED_TEXT_LENGTH) {
+            return null;
+        }
+        return (Set<String>) this.wordsCache.get(IdGenerator.of(text));
+    }
+
+    private void cacheWords(String text, Set<String> words) {
+        if (this.wordsCache == null || text.length() > MAX_CACHED_TEXT_LENGTH) {
+            return;
+        }
+        this.wordsCache.update(IdGenerator.of(text), words);
+    }
+
+    private static boolean isSpecifiedWords(String text) {
+        return text.startsWith(START_SYMBOL) && text.endsWith(END_SYMBOL);
+    }
+
+    private static Set<String> segmentWords(Analyzer analyzer, String text) {
+        Set<String> segments = analyzer.segment(text);
 
         /*
          * Add original text to segments at the insertion stage,
@@ -917,7 +1200,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
         // Ignore unicode \u0000 to \u0003
         segments.removeAll(ConditionQuery.IGNORE_SYM_SET);
-        return segments;
+        // The words may be shared by cache, don't allow to modify them
+        return ImmutableSet.copyOf(segments);
     }
 
     private boolean needIndexForLabel() {
@@ -938,7 +1222,11 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
-    private static Set<IndexLabel> matchSingleOrCompositeIndex(
+    /**
+     * Match the single or composite index label with the least estimated
+     * cost, or the first matched one if there is no statistics
+     */
+    private Set<IndexLabel> matchSingleOrCompositeIndex(
             ConditionQuery query,
             Set<IndexLabel> indexLabels) {
         if (query.hasNeqCondition()) {
@@ -947,6 +1235,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
         boolean requireRange = query.hasRangeCondition();
         boolean requireSearch = query.hasSearchCondition();
         Set<Id> queryPropKeys = query.userpropKeys();
+        IndexLabel matched = null;
+        double matchedCost = IndexStatistics.UNKNOWN_COST;
         for (IndexLabel indexLabel : indexLabels) {
             List<Id> indexFields = indexLabel.indexFields();
             // Try to match fields
@@ -970,9 +1260,22 @@ public class GraphIndexTransaction extends AbstractTransaction {
             if (requireRange && !indexType.isNumeric()) {
                 continue;
             }
-            return ImmutableSet.of(indexLabel);
+            double cost = this.indexStatistics.cost(indexLabel, query);
+            if (matched == null) {
+                matched = indexLabel;
+                matchedCost = cost;
+            } else if (cost != IndexStatistics.UNKNOWN_COST &&
+                       (matchedCost == IndexStatistics.UNKNOWN_COST ||
+                        cost < matchedCost)) {
+                matched = indexLabel;
+                matchedCost = cost;
+            }
         }
-        return ImmutableSet.of();
+        if (matched == null) {
+            return ImmutableSet.of();
+        }
+        query.recordIndexCost(matched.name(), matchedCost);
+        return ImmutableSet.of(matched);
     }
 
     /**
@@ -1570,10 +1873,25 @@ public class GraphIndexTransaction extends AbstractTransaction {
     }
 
     protected void removeIndex(IndexLabel indexLabel) {
+        this.indexStatistics.remove(indexLabel.id());
         HugeIndex index = new HugeIndex(this.graph(), indexLabel);
         this.doRemove(this.serializer.writeIndex(index));
     }
 
+    private static class StatUpdate {
+
+        private final IndexLabel indexLabel;
+        private final List<Object> values;
+        private final boolean removed;
+
+        public StatUpdate(IndexLabel indexLabel, List<Object> values,
+                          boolean removed) {
+            this.indexLabel = indexLabel;
+            this.values = values;
+            this.removed = removed;
+        }
+    }
+
     private static class MatchedIndex {
 
         private SchemaLabel schemaLabel;
@@ -1676,6 +1994,10 @@ public class GraphIndexTransaction extends AbstractTransaction {
             return this.entrySet().iterator().next();
         }
 
+        public ConditionQuery parentQuery() {
+            return this.parentQuery;
+        }
+
         public Query rootQuery() {
             if (this.size() > 0) {
                 return this.values().iterator().next().rootOriginQuery();
@@ -42,6 +42,7 @@ import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.id.EdgeId;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.id.SplicingIdGenerator;
+import org.apache.hugegraph.backend.page.IdHolder;
 import org.apache.hugegraph.backend.page.IdHolderList;
 import org.apache.hugegraph.backend.page.PageInfo;
 import org.apache.hugegraph.backend.page.QueryList;
@@ -53,7 +54,10 @@ import org.apache.hugegraph.backend.query.ConditionQuery.OptimizedType;
 import org.apache.hugegraph.backend.query.ConditionQueryFlatten;
 import org.apache.hugegraph.backend.query.IdQuery;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.query.QueryProfile;
+import org.apache.hugegraph.backend.query.QueryProfile.Span;
 import org.apache.hugegraph.backend.query.QueryResults;
+import org.apache.hugegraph.backend.serializer.BinarySerializer;
 import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
@@ -293,6 +297,14 @@ public class GraphTransaction extends IndexableTransaction {
         return new ArrayList<>(this.removedVertices.values());
     }
 
+    protected final Collection<HugeEdge> edgesInTx() {
+        List<HugeEdge> edges = new ArrayList<>(this.edgesInTxSize());
+        edges.addAll(this.addedEdges.values());
+        edges.addAll(this.removedEdges.values());
+        edges.addAll(this.updatedEdges.values());
+        return edges;
+    }
+
     protected final boolean removingEdgeOwner(HugeEdge edge) {
         for (HugeVertex vertex : this.removedVertices.values()) {
             if (edge.belongToVertex(vertex)) {
@@ -316,7 +328,14 @@ public class GraphTransaction extends IndexableTransaction {
 
         // Serialize and add updates into super.additions
         if (!this.addedVertices.isEmpty() || !this.addedEdges.isEmpty()) {
-            this.prepareAdditions(this.addedVertices, this.addedEdges);
+            // Segment texts of search index in parallel if enabled
+            this.indexTx.prepareWords(this.addedVertices.values());
+            this.indexTx.prepareWords(this.addedEdges.values());
+            try {
+                this.prepareAdditions(this.addedVertices, this.addedEdges);
+            } finally {
+                this.indexTx.clearPreparedWords();
+            }
         }
 
         return this.mutation();
@@ -836,6 +855,11 @@ public class GraphTransaction extends IndexableTransaction {
     }
 
     public Iterator<Vertex> queryVertices(Query query) {
+        return QueryProfile.trace("vertices", query,
+                                  () -> this.doQueryVertices(query));
+    }
+
+    private Iterator<Vertex> doQueryVertices(Query query) {
         if (this.hasUpdate()) {
             E.checkArgument(query.noLimitAndOffset(),
                             "It's not allowed to query with offser/limit " +
@@ -1000,6 +1024,11 @@ public class GraphTransaction extends IndexableTransaction {
 
     @Watched
     public Iterator<Edge> queryEdges(Query query) {
+        return QueryProfile.trace("edges", query,
+                                  () -> this.doQueryEdges(query));
+    }
+
+    private Iterator<Edge> doQueryEdges(Query query) {
         if (this.hasUpdate()) {
             E.checkArgument(query.noLimitAndOffset(),
                             "It's not allowed to query with offser/limit " +
@@ -1046,6 +1075,135 @@ public class GraphTransaction extends IndexableTransaction {
         return this.skipOffsetOrStopLimit(r, query);
     }
 
+    /**
+     * Query the adjacent vertex ids of an edges query, the edges are decoded
+     * into the other vertex ids directly from the backend entries if the
+     * serializer supports it, without parsing properties or constructing
+     * edge objects. Fall back to query edges if there are uncommitted
+     * records or any condition can't be matched by the edge keys.
+     */
+    @Watched
+    public Iterator<Id> queryAdjacentVertexIds(Query query) {
+        List<ConditionQuery> queries = this.flattenAdjacentIdsQuery(query);
+        if (queries == null) {
+            Iterator<Edge> edges = this.queryEdges(query);
+            return new MapperIterator<>(edges, edge -> {
+                return ((HugeEdge) edge).id().otherVertexId();
+            });
+        }
+
+        query.resetActualOffset();
+
+        BinarySerializer serializer = (BinarySerializer) this.serializer;
+        Iterator<Id> ids = new FlatMapperIterator<>(queries.iterator(), cq -> {
+            // The edge values are unused, backends may scan keys only
+            cq.withProperties(false);
+            Iterator<BackendEntry> entries = this.query(cq).iterator();
+            return new FlatMapperIterator<>(entries,
+                                            serializer::readAdjacentVertexIds);
+        });
+        return this.skipOffsetOrStopLimit(ids, query);
+    }
+
+    /**
+     * Traverse from the source vertex by the steps inside the store, which
+     * is dispatched to the 'traverse' meta handler of the store, the store
+     * only reads the committed records.
+     */
+    @Watched
+    public Collection<Id> traverseVertexIds(Id source, Directions dir,
+                                            Id label, int depth, long degree,
+                                            long capacity, long limit) {
+        E.checkArgument(!this.hasUpdate(),
+                        "It's not allowed to traverse in store when there " +
+                        "are uncommitted records.");
+        this.beforeRead();
+        try {
+            return this.metadata(null, "traverse", source, dir, label, depth,
+                                 degree, capacity, limit);
+        } finally {
+            this.afterRead();
+        }
+    }
+
+    private List<ConditionQuery> flattenAdjacentIdsQuery(Query query) {
+        if (!(this.serializer instanceof BinarySerializer) ||
+            !(query instanceof ConditionQuery) ||
+            query.paging() || this.hasUpdate()) {
+            return null;
+        }
+        boolean supportIn = this.storeFeatures().supportsQueryWithInCondition();
+        List<ConditionQuery> queries = ConditionQueryFlatten.flatten(
+                                       (ConditionQuery) query, supportIn);
+        for (ConditionQuery cq : queries) {
+            if (!this.matchAdjacentIdsQuery(cq)) {
+                return null;
+            }
+        }
+        return queries;
+    }
+
+    private boolean matchAdjacentIdsQuery(ConditionQuery query) {
+        boolean hasLabel = false;
+        for (Condition c : query.conditions()) {
+            if (!c.isRelation()) {
+                return false;
+            }
+            Condition.Relation r = (Condition.Relation) c;
+            if (r.key() == HugeKeys.OWNER_VERTEX ||
+                r.key() == HugeKeys.DIRECTION) {
+                if (r.relation() != Condition.RelationType.EQ) {
+                    return false;
+                }
+            } else if (r.key() == HugeKeys.LABEL) {
+                hasLabel = true;
+                List<?> labels = r.relation() == Condition.RelationType.IN ?
+                                 (List<?>) r.value() :
+                                 ImmutableList.of(r.value());
+                for (Object label : labels) {
+                    EdgeLabel edgeLabel = this.graph().edgeLabelOrNone(
+                                          (Id) label);
+                    if (!this.matchAdjacentIdsLabel(edgeLabel, query)) {
+                        return false;
+                    }
+                }
+            } else {
+                // Sort-keys, sub-label and property conditions
+                return false;
+            }
+        }
+        if (!query.containsCondition(HugeKeys.OWNER_VERTEX) ||
+            !query.containsCondition(HugeKeys.DIRECTION)) {
+            return false;
+        }
+        if (!hasLabel) {
+            for (EdgeLabel edgeLabel : this.graph().edgeLabels()) {
+                if (!this.matchAdjacentIdsLabel(edgeLabel, query)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean matchAdjacentIdsLabel(EdgeLabel label, Query query) {
+        /*
+         * The edges which may be filtered by filterUnmatchedRecords() or
+         * filterExpiredResultFromBackend() can't be decoded as ids only
+         */
+        if (label.undefined() || label.isFather() || label.hasFather()) {
+            return false;
+        }
+        if (label.hidden() && !query.showHidden()) {
+            return false;
+        }
+        if (label.status().deleting() && !query.showDeleting()) {
+            return false;
+        }
+        return label.ttl() <= 0L || query.showExpired() ||
+               this.store().features().supportsTtl();
+    }
+
     protected Iterator<HugeEdge> queryEdgesFromBackend(Query query) {
         assert query.resultType().isEdge();
 
@@ -1666,8 +1824,16 @@ public class GraphTransaction extends IndexableTransaction {
          * or throw exception if there is no any index for query properties.
          */
         this.beforeRead();
-        try {
-            return this.indexTx.queryIndex(query);
+        try (Span span = QueryProfile.enter("index", query)) {
+            IdHolderList holders = this.indexTx.queryIndex(query);
+            if (span != null) {
+                List<String> types = new ArrayList<>(holders.size());
+                for (IdHolder holder : holders) {
+                    types.add(holder.getClass().getSimpleName());
+                }
+                span.put("id_holders", types);
+            }
+            return holders;
         } finally {
             this.afterRead();
         }
@@ -2135,9 +2301,14 @@ public class GraphTransaction extends IndexableTransaction {
     }
 
     private HugeVertex parseEntry(BackendEntry entry) {
+        boolean profiling = QueryProfile.current() != null;
+        long start = profiling ? System.nanoTime() : 0L;
         try {
             HugeVertex vertex = this.serializer.readVertex(graph(), entry);
             assert vertex != null;
+            if (profiling) {
+                QueryProfile.time("deserialize_time", start);
+            }
             return vertex;
         } catch (ForbiddenException | SecurityException e) {
             /*
@@ -19,6 +19,7 @@ package org.apache.hugegraph.backend.tx;
 
 import org.apache.hugegraph.HugeGraphParams;
 import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.store.BackendLatencies.Op;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
 
@@ -48,13 +49,22 @@ public abstract class IndexableTransaction extends AbstractTransaction {
 
     @Override
     protected void commit2Backend() {
+        long start = System.nanoTime();
         BackendMutation mutation = this.prepareCommit();
         BackendMutation idxMutation = this.indexTransaction().prepareCommit();
+        this.latencies().record(null, Op.SERIALIZE, start);
         assert !mutation.isEmpty() || !idxMutation.isEmpty();
         // Commit graph/schema updates and index updates with graph/schema tx
         this.commitMutation2Backend(mutation, idxMutation);
     }
 
+    @Override
+    protected void afterCommit() {
+        super.afterCommit();
+        // The index updates are committed with graph/schema tx
+        this.indexTransaction().afterCommit();
+    }
+
     @Override
     public void commitIfGtSize(int size) throws BackendException {
         int totalSize = this.mutationSize() +
@@ -145,6 +145,17 @@ public class CoreOptions extends OptionHolder {
                     4
             );
 
+    public static final ConfigOption<Boolean> RAFT_SNAPSHOT_HARD_LINK =
+            new ConfigOption<>(
+                    "raft.snapshot_hard_link",
+                    "Whether to save snapshot by hard linking the files of " +
+                    "rocksdb checkpoints instead of compressing them, then " +
+                    "only the sst files that a follower doesn't have will " +
+                    "be transferred when installing snapshot.",
+                    disallowEmpty(),
+                    true
+            );
+
     public static final ConfigOption<Boolean> RAFT_SNAPSHOT_PARALLEL_COMPRESS =
             new ConfigOption<>(
                     "raft.snapshot_parallel_compress",
@@ -493,6 +504,28 @@ public class CoreOptions extends OptionHolder {
                     1000
             );
 
+    public static final ConfigOption<Boolean> QUERY_INDEX_INTERSECT_STREAMING =
+            new ConfigOption<>(
+                    "query.index_intersect_streaming",
+                    "Whether to intersect joint indexes by streaming the " +
+                    "sorted id postings when some index exceeds " +
+                    "query.index_intersect_threshold, instead of falling " +
+                    "back to query by single index and then filtering.",
+                    disallowEmpty(),
+                    true
+            );
+
+    public static final ConfigOption<Long> QUERY_PLAN_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "query.plan_cache_capacity",
+                    "The max cache size(items) of optimized gremlin " +
+                    "traversal plans, which are reused by the traversals " +
+                    "of the same shape with only has() values rebound, " +
+                    "disable the plan cache if set to 0.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    1000L
+            );
+
     public static final ConfigOption<Boolean> QUERY_RAMTABLE_ENABLE =
             new ConfigOption<>(
                     "query.ramtable_enable",
@@ -564,6 +597,16 @@ public class CoreOptions extends OptionHolder {
                     (60 * 10)
             );
 
+    public static final ConfigOption<Integer> VERTEX_CACHE_LOAD_WINDOW =
+            new ConfigOption<>(
+                    "vertex.cache_load_window",
+                    "The time window in milliseconds to collect the cache " +
+                    "missed vertices of concurrent queries, which are " +
+                    "loaded in one batch, 0 means loading without waiting.",
+                    rangeInt(0, 1000),
+                    0
+            );
+
     public static final ConfigOption<String> EDGE_CACHE_TYPE =
             new ConfigOption<>(
                     "edge.cache_type",
@@ -641,6 +684,25 @@ public class CoreOptions extends OptionHolder {
                     "smart"
             );
 
+    public static final ConfigOption<Long> TEXT_ANALYZER_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "search.text_analyzer_cache_capacity",
+                    "The max number of analyzed texts to cache the segmented " +
+                    "words of, 0 means disable the cache of text analyzer.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    10000L
+            );
+
+    public static final ConfigOption<Integer> TEXT_ANALYZER_THREADS =
+            new ConfigOption<>(
+                    "search.text_analyzer_threads",
+                    "The number of threads to segment the texts of " +
+                    "search index in parallel when committing a batch of " +
+                    "vertices/edges, 0 means segmenting in commit thread.",
+                    rangeInt(0, 65535),
+                    0
+            );
+
     public static final ConfigOption<String> COMPUTER_CONFIG =
             new ConfigOption<>(
                     "computer.config",
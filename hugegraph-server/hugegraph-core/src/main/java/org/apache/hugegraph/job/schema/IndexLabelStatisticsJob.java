@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.job.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.IndexStatistics;
+import org.apache.hugegraph.backend.query.IndexStatistics.Histogram;
+import org.apache.hugegraph.backend.query.IndexStatistics.Stat;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.schema.EdgeLabel;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeProperty;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+/**
+ * Refresh the cardinality statistics of an index label by traversing all
+ * elements of its base label, the statistics maintained incrementally may
+ * drift due to deletion of elements, and are lost after restart of server.
+ */
+public class IndexLabelStatisticsJob extends SchemaJob {
+
+    private static final int HISTOGRAM_BUCKETS = 64;
+    private static final int SAMPLE_SIZE = 10000;
+
+    @Override
+    public String type() {
+        return COLLECT_STATISTICS;
+    }
+
+    @Override
+    public Object execute() {
+        IndexLabel indexLabel = this.graph().indexLabel(this.schemaId());
+        // If the schema does not exist, ignore it
+        if (indexLabel == null) {
+            return null;
+        }
+
+        Collector collector = new Collector(indexLabel);
+        GraphTransaction graphTx = this.params().graphTransaction();
+        if (indexLabel.baseType() == HugeType.VERTEX_LABEL) {
+            VertexLabel label = this.graph().vertexLabel(indexLabel.baseValue());
+            Consumer<Vertex> consumer = v -> collector.collect((HugeElement) v);
+            graphTx.traverseVerticesByLabel(label, consumer, false);
+        } else {
+            assert indexLabel.baseType() == HugeType.EDGE_LABEL;
+            EdgeLabel label = this.graph().edgeLabel(indexLabel.baseValue());
+            Consumer<Edge> consumer = e -> collector.collect((HugeElement) e);
+            graphTx.traverseEdgesByLabel(label, consumer, false);
+        }
+
+        Stat stat = collector.stat();
+        this.params().indexStatistics().refresh(indexLabel.id(), stat);
+
+        Map<String, Object> result = InsertionOrderUtil.newMap();
+        result.put("index_label", indexLabel.name());
+        result.put("entries", stat.entries());
+        result.put("distinct", stat.distinct());
+        if (stat.histogram() != null) {
+            result.put("min", stat.histogram().min());
+            result.put("max", stat.histogram().max());
+            result.put("histogram", stat.histogram().buckets());
+        }
+        return result;
+    }
+
+    private static class Collector {
+
+        private final IndexLabel indexLabel;
+        private final Stat stat;
+        private final Random random;
+        private final double[] samples;
+        private long numbers;
+        private double min;
+        private double max;
+
+        public Collector(IndexLabel indexLabel) {
+            this.indexLabel = indexLabel;
+            this.stat = new Stat();
+            this.random = new Random();
+            boolean range = indexLabel.indexType().isRange();
+            this.samples = range ? new double[SAMPLE_SIZE] : null;
+            this.numbers = 0L;
+            this.min = Double.POSITIVE_INFINITY;
+            this.max = Double.NEGATIVE_INFINITY;
+        }
+
+        public void collect(HugeElement element) {
+            List<Object> values = new ArrayList<>();
+            for (Id field : this.indexLabel.indexFields()) {
+                HugeProperty<Object> property = element.getProperty(field);
+                if (property == null) {
+                    break;
+                }
+                values.add(property.value());
+            }
+            if (values.isEmpty()) {
+                return;
+            }
+            this.stat.update(values, false);
+            if (this.samples != null) {
+                this.sample(IndexStatistics.toDouble(values.get(0)));
+            }
+        }
+
+        private void sample(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+            // Reservoir sampling
+            if (this.numbers < SAMPLE_SIZE) {
+                this.samples[(int) this.numbers] = value;
+            } else {
+                long index = (long) (this.random.nextDouble() *
+                                     (this.numbers + 1));
+                if (index < SAMPLE_SIZE) {
+                    this.samples[(int) index] = value;
+                }
+            }
+            this.numbers++;
+        }
+
+        public Stat stat() {
+            if (this.samples == null || this.numbers == 0L) {
+                return this.stat;
+            }
+            Histogram histogram = new Histogram(this.min, this.max,
+                                                new long[HISTOGRAM_BUCKETS]);
+            int sampled = (int) Math.min(this.numbers, SAMPLE_SIZE);
+            long[] counts = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < sampled; i++) {
+                counts[histogram.bucket(this.samples[i])]++;
+            }
+            // Scale the sampled counts up to the number of values
+            double scale = (double) this.numbers / sampled;
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                counts[i] = Math.round(counts[i] * scale);
+            }
+            this.stat.histogram(new Histogram(this.min, this.max, counts));
+            return this.stat;
+        }
+    }
+}
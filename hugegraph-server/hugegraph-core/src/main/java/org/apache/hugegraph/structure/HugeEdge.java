@@ -492,6 +492,36 @@ public class HugeEdge extends HugeElement implements Edge, Cloneable {
         return edge;
     }
 
+    /**
+     * Copy the edge with a new adjacent vertex whose properties are not
+     * loaded if the properties of the adjacent vertex have been loaded,
+     * used to share an edge whose adjacent vertex may be changed later
+     *
+     * @return a new edge or this edge if no properties of vertex loaded
+     */
+    public HugeEdge copyWithOtherVertexUnloaded() {
+        HugeVertex other = this.isOutEdge ? this.targetVertex :
+                                            this.sourceVertex;
+        if (!other.isPropLoaded()) {
+            return this;
+        }
+        HugeVertex owner = this.isOutEdge ? this.sourceVertex :
+                                            this.targetVertex;
+        VertexLabel label = other.schemaLabel();
+        if (label.undefined() && !this.label.undefined()) {
+            // The vertex may be added after the edge loaded
+            Id labelId = this.isOutEdge ? this.label.targetLabel() :
+                                          this.label.sourceLabel();
+            label = this.graph().vertexLabelOrNone(labelId);
+        }
+        HugeVertex vertex = new HugeVertex(other.graph(), other.id(), label);
+        vertex.propNotLoaded();
+
+        HugeEdge edge = this.clone();
+        edge.vertices(this.isOutEdge, owner, vertex);
+        return edge;
+    }
+
     @Override
     public HugeEdge copy() {
         HugeEdge edge = this.clone();
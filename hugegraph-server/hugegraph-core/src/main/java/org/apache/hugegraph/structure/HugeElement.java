@@ -58,6 +58,12 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
 
     private final HugeGraph graph;
     private MutableIntObjectMap<HugeProperty<?>> properties;
+    /*
+     * The packed property values loaded from backend, unpacked once on update
+     * or on the first access of HugeProperty. It's volatile since an element
+     * in cache may be unpacked by the reading threads
+     */
+    private volatile PackedProperties packed;
     // TODO: move into properties to keep small object
     private long expiredTime;
 
@@ -70,6 +76,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
         E.checkArgument(graph != null, "HugeElement graph can't be null");
         this.graph = graph;
         this.properties = EMPTY_MAP;
+        this.packed = null;
         this.expiredTime = 0L;
         this.removed = false;
         this.fresh = false;
@@ -93,17 +100,33 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
             return;
         }
         this.defaultValueUpdated = true;
-        // Set default value if needed
+        /*
+         * Set default value if needed, the packed values are copied rather
+         * than unpacked to keep the element compact
+         */
+        PackedProperties packed = this.packed;
+        PackedProperties updated = null;
         for (Id pkeyId : this.schemaLabel().properties()) {
-            if (this.properties.containsKey(intFromId(pkeyId))) {
+            if (this.hasProperty(pkeyId)) {
                 continue;
             }
             PropertyKey pkey = this.graph().propertyKey(pkeyId);
             Object value = pkey.defaultValue();
-            if (value != null) {
+            if (value == null) {
+                continue;
+            }
+            if (packed == null) {
                 this.setProperty(this.newProperty(pkey, value));
+            } else {
+                if (updated == null) {
+                    updated = packed.copy();
+                }
+                updated.put(intFromId(pkeyId), pkey.validValueOrThrow(value));
             }
         }
+        if (updated != null) {
+            this.packed = updated;
+        }
         this.defaultValueUpdated = true;
     }
 
@@ -197,6 +220,13 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
 
     public Set<Id> getPropertyKeys() {
         Set<Id> propKeys = InsertionOrderUtil.newSet();
+        PackedProperties packed = this.packed;
+        if (packed != null) {
+            for (int i = 0; i < packed.size(); i++) {
+                propKeys.add(IdGenerator.of(packed.key(i)));
+            }
+            return propKeys;
+        }
         IntIterator keys = this.properties.keysView().intIterator();
         while (keys.hasNext()) {
             propKeys.add(IdGenerator.of(keys.next()));
@@ -205,6 +235,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
     }
 
     public Collection<HugeProperty<?>> getProperties() {
+        this.unpackProperties();
         return this.properties.values();
     }
 
@@ -215,6 +246,13 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
 
     public Map<Id, Object> getPropertiesMap() {
         Map<Id, Object> props = InsertionOrderUtil.newMap();
+        PackedProperties packed = this.packed;
+        if (packed != null) {
+            for (int i = 0; i < packed.size(); i++) {
+                props.put(IdGenerator.of(packed.key(i)), packed.value(i));
+            }
+            return props;
+        }
         for (HugeProperty<?> prop : this.properties.values()) {
             props.put(prop.propertyKey().id(), prop.value());
         }
@@ -224,7 +262,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
 
     public Collection<HugeProperty<?>> getAggregateProperties() {
         List<HugeProperty<?>> aggrProps = InsertionOrderUtil.newList();
-        for (HugeProperty<?> prop : this.properties.values()) {
+        for (HugeProperty<?> prop : this.getProperties()) {
             if (prop.type().isAggregateProperty()) {
                 aggrProps.add(prop);
             }
@@ -234,11 +272,16 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
 
     @SuppressWarnings("unchecked")
     public <V> HugeProperty<V> getProperty(Id key) {
+        this.unpackProperties();
         return (HugeProperty<V>) this.properties.get(intFromId(key));
     }
 
     @SuppressWarnings("unchecked")
     public <V> V getPropertyValue(Id key) {
+        PackedProperties packed = this.packed;
+        if (packed != null) {
+            return (V) packed.get(intFromId(key));
+        }
         HugeProperty<?> prop = this.properties.get(intFromId(key));
         if (prop == null) {
             return null;
@@ -247,19 +290,38 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
     }
 
     public boolean hasProperty(Id key) {
+        PackedProperties packed = this.packed;
+        if (packed != null) {
+            return packed.containsKey(intFromId(key));
+        }
         return this.properties.containsKey(intFromId(key));
     }
 
     public boolean hasProperties() {
-        return !this.properties.isEmpty();
+        return this.sizeOfProperties() > 0;
     }
 
     public int sizeOfProperties() {
+        PackedProperties packed = this.packed;
+        if (packed != null) {
+            return packed.size();
+        }
         return this.properties.size();
     }
 
     public int sizeOfSubProperties() {
         int size = 0;
+        PackedProperties packed = this.packed;
+        if (packed != null) {
+            for (int i = 0; i < packed.size(); i++) {
+                size++;
+                // Only the values of non-single property are collections
+                if (packed.value(i) instanceof Collection) {
+                    size += ((Collection<?>) packed.value(i)).size();
+                }
+            }
+            return size;
+        }
         for (HugeProperty<?> p : this.properties.values()) {
             size++;
             if (p.propertyKey().cardinality() != Cardinality.SINGLE &&
@@ -270,8 +332,47 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
         return size;
     }
 
+    /**
+     * Load a property from backend, the value is kept in the packed values
+     * instead of a HugeProperty until the properties are updated
+     * @param pkey  the property key
+     * @param value the value of property, or the values of non-single
+     *              property which are merged into the existing values
+     */
+    @SuppressWarnings("unchecked")
+    public void loadProperty(PropertyKey pkey, Object value) {
+        if (this.properties != EMPTY_MAP) {
+            // The properties have been updated before loading
+            this.addProperty(pkey, value);
+            return;
+        }
+        E.checkArgument(value != null, "Property value can't be null");
+        if (this.packed == null) {
+            this.packed = new PackedProperties();
+        }
+        int key = intFromId(pkey.id());
+        E.checkArgument(this.packed.containsKey(key) ||
+                        this.packed.size() < BytesBuffer.MAX_PROPERTIES,
+                        "Exceeded the maximum number of properties");
+        if (pkey.cardinality() == Cardinality.SINGLE) {
+            this.packed.put(key, pkey.validValueOrThrow(value));
+            return;
+        }
+        Collection<Object> values = (Collection<Object>) this.packed.get(key);
+        if (values == null) {
+            if (pkey.cardinality() == Cardinality.SET) {
+                values = new HashSet<>();
+            } else {
+                values = new ArrayList<>();
+            }
+            this.packed.put(key, values);
+        }
+        values.addAll(pkey.validValueOrThrow(multipleValues(pkey, value)));
+    }
+
     @Watched(prefix = "element")
     public <V> HugeProperty<?> setProperty(HugeProperty<V> prop) {
+        this.unpackProperties();
         if (this.properties == EMPTY_MAP) {
             this.properties = CollectionFactory.newIntObjectMap();
         }
@@ -284,6 +385,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
     }
 
     public <V> HugeProperty<?> removeProperty(Id key) {
+        this.unpackProperties();
         return this.properties.remove(intFromId(key));
     }
 
@@ -331,6 +433,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
     private <V> HugeProperty<V> addProperty(PropertyKey pkey, V value,
                                             Supplier<Collection<V>> supplier) {
         assert pkey.cardinality().multiple();
+        // The values are updated in place, which can't be the packed ones
+        this.unpackProperties();
         HugeProperty<Collection<V>> property;
         if (this.hasProperty(pkey.id())) {
             property = this.getProperty(pkey.id());
@@ -339,33 +443,71 @@ public abstract class HugeElement implements Element, GraphType, Idfiable, Compa
             this.setProperty(property);
         }
 
-        Collection<V> values;
+        Collection<V> values = multipleValues(pkey, value);
+        property.value().addAll(pkey.validValueOrThrow(values));
+
+        // Any better ways?
+        return (HugeProperty) property;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Collection<V> multipleValues(PropertyKey pkey,
+                                                    V value) {
         if (pkey.cardinality() == Cardinality.SET) {
             if (value instanceof Set) {
-                values = (Set<V>) value;
+                return (Set<V>) value;
             } else {
-                values = CollectionUtil.toSet(value);
+                return CollectionUtil.toSet(value);
             }
         } else {
             assert pkey.cardinality() == Cardinality.LIST;
             if (value instanceof List) {
-                values = (List<V>) value;
+                return (List<V>) value;
             } else {
-                values = CollectionUtil.toList(value);
+                return CollectionUtil.toList(value);
             }
         }
-        property.value().addAll(pkey.validValueOrThrow(values));
+    }
 
-        // Any better ways?
-        return (HugeProperty) property;
+    @SuppressWarnings("unchecked")
+    private <V> HugeProperty<V> unpackProperty(PackedProperties packed,
+                                               int index) {
+        PropertyKey pkey = this.graph.propertyKey(
+                           IdGenerator.of(packed.key(index)));
+        Object value = packed.value(index);
+        // The packed values are shared by copies, don't update them in place
+        if (pkey.cardinality() == Cardinality.SET) {
+            value = new HashSet<>((Collection<?>) value);
+        } else if (pkey.cardinality() == Cardinality.LIST) {
+            value = new ArrayList<>((Collection<?>) value);
+        }
+        return this.newProperty(pkey, (V) value);
+    }
+
+    private void unpackProperties() {
+        PackedProperties packed = this.packed;
+        if (packed == null) {
+            return;
+        }
+        MutableIntObjectMap<HugeProperty<?>> props =
+                CollectionFactory.newIntObjectMap();
+        for (int i = 0; i < packed.size(); i++) {
+            props.put(packed.key(i), this.unpackProperty(packed, i));
+        }
+        // Set the properties before the packed is cleared for other readers
+        this.properties = props;
+        this.packed = null;
     }
 
     public void resetProperties() {
         this.properties = CollectionFactory.newIntObjectMap();
+        this.packed = null;
         this.propLoaded = false;
     }
 
     protected void copyProperties(HugeElement element) {
+        // The packed values are shared since they are never updated
+        this.packed = element.packed;
         if (element.properties == EMPTY_MAP) {
             this.properties = EMPTY_MAP;
         } else {
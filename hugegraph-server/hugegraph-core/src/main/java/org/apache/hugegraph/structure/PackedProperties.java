@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.structure;
+
+import java.util.Arrays;
+
+/**
+ * The property values of an element loaded from backend, which are kept in
+ * packed parallel arrays sorted by property key id instead of an int-object
+ * map of HugeProperty, to reduce the memory footprint of query results.
+ * It's only appended while the element is being loaded, and then shared by
+ * the copies of the element as read-only.
+ */
+final class PackedProperties {
+
+    private static final int INIT_CAPACITY = 4;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    public PackedProperties() {
+        this.keys = new int[INIT_CAPACITY];
+        this.values = new Object[INIT_CAPACITY];
+        this.size = 0;
+    }
+
+    private PackedProperties(PackedProperties other) {
+        this.keys = Arrays.copyOf(other.keys, other.size + 1);
+        this.values = Arrays.copyOf(other.values, other.size + 1);
+        this.size = other.size;
+    }
+
+    public PackedProperties copy() {
+        return new PackedProperties(this);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int key(int index) {
+        assert index < this.size;
+        return this.keys[index];
+    }
+
+    public Object value(int index) {
+        assert index < this.size;
+        return this.values[index];
+    }
+
+    public Object get(int key) {
+        int index = this.indexOf(key);
+        return index < 0 ? null : this.values[index];
+    }
+
+    public boolean containsKey(int key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    public void put(int key, Object value) {
+        int index = this.indexOf(key);
+        if (index >= 0) {
+            this.values[index] = value;
+            return;
+        }
+        index = -index - 1;
+        if (this.size == this.keys.length) {
+            int capacity = this.size << 1;
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        int moved = this.size - index;
+        if (moved > 0) {
+            System.arraycopy(this.keys, index, this.keys, index + 1, moved);
+            System.arraycopy(this.values, index, this.values, index + 1, moved);
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.size++;
+    }
+
+    private int indexOf(int key) {
+        return Arrays.binarySearch(this.keys, 0, this.size, key);
+    }
+}
@@ -207,15 +207,15 @@ public class HugeTraverser {
         return results;
     }
 
-    public static Iterator<Edge> skipSuperNodeIfNeeded(Iterator<Edge> edges,
-                                                       long degree,
-                                                       long skipDegree) {
+    public static <T> Iterator<T> skipSuperNodeIfNeeded(Iterator<T> edges,
+                                                        long degree,
+                                                        long skipDegree) {
         if (skipDegree <= 0L) {
             return edges;
         }
-        List<Edge> edgeList = newList();
+        List<T> edgeList = newList();
         for (int i = 1; edges.hasNext(); i++) {
-            Edge edge = edges.next();
+            T edge = edges.next();
             if (i <= degree) {
                 edgeList.add(edge);
             }
@@ -325,11 +325,10 @@ public class HugeTraverser {
 
         Set<Id> neighbors = newIdSet();
         for (Id source : vertices) {
-            Iterator<Edge> edges = this.edgesOfVertex(source, dir,
-                                                      label, degree);
-            while (edges.hasNext()) {
-                HugeEdge e = (HugeEdge) edges.next();
-                Id target = e.id().otherVertexId();
+            Iterator<Id> targets = this.adjacentVertices(source, dir,
+                                                         label, degree);
+            while (targets.hasNext()) {
+                Id target = targets.next();
                 boolean matchExcluded = (excluded != null &&
                                          excluded.contains(target));
                 if (matchExcluded || neighbors.contains(target) ||
@@ -347,29 +346,53 @@ public class HugeTraverser {
 
     protected Iterator<Id> adjacentVertices(Id source, Directions dir,
                                             Id label, long limit) {
-        Iterator<Edge> edges = this.edgesOfVertex(source, dir, label, limit);
-        return new MapperIterator<>(edges, e -> {
-            HugeEdge edge = (HugeEdge) e;
-            return edge.id().otherVertexId();
-        });
+        Id[] labels = {};
+        if (label != null) {
+            labels = new Id[]{label};
+        }
+        return this.adjacentVertices(source, dir, labels, limit);
     }
 
     protected Set<Id> adjacentVertices(Id source, EdgeStep step) {
+        Iterator<Id> targets;
+        if (step.properties() == null || step.properties().isEmpty()) {
+            targets = this.adjacentVertices(source, step.direction(),
+                                            step.edgeLabels(), step.limit());
+            targets = step.skipSuperNodeIfNeeded(targets);
+        } else {
+            Iterator<Edge> edges = this.edgesOfVertex(source, step);
+            targets = new MapperIterator<>(edges, e -> {
+                return ((HugeEdge) e).id().otherVertexId();
+            });
+        }
         Set<Id> neighbors = newSet();
-        Iterator<Edge> edges = this.edgesOfVertex(source, step);
-        while (edges.hasNext()) {
-            neighbors.add(((HugeEdge) edges.next()).id().otherVertexId());
+        while (targets.hasNext()) {
+            neighbors.add(targets.next());
         }
         return neighbors;
     }
 
     protected Iterator<Id> adjacentVertices(Id source, Directions dir,
                                             List<Id> labels, long limit) {
-        Iterator<Edge> edges = this.edgesOfVertex(source, dir, labels, limit);
-        return new MapperIterator<>(edges, e -> {
-            HugeEdge edge = (HugeEdge) e;
-            return edge.id().otherVertexId();
-        });
+        Id[] labelIds = {};
+        if (labels != null) {
+            labelIds = labels.toArray(new Id[0]);
+        }
+        return this.adjacentVertices(source, dir, labelIds, limit);
+    }
+
+    /**
+     * Query the adjacent vertex ids only, which may be decoded from the
+     * edge keys directly without constructing edges and their properties
+     */
+    @Watched
+    protected Iterator<Id> adjacentVertices(Id source, Directions dir,
+                                            Id[] labels, long limit) {
+        Query query = GraphTransaction.constructEdgesQuery(source, dir, labels);
+        if (limit != NO_LIMIT) {
+            query.limit(limit);
+        }
+        return this.graph.adjacentVertexIds(query);
     }
 
     @Watched
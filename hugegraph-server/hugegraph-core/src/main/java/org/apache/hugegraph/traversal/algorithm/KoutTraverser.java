@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.traversal.algorithm;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -60,6 +61,20 @@ public class KoutTraverser extends OltpTraverser {
 
         Id labelId = this.getEdgeLabelIdOrNull(label);
 
+        if (nearest && this.graph().backendStoreFeatures()
+                               .supportsTraverseInStore()) {
+            // Expand the vertices in store, only the frontier ids are fetched
+            Collection<Id> ids = this.graph().traverseVertexIds(
+                                 sourceV, dir, labelId, depth,
+                                 degree, capacity, limit);
+            if (ids != null) {
+                Set<Id> neighbors = newIdSet();
+                neighbors.addAll(ids);
+                return neighbors;
+            }
+            // Not traversed in store, traverse the edges one by one
+        }
+
         Set<Id> sources = newIdSet();
         Set<Id> neighbors = newIdSet();
         Set<Id> visited = nearest ? newIdSet() : null;
@@ -22,11 +22,9 @@ import java.util.Iterator;
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.perf.PerfUtil.Watched;
-import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.traversal.algorithm.records.PathsRecords;
 import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.util.E;
-import org.apache.tinkerpop.gremlin.structure.Edge;
 
 public class PathsTraverser extends HugeTraverser {
 
@@ -110,7 +108,7 @@ public class PathsTraverser extends HugeTraverser {
          */
         @Watched
         public void forward(Id targetV, Directions direction) {
-            Iterator<Edge> edges;
+            Iterator<Id> targets;
 
             this.record.startOneLayer(true);
             while (this.record.hasNextKey()) {
@@ -119,11 +117,11 @@ public class PathsTraverser extends HugeTraverser {
                     continue;
                 }
 
-                edges = edgesOfVertex(vid, direction, this.label, this.degree);
+                targets = adjacentVertices(vid, direction, this.label,
+                                           this.degree);
                 this.vertexCounter += 1L;
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                while (targets.hasNext()) {
+                    Id target = targets.next();
                     this.edgeCounter += 1L;
 
                     PathSet results = this.record.findPath(target, null,
@@ -144,7 +142,7 @@ public class PathsTraverser extends HugeTraverser {
          */
         @Watched
         public void backward(Id sourceV, Directions direction) {
-            Iterator<Edge> edges;
+            Iterator<Id> targets;
 
             this.record.startOneLayer(false);
             while (this.record.hasNextKey()) {
@@ -153,11 +151,11 @@ public class PathsTraverser extends HugeTraverser {
                     continue;
                 }
 
-                edges = edgesOfVertex(vid, direction, this.label, this.degree);
+                targets = adjacentVertices(vid, direction, this.label,
+                                           this.degree);
                 this.vertexCounter += 1L;
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                while (targets.hasNext()) {
+                    Id target = targets.next();
                     this.edgeCounter += 1L;
 
                     PathSet results = this.record.findPath(target, null,
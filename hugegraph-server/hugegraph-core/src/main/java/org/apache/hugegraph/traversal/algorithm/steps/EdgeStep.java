@@ -32,7 +32,6 @@ import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
 import org.apache.hugegraph.traversal.optimize.TraversalUtil;
 import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.util.E;
-import org.apache.tinkerpop.gremlin.structure.Edge;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -138,7 +137,7 @@ public class EdgeStep {
                              this.direction, this.labels, this.properties);
     }
 
-    public Iterator<Edge> skipSuperNodeIfNeeded(Iterator<Edge> edges) {
+    public <T> Iterator<T> skipSuperNodeIfNeeded(Iterator<T> edges) {
         return HugeTraverser.skipSuperNodeIfNeeded(edges, this.degree,
                                                    this.skipDegree);
     }
@@ -0,0 +1,626 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.traversal.optimize;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.cache.Cache;
+import org.apache.hugegraph.backend.cache.CacheManager;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.QueryProfile;
+import org.apache.hugegraph.backend.query.QueryProfile.Span;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.util.Log;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode.Instruction;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.slf4j.Logger;
+
+/**
+ * The traversal strategies which cache the optimized plan of a traversal.
+ * <p>
+ * The traversals with the same shape, namely the same bytecode except the
+ * values of has(key, value) steps, share one optimized plan: the first one
+ * applies all the strategies and saves a clone of its steps as template,
+ * the following ones clone the template, rebind the has() values and skip
+ * applying strategies. A traversal is not cached if its values can't be
+ * rebound exactly, like it has child traversals or the has() containers
+ * are copied by strategies.
+ * <p>
+ * The plan cache is disabled once the strategies are customized, like
+ * g.withStrategies(), since the strategy instances may be configured.
+ */
+public final class CachedTraversalStrategies implements TraversalStrategies {
+
+    private static final long serialVersionUID = -4281342163519578113L;
+
+    private static final Logger LOG = Log.logger(CachedTraversalStrategies.class);
+
+    private static final String CACHE_PREFIX = "traversal-plan";
+
+    private final TraversalStrategies strategies;
+    private volatile boolean customized;
+
+    public CachedTraversalStrategies(TraversalStrategies strategies) {
+        this(strategies, false);
+    }
+
+    private CachedTraversalStrategies(TraversalStrategies strategies,
+                                      boolean customized) {
+        this.strategies = strategies;
+        this.customized = customized;
+    }
+
+    @Override
+    public List<TraversalStrategy<?>> toList() {
+        return this.strategies.toList();
+    }
+
+    @Override
+    public Iterator<TraversalStrategy<?>> iterator() {
+        if (this.customized) {
+            return this.strategies.iterator();
+        }
+        return new PlanIterator(this.strategies.iterator());
+    }
+
+    @Override
+    public TraversalStrategies addStrategies(TraversalStrategy<?>... strategies) {
+        this.customized = true;
+        this.strategies.addStrategies(strategies);
+        return this;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public TraversalStrategies removeStrategies(
+                               Class<? extends TraversalStrategy>... classes) {
+        this.customized = true;
+        this.strategies.removeStrategies(classes);
+        return this;
+    }
+
+    @Override
+    public CachedTraversalStrategies clone() {
+        // CHECKSTYLE:OFF
+        return new CachedTraversalStrategies(this.strategies.clone(),
+                                             this.customized);
+    }
+
+    @Override
+    public String toString() {
+        return this.strategies.toString();
+    }
+
+    /**
+     * Iterate the strategies to be applied to a root traversal, look up the
+     * plan cache before the first strategy applied and save the plan into
+     * cache after the last one applied.
+     */
+    private static final class PlanIterator
+                         implements Iterator<TraversalStrategy<?>> {
+
+        private final Iterator<TraversalStrategy<?>> strategies;
+        private final Span span;
+
+        private boolean started;
+        private boolean hit;
+        private boolean finished;
+
+        private Cache<Id, Plan> cache;
+        private Id key;
+        private Traversal.Admin<?, ?> traversal;
+        private List<P<?>> predicates;
+
+        public PlanIterator(Iterator<TraversalStrategy<?>> strategies) {
+            this.strategies = strategies;
+            this.span = QueryProfile.span("strategies", null);
+            this.started = false;
+            this.hit = false;
+            this.finished = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.strategies.hasNext()) {
+                return true;
+            }
+            if (!this.finished) {
+                this.finished = true;
+                this.savePlan();
+                if (this.span != null) {
+                    this.span.put("plan_cache_hit", this.hit);
+                    this.span.close();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public TraversalStrategy<?> next() {
+            return new PlanStrategy<>(this, this.strategies.next());
+        }
+
+        /**
+         * Called before a strategy applied to the traversal or its children
+         * @return true if the strategy should be skipped
+         */
+        public boolean skip(Traversal.Admin<?, ?> traversal) {
+            if (!this.started) {
+                this.started = true;
+                // The root traversal is always applied firstly
+                if (traversal.isRoot()) {
+                    this.loadPlan(traversal);
+                }
+            }
+            return this.hit;
+        }
+
+        private void loadPlan(Traversal.Admin<?, ?> traversal) {
+            if (traversal instanceof HugeScriptTraversal) {
+                // The steps of script traversal don't match the bytecode
+                return;
+            }
+            Graph graph = traversal.getGraph().orElse(null);
+            if (!(graph instanceof HugeGraph)) {
+                return;
+            }
+            Cache<Id, Plan> cache = cache((HugeGraph) graph);
+            if (cache == null) {
+                return;
+            }
+
+            List<Object> params = new ArrayList<>();
+            String shape = shape((HugeGraph) graph, traversal, params);
+            if (shape == null) {
+                return;
+            }
+            Id key = IdGenerator.of(shape);
+            Plan plan = cache.get(key);
+            if (plan != null) {
+                this.hit = plan.rebind(traversal, params);
+                if (this.hit) {
+                    return;
+                }
+                LOG.debug("Failed to rebind traversal plan: {}", shape);
+            }
+
+            List<P<?>> predicates = predicatesOfParams(traversal, params);
+            if (predicates == null) {
+                return;
+            }
+            this.cache = cache;
+            this.key = key;
+            this.traversal = traversal;
+            this.predicates = predicates;
+        }
+
+        private void savePlan() {
+            if (this.traversal == null || this.hit) {
+                return;
+            }
+            Plan plan = Plan.of(this.traversal, this.predicates);
+            if (plan != null) {
+                this.cache.update(this.key, plan);
+            }
+            this.traversal = null;
+            this.predicates = null;
+        }
+    }
+
+    private static final class PlanStrategy<T extends TraversalStrategy<?>>
+                         implements TraversalStrategy<T> {
+
+        private static final long serialVersionUID = -1793024541728426914L;
+
+        private final transient PlanIterator iterator;
+        private final TraversalStrategy<T> origin;
+
+        public PlanStrategy(PlanIterator iterator, TraversalStrategy<?> origin) {
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            TraversalStrategy<T> strategy = (TraversalStrategy) origin;
+            this.iterator = iterator;
+            this.origin = strategy;
+        }
+
+        @Override
+        public void apply(Traversal.Admin<?, ?> traversal) {
+            if (this.iterator.skip(traversal)) {
+                return;
+            }
+            this.origin.apply(traversal);
+        }
+
+        @Override
+        public Set<Class<? extends T>> applyPrior() {
+            return this.origin.applyPrior();
+        }
+
+        @Override
+        public Set<Class<? extends T>> applyPost() {
+            return this.origin.applyPost();
+        }
+
+        @Override
+        public Class<T> getTraversalCategory() {
+            return this.origin.getTraversalCategory();
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return this.origin.getConfiguration();
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public int compareTo(Class<? extends TraversalStrategy> other) {
+            return this.origin.compareTo(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.origin.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this.origin.equals(obj);
+        }
+
+        @Override
+        public String toString() {
+            return this.origin.toString();
+        }
+    }
+
+    /**
+     * The optimized steps of a traversal, and the positions of the rebound
+     * has() containers in the steps
+     */
+    private static final class Plan {
+
+        private final Traversal.Admin<?, ?> template;
+        private final int[] slots;
+
+        private Plan(Traversal.Admin<?, ?> template, int[] slots) {
+            this.template = template;
+            this.slots = slots;
+        }
+
+        public static Plan of(Traversal.Admin<?, ?> traversal,
+                              List<P<?>> predicates) {
+            if (!traversal.getSideEffects().keys().isEmpty()) {
+                return null;
+            }
+            for (Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof ProfileStep) {
+                    return null;
+                }
+                if (step instanceof TraversalParent) {
+                    TraversalParent parent = (TraversalParent) step;
+                    if (!parent.getLocalChildren().isEmpty() ||
+                        !parent.getGlobalChildren().isEmpty()) {
+                        return null;
+                    }
+                }
+            }
+
+            List<HasContainer> containers = hasContainers(traversal);
+            int[] slots = new int[predicates.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = -1;
+                for (int j = 0; j < containers.size(); j++) {
+                    if (containers.get(j).getPredicate() != predicates.get(i)) {
+                        continue;
+                    }
+                    if (slots[i] >= 0) {
+                        // The predicate is shared by multiple containers
+                        return null;
+                    }
+                    slots[i] = j;
+                }
+                if (slots[i] < 0) {
+                    // The predicate is copied or merged by some strategy
+                    return null;
+                }
+            }
+            return new Plan(traversal.clone(), slots);
+        }
+
+        public boolean rebind(Traversal.Admin<?, ?> traversal,
+                              List<Object> params) {
+            if (params.size() != this.slots.length) {
+                return false;
+            }
+            HugeGraph graph = (HugeGraph) traversal.getGraph().get();
+            Traversal.Admin<?, ?> plan = this.template.clone();
+            List<HasContainer> containers = hasContainers(plan);
+            for (int i = 0; i < this.slots.length; i++) {
+                HasContainer has = containers.get(this.slots[i]);
+                Object param = params.get(i);
+                @SuppressWarnings("unchecked")
+                P<Object> predicate = (P<Object>) has.getPredicate();
+                if (param instanceof P) {
+                    predicate.setValue(((P<?>) param).getValue());
+                } else {
+                    predicate.setValue(param);
+                }
+                // Check and convert the value like HugeGraphStepStrategy
+                TraversalUtil.convPredicateValue(graph, has);
+            }
+
+            // Replace the origin steps with the optimized steps
+            while (!traversal.getSteps().isEmpty()) {
+                traversal.removeStep(0);
+            }
+            for (Step<?, ?> step : new ArrayList<>(plan.getSteps())) {
+                traversal.addStep(step);
+            }
+            return true;
+        }
+    }
+
+    private static Cache<Id, Plan> cache(HugeGraph graph) {
+        long capacity = graph.option(CoreOptions.QUERY_PLAN_CACHE_CAPACITY);
+        if (capacity <= 0L) {
+            return null;
+        }
+        String name = CACHE_PREFIX + "-" + graph.name();
+        Cache<Id, Plan> cache = CacheManager.instance().cache(name, capacity);
+        cache.enableMetrics(true);
+        return cache;
+    }
+
+    private static List<HasContainer> hasContainers(Traversal.Admin<?, ?> traversal) {
+        List<HasContainer> containers = new ArrayList<>();
+        for (Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof HasContainerHolder) {
+                containers.addAll(((HasContainerHolder) step).getHasContainers());
+            }
+            if (step instanceof HugeCountStep) {
+                // The graph step has been removed from the traversal
+                containers.addAll(((HugeCountStep<?>) step).originGraphStep()
+                                                           .getHasContainers());
+            }
+        }
+        return containers;
+    }
+
+    /**
+     * Find the predicates of has() containers which hold the params
+     * @return null if any param doesn't match exactly one predicate
+     */
+    private static List<P<?>> predicatesOfParams(Traversal.Admin<?, ?> traversal,
+                                                 List<Object> params) {
+        List<HasContainer> containers = hasContainers(traversal);
+        List<P<?>> predicates = new ArrayList<>(params.size());
+        for (Object param : params) {
+            P<?> matched = null;
+            for (HasContainer has : containers) {
+                P<?> predicate = has.getPredicate();
+                if (predicate == param ||
+                    predicate.getBiPredicate() == Compare.eq &&
+                    predicate.getValue() == param) {
+                    if (matched != null) {
+                        return null;
+                    }
+                    matched = predicate;
+                }
+            }
+            if (matched == null) {
+                return null;
+            }
+            predicates.add(matched);
+        }
+        return predicates;
+    }
+
+    /**
+     * Build the shape of a traversal by its bytecode, the values of
+     * has(key, value) on user properties are replaced with placeholders and
+     * collected into params
+     * @return null if the traversal can't be cached
+     */
+    private static String shape(HugeGraph graph, Traversal.Admin<?, ?> traversal,
+                                List<Object> params) {
+        Bytecode bytecode = traversal.getBytecode();
+        if (bytecode.getStepInstructions().isEmpty()) {
+            return null;
+        }
+        StringBuilder shape = new StringBuilder();
+        shape.append(graph.name()).append('/').append(graph.backend());
+        if (!appendBytecode(shape, bytecode, params)) {
+            return null;
+        }
+        // The steps should match the bytecode
+        shape.append('|');
+        for (Step<?, ?> step : traversal.getSteps()) {
+            shape.append(step.getClass().getName()).append(',');
+        }
+        return shape.toString();
+    }
+
+    private static boolean appendBytecode(StringBuilder shape, Bytecode bytecode,
+                                          List<Object> params) {
+        for (Instruction instruction : bytecode.getSourceInstructions()) {
+            if (!appendInstruction(shape, instruction, null)) {
+                return false;
+            }
+        }
+        shape.append('$');
+        for (Instruction instruction : bytecode.getStepInstructions()) {
+            if (!appendInstruction(shape, instruction, params)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean appendInstruction(StringBuilder shape,
+                                             Instruction instruction,
+                                             List<Object> params) {
+        Object[] args = instruction.getArguments();
+        int param = -1;
+        if (params != null && isParamInstruction(instruction)) {
+            param = args.length - 1;
+        }
+        shape.append('.').append(instruction.getOperator()).append('(');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                shape.append(',');
+            }
+            Object arg = args[i];
+            if (i == param) {
+                params.add(arg);
+                if (arg instanceof P) {
+                    appendPredicateType(shape, (P<?>) arg);
+                    shape.append("(?)");
+                } else {
+                    shape.append('?');
+                }
+            } else if (!appendArgument(shape, arg)) {
+                return false;
+            }
+        }
+        shape.append(')');
+        return true;
+    }
+
+    private static boolean isParamInstruction(Instruction instruction) {
+        if (!GraphTraversal.Symbols.has.equals(instruction.getOperator())) {
+            return false;
+        }
+        Object[] args = instruction.getArguments();
+        if (args.length < 2 || !(args[args.length - 2] instanceof String)) {
+            return false;
+        }
+        String key = (String) args[args.length - 2];
+        if (key.equals(QueryHolder.SYSPROP_PAGE) ||
+            TraversalUtil.token2HugeKey(key) != null) {
+            return false;
+        }
+        Object value = args[args.length - 1];
+        if (value instanceof P) {
+            P<?> predicate = (P<?>) value;
+            return !(predicate instanceof ConnectiveP) &&
+                   predicate.getBiPredicate() instanceof Enum;
+        }
+        return isLiteral(value) && !(value instanceof Collection) &&
+               !(value instanceof Map);
+    }
+
+    private static boolean appendArgument(StringBuilder shape, Object arg) {
+        if (arg instanceof String) {
+            shape.append('"').append(((String) arg).replace("\"", "\\\""))
+                 .append('"');
+        } else if (arg instanceof Bytecode) {
+            shape.append('[');
+            if (!appendBytecode(shape, (Bytecode) arg, null)) {
+                return false;
+            }
+            shape.append(']');
+        } else if (arg instanceof ConnectiveP) {
+            shape.append(arg.getClass().getSimpleName()).append('(');
+            for (P<?> predicate : ((ConnectiveP<?>) arg).getPredicates()) {
+                if (!appendArgument(shape, predicate)) {
+                    return false;
+                }
+                shape.append(',');
+            }
+            shape.append(')');
+        } else if (arg instanceof P) {
+            P<?> predicate = (P<?>) arg;
+            if (!(predicate.getBiPredicate() instanceof Enum)) {
+                return false;
+            }
+            appendPredicateType(shape, predicate);
+            shape.append('(');
+            if (!appendArgument(shape, predicate.getValue())) {
+                return false;
+            }
+            shape.append(')');
+        } else if (arg instanceof Collection) {
+            shape.append(arg.getClass().getSimpleName()).append('[');
+            for (Object e : (Collection<?>) arg) {
+                if (!appendArgument(shape, e)) {
+                    return false;
+                }
+                shape.append(',');
+            }
+            shape.append(']');
+        } else if (arg instanceof Map) {
+            shape.append(arg.getClass().getSimpleName()).append('{');
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) arg).entrySet()) {
+                if (!appendArgument(shape, e.getKey())) {
+                    return false;
+                }
+                shape.append('=');
+                if (!appendArgument(shape, e.getValue())) {
+                    return false;
+                }
+                shape.append(',');
+            }
+            shape.append('}');
+        } else if (isLiteral(arg)) {
+            shape.append(arg).append(':');
+            shape.append(arg == null ? "null" : arg.getClass().getName());
+        } else {
+            // Like lambda or element, can't be identified by string
+            return false;
+        }
+        return true;
+    }
+
+    private static void appendPredicateType(StringBuilder shape, P<?> predicate) {
+        Enum<?> biPredicate = (Enum<?>) predicate.getBiPredicate();
+        shape.append(predicate.getClass().getName()).append(':')
+             .append(biPredicate.getDeclaringClass().getName()).append('.')
+             .append(biPredicate.name());
+    }
+
+    private static boolean isLiteral(Object value) {
+        return value == null || value instanceof String ||
+               value instanceof Number || value instanceof Boolean ||
+               value instanceof Character || value instanceof Enum ||
+               value instanceof Date || value instanceof UUID ||
+               value instanceof Id || value instanceof Collection ||
+               value instanceof Map;
+    }
+}
@@ -33,7 +33,7 @@ public final class HugeCountStep<S extends Element>
 
     private static final long serialVersionUID = -679873894532085972L;
 
-    private final HugeGraphStep<?, S> originGraphStep;
+    private HugeGraphStep<?, S> originGraphStep;
     private boolean done = false;
 
     public HugeCountStep(final Traversal.Admin<?, ?> traversal,
@@ -43,6 +43,26 @@ public final class HugeCountStep<S extends Element>
         this.originGraphStep = originGraphStep;
     }
 
+    public HugeGraphStep<?, S> originGraphStep() {
+        return this.originGraphStep;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> traversal) {
+        super.setTraversal(traversal);
+        // The graph step is removed from traversal, but it queries by graph
+        this.originGraphStep.setTraversal(traversal);
+    }
+
+    @Override
+    public HugeCountStep<S> clone() {
+        @SuppressWarnings("unchecked")
+        HugeCountStep<S> clone = (HugeCountStep<S>) super.clone();
+        clone.originGraphStep = this.originGraphStep.clone();
+        clone.done = false;
+        return clone;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (!(obj instanceof HugeCountStep)) {
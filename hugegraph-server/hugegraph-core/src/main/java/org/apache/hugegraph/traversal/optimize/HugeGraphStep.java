@@ -22,34 +22,42 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.query.QueryResults;
+import org.apache.hugegraph.iterator.WrappedIterator;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.util.Log;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.slf4j.Logger;
 
 public final class HugeGraphStep<S, E extends Element>
-        extends GraphStep<S, E> implements QueryHolder {
+        extends GraphStep<S, E> implements QueryHolder, Profiling {
 
     private static final long serialVersionUID = -679873894532085972L;
 
     private static final Logger LOG = Log.logger(HugeGraphStep.class);
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private static final String ANNOTATION_INDEX_COSTS = "index_costs";
+
+    private List<HasContainer> hasContainers = new ArrayList<>();
 
     // Store limit/order-by
-    private final Query queryInfo = new Query(HugeType.UNKNOWN);
+    private Query queryInfo = new Query(HugeType.UNKNOWN);
 
     private Iterator<E> lastTimeResults = QueryResults.emptyIterator();
 
+    private transient MutableMetrics metrics = null;
+
     public HugeGraphStep(final GraphStep<S, E> originGraphStep) {
         super(originGraphStep.getTraversal(),
               originGraphStep.getReturnClass(),
@@ -58,14 +66,15 @@ public final class HugeGraphStep<S, E extends Element>
 
         originGraphStep.getLabels().forEach(this::addLabel);
 
-        boolean queryVertex = this.returnsVertex();
-        boolean queryEdge = this.returnsEdge();
-        assert queryVertex || queryEdge;
-        this.setIteratorSupplier(() -> {
-            Iterator<E> results = queryVertex ? this.vertices() : this.edges();
-            this.lastTimeResults = results;
-            return results;
-        });
+        assert this.returnsVertex() || this.returnsEdge();
+        this.setIteratorSupplier(this::results);
+    }
+
+    private Iterator<E> results() {
+        Iterator<E> results = this.returnsVertex() ?
+                              this.vertices() : this.edges();
+        this.lastTimeResults = results;
+        return results;
     }
 
     protected long count() {
@@ -116,7 +125,7 @@ public final class HugeGraphStep<S, E extends Element>
         Query query = this.makeQuery(graph, HugeType.VERTEX);
         @SuppressWarnings("unchecked")
         Iterator<E> result = (Iterator<E>) graph.vertices(query);
-        return result;
+        return this.profileIndexCosts(query, result);
     }
 
     private Iterator<E> edges() {
@@ -137,7 +146,7 @@ public final class HugeGraphStep<S, E extends Element>
         Query query = this.makeQuery(graph, HugeType.EDGE);
         @SuppressWarnings("unchecked")
         Iterator<E> result = (Iterator<E>) graph.edges(query);
-        return result;
+        return this.profileIndexCosts(query, result);
     }
 
     private boolean hasIds() {
@@ -158,6 +167,56 @@ public final class HugeGraphStep<S, E extends Element>
         return query;
     }
 
+    private Iterator<E> profileIndexCosts(Query query, Iterator<E> results) {
+        if (this.metrics == null || !(query instanceof ConditionQuery)) {
+            return results;
+        }
+        // Annotate the estimated index costs after the index query finished
+        ConditionQuery conditionQuery = (ConditionQuery) query;
+        MutableMetrics metrics = this.metrics;
+        return new WrappedIterator<E>() {
+            @Override
+            protected Iterator<?> originIterator() {
+                return results;
+            }
+
+            @Override
+            protected boolean fetch() {
+                if (results.hasNext()) {
+                    this.current = results.next();
+                    return true;
+                }
+                Map<String, Double> costs = conditionQuery.indexCosts();
+                if (!costs.isEmpty()) {
+                    metrics.setAnnotation(ANNOTATION_INDEX_COSTS, costs);
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public HugeGraphStep<S, E> clone() {
+        HugeGraphStep<S, E> clone = (HugeGraphStep<S, E>) super.clone();
+        // The conditions of a cloned plan may be rebound, don't share them
+        clone.hasContainers = new ArrayList<>(this.hasContainers.size());
+        for (HasContainer has : this.hasContainers) {
+            clone.hasContainers.add(has.clone());
+        }
+        clone.queryInfo = new Query(this.queryInfo.resultType());
+        clone.queryInfo.copyBasic(this.queryInfo);
+        clone.lastTimeResults = QueryResults.emptyIterator();
+        clone.metrics = null;
+        // The supplier of origin step is bound to the origin step
+        clone.setIteratorSupplier(clone::results);
+        return clone;
+    }
+
+    @Override
+    public void setMetrics(MutableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public String toString() {
         if (this.hasContainers.isEmpty()) {
@@ -48,10 +48,10 @@ public class HugeVertexStep<E extends Element>
 
     private static final Logger LOG = Log.logger(HugeVertexStep.class);
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private List<HasContainer> hasContainers = new ArrayList<>();
 
     // Store limit/order-by
-    private final Query queryInfo = new Query(null);
+    private Query queryInfo = new Query(null);
 
     private Iterator<E> iterator = QueryResults.emptyIterator();
 
@@ -190,6 +190,21 @@ public class HugeVertexStep<E extends Element>
         return this.returnsEdge() && !this.hasContainers.isEmpty();
     }
 
+    @Override
+    public HugeVertexStep<E> clone() {
+        @SuppressWarnings("unchecked")
+        HugeVertexStep<E> clone = (HugeVertexStep<E>) super.clone();
+        // The conditions of a cloned plan may be rebound, don't share them
+        clone.hasContainers = new ArrayList<>(this.hasContainers.size());
+        for (HasContainer has : this.hasContainers) {
+            clone.hasContainers.add(has.clone());
+        }
+        clone.queryInfo = new Query(this.queryInfo.resultType());
+        clone.queryInfo.copyBasic(this.queryInfo);
+        clone.iterator = QueryResults.emptyIterator();
+        return clone;
+    }
+
     @Override
     public String toString() {
         if (this.hasContainers.isEmpty()) {
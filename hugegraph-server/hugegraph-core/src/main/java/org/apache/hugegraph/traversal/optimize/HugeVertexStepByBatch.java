@@ -77,6 +77,15 @@ public class HugeVertexStepByBatch<E extends Element>
         this.head = null;
     }
 
+    @Override
+    public HugeVertexStepByBatch<E> clone() {
+        HugeVertexStepByBatch<E> clone = (HugeVertexStepByBatch<E>) super.clone();
+        clone.batchIterator = null;
+        clone.head = null;
+        clone.iterator = null;
+        return clone;
+    }
+
     @Override
     public Iterator<?> lastTimeResults() {
         /*
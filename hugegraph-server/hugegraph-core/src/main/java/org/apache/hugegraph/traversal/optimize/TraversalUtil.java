@@ -664,8 +664,8 @@ public final class TraversalUtil {
         }
     }
 
-    private static void convPredicateValue(HugeGraph graph,
-                                           HasContainer has) {
+    public static void convPredicateValue(HugeGraph graph,
+                                          HasContainer has) {
         // No need to convert if key is sys-prop
         if (isSysProp(has.getKey())) {
             return;
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets like HdrHistogram:
+ * each power of 2 range of values is split into 8 linear sub-buckets, so
+ * the relative error of a recorded value is less than 12.5%. The buckets
+ * are striped counters, which is cheap enough to be always on the hot path.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // The values >= 2^MAX_EXPONENT (about 18 minutes in ns) are truncated
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1L;
+    private static final int BUCKETS = SUB_BUCKETS +
+                                       (MAX_EXPONENT - SUB_BUCKET_BITS) *
+                                       SUB_BUCKETS;
+
+    private final LongAdder[] buckets;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public LatencyHistogram() {
+        this.buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0L);
+    }
+
+    public void record(long value) {
+        if (value < 0L) {
+            value = 0L;
+        } else if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        this.buckets[bucketIndex(value)].increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    public void recordSince(long startNanos) {
+        this.record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+        }
+        return new Snapshot(counts, this.sum.sum(), this.max.get());
+    }
+
+    protected static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    protected static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << shift;
+    }
+
+    protected static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        return bucketLowerBound(index) + (1L << shift) - 1L;
+    }
+
+    /**
+     * The values recorded until taking the snapshot, note the counts may be
+     * a bit inconsistent with the sum and max under concurrent recording
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            long count = 0L;
+            for (long c : counts) {
+                count += c;
+            }
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long count() {
+            return this.count;
+        }
+
+        public long sum() {
+            return this.sum;
+        }
+
+        public long max() {
+            return this.max;
+        }
+
+        public long min() {
+            for (int i = 0; i < this.counts.length; i++) {
+                if (this.counts[i] > 0L) {
+                    return bucketLowerBound(i);
+                }
+            }
+            return 0L;
+        }
+
+        public double mean() {
+            return this.count == 0L ? 0.0D : (double) this.sum / this.count;
+        }
+
+        public double stdDev() {
+            if (this.count == 0L) {
+                return 0.0D;
+            }
+            double mean = this.mean();
+            double variance = 0.0D;
+            for (int i = 0; i < this.counts.length; i++) {
+                if (this.counts[i] > 0L) {
+                    double diff = middle(i) - mean;
+                    variance += diff * diff * this.counts[i];
+                }
+            }
+            return Math.sqrt(variance / this.count);
+        }
+
+        /**
+         * Get the value at the quantile
+         * @param quantile the quantile in range [0, 1]
+         * @return the middle value of the bucket containing the quantile,
+         *         or the max recorded value for the last one
+         */
+        public double value(double quantile) {
+            E.checkArgument(quantile >= 0.0D && quantile <= 1.0D,
+                            "The quantile must be in range [0, 1], " +
+                            "but got %s", quantile);
+            if (this.count == 0L) {
+                return 0.0D;
+            }
+            long rank = (long) Math.ceil(quantile * this.count);
+            if (rank >= this.count) {
+                return this.max;
+            }
+            rank = Math.max(rank, 1L);
+            long seen = 0L;
+            for (int i = 0; i < this.counts.length; i++) {
+                seen += this.counts[i];
+                if (seen >= rank) {
+                    return Math.min(middle(i), this.max);
+                }
+            }
+            return this.max;
+        }
+
+        private static double middle(int index) {
+            return (bucketLowerBound(index) + bucketUpperBound(index)) / 2.0D;
+        }
+    }
+}
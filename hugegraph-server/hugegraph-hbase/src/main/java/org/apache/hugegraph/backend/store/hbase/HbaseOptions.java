@@ -160,4 +160,51 @@ public class HbaseOptions extends OptionHolder {
                     nonNegativeInt(),
                     30
             );
+
+    public static final ConfigOption<Boolean> HBASE_BUFFERED_WRITE =
+            new ConfigOption<>(
+                    "hbase.buffered_write",
+                    "Whether to write the graph data through the buffered " +
+                    "mutators of HBase, the writes of commits are buffered " +
+                    "and flushed in background when the write buffer is " +
+                    "full or the flush interval is reached, which is " +
+                    "suitable for bulk loading. Note that the writes may " +
+                    "not be visible right after commit, and the background " +
+                    "write failures are reported by the later commits of " +
+                    "the same session.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Long> HBASE_WRITE_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "hbase.write_buffer_size",
+                    "The write buffer size in bytes of each buffered " +
+                    "mutator, the buffered writes are flushed once the " +
+                    "buffer is full. Each session (thread) writing a table " +
+                    "has its own mutator of the table.",
+                    positiveInt(),
+                    8L * 1024L * 1024L
+            );
+
+    public static final ConfigOption<Long> HBASE_WRITE_FLUSH_INTERVAL =
+            new ConfigOption<>(
+                    "hbase.write_flush_interval",
+                    "The max time in milliseconds the writes are kept in " +
+                    "the write buffer before flushed, 0 means just flush " +
+                    "when the buffer is full.",
+                    nonNegativeInt(),
+                    1000L
+            );
+
+    public static final ConfigOption<Integer> HBASE_SCAN_PARALLELISM =
+            new ConfigOption<>(
+                    "hbase.scan_parallelism",
+                    "The max number of regions scanned in parallel by a " +
+                    "full table scan, the results are still returned in " +
+                    "the order of rowkey, 1 means scan the regions one " +
+                    "by one.",
+                    rangeInt(1, 64),
+                    4
+            );
 }
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.backend.store.hbase;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+/**
+ * Scan the regions of a table in parallel, at most `parallelism` regions
+ * are scanned ahead of the consumer, and the results are returned in
+ * the order of regions, so the rows are still sorted by rowkey.
+ * <p>
+ * A region scanned ahead waits for the consumer as long as needed once its
+ * results are full, until the scanner is closed. A region always ends with
+ * END or an error, so the consumer never waits for a region given up.
+ */
+public class HbaseRegionsScanner implements ResultScanner {
+
+    private static final Result END = Result.create(new Cell[0]);
+    // The interval to check if closed while waiting for the consumer
+    private static final long PUT_CHECK_INTERVAL = 100L;
+
+    private final List<RegionScan> regions;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final Opener opener;
+    private int current;
+    private volatile boolean closed;
+
+    public HbaseRegionsScanner(List<Scan> scans, int parallelism,
+                               int queueCapacity, ExecutorService executor,
+                               Opener opener) {
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.opener = opener;
+        this.current = 0;
+        this.closed = false;
+
+        this.regions = new ArrayList<>(scans.size());
+        for (Scan scan : scans) {
+            this.regions.add(new RegionScan(scan, queueCapacity));
+        }
+        for (int i = 0; i < parallelism && i < this.regions.size(); i++) {
+            this.submit(i);
+        }
+    }
+
+    private void submit(int index) {
+        RegionScan region = this.regions.get(index);
+        region.future = this.executor.submit(() -> region.run(this.opener));
+    }
+
+    @Override
+    public Result next() throws IOException {
+        while (!this.closed && this.current < this.regions.size()) {
+            RegionScan region = this.regions.get(this.current);
+            Result result = region.take();
+            if (result != END) {
+                return result;
+            }
+            // Scan the next region once a region is finished
+            int next = this.current + this.parallelism;
+            if (next < this.regions.size()) {
+                this.submit(next);
+            }
+            this.current++;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        for (RegionScan region : this.regions) {
+            region.close();
+        }
+    }
+
+    @Override
+    public boolean renewLease() {
+        return false;
+    }
+
+    @Override
+    public ScanMetrics getScanMetrics() {
+        return null;
+    }
+
+    /**
+     * Open the scanner of a region
+     */
+    @FunctionalInterface
+    public interface Opener {
+
+        ResultScanner open(Scan scan) throws IOException;
+    }
+
+    private static class RegionScan {
+
+        private final Scan scan;
+        private final BlockingQueue<Result> results;
+        private volatile Throwable error;
+        private volatile boolean closed;
+        private Future<?> future;
+
+        public RegionScan(Scan scan, int queueCapacity) {
+            this.scan = scan;
+            this.results = new ArrayBlockingQueue<>(queueCapacity);
+            this.error = null;
+            this.closed = false;
+            this.future = null;
+        }
+
+        public void run(Opener opener) {
+            try (ResultScanner scanner = opener.open(this.scan)) {
+                for (Result result : scanner) {
+                    if (!this.put(result)) {
+                        // Closed by consumer
+                        return;
+                    }
+                }
+            } catch (Throwable e) {
+                if (this.closed) {
+                    return;
+                }
+                this.error = e;
+            }
+            this.end();
+        }
+
+        private void end() {
+            try {
+                // The consumer fails with the error once END is taken
+                this.put(END);
+            } catch (InterruptedException e) {
+                // Interrupted not by close(), drop the results not taken
+                if (this.error == null) {
+                    this.error = e;
+                }
+                this.results.clear();
+                this.results.offer(END);
+            }
+        }
+
+        /**
+         * Wait until the consumer takes the result or the scanner is closed,
+         * the closed flag is checked since the interruption may be swallowed
+         * by the HBase client
+         */
+        private boolean put(Result result) throws InterruptedException {
+            while (!this.closed) {
+                try {
+                    if (this.results.offer(result, PUT_CHECK_INTERVAL,
+                                           TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    if (this.closed) {
+                        return false;
+                    }
+                    throw e;
+                }
+            }
+            return false;
+        }
+
+        public Result take() throws IOException {
+            Result result;
+            try {
+                result = this.results.take();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException(e.getMessage());
+            }
+            if (result == END && this.error != null) {
+                throw new IOException("Failed to scan region", this.error);
+            }
+            return result;
+        }
+
+        public void close() {
+            this.closed = true;
+            if (this.future != null) {
+                this.future.cancel(true);
+            }
+            // Release the results not taken
+            this.results.clear();
+        }
+    }
+}
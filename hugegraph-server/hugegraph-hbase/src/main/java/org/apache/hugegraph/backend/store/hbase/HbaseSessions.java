@@ -28,6 +28,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.conf.Configuration;
@@ -45,15 +47,19 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.TableNotDisabledException;
 import org.apache.hadoop.hbase.TableNotEnabledException;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.ColumnFamilyDescriptorBuilder;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
-import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.client.TableDescriptorBuilder;
@@ -65,6 +71,7 @@ import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.util.Pair;
 import org.apache.hadoop.hbase.util.VersionInfo;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hugegraph.backend.BackendException;
@@ -76,6 +83,7 @@ import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.util.Bytes;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
 import org.apache.hugegraph.util.Log;
 import org.apache.hugegraph.util.StringEncoding;
 import org.apache.hugegraph.util.VersionUtil;
@@ -90,13 +98,26 @@ public class HbaseSessions extends BackendSessionPool {
     private static final String COPROCESSOR_AGGR =
             "org.apache.hadoop.hbase.coprocessor.AggregateImplementation";
     private static final long SCANNER_CACHING = 1000L;
+    private static final String SCAN_WORKER = "hbase-scan-worker-%d";
 
     private final String namespace;
+    private final boolean bufferedWrite;
+    // The sessions writing by buffered mutators
+    private final Set<Session> bufferedSessions;
     private Connection hbase;
+    private ExecutorService scanExecutor;
 
     public HbaseSessions(HugeConfig config, String namespace, String store) {
+        this(config, namespace, store, false);
+    }
+
+    public HbaseSessions(HugeConfig config, String namespace, String store,
+                         boolean bufferedWrite) {
         super(config, namespace + "/" + store);
         this.namespace = namespace;
+        this.bufferedWrite = bufferedWrite;
+        this.bufferedSessions = ConcurrentHashMap.newKeySet();
+        this.scanExecutor = null;
     }
 
     protected Connection hbase() {
@@ -110,6 +131,19 @@ public class HbaseSessions extends BackendSessionPool {
         return this.hbase.getTable(tableName);
     }
 
+    private void closeMutator(String table) {
+        // Flush the buffered writes of the table before dropping it
+        for (Session session : this.bufferedSessions) {
+            session.closeMutator(table);
+        }
+    }
+
+    private void closeMutators() {
+        for (Session session : this.bufferedSessions) {
+            session.closeMutators();
+        }
+    }
+
     private AggregationClient aggregationClient() {
         Configuration hConfig = this.hbase.getConfiguration();
         hConfig = HBaseConfiguration.create(hConfig);
@@ -154,6 +188,19 @@ public class HbaseSessions extends BackendSessionPool {
             UserGroupInformation.loginUserFromKeytab(principal, keyTab);
         }
         this.hbase = ConnectionFactory.createConnection(hConfig);
+
+        int scanParallelism = config.get(HbaseOptions.HBASE_SCAN_PARALLELISM);
+        if (scanParallelism > 1 && this.scanExecutor == null) {
+            /*
+             * The concurrent scans share the workers, so allow more workers
+             * than the parallelism of a scan, to avoid a scan waiting for
+             * the workers blocked by others
+             */
+            int maxWorkers = Math.max(scanParallelism,
+                                      config.get(HbaseOptions.HBASE_THREADS_MAX));
+            this.scanExecutor = ExecutorUtil.newDynamicThreadExecutor(
+                                SCAN_WORKER, scanParallelism, maxWorkers);
+        }
     }
 
     @Override
@@ -174,9 +221,14 @@ public class HbaseSessions extends BackendSessionPool {
 
     @Override
     protected synchronized void doClose() {
+        if (this.scanExecutor != null) {
+            this.scanExecutor.shutdownNow();
+            this.scanExecutor = null;
+        }
         if (this.hbase == null || this.hbase.isClosed()) {
             return;
         }
+        this.closeMutators();
         try {
             this.hbase.close();
         } catch (IOException e) {
@@ -248,6 +300,7 @@ public class HbaseSessions extends BackendSessionPool {
     }
 
     public void dropTable(String table) throws IOException {
+        this.closeMutator(table);
         TableName tableName = TableName.valueOf(this.namespace, table);
         try (Admin admin = this.hbase.getAdmin()) {
             try {
@@ -276,6 +329,7 @@ public class HbaseSessions extends BackendSessionPool {
 
     public Future<Void> disableTableAsync(String table) throws IOException {
         assert this.existsTable(table);
+        this.closeMutator(table);
         TableName tableName = TableName.valueOf(this.namespace, table);
         try (Admin admin = this.hbase.getAdmin()) {
             try {
@@ -467,14 +521,79 @@ public class HbaseSessions extends BackendSessionPool {
     public class Session extends AbstractBackendSession
             implements HbaseSession<RowIterator> {
 
-        private final Map<String, List<Row>> batch;
+        private final Map<String, List<Mutation>> batch;
+        private final Map<String, BufferedMutator> mutators;
+        // The failure of the buffered writes of this session in background
+        private volatile RetriesExhaustedWithDetailsException writeError;
 
         public Session() {
             this.batch = new HashMap<>();
+            this.mutators = new ConcurrentHashMap<>();
+            this.writeError = null;
+        }
+
+        private BufferedMutator mutator(String table) {
+            BufferedMutator mutator = this.mutators.get(table);
+            if (mutator != null) {
+                return mutator;
+            }
+
+            HugeConfig config = HbaseSessions.this.config();
+            TableName tableName = TableName.valueOf(this.namespace(), table);
+            BufferedMutatorParams params = new BufferedMutatorParams(tableName);
+            params.writeBufferSize(config.get(HbaseOptions.HBASE_WRITE_BUFFER_SIZE));
+            long interval = config.get(HbaseOptions.HBASE_WRITE_FLUSH_INTERVAL);
+            if (interval > 0L) {
+                params.setWriteBufferPeriodicFlushTimeoutMs(interval);
+            }
+            params.listener((e, m) -> {
+                LOG.error("Failed to write {} mutations to HBase table '{}'",
+                          e.getNumExceptions(), m.getName(), e);
+                this.writeError = e;
+            });
+            try {
+                mutator = this.hbase().getBufferedMutator(params);
+            } catch (IOException e) {
+                throw new BackendException("Failed to create buffered " +
+                                           "mutator for table '%s'", e, table);
+            }
+            this.mutators.put(table, mutator);
+            HbaseSessions.this.bufferedSessions.add(this);
+            return mutator;
+        }
+
+        private void checkWriteError() {
+            RetriesExhaustedWithDetailsException e = this.writeError;
+            if (e != null) {
+                this.writeError = null;
+                throw new BackendException("Failed to write %s mutations in " +
+                                           "background, there may be " +
+                                           "inconsistent states for HBase",
+                                           e, e.getNumExceptions());
+            }
+        }
+
+        private void closeMutator(String table) {
+            BufferedMutator mutator = this.mutators.remove(table);
+            if (mutator == null) {
+                return;
+            }
+            try {
+                mutator.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to flush buffered writes of table '{}'",
+                         table, e);
+            }
+        }
+
+        private void closeMutators() {
+            for (String table : this.mutators.keySet()) {
+                this.closeMutator(table);
+            }
         }
 
-        private void batch(String table, Row row) {
-            List<Row> rows = this.batch.get(table);
+        private void batch(String table, Mutation row) {
+            List<Mutation> rows = this.batch.get(table);
             if (rows == null) {
                 rows = new ArrayList<>();
                 this.batch.put(table, rows);
@@ -484,13 +603,13 @@ public class HbaseSessions extends BackendSessionPool {
 
         private int batchSize() {
             int size = 0;
-            for (List<Row> puts : this.batch.values()) {
+            for (List<Mutation> puts : this.batch.values()) {
                 size += puts.size();
             }
             return size;
         }
 
-        private void checkBatchResults(Object[] results, List<Row> rows)
+        private void checkBatchResults(Object[] results, List<Mutation> rows)
                 throws Throwable {
             assert rows.size() == results.length;
             for (int i = 0; i < results.length; i++) {
@@ -521,6 +640,8 @@ public class HbaseSessions extends BackendSessionPool {
         @Override
         public void close() {
             assert this.closeable();
+            this.closeMutators();
+            HbaseSessions.this.bufferedSessions.remove(this);
             this.opened = false;
         }
 
@@ -547,9 +668,14 @@ public class HbaseSessions extends BackendSessionPool {
                 return 0;
             }
 
+            if (HbaseSessions.this.bufferedWrite) {
+                this.commitBuffered();
+                return count;
+            }
+
             // TODO: this will not be atomic, to be improved
-            for (Entry<String, List<Row>> action : this.batch.entrySet()) {
-                List<Row> rows = action.getValue();
+            for (Entry<String, List<Mutation>> action : this.batch.entrySet()) {
+                List<Mutation> rows = action.getValue();
                 Object[] results = new Object[rows.size()];
                 try (Table table = table(action.getKey())) {
                     table.batch(rows, results);
@@ -570,6 +696,30 @@ public class HbaseSessions extends BackendSessionPool {
             return count;
         }
 
+        private void commitBuffered() {
+            // Report the failures of the previous writes in background
+            checkWriteError();
+
+            /*
+             * The mutations are flushed by the buffered mutator when the
+             * write buffer is full or the flush interval is reached
+             */
+            for (Entry<String, List<Mutation>> action : this.batch.entrySet()) {
+                try {
+                    mutator(action.getKey()).mutate(action.getValue());
+                } catch (InterruptedIOException e) {
+                    throw new BackendException("Interrupted, " +
+                                               "maybe it is timed out", e);
+                } catch (IOException e) {
+                    throw new BackendException("Failed to commit, " +
+                                               "there may be inconsistent states for HBase", e);
+                }
+            }
+
+            // Clear batch if write() successfully (retained if failed)
+            this.batch.clear();
+        }
+
         /**
          * Rollback all updates(put/delete) not committed
          */
@@ -731,6 +881,48 @@ public class HbaseSessions extends BackendSessionPool {
             }
         }
 
+        /**
+         * Scan all records from a table, the regions are scanned in
+         * parallel if there is no limit
+         */
+        @Override
+        public RowIterator scan(String table, long limit) {
+            if (limit >= 0L || scanExecutor == null) {
+                return HbaseSession.super.scan(table, limit);
+            }
+            assert !this.hasChanges();
+
+            TableName tableName = TableName.valueOf(this.namespace(), table);
+            Pair<byte[][], byte[][]> regions;
+            try (RegionLocator locator = hbase().getRegionLocator(tableName)) {
+                regions = locator.getStartEndKeys();
+            } catch (IOException e) {
+                throw new BackendException(e);
+            }
+            if (regions.getFirst().length <= 1) {
+                return this.scan(table, new Scan());
+            }
+
+            byte[][] starts = regions.getFirst();
+            byte[][] ends = regions.getSecond();
+            List<Scan> scans = new ArrayList<>(starts.length);
+            for (int i = 0; i < starts.length; i++) {
+                scans.add(new Scan().withStartRow(starts[i]).withStopRow(ends[i]));
+            }
+
+            HugeConfig config = HbaseSessions.this.config();
+            int parallelism = config.get(HbaseOptions.HBASE_SCAN_PARALLELISM);
+            Connection hbase = hbase();
+            HbaseRegionsScanner scanner = new HbaseRegionsScanner(
+                    scans, parallelism, (int) SCANNER_CACHING, scanExecutor,
+                    scan -> {
+                        try (Table htable = hbase.getTable(tableName)) {
+                            return htable.getScanner(scan);
+                        }
+                    });
+            return new RowIterator(scanner);
+        }
+
         /**
          * Scan records by rowkey range from a table
          */
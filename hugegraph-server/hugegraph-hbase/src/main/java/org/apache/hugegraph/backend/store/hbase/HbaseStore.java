@@ -145,7 +145,8 @@ public abstract class HbaseStore extends AbstractBackendStore<HbaseSessions.Sess
         this.edgeLogicPartitions = config.get(HbaseOptions.HBASE_EDGE_PARTITION).shortValue();
 
         if (this.sessions == null) {
-            this.sessions = new HbaseSessions(config, this.namespace, this.store);
+            this.sessions = new HbaseSessions(config, this.namespace, this.store,
+                                              this.bufferedWrite(config));
         }
 
         assert this.sessions != null;
@@ -167,6 +168,10 @@ public abstract class HbaseStore extends AbstractBackendStore<HbaseSessions.Sess
         LOG.debug("Store opened: {}", this.store);
     }
 
+    protected boolean bufferedWrite(HugeConfig config) {
+        return false;
+    }
+
     @Override
     public void close() {
         this.checkOpened();
@@ -538,6 +543,11 @@ public abstract class HbaseStore extends AbstractBackendStore<HbaseSessions.Sess
             return false;
         }
 
+        @Override
+        protected boolean bufferedWrite(HugeConfig config) {
+            return config.get(HbaseOptions.HBASE_BUFFERED_WRITE);
+        }
+
         @Override
         public Id nextId(HugeType type) {
             throw new UnsupportedOperationException(
@@ -584,6 +594,12 @@ public abstract class HbaseStore extends AbstractBackendStore<HbaseSessions.Sess
             LOG.info("Write down the backend version: {}", driverVersion);
         }
 
+        @Override
+        protected boolean bufferedWrite(HugeConfig config) {
+            // The tasks and meta are expected to be visible after commit
+            return false;
+        }
+
         @Override
         public String storedVersion() {
             HbaseSessions.Session session = super.session(null);
@@ -132,4 +132,9 @@ public class HstoreFeatures implements BackendFeatures {
     public boolean supportsTaskAndServerVertex() {
         return true;
     }
+
+    @Override
+    public boolean supportsTraverseInStore() {
+        return true;
+    }
 }
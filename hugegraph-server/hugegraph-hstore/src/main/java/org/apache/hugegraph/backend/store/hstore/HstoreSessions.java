@@ -29,6 +29,7 @@ import org.apache.hugegraph.backend.store.BackendSession.AbstractBackendSession;
 import org.apache.hugegraph.backend.store.BackendSessionPool;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.store.HgOwnerKey;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
 import org.apache.hugegraph.type.define.GraphMode;
 
 public abstract class HstoreSessions extends BackendSessionPool {
@@ -112,6 +113,20 @@ public abstract class HstoreSessions extends BackendSessionPool {
 
         public abstract BackendColumnIterator scan(String table);
 
+        /**
+         * Count the elements of table filtered by the condition query inside
+         * the stores, rather than scanning them back
+         */
+        public abstract long count(String table, byte[] conditionQuery);
+
+        /**
+         * Traverse from the sources by the steps of request inside the
+         * stores, see HgKvStore.traverse()
+         */
+        public abstract List<byte[]> traverse(List<HgOwnerKey> sources,
+                                              TraverseReq.Builder request,
+                                              long capacity);
+
         public abstract BackendColumnIterator scan(String table,
                                                    byte[] ownerKey,
                                                    byte[] prefix);
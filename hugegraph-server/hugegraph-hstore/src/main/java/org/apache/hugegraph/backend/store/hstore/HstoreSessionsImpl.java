@@ -52,6 +52,7 @@ import org.apache.hugegraph.store.HgStoreSession;
 import org.apache.hugegraph.store.client.grpc.KvCloseableIterator;
 import org.apache.hugegraph.store.client.util.HgStoreClientConst;
 import org.apache.hugegraph.store.grpc.common.ScanOrderType;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
 import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.type.define.GraphMode;
 import org.apache.hugegraph.util.Bytes;
@@ -577,6 +578,20 @@ public class HstoreSessionsImpl extends HstoreSessions {
             return new ColumnIterator<>(table, this.graph.scanIterator(table));
         }
 
+        @Override
+        public long count(String table, byte[] conditionQuery) {
+            assert !this.hasChanges();
+            return this.graph.count(table, conditionQuery);
+        }
+
+        @Override
+        public List<byte[]> traverse(List<HgOwnerKey> sources,
+                                     TraverseReq.Builder request,
+                                     long capacity) {
+            assert !this.hasChanges();
+            return this.graph.traverse(sources, request, capacity);
+        }
+
         @Override
         public BackendColumnIterator scan(String table,
                                           byte[] conditionQueryToByte) {
@@ -59,16 +59,22 @@ import org.apache.hugegraph.backend.store.hstore.HstoreSessions.Session;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.iterator.CIter;
+import org.apache.hugegraph.store.HgOwnerKey;
+import org.apache.hugegraph.store.grpc.session.TraverseDirection;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseStep;
 import org.apache.hugegraph.schema.EdgeLabel;
 import org.apache.hugegraph.type.HugeTableType;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.Action;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.GraphMode;
 import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 public abstract class HstoreStore extends AbstractBackendStore<Session> {
@@ -120,6 +126,57 @@ public abstract class HstoreStore extends AbstractBackendStore<Session> {
             session.setMode((GraphMode) args[0]);
             return null;
         });
+        this.registerMetaHandler("traverse", (session, meta, args) -> {
+            E.checkArgument(args.length == 7,
+                            "The args count of %s must be 7", meta);
+            return traverse(session, (Id) args[0], (Directions) args[1],
+                            (Id) args[2], (int) args[3], (long) args[4],
+                            (long) args[5], (long) args[6]);
+        });
+    }
+
+    /**
+     * Traverse from the source vertex by the same step of each depth, the
+     * vertices visited by the previous steps are skipped (the nearest mode)
+     */
+    private static List<Id> traverse(Session session, Id source,
+                                     Directions dir, Id label, int depth,
+                                     long degree, long capacity, long limit) {
+        TraverseStep.Builder step = TraverseStep.newBuilder();
+        switch (dir) {
+            case OUT:
+                step.setDirection(TraverseDirection.TRAVERSE_OUT);
+                break;
+            case IN:
+                step.setDirection(TraverseDirection.TRAVERSE_IN);
+                break;
+            default:
+                step.setDirection(TraverseDirection.TRAVERSE_BOTH);
+                break;
+        }
+        if (label != null) {
+            step.addLabels(label.asLong());
+        }
+        step.setDegree(degree);
+
+        TraverseReq.Builder request = TraverseReq.newBuilder()
+                                                 .setNearest(true)
+                                                 .setLimit(limit);
+        for (int i = 0; i < depth; i++) {
+            request.addSteps(step);
+        }
+
+        // The owner of vertex is its id bytes, the key is the serialized id
+        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+        HgOwnerKey key = HgOwnerKey.of(source.asBytes(),
+                                       buffer.writeId(source).bytes());
+        List<byte[]> results = session.traverse(ImmutableList.of(key), request,
+                                                capacity);
+        List<Id> ids = new ArrayList<>(results.size());
+        for (byte[] result : results) {
+            ids.add(BytesBuffer.wrap(result).readId());
+        }
+        return ids;
     }
 
     protected void registerTableManager(HugeTableType type, HstoreTable table) {
@@ -303,6 +303,11 @@ public class HstoreTable extends BackendTable<Session, BackendEntry> {
 
         assert aggregate.func() == AggregateFunc.COUNT;
         assert query.noLimit();
+        if (countInStore(query)) {
+            byte[] conditionQuery = query instanceof ConditionQuery ?
+                                    ((ConditionQuery) query).bytes() : null;
+            return session.count(this.table(), conditionQuery);
+        }
         Iterator<BackendColumn> results = this.queryBy(session, query);
         if (results instanceof Countable) {
             return ((Countable) results).count();
@@ -310,6 +315,32 @@ public class HstoreTable extends BackendTable<Session, BackendEntry> {
         return IteratorUtils.count(results);
     }
 
+    /**
+     * The elements scanned from the whole table are counted by the stores,
+     * if they can be filtered by the stores without the schema (only the
+     * label conditions), then only the counts are returned from the stores
+     */
+    private static boolean countInStore(Query query) {
+        if (query.empty()) {
+            return true;
+        }
+        if (!(query instanceof ConditionQuery) || query.paging()) {
+            return false;
+        }
+        ConditionQuery cq = (ConditionQuery) query;
+        if (!(cq.resultType().isVertex() || cq.resultType().isEdge()) ||
+            !cq.ids().isEmpty()) {
+            return false;
+        }
+        for (Condition condition : cq.conditions()) {
+            if (!condition.isRelation() ||
+                ((Relation) condition).key() != HugeKeys.LABEL) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public Iterator<BackendEntry> query(Session session, Query query) {
         if (query.limit() == 0L && !query.noLimit()) {
@@ -114,4 +114,16 @@ public class MysqlOptions extends OptionHolder {
                     disallowEmpty(),
                     "InnoDB"
             );
+
+    public static final ConfigOption<Boolean> JDBC_BULK_LOAD =
+            new ConfigOption<>(
+                    "jdbc.bulk_load",
+                    "Whether to insert the rows of a commit in bulk, by " +
+                    "multi-row REPLACE statements on MySQL, or by COPY " +
+                    "into a temporary staging table and then upsert into " +
+                    "the table on PostgreSQL, which is suitable for " +
+                    "loading a large amount of data.",
+                    disallowEmpty(),
+                    false
+            );
 }
@@ -25,7 +25,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 
@@ -291,15 +294,40 @@ public class MysqlSessions extends BackendSessionPool {
         return DriverManager.getConnection(url, username, password);
     }
 
+    /**
+     * The writer to insert a bulk of rows into a table by one or a few
+     * statements, the later row wins if rows have the same keys
+     */
+    @FunctionalInterface
+    public interface BulkWriter {
+
+        int write(Session session, List<List<?>> rows) throws SQLException;
+    }
+
+    private static class Bulk {
+
+        private final BulkWriter writer;
+        private final List<List<?>> rows;
+
+        public Bulk(BulkWriter writer) {
+            this.writer = writer;
+            this.rows = new ArrayList<>();
+        }
+    }
+
     public class Session extends AbstractBackendSession {
 
         private Connection conn;
         private Map<String, PreparedStatement> statements;
+        private final Map<String, Bulk> bulks;
+        private final boolean bulkLoad;
         private int count;
 
         public Session() {
             this.conn = null;
             this.statements = new HashMap<>();
+            this.bulks = new LinkedHashMap<>();
+            this.bulkLoad = this.config().get(MysqlOptions.JDBC_BULK_LOAD);
             this.count = 0;
         }
 
@@ -392,6 +420,7 @@ public class MysqlSessions extends BackendSessionPool {
 
         public void clear() {
             this.count = 0;
+            this.bulks.clear();
             SQLException exception = null;
             for (PreparedStatement statement : this.statements.values()) {
                 try {
@@ -432,6 +461,9 @@ public class MysqlSessions extends BackendSessionPool {
                 for (PreparedStatement statement : this.statements.values()) {
                     updated += IntStream.of(statement.executeBatch()).sum();
                 }
+                for (Bulk bulk : this.bulks.values()) {
+                    updated += bulk.writer.write(this, bulk.rows);
+                }
                 this.conn.commit();
                 this.clear();
             } catch (SQLException e) {
@@ -533,6 +565,25 @@ public class MysqlSessions extends BackendSessionPool {
             }
         }
 
+        public boolean bulkLoad() {
+            return this.bulkLoad;
+        }
+
+        /**
+         * Add a row to the bulk of a template, the rows of the bulk are
+         * written by the writer in one go when committing
+         */
+        public void add(String template, BulkWriter writer, List<?> row) {
+            Bulk bulk = this.bulks.computeIfAbsent(template,
+                                                   k -> new Bulk(writer));
+            bulk.rows.add(row);
+            this.count++;
+        }
+
+        public Connection connection() {
+            return this.conn;
+        }
+
         public PreparedStatement prepareStatement(String sqlTemplate)
                 throws SQLException {
             PreparedStatement statement = this.statements.get(sqlTemplate);
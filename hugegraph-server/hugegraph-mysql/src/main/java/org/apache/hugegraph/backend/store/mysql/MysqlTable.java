@@ -58,6 +58,10 @@ public abstract class MysqlTable
     private static final Logger LOG = Log.logger(MysqlTable.class);
 
     private static final String DECIMAL = "DECIMAL";
+    // The max rows of a multi-row insert statement
+    private static final int BULK_INSERT_ROWS = 1000;
+    // The max number of placeholders in a prepared statement
+    private static final int MAX_PLACEHOLDERS = 65535;
 
     // The template cache for insert and delete statements
     private String insertTemplate;
@@ -347,10 +351,71 @@ public abstract class MysqlTable
     @Override
     public void insert(MysqlSessions.Session session, MysqlBackendEntry.Row entry) {
         String template = this.buildUpdateTemplate(entry);
+        if (session.bulkLoad()) {
+            List<HugeKeys> columns = ImmutableList.copyOf(entry.columns().keySet());
+            session.add(template, (s, rows) -> {
+                return this.insertBulk(s, columns, rows);
+            }, this.buildColumnsParams(entry));
+            return;
+        }
         List<?> params = this.buildUpdateForcedParams(entry);
         this.insertOrUpdate(session, template, params);
     }
 
+    /**
+     * Insert or replace a bulk of rows by multi-row statements
+     */
+    protected int insertBulk(MysqlSessions.Session session,
+                             List<HugeKeys> columns, List<List<?>> rows)
+                             throws SQLException {
+        int batch = Math.min(BULK_INSERT_ROWS,
+                             MAX_PLACEHOLDERS / columns.size());
+        int updated = 0;
+        for (int i = 0; i < rows.size(); i += batch) {
+            List<List<?>> part = rows.subList(i, Math.min(i + batch,
+                                                          rows.size()));
+            String sql = this.buildBulkInsertTemplate(columns, part.size());
+            try (PreparedStatement statement = session.connection()
+                                                      .prepareStatement(sql)) {
+                int index = 1;
+                for (List<?> row : part) {
+                    for (Object param : row) {
+                        statement.setObject(index++, param);
+                    }
+                }
+                updated += statement.executeUpdate();
+            }
+        }
+        return updated;
+    }
+
+    protected String buildBulkInsertTemplate(List<HugeKeys> columns,
+                                             int rows) {
+        StringBuilder insert = new StringBuilder();
+        insert.append("REPLACE INTO ").append(this.table()).append(" (");
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            if (i > 0) {
+                insert.append(", ");
+            }
+            insert.append(formatKey(columns.get(i)));
+        }
+        insert.append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                insert.append(", ");
+            }
+            insert.append("(");
+            for (int j = 0, n = columns.size(); j < n; j++) {
+                if (j > 0) {
+                    insert.append(", ");
+                }
+                insert.append("?");
+            }
+            insert.append(")");
+        }
+        return insert.toString();
+    }
+
     @Override
     public void delete(MysqlSessions.Session session, MysqlBackendEntry.Row entry) {
         List<HugeKeys> idNames = this.idColumnName();
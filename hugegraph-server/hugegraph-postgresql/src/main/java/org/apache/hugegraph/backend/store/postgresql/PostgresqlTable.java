@@ -17,8 +17,13 @@
 
 package org.apache.hugegraph.backend.store.postgresql;
 
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.hugegraph.backend.serializer.TableBackendEntry.Row;
 import org.apache.hugegraph.backend.store.mysql.MysqlBackendEntry;
@@ -26,7 +31,9 @@ import org.apache.hugegraph.backend.store.mysql.MysqlSessions.Session;
 import org.apache.hugegraph.backend.store.mysql.MysqlTable;
 import org.apache.hugegraph.backend.store.mysql.WhereBuilder;
 import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.logging.log4j.util.Strings;
+import org.postgresql.PGConnection;
 
 public abstract class PostgresqlTable extends MysqlTable {
 
@@ -126,6 +133,139 @@ public abstract class PostgresqlTable extends MysqlTable {
         return insert.toString();
     }
 
+    /**
+     * Copy a bulk of rows into a temporary staging table, then upsert them
+     * into the table from the staging table by one statement
+     */
+    @Override
+    protected int insertBulk(Session session, List<HugeKeys> columns,
+                             List<List<?>> rows) throws SQLException {
+        String staging = this.table() + "_bulk";
+        String columnNames = this.joinColumns(columns);
+        List<List<?>> uniqueRows = this.uniqueRows(columns, rows);
+
+        try (Statement statement = session.connection().createStatement()) {
+            /*
+             * The staging table is visible only to the connection, and the
+             * temporary schema takes precedence in search path, so it must
+             * not have the same name as the table
+             */
+            statement.execute(String.format(
+                              "CREATE TEMPORARY TABLE IF NOT EXISTS %s " +
+                              "(LIKE %s INCLUDING DEFAULTS);",
+                              staging, this.table()));
+            statement.execute(String.format("TRUNCATE TABLE %s;", staging));
+        }
+
+        StringBuilder data = new StringBuilder();
+        for (List<?> row : uniqueRows) {
+            for (int i = 0, n = row.size(); i < n; i++) {
+                if (i > 0) {
+                    data.append('\t');
+                }
+                appendCopyValue(data, row.get(i));
+            }
+            data.append('\n');
+        }
+        PGConnection conn = session.connection().unwrap(PGConnection.class);
+        try {
+            conn.getCopyAPI().copyIn(String.format(
+                                     "COPY %s (%s) FROM STDIN",
+                                     staging, columnNames),
+                                     new StringReader(data.toString()));
+        } catch (java.io.IOException e) {
+            throw new SQLException("Failed to copy rows into " + staging, e);
+        }
+
+        StringBuilder upsert = new StringBuilder();
+        upsert.append("INSERT INTO ").append(this.table())
+              .append(" (").append(columnNames).append(") SELECT ")
+              .append(columnNames).append(" FROM ").append(staging)
+              .append(" ON CONFLICT (")
+              .append(this.joinColumns(this.tableDefine().keys()))
+              .append(") DO UPDATE SET ");
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            String column = formatKey(columns.get(i));
+            if (i > 0) {
+                upsert.append(", ");
+            }
+            upsert.append(column).append(" = EXCLUDED.").append(column);
+        }
+        try (Statement statement = session.connection().createStatement()) {
+            return statement.executeUpdate(upsert.toString());
+        }
+    }
+
+    private List<List<?>> uniqueRows(List<HugeKeys> columns,
+                                     List<List<?>> rows) {
+        /*
+         * An upsert can't update a row twice, so just keep the last one
+         * of the rows with the same keys like the batched statements
+         */
+        List<Integer> keyIndexes = new ArrayList<>();
+        for (HugeKeys key : this.tableDefine().keys()) {
+            keyIndexes.add(columns.indexOf(key));
+        }
+        Map<List<Object>, List<?>> uniqueRows = InsertionOrderUtil.newMap();
+        for (List<?> row : rows) {
+            List<Object> keys = new ArrayList<>(keyIndexes.size());
+            for (int index : keyIndexes) {
+                keys.add(index < 0 ? null : row.get(index));
+            }
+            uniqueRows.remove(keys);
+            uniqueRows.put(keys, row);
+        }
+        return new ArrayList<>(uniqueRows.values());
+    }
+
+    private String joinColumns(List<HugeKeys> columns) {
+        StringBuilder names = new StringBuilder();
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            if (i > 0) {
+                names.append(", ");
+            }
+            names.append(formatKey(columns.get(i)));
+        }
+        return names.toString();
+    }
+
+    protected static void appendCopyValue(StringBuilder data, Object value) {
+        // Write value in the text format of COPY
+        if (value == null) {
+            data.append("\\N");
+            return;
+        }
+        if (value instanceof BigDecimal) {
+            data.append(((BigDecimal) value).toPlainString());
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            data.append(value);
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    data.append("\\\\");
+                    break;
+                case '\t':
+                    data.append("\\t");
+                    break;
+                case '\n':
+                    data.append("\\n");
+                    break;
+                case '\r':
+                    data.append("\\r");
+                    break;
+                default:
+                    data.append(c);
+                    break;
+            }
+        }
+    }
+
     @Override
     protected String orderByKeys() {
         // Set order-by to keep results order consistence for PostgreSQL result
@@ -70,6 +70,53 @@ public class KoutApiTest extends BaseApiTest {
                                                                 joshId)));
     }
 
+    @Test
+    public void testGetWithDirectionAndLabel() {
+        // Traversed inside the store if the backend supports
+        Map<String, String> name2Ids = listAllVertexName2Ids();
+        String markoId = name2Ids.get("marko");
+        String joshId = name2Ids.get("josh");
+        String vadasId = name2Ids.get("vadas");
+        Response r = client().get(PATH, ImmutableMap.of("source",
+                                                        id2Json(markoId),
+                                                        "direction", "OUT",
+                                                        "max_depth", 2));
+        String content = assertResponseStatus(200, r);
+        List<String> vertices = assertJsonContains(content, "vertices");
+        Assert.assertEquals(ImmutableList.of(joshId), vertices);
+
+        r = client().get(PATH, ImmutableMap.of("source", id2Json(markoId),
+                                               "label", "knows",
+                                               "max_depth", 3));
+        content = assertResponseStatus(200, r);
+        vertices = assertJsonContains(content, "vertices");
+        Assert.assertEquals(ImmutableList.of(vadasId), vertices);
+
+        r = client().get(PATH, ImmutableMap.of("source", id2Json(markoId),
+                                               "direction", "IN",
+                                               "max_depth", 1));
+        content = assertResponseStatus(200, r);
+        vertices = assertJsonContains(content, "vertices");
+        Assert.assertEquals(0, vertices.size());
+    }
+
+    @Test
+    public void testGetWithLimit() {
+        Map<String, String> name2Ids = listAllVertexName2Ids();
+        String markoId = name2Ids.get("marko");
+        String peterId = name2Ids.get("peter");
+        String rippleId = name2Ids.get("ripple");
+        Response r = client().get(PATH, ImmutableMap.of("source",
+                                                        id2Json(markoId),
+                                                        "max_depth", 1,
+                                                        "limit", 1));
+        String content = assertResponseStatus(200, r);
+        List<String> vertices = assertJsonContains(content, "vertices");
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertTrue(vertices.contains(peterId) ||
+                          vertices.contains(rippleId));
+    }
+
     @Test
     public void testPost() {
         Map<String, String> name2Ids = listAllVertexName2Ids();
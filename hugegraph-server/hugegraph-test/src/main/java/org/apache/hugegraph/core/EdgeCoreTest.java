@@ -61,7 +61,6 @@ import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.Events;
-import org.apache.hugegraph.util.collection.CollectionFactory;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
@@ -3151,6 +3150,79 @@ public class EdgeCoreTest extends BaseCoreTest {
         Assert.assertEquals(0, vertices.size());
     }
 
+    @Test
+    public void testQueryAdjacentVertexIdsOfVertex() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        Vertex louise = vertex("person", "name", "Louise");
+        Vertex jeff = vertex("person", "name", "Jeff");
+        Vertex sean = vertex("person", "name", "Sean");
+        Vertex selina = vertex("person", "name", "Selina");
+        Vertex java1 = vertex("book", "name", "java-1");
+        Vertex java2 = vertex("book", "name", "java-2");
+        Vertex java3 = vertex("book", "name", "java-3");
+
+        Id friend = graph.edgeLabel("friend").id();
+        Id look = graph.edgeLabel("look").id();
+
+        // OUT with label
+        Query query = GraphTransaction.constructEdgesQuery(
+                      (Id) louise.id(), Directions.OUT, friend);
+        List<Id> ids = IteratorUtils.list(graph.adjacentVertexIds(query));
+        Assert.assertEquals(ImmutableSet.of(jeff.id(), sean.id(),
+                                            selina.id()),
+                            ImmutableSet.copyOf(ids));
+        Assert.assertEquals(3, ids.size());
+
+        // OUT with multi labels
+        query = GraphTransaction.constructEdgesQuery(
+                (Id) louise.id(), Directions.OUT, friend, look);
+        ids = IteratorUtils.list(graph.adjacentVertexIds(query));
+        Assert.assertEquals(7, ids.size());
+        Assert.assertEquals(ImmutableSet.of(jeff.id(), sean.id(), selina.id(),
+                                            java1.id(), java2.id(),
+                                            java3.id()),
+                            ImmutableSet.copyOf(ids));
+
+        // BOTH with label
+        query = GraphTransaction.constructEdgesQuery(
+                (Id) jeff.id(), Directions.BOTH, friend);
+        ids = IteratorUtils.list(graph.adjacentVertexIds(query));
+        Assert.assertEquals(ImmutableSet.of(louise.id(), sean.id()),
+                            ImmutableSet.copyOf(ids));
+
+        // OUT without label
+        query = GraphTransaction.constructEdgesQuery(
+                (Id) jeff.id(), Directions.OUT, new Id[]{});
+        ids = IteratorUtils.list(graph.adjacentVertexIds(query));
+        Assert.assertEquals(3, ids.size());
+
+        // With limit
+        query = GraphTransaction.constructEdgesQuery(
+                (Id) louise.id(), Directions.OUT, friend);
+        query.limit(2L);
+        ids = IteratorUtils.list(graph.adjacentVertexIds(query));
+        Assert.assertEquals(2, ids.size());
+
+        // With uncommitted records
+        Vertex tom = graph.addVertex(T.label, "person", "name", "Tom",
+                                     "city", "Beijing", "age", 25);
+        louise.addEdge("friend", tom);
+        query = GraphTransaction.constructEdgesQuery(
+                (Id) louise.id(), Directions.OUT, friend);
+        ids = IteratorUtils.list(graph.adjacentVertexIds(query));
+        Assert.assertEquals(ImmutableSet.of(jeff.id(), sean.id(),
+                                            selina.id(), tom.id()),
+                            ImmutableSet.copyOf(ids));
+        graph.tx().commit();
+
+        query = GraphTransaction.constructEdgesQuery(
+                (Id) louise.id(), Directions.OUT, friend);
+        ids = IteratorUtils.list(graph.adjacentVertexIds(query));
+        Assert.assertEquals(4, ids.size());
+    }
+
     @Test
     public void testQueryAdjacentVerticesOfEdges() {
         HugeGraph graph = graph();
@@ -3180,9 +3252,7 @@ public class EdgeCoreTest extends BaseCoreTest {
 
         // Fill edge properties
         Assert.assertEquals(2, edge.getProperties().size());
-        Whitebox.setInternalState(edge, "propLoaded", false);
-        Whitebox.setInternalState(edge, "properties",
-                                  CollectionFactory.newIntObjectMap());
+        edge.resetProperties();
         Assert.assertEquals(0, edge.getProperties().size());
         Assert.assertEquals(2, edge.getFilledProperties().size());
         Assert.assertEquals(2, edge.getProperties().size());
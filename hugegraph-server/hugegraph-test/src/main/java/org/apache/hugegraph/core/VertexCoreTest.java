@@ -35,6 +35,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.hugegraph.HugeException;
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.cache.Cache;
+import org.apache.hugegraph.backend.cache.CacheManager;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.id.Id.IdType;
 import org.apache.hugegraph.backend.id.IdGenerator;
@@ -43,7 +45,10 @@ import org.apache.hugegraph.backend.id.SplicingIdGenerator;
 import org.apache.hugegraph.backend.page.PageInfo;
 import org.apache.hugegraph.backend.query.Condition;
 import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.IndexStatistics;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.query.QueryProfile;
+import org.apache.hugegraph.backend.query.QueryProfile.Span;
 import org.apache.hugegraph.backend.serializer.BytesBuffer;
 import org.apache.hugegraph.backend.store.BackendTable;
 import org.apache.hugegraph.backend.store.Shard;
@@ -51,6 +56,7 @@ import org.apache.hugegraph.backend.tx.GraphTransaction;
 import org.apache.hugegraph.exception.LimitExceedException;
 import org.apache.hugegraph.exception.NoIndexException;
 import org.apache.hugegraph.exception.NotAllowException;
+import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.schema.PropertyKey;
 import org.apache.hugegraph.schema.SchemaManager;
 import org.apache.hugegraph.schema.Userdata;
@@ -3403,6 +3409,133 @@ public class VertexCoreTest extends BaseCoreTest {
                        "city", "Taipei", "age", 21);
     }
 
+    @Test
+    public void testQueryByStringPropWithProfile() {
+        HugeGraph graph = graph();
+        initPersonIndex(true);
+        init5Persons();
+
+        QueryProfile profile = QueryProfile.begin("test");
+        List<Vertex> vertices;
+        try {
+            vertices = graph.traversal().V().hasLabel("person")
+                            .has("city", "Taipei").toList();
+        } finally {
+            profile.end();
+        }
+        Assert.assertEquals(1, vertices.size());
+
+        List<String> names = new ArrayList<>();
+        Span query = null;
+        for (Span span : profile.root().children()) {
+            names.add(span.name());
+            if (span.name().equals("vertices")) {
+                query = span;
+            }
+        }
+        Assert.assertTrue(names.contains("strategies"));
+        Assert.assertNotNull(query);
+        Assert.assertEquals(1L, query.counter("rows"));
+
+        Span index = query.children().get(0);
+        Assert.assertEquals("index", index.name());
+        Assert.assertNotNull(index.counter("id_holders"));
+        Assert.assertContains("\"name\":\"backend\"", profile.toString());
+    }
+
+    @Test
+    public void testUpdateIndexStatisticsAfterCommit() {
+        HugeGraph graph = graph();
+        initPersonIndex(true);
+
+        IndexLabel indexLabel = graph.indexLabel("personByCity");
+        IndexStatistics statistics = params().indexStatistics();
+        statistics.refresh(indexLabel.id(), new IndexStatistics.Stat());
+
+        graph.addVertex(T.label, "person", "name", "marko",
+                        "age", 18, "city", "Beijing");
+        Assert.assertEquals(0L, statistics.stat(indexLabel.id()).entries());
+        graph.tx().commit();
+        Assert.assertEquals(1L, statistics.stat(indexLabel.id()).entries());
+
+        graph.addVertex(T.label, "person", "name", "james",
+                        "age", 19, "city", "Hongkong");
+        graph.tx().rollback();
+        Assert.assertEquals(1L, statistics.stat(indexLabel.id()).entries());
+    }
+
+    @Test
+    public void testQueryByStringPropWithPlanCache() {
+        HugeGraph graph = graph();
+        initPersonIndex(true);
+        init5Persons();
+
+        List<Vertex> vertices = graph.traversal().V().hasLabel("person")
+                                     .has("city", "Taipei").toList();
+        Assert.assertEquals(1, vertices.size());
+
+        Cache<Id, Object> cache = CacheManager.instance().cache(
+                                  "traversal-plan-" + graph.name());
+        // Drop the plans cached by other tests
+        cache.clear();
+        vertices = graph.traversal().V().hasLabel("person")
+                        .has("city", "Taipei").toList();
+        Assert.assertEquals(1, vertices.size());
+        long hits = cache.hits();
+        long miss = cache.miss();
+
+        // Reuse the plan with the value rebound
+        vertices = graph.traversal().V().hasLabel("person")
+                        .has("city", "Beijing").toList();
+        Assert.assertEquals(3, vertices.size());
+        assertContains(vertices,
+                       T.label, "person", "name", "James",
+                       "city", "Beijing", "age", 19);
+        Assert.assertEquals(hits + 1L, cache.hits());
+        Assert.assertEquals(miss, cache.miss());
+
+        vertices = graph.traversal().V().hasLabel("person")
+                        .has("city", "Taipei").toList();
+        Assert.assertEquals(1, vertices.size());
+        assertContains(vertices,
+                       T.label, "person", "name", "Hebe",
+                       "city", "Taipei", "age", 21);
+        Assert.assertEquals(hits + 2L, cache.hits());
+
+        // The value is converted to the data type of property key
+        vertices = graph.traversal().V().hasLabel("person")
+                        .has("age", P.gt(19)).toList();
+        Assert.assertEquals(3, vertices.size());
+        vertices = graph.traversal().V().hasLabel("person")
+                        .has("age", P.gt(20L)).toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals(hits + 3L, cache.hits());
+
+        long count = graph.traversal().V().hasLabel("person")
+                          .has("city", "Beijing").count().next();
+        Assert.assertEquals(3L, count);
+        count = graph.traversal().V().hasLabel("person")
+                     .has("city", "Hongkong").count().next();
+        Assert.assertEquals(1L, count);
+        Assert.assertEquals(hits + 4L, cache.hits());
+
+        // Different shape
+        vertices = graph.traversal().V().hasLabel("person")
+                        .has("city", "Beijing").limit(2).toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(miss + 3L, cache.miss());
+
+        // The rebound value is checked
+        vertices = graph.traversal().V().hasLabel("person")
+                        .has("age", 20).toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            graph.traversal().V().hasLabel("person")
+                 .has("age", "invalid").toList();
+        });
+        Assert.assertEquals(hits + 5L, cache.hits());
+    }
+
     @Test
     public void testQueryByStringPropWithMultiResults() {
         // NOTE: InMemoryDBStore would fail due to it not support index ele-ids
@@ -4578,6 +4711,56 @@ public class VertexCoreTest extends BaseCoreTest {
         });
     }
 
+    @Test
+    public void testQueryByTextContainsPropertyWithBatchCommit() {
+        HugeGraph graph = graph();
+
+        graph.schema().indexLabel("authorByLived").onV("author")
+             .search().by("lived").create();
+
+        // The texts of a batch are segmented in parallel
+        graph.addVertex(T.label, "author", "id", 1,
+                        "name", "James Gosling", "age", 62,
+                        "lived", "San Francisco Bay Area");
+        graph.addVertex(T.label, "author", "id", 2,
+                        "name", "Guido van Rossum", "age", 61,
+                        "lived", "San Francisco Bay Area");
+        graph.addVertex(T.label, "author", "id", 3,
+                        "name", "Dennis Ritchie", "age", 70,
+                        "lived", "Berkeley Heights");
+        graph.addVertex(T.label, "author", "id", 4,
+                        "name", "Bjarne Stroustrup", "age", 65,
+                        "lived", "New York City");
+        this.commitTx();
+
+        List<Vertex> vertices = graph.traversal().V()
+                                     .hasLabel("author")
+                                     .has("lived", Text.contains("Bay Area"))
+                                     .toList();
+        Assert.assertEquals(2, vertices.size());
+
+        vertices = graph.traversal().V()
+                        .hasLabel("author")
+                        .has("lived", Text.contains("York"))
+                        .toList();
+        Assert.assertEquals(1, vertices.size());
+        assertContains(vertices,
+                       T.label, "author", "id", 4, "name", "Bjarne Stroustrup",
+                       "age", 65, "lived", "New York City");
+
+        // The words of texts are cached, they must not be modified
+        vertices = graph.traversal().V()
+                        .hasLabel("author")
+                        .has("lived", Text.contains("Berkeley Heights"))
+                        .toList();
+        Assert.assertEquals(1, vertices.size());
+        vertices = graph.traversal().V()
+                        .hasLabel("author")
+                        .has("lived", Text.contains("Berkeley Heights"))
+                        .toList();
+        Assert.assertEquals(1, vertices.size());
+    }
+
     @Test
     public void testQueryByTextContainsAndExactMatchProperty() {
         HugeGraph graph = graph();
@@ -23,8 +23,10 @@ import org.apache.hugegraph.unit.cache.CacheTest;
 import org.apache.hugegraph.unit.cache.CachedGraphTransactionTest;
 import org.apache.hugegraph.unit.cache.CachedSchemaTransactionTest;
 import org.apache.hugegraph.unit.cache.RamTableTest;
+import org.apache.hugegraph.unit.cache.SingleFlightTest;
 import org.apache.hugegraph.unit.cassandra.CassandraTest;
 import org.apache.hugegraph.unit.core.AnalyzerTest;
+import org.apache.hugegraph.unit.core.BackendLatenciesTest;
 import org.apache.hugegraph.unit.core.BackendMutationTest;
 import org.apache.hugegraph.unit.core.BackendStoreInfoTest;
 import org.apache.hugegraph.unit.core.ConditionQueryFlattenTest;
@@ -32,20 +34,27 @@ import org.apache.hugegraph.unit.core.ConditionTest;
 import org.apache.hugegraph.unit.core.DataTypeTest;
 import org.apache.hugegraph.unit.core.DirectionsTest;
 import org.apache.hugegraph.unit.core.ExceptionTest;
+import org.apache.hugegraph.unit.core.IndexStatisticsTest;
 import org.apache.hugegraph.unit.core.LocksTableTest;
+import org.apache.hugegraph.unit.core.PackedPropertiesTest;
 import org.apache.hugegraph.unit.core.PageStateTest;
 import org.apache.hugegraph.unit.core.QueryTest;
+import org.apache.hugegraph.unit.core.QueryProfileTest;
 import org.apache.hugegraph.unit.core.RangeTest;
 import org.apache.hugegraph.unit.core.RolePermissionTest;
 import org.apache.hugegraph.unit.core.RowLockTest;
 import org.apache.hugegraph.unit.core.SecurityManagerTest;
 import org.apache.hugegraph.unit.core.SerialEnumTest;
+import org.apache.hugegraph.unit.core.SortedIdIntersectorTest;
+import org.apache.hugegraph.unit.core.StoreSnapshotFileTest;
 import org.apache.hugegraph.unit.core.SystemSchemaStoreTest;
 import org.apache.hugegraph.unit.core.TraversalUtilTest;
+import org.apache.hugegraph.unit.hbase.HbaseRegionsScannerTest;
 import org.apache.hugegraph.unit.id.EdgeIdTest;
 import org.apache.hugegraph.unit.id.IdTest;
 import org.apache.hugegraph.unit.id.IdUtilTest;
 import org.apache.hugegraph.unit.id.SplicingIdGeneratorTest;
+import org.apache.hugegraph.unit.mysql.BulkInsertTest;
 import org.apache.hugegraph.unit.mysql.MysqlUtilTest;
 import org.apache.hugegraph.unit.mysql.WhereBuilderTest;
 import org.apache.hugegraph.unit.rocksdb.RocksDBCountersTest;
@@ -62,6 +71,7 @@ import org.apache.hugegraph.unit.serializer.TextBackendEntryTest;
 import org.apache.hugegraph.unit.store.RamIntObjectMapTest;
 import org.apache.hugegraph.unit.util.CompressUtilTest;
 import org.apache.hugegraph.unit.util.JsonUtilTest;
+import org.apache.hugegraph.unit.util.LatencyHistogramTest;
 import org.apache.hugegraph.unit.util.RateLimiterTest;
 import org.apache.hugegraph.unit.util.StringEncodingTest;
 import org.apache.hugegraph.unit.util.VersionTest;
@@ -84,6 +94,7 @@ import org.junit.runners.Suite;
         CachedGraphTransactionTest.class,
         CacheManagerTest.class,
         RamTableTest.class,
+        SingleFlightTest.class,
 
         /* types */
         DataTypeTest.class,
@@ -101,9 +112,11 @@ import org.junit.runners.Suite;
         RowLockTest.class,
         AnalyzerTest.class,
         BackendMutationTest.class,
+        BackendLatenciesTest.class,
         ConditionTest.class,
         ConditionQueryFlattenTest.class,
         QueryTest.class,
+        QueryProfileTest.class,
         RangeTest.class,
         SecurityManagerTest.class,
         RolePermissionTest.class,
@@ -111,6 +124,10 @@ import org.junit.runners.Suite;
         BackendStoreInfoTest.class,
         TraversalUtilTest.class,
         PageStateTest.class,
+        SortedIdIntersectorTest.class,
+        IndexStatisticsTest.class,
+        PackedPropertiesTest.class,
+        StoreSnapshotFileTest.class,
         SystemSchemaStoreTest.class,
         RoleElectionStateMachineTest.class,
 
@@ -127,9 +144,13 @@ import org.junit.runners.Suite;
         /* cassandra */
         CassandraTest.class,
 
+        /* hbase */
+        HbaseRegionsScannerTest.class,
+
         /* mysql */
         MysqlUtilTest.class,
         WhereBuilderTest.class,
+        BulkInsertTest.class,
 
         /* rocksdb */
         RocksDBSessionsTest.class,
@@ -143,6 +164,7 @@ import org.junit.runners.Suite;
         CompressUtilTest.class,
         RateLimiterTest.FixedTimerWindowRateLimiterTest.class,
         RateLimiterTest.FixedWatchWindowRateLimiterTest.class,
+        LatencyHistogramTest.class,
 
         /* utils.collection */
         CollectionFactoryTest.class,
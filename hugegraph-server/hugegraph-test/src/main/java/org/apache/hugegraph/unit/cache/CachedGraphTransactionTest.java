@@ -139,7 +139,7 @@ public class CachedGraphTransactionTest extends BaseUnitTest {
     }
 
     @Test
-    public void testEdgeCacheClearWhenDeleteVertex() {
+    public void testEdgeCacheInvalidWhenDeleteVertex() {
         CachedGraphTransaction cache = this.cache();
         HugeVertex v1 = this.newVertex(IdGenerator.of(1));
         HugeVertex v2 = this.newVertex(IdGenerator.of(2));
@@ -156,26 +156,30 @@ public class CachedGraphTransactionTest extends BaseUnitTest {
 
         Assert.assertEquals(2L,
                             Whitebox.invoke(cache, "edgesCache", "size"));
+        long hits = Whitebox.invoke(cache, "edgesCache", "hits");
+
+        // The edges of other vertices are still cached
         cache.removeVertex(v3);
         cache.commit();
-        Assert.assertEquals(0L,
-                            Whitebox.invoke(cache, "edgesCache", "size"));
 
         Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(1)).hasNext());
         Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(2)).hasNext());
-        Assert.assertEquals(2L,
-                            Whitebox.invoke(cache, "edgesCache", "size"));
+        Assert.assertEquals(hits + 2L,
+                            Whitebox.invoke(cache, "edgesCache", "hits"));
 
+        // The edges of v1 and it's adjacent vertex v2 are invalid
         cache.removeVertex(v1);
         cache.commit();
 
-        Assert.assertEquals(0L,
-                            Whitebox.invoke(cache, "edgesCache", "size"));
+        hits = Whitebox.invoke(cache, "edgesCache", "hits");
         Assert.assertFalse(cache.queryEdgesByVertex(IdGenerator.of(2)).hasNext());
+        Assert.assertFalse(cache.queryEdgesByVertex(IdGenerator.of(1)).hasNext());
+        Assert.assertEquals(hits,
+                            Whitebox.invoke(cache, "edgesCache", "hits"));
     }
 
     @Test
-    public void testEdgeCacheClearWhenUpdateVertex() {
+    public void testEdgeCacheInvalidWhenUpdateVertex() {
         CachedGraphTransaction cache = this.cache();
         HugeVertex v1 = this.newVertex(IdGenerator.of(1));
         HugeVertex v2 = this.newVertex(IdGenerator.of(2));
@@ -192,19 +196,22 @@ public class CachedGraphTransactionTest extends BaseUnitTest {
 
         Assert.assertEquals(2L,
                             Whitebox.invoke(cache, "edgesCache", "size"));
+        long hits = Whitebox.invoke(cache, "edgesCache", "hits");
 
         cache.addVertexProperty(new HugeVertexProperty<>(v3,
                                                          cache.graph().schema()
                                                               .getPropertyKey("name"),
                                                          "test-name"));
         cache.commit();
-        Assert.assertEquals(0L,
-                            Whitebox.invoke(cache, "edgesCache", "size"));
 
         Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(1)).hasNext());
         Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(2)).hasNext());
-        Assert.assertEquals(2L,
-                            Whitebox.invoke(cache, "edgesCache", "size"));
+        Assert.assertEquals(hits + 2L,
+                            Whitebox.invoke(cache, "edgesCache", "hits"));
+
+        // Load the properties of adjacent vertex v1 into the cached edge
+        Assert.assertFalse(cache.queryEdgesByVertex(IdGenerator.of(2)).next()
+                                .outVertex().property("name").isPresent());
 
         cache.addVertexProperty(new HugeVertexProperty<>(v1,
                                                          cache.graph().schema()
@@ -212,10 +219,47 @@ public class CachedGraphTransactionTest extends BaseUnitTest {
                                                          "test-name"));
         cache.commit();
 
-        Assert.assertEquals(0L,
-                            Whitebox.invoke(cache, "edgesCache", "size"));
+        hits = Whitebox.invoke(cache, "edgesCache", "hits");
         String name = cache.queryEdgesByVertex(IdGenerator.of(1)).next().outVertex()
-                           .value("name");
+                    .value("name");
         Assert.assertEquals("test-name", name);
+        Assert.assertEquals(hits,
+                            Whitebox.invoke(cache, "edgesCache", "hits"));
+
+        // The edges of v2 are cached, but the adjacent vertex is reloaded
+        name = cache.queryEdgesByVertex(IdGenerator.of(2)).next().outVertex()
+                    .value("name");
+        Assert.assertEquals("test-name", name);
+        Assert.assertEquals(hits + 1L,
+                            Whitebox.invoke(cache, "edgesCache", "hits"));
+    }
+
+    @Test
+    public void testEdgeCacheEventInvalid() throws Exception {
+        CachedGraphTransaction cache = this.cache();
+        HugeVertex v1 = this.newVertex(IdGenerator.of(1));
+        HugeVertex v2 = this.newVertex(IdGenerator.of(2));
+
+        cache.addVertex(v1);
+        cache.addVertex(v2);
+        cache.commit();
+        HugeEdge edge = this.newEdge(v1, v2);
+        cache.addEdge(edge);
+        cache.commit();
+        Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(1)).hasNext());
+        Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(2)).hasNext());
+        long hits = Whitebox.invoke(cache, "edgesCache", "hits");
+
+        this.params.graphEventHub().notify(Events.CACHE, "invalid",
+                                           HugeType.EDGE,
+                                           new Id[]{IdGenerator.of(1)})
+                   .get();
+
+        Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(2)).hasNext());
+        Assert.assertEquals(hits + 1L,
+                            Whitebox.invoke(cache, "edgesCache", "hits"));
+        Assert.assertTrue(cache.queryEdgesByVertex(IdGenerator.of(1)).hasNext());
+        Assert.assertEquals(hits + 1L,
+                            Whitebox.invoke(cache, "edgesCache", "hits"));
     }
 }
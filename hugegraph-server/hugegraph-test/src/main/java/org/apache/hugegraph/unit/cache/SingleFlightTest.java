@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.cache.SingleFlight;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class SingleFlightTest extends BaseUnitTest {
+
+    private static final int THREADS_NUM = 8;
+
+    @Test
+    public void testLoad() {
+        SingleFlight<String, Integer> loads = new SingleFlight<>();
+
+        Assert.assertEquals(1, (int) loads.load("k1", () -> 1));
+        Assert.assertNull(loads.load("k2", () -> null));
+
+        Map<String, Integer> values = loads.load(
+                                      ImmutableList.of("k1", "k2", "k1"),
+                                      keys -> {
+            Assert.assertEquals(ImmutableList.of("k1", "k2"),
+                                ImmutableList.copyOf(keys));
+            return ImmutableMap.of("k1", 3);
+        });
+        Assert.assertEquals(ImmutableMap.of("k1", 3), values);
+
+        Assert.assertEquals(4L, loads.loaded());
+        Assert.assertEquals(0L, loads.coalesced());
+    }
+
+    @Test
+    public void testLoadConcurrently() throws Exception {
+        SingleFlight<String, Integer> loads = new SingleFlight<>();
+        AtomicInteger loadTimes = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ExecutorService executor = newExecutor(THREADS_NUM, threads);
+        try {
+            Future<Integer> first = executor.submit(() -> {
+                return loads.load("k1", () -> {
+                    loadTimes.incrementAndGet();
+                    loading.countDown();
+                    try {
+                        waiting.await();
+                    } catch (InterruptedException e) {
+                        throw new BackendException(e);
+                    }
+                    return 1;
+                });
+            });
+            Assert.assertTrue(loading.await(10L, TimeUnit.SECONDS));
+
+            Future<?>[] others = new Future<?>[THREADS_NUM - 1];
+            for (int i = 0; i < others.length; i++) {
+                others[i] = executor.submit(() -> {
+                    return loads.load("k1", () -> {
+                        loadTimes.incrementAndGet();
+                        return 2;
+                    });
+                });
+            }
+            // Wait until the other callers are waiting for the first one
+            waitForBlocked(threads, THREADS_NUM);
+            waiting.countDown();
+
+            Assert.assertEquals(1, (int) first.get());
+            for (Future<?> other : others) {
+                Assert.assertEquals(1, other.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(1, loadTimes.get());
+        Assert.assertEquals(1L, loads.loaded());
+        Assert.assertEquals(THREADS_NUM - 1L, loads.coalesced());
+
+        // Load again after the first loading finished
+        Assert.assertEquals(3, (int) loads.load("k1", () -> 3));
+    }
+
+    @Test
+    public void testLoadMultiKeysConcurrently() {
+        SingleFlight<Integer, Integer> loads = new SingleFlight<>();
+        Map<Integer, AtomicInteger> loadTimes = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            loadTimes.put(i, new AtomicInteger());
+        }
+        List<Integer> keys = ImmutableList.copyOf(loadTimes.keySet());
+
+        runWithThreads(THREADS_NUM, () -> {
+            for (int i = 0; i < 100; i++) {
+                Map<Integer, Integer> values = loads.load(keys, ks -> {
+                    Map<Integer, Integer> results = new HashMap<>();
+                    for (Integer key : ks) {
+                        loadTimes.get(key).incrementAndGet();
+                        results.put(key, key * 10);
+                    }
+                    return results;
+                });
+                Assert.assertEquals(keys.size(), values.size());
+                for (Integer key : keys) {
+                    Assert.assertEquals(key * 10, (int) values.get(key));
+                }
+            }
+        });
+
+        long loaded = 0L;
+        for (AtomicInteger times : loadTimes.values()) {
+            loaded += times.get();
+        }
+        Assert.assertEquals(loaded, loads.loaded());
+        Assert.assertEquals(THREADS_NUM * 100L * keys.size(),
+                            loads.loaded() + loads.coalesced());
+    }
+
+    @Test
+    public void testLoadInBatch() throws Exception {
+        // The batch is full before the window is over
+        SingleFlight<String, Integer> loads = new SingleFlight<>(60000L, 3);
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        Function<Collection<String>, Map<String, Integer>> loader = keys -> {
+            batches.add(ImmutableList.copyOf(keys));
+            Map<String, Integer> results = new HashMap<>();
+            for (String key : keys) {
+                results.put(key, Integer.parseInt(key.substring(1)));
+            }
+            return results;
+        };
+
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ExecutorService executor = newExecutor(3, threads);
+        try {
+            Future<Map<String, Integer>> first = executor.submit(() -> {
+                return loads.load(ImmutableList.of("k1"), loader);
+            });
+            // Wait until the first caller is collecting the batch
+            while (threads.isEmpty() ||
+                   threads.get(0).getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(10L);
+            }
+            Future<Map<String, Integer>> second = executor.submit(() -> {
+                return loads.load(ImmutableList.of("k2", "k1"), loader);
+            });
+            waitForBlocked(threads.subList(1, 2), 1);
+            Future<Map<String, Integer>> third = executor.submit(() -> {
+                return loads.load(ImmutableList.of("k3"), loader);
+            });
+
+            Assert.assertEquals(ImmutableMap.of("k1", 1), first.get());
+            Assert.assertEquals(ImmutableMap.of("k2", 2, "k1", 1),
+                                second.get());
+            Assert.assertEquals(ImmutableMap.of("k3", 3), third.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(ImmutableList.of(ImmutableList.of("k1", "k2",
+                                                              "k3")),
+                            batches);
+        Assert.assertEquals(3L, loads.loaded());
+        Assert.assertEquals(2L, loads.batched());
+        Assert.assertEquals(1L, loads.coalesced());
+
+        // The batch is loaded after the window if not full
+        batches.clear();
+        SingleFlight<String, Integer> windowLoads = new SingleFlight<>(10L,
+                                                                       100);
+        Assert.assertEquals(ImmutableMap.of("k4", 4, "k5", 5),
+                            windowLoads.load(ImmutableList.of("k4", "k5"),
+                                             loader));
+        Assert.assertEquals(ImmutableList.of(ImmutableList.of("k4", "k5")),
+                            batches);
+        // The single key loader doesn't load in batch
+        Assert.assertEquals(6, (int) windowLoads.load("k6", () -> 6));
+        Assert.assertEquals(0L, windowLoads.batched());
+    }
+
+    @Test
+    public void testLoadMultiKeysInBatches() {
+        SingleFlight<Integer, Integer> loads = new SingleFlight<>(1L, 50);
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(i);
+        }
+
+        runWithThreads(THREADS_NUM, () -> {
+            for (int i = 0; i < 20; i++) {
+                // Each caller loads a different part of the keys
+                List<Integer> part = keys.subList(i % 50, i % 50 + 50);
+                Map<Integer, Integer> values = loads.load(part, ks -> {
+                    Map<Integer, Integer> results = new HashMap<>();
+                    for (Integer key : ks) {
+                        results.put(key, key * 10);
+                    }
+                    return results;
+                });
+                Assert.assertEquals(part.size(), values.size());
+                for (Integer key : part) {
+                    Assert.assertEquals(key * 10, (int) values.get(key));
+                }
+            }
+        });
+
+        Assert.assertEquals(THREADS_NUM * 20L * 50L,
+                            loads.loaded() + loads.coalesced());
+    }
+
+    @Test
+    public void testLoadWithException() throws Exception {
+        SingleFlight<String, Integer> loads = new SingleFlight<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch failing = new CountDownLatch(1);
+
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ExecutorService executor = newExecutor(2, threads);
+        try {
+            Future<Integer> first = executor.submit(() -> {
+                return loads.load("k1", () -> {
+                    loading.countDown();
+                    try {
+                        failing.await();
+                    } catch (InterruptedException e) {
+                        throw new BackendException(e);
+                    }
+                    throw new BackendException("Failed to load");
+                });
+            });
+            Assert.assertTrue(loading.await(10L, TimeUnit.SECONDS));
+            Future<Integer> second = executor.submit(() -> {
+                return loads.load("k1", () -> 2);
+            });
+            waitForBlocked(threads, 2);
+            failing.countDown();
+
+            Assert.assertThrows(Exception.class, first::get, e -> {
+                Assert.assertContains("Failed to load", e.getMessage());
+            });
+            Assert.assertThrows(Exception.class, second::get, e -> {
+                Assert.assertContains("Failed to load", e.getMessage());
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Failed loading is not remembered
+        Assert.assertEquals(3, (int) loads.load("k1", () -> 3));
+    }
+
+    @Test
+    public void testForget() throws Exception {
+        SingleFlight<String, Integer> loads = new SingleFlight<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> first = executor.submit(() -> {
+                return loads.load("k1", () -> {
+                    loading.countDown();
+                    try {
+                        waiting.await();
+                    } catch (InterruptedException e) {
+                        throw new BackendException(e);
+                    }
+                    return 1;
+                });
+            });
+            Assert.assertTrue(loading.await(10L, TimeUnit.SECONDS));
+
+            // Load by self instead of waiting for the out of date loading
+            loads.forget("k1");
+            Assert.assertEquals(2, (int) loads.load("k1", () -> 2));
+            Assert.assertEquals(0L, loads.coalesced());
+
+            waiting.countDown();
+            Assert.assertEquals(1, (int) first.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newExecutor(int size, List<Thread> threads) {
+        return Executors.newFixedThreadPool(size, task -> {
+            Thread thread = new Thread(task);
+            threads.add(thread);
+            return thread;
+        });
+    }
+
+    private static void waitForBlocked(List<Thread> threads, int size)
+                                       throws InterruptedException {
+        while (threads.size() < size) {
+            Thread.sleep(10L);
+        }
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.sleep(10L);
+            }
+        }
+    }
+}
@@ -17,11 +17,15 @@
 
 package org.apache.hugegraph.unit.cassandra;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.hugegraph.backend.store.cassandra.CassandraOptions;
+import org.apache.hugegraph.backend.store.cassandra.CassandraSessionPool;
 import org.apache.hugegraph.backend.store.cassandra.CassandraStore;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.config.OptionSpace;
@@ -31,6 +35,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -192,4 +200,49 @@ public class CassandraTest {
             Whitebox.invokeStatic(CassandraStore.class, "parseReplica", config);
         });
     }
+
+    @Test
+    public void testGroupByPartition() {
+        Statement s1 = newStatement("s1", new byte[]{1});
+        Statement s2 = newStatement("s2", new byte[]{2});
+        Statement s3 = newStatement("s3", new byte[]{1});
+        Statement s4 = newStatement("s4", null);
+        Statement s5 = newStatement("s5", null);
+        Statement s6 = newStatement("s6", new byte[]{2});
+
+        List<List<Statement>> groups = groupByPartition(
+                                       ImmutableList.of(s1, s2, s3,
+                                                        s4, s5, s6));
+        Assert.assertEquals(ImmutableList.of(ImmutableList.of(s4),
+                                             ImmutableList.of(s5),
+                                             ImmutableList.of(s1, s3),
+                                             ImmutableList.of(s2, s6)),
+                            groups);
+
+        groups = groupByPartition(ImmutableList.of(s1, s3));
+        Assert.assertEquals(ImmutableList.of(ImmutableList.of(s1, s3)),
+                            groups);
+
+        groups = groupByPartition(ImmutableList.of());
+        Assert.assertEquals(0, groups.size());
+    }
+
+    private static Statement newStatement(String cql, byte[] routingKey) {
+        SimpleStatement statement = new SimpleStatement(cql);
+        if (routingKey != null) {
+            statement.setRoutingKey(ByteBuffer.wrap(routingKey));
+        }
+        return statement;
+    }
+
+    private static List<List<Statement>> groupByPartition(
+                                         Collection<Statement> statements) {
+        Class<?>[] classes = new Class<?>[]{Collection.class,
+                                            ProtocolVersion.class,
+                                            CodecRegistry.class};
+        return Whitebox.invokeStatic(CassandraSessionPool.class, classes,
+                                     "groupByPartition", statements,
+                                     ProtocolVersion.NEWEST_SUPPORTED,
+                                     CodecRegistry.DEFAULT_INSTANCE);
+    }
 }
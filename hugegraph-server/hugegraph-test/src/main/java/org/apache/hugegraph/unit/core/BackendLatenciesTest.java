@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hugegraph.backend.store.BackendLatencies;
+import org.apache.hugegraph.backend.store.BackendStore;
+import org.apache.hugegraph.iterator.CIter;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.LatencyHistogram;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.common.collect.ImmutableList;
+
+public class BackendLatenciesTest extends BaseUnitTest {
+
+    @After
+    public void teardown() {
+        BackendLatencies.listen(null);
+        BackendLatencies.listenRemoved(null);
+    }
+
+    @Test
+    public void testListenCreatedHistograms() {
+        BackendStore store = Mockito.mock(BackendStore.class);
+        Mockito.when(store.store()).thenReturn("g");
+        BackendLatencies latencies = BackendLatencies.of("latency_test",
+                                                         store);
+
+        Map<String, LatencyHistogram> created = InsertionOrderUtil.newMap();
+        BackendLatencies.listen((key, histogram) -> {
+            Assert.assertNull(created.put(key, histogram));
+        });
+
+        long start = System.nanoTime();
+        latencies.record(HugeType.VERTEX, BackendLatencies.Op.GET, start);
+        latencies.record(HugeType.VERTEX, BackendLatencies.Op.GET, start);
+        latencies.record(null, BackendLatencies.Op.COMMIT, start);
+
+        // Notified once for each histogram when it's created
+        Assert.assertEquals(2, created.size());
+        LatencyHistogram get = created.get("latency_test.g.vertex.get");
+        Assert.assertSame(latencies.histogram(HugeType.VERTEX,
+                                              BackendLatencies.Op.GET), get);
+        Assert.assertEquals(2L, get.snapshot().count());
+        Assert.assertSame(created.get("latency_test.g.all.commit"),
+                          BackendLatencies.histograms()
+                                          .get("latency_test.g.all.commit"));
+
+        // The failure of listener doesn't fail the recording
+        BackendLatencies.listen((key, histogram) -> {
+            throw new IllegalStateException("listener error");
+        });
+        latencies.record(HugeType.EDGE_OUT, BackendLatencies.Op.SCAN, start);
+        Assert.assertEquals(1L, latencies.histogram(HugeType.EDGE_OUT,
+                                                    BackendLatencies.Op.SCAN)
+                                         .snapshot().count());
+    }
+
+    @Test
+    public void testRecordUntilFirstResult() throws Exception {
+        BackendStore store = Mockito.mock(BackendStore.class);
+        Mockito.when(store.store()).thenReturn("g");
+        BackendLatencies latencies = BackendLatencies.of("latency_first",
+                                                         store);
+        LatencyHistogram histogram = latencies.histogram(HugeType.VERTEX,
+                                                         BackendLatencies.Op.SCAN);
+
+        Iterator<Integer> results = latencies.record(
+                                    HugeType.VERTEX, BackendLatencies.Op.SCAN,
+                                    System.nanoTime(),
+                                    ImmutableList.of(1, 2, 3).iterator());
+        Assert.assertEquals(0L, histogram.snapshot().count());
+        // Recorded once the first result is fetched
+        Assert.assertEquals(1, (int) results.next());
+        Assert.assertEquals(1L, histogram.snapshot().count());
+        // Recorded even if the others are not consumed
+        ((CIter<Integer>) results).close();
+        Assert.assertEquals(1L, histogram.snapshot().count());
+
+        // Recorded if there is no result
+        results = latencies.record(HugeType.VERTEX, BackendLatencies.Op.SCAN,
+                                   System.nanoTime(),
+                                   Collections.emptyIterator());
+        Assert.assertFalse(results.hasNext());
+        Assert.assertFalse(results.hasNext());
+        Assert.assertEquals(2L, histogram.snapshot().count());
+    }
+
+    @Test
+    public void testRemoveGraph() {
+        BackendStore store = Mockito.mock(BackendStore.class);
+        Mockito.when(store.store()).thenReturn("g");
+        BackendLatencies latencies = BackendLatencies.of("latency_removed",
+                                                         store);
+        BackendLatencies other = BackendLatencies.of("latency_removed2",
+                                                     store);
+        long start = System.nanoTime();
+        latencies.record(HugeType.VERTEX, BackendLatencies.Op.GET, start);
+        other.record(HugeType.VERTEX, BackendLatencies.Op.GET, start);
+
+        List<String> removed = new ArrayList<>();
+        BackendLatencies.listenRemoved(removed::add);
+        BackendLatencies.remove("latency_removed");
+
+        // Only the histograms of the graph are removed
+        Assert.assertEquals(ImmutableList.of("latency_removed.g.vertex.get"),
+                            removed);
+        Map<String, LatencyHistogram> histograms = BackendLatencies.histograms();
+        Assert.assertFalse(histograms.containsKey(
+                           "latency_removed.g.vertex.get"));
+        Assert.assertTrue(histograms.containsKey(
+                          "latency_removed2.g.vertex.get"));
+
+        // The stale latencies of the removed graph are not listened again
+        Map<String, LatencyHistogram> created = InsertionOrderUtil.newMap();
+        BackendLatencies.listen(created::put);
+        latencies.record(HugeType.EDGE_OUT, BackendLatencies.Op.SCAN, start);
+        Assert.assertTrue(created.isEmpty());
+        Assert.assertNotSame(latencies, BackendLatencies.of("latency_removed",
+                                                            store));
+    }
+}
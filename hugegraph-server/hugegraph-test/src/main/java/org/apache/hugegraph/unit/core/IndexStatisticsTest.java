@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hugegraph.unit.core;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.IndexStatistics;
+import org.apache.hugegraph.backend.query.IndexStatistics.Histogram;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.IndexType;
+import org.apache.hugegraph.unit.FakeObjects;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class IndexStatisticsTest {
+
+    private static final Id CITY = IdGenerator.of(1);
+    private static final Id AGE = IdGenerator.of(2);
+
+    @Test
+    public void testDistinct() {
+        IndexStatistics.Stat stat = new IndexStatistics.Stat();
+        Assert.assertEquals(0L, stat.distinct());
+        for (int i = 0; i < 100000; i++) {
+            stat.update(ImmutableList.of("city-" + (i % 5000)), false);
+        }
+        Assert.assertEquals(100000L, stat.entries());
+        long distinct = stat.distinct();
+        Assert.assertTrue("Unexpected distinct " + distinct,
+                          distinct > 4500L && distinct < 5500L);
+
+        for (int i = 0; i < 1000; i++) {
+            stat.update(ImmutableList.of("city-" + i), true);
+        }
+        Assert.assertEquals(99000L, stat.entries());
+    }
+
+    @Test
+    public void testHistogramSelectivity() {
+        Histogram histogram = new Histogram(0D, 100D,
+                                            new long[]{10L, 10L, 10L, 70L});
+        Assert.assertEquals(0.1D, histogram.selectivity(0D, 25D), 1e-6);
+        Assert.assertEquals(0.76D, histogram.selectivity(60D, 100D), 1e-6);
+        Assert.assertEquals(1.0D, histogram.selectivity(-10D, 200D), 1e-6);
+        Assert.assertEquals(0.0D, histogram.selectivity(101D, 200D), 1e-6);
+
+        histogram.update(10D, 20L);
+        Assert.assertEquals(0.25D, histogram.selectivity(0D, 25D), 1e-6);
+    }
+
+    @Test
+    public void testCostOfSecondaryIndex() {
+        FakeObjects fakeObjects = new FakeObjects();
+        IndexLabel city = fakeObjects.newIndexLabel(
+                          IdGenerator.of(1), "personByCity",
+                          HugeType.VERTEX_LABEL, IdGenerator.of(1),
+                          IndexType.SECONDARY, CITY);
+        IndexLabel age = fakeObjects.newIndexLabel(
+                         IdGenerator.of(2), "personByAge",
+                         HugeType.VERTEX_LABEL, IdGenerator.of(1),
+                         IndexType.RANGE_INT, AGE);
+
+        IndexStatistics statistics = new IndexStatistics();
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.eq(CITY, "Beijing"));
+        query.query(Condition.eq(AGE, 20));
+        Assert.assertEquals(IndexStatistics.UNKNOWN_COST,
+                            statistics.cost(city, query), 0D);
+
+        // The incremental updates are ignored until refreshed
+        statistics.update(city, ImmutableList.of("city-0"), false);
+        Assert.assertNull(statistics.stat(city.id()));
+        Assert.assertEquals(IndexStatistics.UNKNOWN_COST,
+                            statistics.cost(city, query), 0D);
+
+        statistics.refresh(city.id(), new IndexStatistics.Stat());
+        statistics.refresh(age.id(), new IndexStatistics.Stat());
+        for (int i = 0; i < 1000; i++) {
+            statistics.update(city, ImmutableList.of("city-" + (i % 10)),
+                              false);
+            statistics.update(age, ImmutableList.of(i % 500), false);
+        }
+        // About 1000 / 10 entries for each city
+        double cityCost = statistics.cost(city, query);
+        Assert.assertTrue("Unexpected cost " + cityCost,
+                          cityCost > 80D && cityCost < 120D);
+        // About 1000 / 500 entries for each age
+        double ageCost = statistics.cost(age, query);
+        Assert.assertTrue("Unexpected cost " + ageCost,
+                          ageCost > 1D && ageCost < 3D);
+    }
+
+    @Test
+    public void testCostOfRangeIndex() {
+        FakeObjects fakeObjects = new FakeObjects();
+        IndexLabel age = fakeObjects.newIndexLabel(
+                         IdGenerator.of(2), "personByAge",
+                         HugeType.VERTEX_LABEL, IdGenerator.of(1),
+                         IndexType.RANGE_INT, AGE);
+
+        IndexStatistics statistics = new IndexStatistics();
+        statistics.refresh(age.id(), new IndexStatistics.Stat());
+        for (int i = 0; i < 1000; i++) {
+            statistics.update(age, ImmutableList.of(i % 100), false);
+        }
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.gte(AGE, 90));
+
+        // Default selectivity without histogram
+        Assert.assertEquals(1000D / 3D, statistics.cost(age, query), 1e-6);
+
+        long[] buckets = new long[10];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = 100L;
+        }
+        statistics.stat(age.id()).histogram(new Histogram(0D, 100D, buckets));
+        Assert.assertEquals(100D, statistics.cost(age, query), 1e-6);
+    }
+}
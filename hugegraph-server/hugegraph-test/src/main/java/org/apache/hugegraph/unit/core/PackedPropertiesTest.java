@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.serializer.BinarySerializer;
+import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeProperty;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.type.define.Cardinality;
+import org.apache.hugegraph.type.define.DataType;
+import org.apache.hugegraph.type.define.IdStrategy;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class PackedPropertiesTest extends BaseUnitTest {
+
+    private FakeObjects objects;
+    private PropertyKey name;
+    private PropertyKey age;
+    private PropertyKey tags;
+    private PropertyKey scores;
+    private VertexLabel person;
+
+    @Before
+    public void setup() {
+        this.objects = new FakeObjects();
+        this.name = this.objects.newPropertyKey(IdGenerator.of(1), "name");
+        this.age = this.objects.newPropertyKey(IdGenerator.of(2), "age",
+                                               DataType.INT);
+        this.tags = this.objects.newPropertyKey(IdGenerator.of(3), "tags",
+                                                DataType.TEXT,
+                                                Cardinality.SET);
+        this.scores = this.objects.newPropertyKey(IdGenerator.of(4),
+                                                  "scores", DataType.INT,
+                                                  Cardinality.LIST);
+        this.person = this.objects.newVertexLabel(IdGenerator.of(1), "person",
+                                                  IdStrategy.CUSTOMIZE_NUMBER,
+                                                  this.name.id(),
+                                                  this.age.id(),
+                                                  this.tags.id(),
+                                                  this.scores.id());
+    }
+
+    @Test
+    public void testLoadProperties() {
+        HugeVertex vertex = this.newVertex();
+        // Loaded out of order, the packed keys are sorted by id
+        vertex.loadProperty(this.scores, ImmutableList.of(1, 2));
+        vertex.loadProperty(this.name, "tom");
+        vertex.loadProperty(this.tags, "a");
+        vertex.loadProperty(this.age, 18);
+        vertex.loadProperty(this.tags, ImmutableSet.of("b", "a"));
+        vertex.loadProperty(this.scores, 1);
+
+        Assert.assertTrue(isPacked(vertex));
+        Assert.assertEquals(4, vertex.sizeOfProperties());
+        Assert.assertEquals(4 + 2 + 3, vertex.sizeOfSubProperties());
+        Assert.assertEquals(ImmutableList.of(this.name.id(), this.age.id(),
+                                             this.tags.id(), this.scores.id()),
+                            ImmutableList.copyOf(vertex.getPropertyKeys()));
+        Assert.assertEquals("tom", vertex.getPropertyValue(this.name.id()));
+        Assert.assertEquals(18, vertex.getPropertyValue(this.age.id()));
+        Assert.assertEquals(ImmutableSet.of("a", "b"),
+                            vertex.getPropertyValue(this.tags.id()));
+        Assert.assertEquals(ImmutableList.of(1, 2, 1),
+                            vertex.getPropertyValue(this.scores.id()));
+        Assert.assertEquals(ImmutableMap.of(this.name.id(), "tom",
+                                            this.age.id(), 18,
+                                            this.tags.id(),
+                                            ImmutableSet.of("a", "b"),
+                                            this.scores.id(),
+                                            ImmutableList.of(1, 2, 1)),
+                            vertex.getPropertiesMap());
+        Assert.assertTrue(vertex.hasProperty(this.age.id()));
+        Assert.assertFalse(vertex.hasProperty(IdGenerator.of(5)));
+        Assert.assertNull(vertex.getPropertyValue(IdGenerator.of(5)));
+        Assert.assertTrue(isPacked(vertex));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            vertex.loadProperty(this.age, "not-int");
+        });
+    }
+
+    @Test
+    public void testUnpackOnFirstAccess() {
+        HugeVertex vertex = this.newLoadedVertex();
+
+        HugeProperty<Object> prop = vertex.getProperty(this.name.id());
+        Assert.assertFalse(isPacked(vertex));
+        Assert.assertEquals("tom", prop.value());
+        Assert.assertEquals(this.name, prop.propertyKey());
+        // The unpacked properties are reused by the later accesses
+        Assert.assertSame(prop, vertex.getProperty(this.name.id()));
+        Assert.assertEquals(4, vertex.getProperties().size());
+        Assert.assertTrue(vertex.getProperties().contains(prop));
+        Assert.assertEquals(ImmutableSet.of("a", "b"),
+                            vertex.getPropertyValue(this.tags.id()));
+        Assert.assertNull(vertex.getProperty(IdGenerator.of(5)));
+    }
+
+    @Test
+    public void testUpdateUnpacked() {
+        HugeVertex vertex = this.newLoadedVertex();
+
+        vertex.addProperty(this.age, 20);
+        Assert.assertFalse(isPacked(vertex));
+        Assert.assertEquals(20, vertex.getPropertyValue(this.age.id()));
+        Assert.assertEquals("tom", vertex.getPropertyValue(this.name.id()));
+
+        vertex.removeProperty(this.name.id());
+        Assert.assertFalse(vertex.hasProperty(this.name.id()));
+        Assert.assertEquals(3, vertex.sizeOfProperties());
+
+        // Loaded after updated, merged into the unpacked properties
+        vertex.loadProperty(this.name, "jerry");
+        vertex.loadProperty(this.tags, "c");
+        Assert.assertFalse(isPacked(vertex));
+        Assert.assertEquals("jerry", vertex.getPropertyValue(this.name.id()));
+        Assert.assertEquals(ImmutableSet.of("a", "b", "c"),
+                            vertex.getPropertyValue(this.tags.id()));
+    }
+
+    @Test
+    public void testUpdateCopyNotAffectOrigin() {
+        HugeVertex vertex = this.newLoadedVertex();
+        HugeVertex copy = vertex.copy();
+        Assert.assertTrue(isPacked(copy));
+
+        // The multiple values are added to the unpacked collections
+        copy.addProperty(this.tags, "c");
+        copy.addProperty(this.scores, 3);
+        copy.addProperty(this.age, 20);
+        Assert.assertFalse(isPacked(copy));
+        Assert.assertEquals(ImmutableSet.of("a", "b", "c"),
+                            copy.getPropertyValue(this.tags.id()));
+        Assert.assertEquals(ImmutableList.of(1, 2, 3),
+                            copy.getPropertyValue(this.scores.id()));
+        Assert.assertEquals(20, copy.getPropertyValue(this.age.id()));
+
+        Assert.assertTrue(isPacked(vertex));
+        Assert.assertEquals(ImmutableSet.of("a", "b"),
+                            vertex.getPropertyValue(this.tags.id()));
+        Assert.assertEquals(ImmutableList.of(1, 2),
+                            vertex.getPropertyValue(this.scores.id()));
+        Assert.assertEquals(18, vertex.getPropertyValue(this.age.id()));
+
+        // Unpacking the origin doesn't share the collections with the copy
+        HugeProperty<Set<String>> tags = vertex.getProperty(this.tags.id());
+        tags.value().add("d");
+        HugeProperty<List<Integer>> scores = vertex.getProperty(
+                                             this.scores.id());
+        scores.value().add(4);
+        Assert.assertEquals(ImmutableSet.of("a", "b", "c"),
+                            copy.getPropertyValue(this.tags.id()));
+        Assert.assertEquals(ImmutableList.of(1, 2, 3),
+                            copy.getPropertyValue(this.scores.id()));
+    }
+
+    @Test
+    public void testSerializeRoundTrip() {
+        BinarySerializer ser = new BinarySerializer(FakeObjects.newConfig());
+        HugeVertex vertex = this.newLoadedVertex();
+
+        // Write the packed vertex and read it as packed again
+        BackendEntry entry = ser.writeVertex(vertex);
+        HugeVertex read = ser.readVertex(this.objects.graph(), entry);
+        Assert.assertTrue(isPacked(read));
+        Assert.assertEquals(vertex, read);
+        Assert.assertEquals(vertex.getPropertiesMap(),
+                            read.getPropertiesMap());
+
+        // Write the updated vertex and read the update back
+        read.addProperty(this.tags, "c");
+        read.addProperty(this.age, 20);
+        entry = ser.writeVertex(read);
+        HugeVertex updated = ser.readVertex(this.objects.graph(), entry);
+        Assert.assertTrue(isPacked(updated));
+        Assert.assertEquals(read.getPropertiesMap(),
+                            updated.getPropertiesMap());
+        Assert.assertEquals(ImmutableSet.of("a", "b", "c"),
+                            updated.getPropertyValue(this.tags.id()));
+        Assert.assertEquals(20, updated.getPropertyValue(this.age.id()));
+    }
+
+    private HugeVertex newVertex() {
+        Id id = IdGenerator.of(123);
+        return new HugeVertex(this.objects.graph(), id, this.person);
+    }
+
+    private HugeVertex newLoadedVertex() {
+        HugeVertex vertex = this.newVertex();
+        vertex.loadProperty(this.name, "tom");
+        vertex.loadProperty(this.age, 18);
+        vertex.loadProperty(this.tags, ImmutableSet.of("a", "b"));
+        vertex.loadProperty(this.scores, ImmutableList.of(1, 2));
+        return vertex;
+    }
+
+    private static boolean isPacked(HugeVertex vertex) {
+        return Whitebox.getInternalState(vertex, "packed") != null;
+    }
+}
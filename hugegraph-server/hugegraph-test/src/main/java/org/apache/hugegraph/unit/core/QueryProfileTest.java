@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hugegraph.backend.query.QueryProfile;
+import org.apache.hugegraph.backend.query.QueryProfile.Span;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class QueryProfileTest {
+
+    @After
+    public void teardown() {
+        QueryProfile profile = QueryProfile.current();
+        if (profile != null) {
+            profile.end();
+        }
+    }
+
+    @Test
+    public void testNotProfiling() {
+        Assert.assertNull(QueryProfile.current());
+        Assert.assertNull(QueryProfile.span("s1", null));
+        Assert.assertNull(QueryProfile.enter("s1", null));
+
+        Iterator<Integer> results = ImmutableList.of(1, 2).iterator();
+        Assert.assertSame(results, QueryProfile.trace("q1", null,
+                                                      () -> results));
+        // Ignored if not profiling
+        QueryProfile.count("hits", 1L);
+    }
+
+    @Test
+    public void testProfileSpans() {
+        QueryProfile profile = QueryProfile.begin("request");
+        Assert.assertSame(profile, QueryProfile.current());
+
+        try (Span span = QueryProfile.enter("index", "query-index")) {
+            span.put("id_holders", ImmutableList.of("FixedIdHolder"));
+            QueryProfile.count("hits", 1L);
+            QueryProfile.count("hits", 2L);
+        }
+        QueryProfile.count("hits", 5L);
+
+        Assert.assertSame(profile, profile.end());
+        Assert.assertNull(QueryProfile.current());
+        // Ignored after the profile ended
+        QueryProfile.count("hits", 1L);
+
+        Span root = profile.root();
+        Assert.assertEquals("request", root.name());
+        Assert.assertEquals(5L, root.counter("hits"));
+        Assert.assertEquals(1, root.children().size());
+
+        Span index = root.children().get(0);
+        Assert.assertEquals("index", index.name());
+        Assert.assertEquals("query-index", index.detail());
+        Assert.assertEquals(3L, index.counter("hits"));
+        Assert.assertEquals(ImmutableList.of("FixedIdHolder"),
+                            index.counter("id_holders"));
+        Assert.assertTrue(index.elapsed() <= root.elapsed());
+    }
+
+    @Test
+    public void testTraceLazyResults() {
+        QueryProfile profile = QueryProfile.begin("request");
+
+        Iterator<Integer> results = QueryProfile.trace("vertices", "q1", () -> {
+            QueryProfile.count("cache_misses", 1L);
+            Iterator<Integer> entries = QueryProfile.trace("backend", "q2",
+                                        () -> ImmutableList.of(1, 2, 3)
+                                                           .iterator());
+            return new FilterOddIterator(entries);
+        });
+        // The spans created when iterating are the children of vertices
+        Assert.assertEquals(1, results.next().intValue());
+        Assert.assertEquals(3, results.next().intValue());
+        Assert.assertFalse(results.hasNext());
+        QueryProfile.count("returned", 1L);
+        profile.end();
+
+        Span root = profile.root();
+        Assert.assertEquals(1L, root.counter("returned"));
+        Assert.assertEquals(1, root.children().size());
+
+        Span vertices = root.children().get(0);
+        Assert.assertEquals("vertices", vertices.name());
+        Assert.assertEquals(2L, vertices.counter("rows"));
+        Assert.assertEquals(1L, vertices.counter("cache_misses"));
+        Assert.assertEquals(1L, vertices.counter("deserialize_time"));
+
+        Span backend = vertices.children().get(0);
+        Assert.assertEquals("backend", backend.name());
+        Assert.assertEquals("q2", backend.detail());
+        Assert.assertEquals(3L, backend.counter("rows"));
+
+        Map<String, Object> map = profile.asMap();
+        Assert.assertEquals("request", map.get("name"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> children = (List<Map<String, Object>>)
+                                             map.get("children");
+        Assert.assertEquals("vertices", children.get(0).get("name"));
+        Assert.assertEquals("q1", children.get(0).get("detail"));
+        Assert.assertEquals(0L, children.get(0).get("deserialize_time_us"));
+        Assert.assertContains("\"name\":\"backend\"", profile.toString());
+    }
+
+    @Test
+    public void testMergeSpansOverLimit() {
+        QueryProfile profile = QueryProfile.begin("request");
+        int spans = QueryProfile.MAX_CHILDREN + 50;
+        for (int i = 0; i < spans; i++) {
+            try (Span ignored = QueryProfile.enter("backend", "q" + i)) {
+                QueryProfile.count("rows", 2L);
+                // The children of merged span go to the children of sibling
+                try (Span ignored2 = QueryProfile.enter("deserialize", null)) {
+                    QueryProfile.count("rows", 1L);
+                }
+            }
+        }
+        // No sibling with the same name to merge into
+        try (Span span = QueryProfile.enter("index", null)) {
+            Assert.assertEquals(0L, span.elapsed());
+            Assert.assertEquals(0, span.children().size());
+            QueryProfile.count("rows", 1L);
+        }
+        QueryProfile.count("returned", 1L);
+        profile.end();
+
+        Span root = profile.root();
+        Assert.assertEquals(1L, root.counter("returned"));
+        List<Span> children = root.children();
+        Assert.assertEquals(QueryProfile.MAX_CHILDREN, children.size());
+        Assert.assertEquals(0L, children.get(0).merged());
+        Assert.assertEquals(2L, children.get(0).counter("rows"));
+
+        Span last = children.get(children.size() - 1);
+        Assert.assertEquals("q" + (QueryProfile.MAX_CHILDREN - 1), last.detail());
+        Assert.assertEquals(50L, last.merged());
+        Assert.assertEquals(102L, last.counter("rows"));
+        Assert.assertEquals(1, last.children().size());
+        Assert.assertEquals(50L, last.children().get(0).merged());
+        Assert.assertEquals(51L, last.children().get(0).counter("rows"));
+
+        Map<String, Object> map = profile.asMap();
+        Assert.assertEquals(1L, map.get("dropped_spans"));
+    }
+
+    @Test
+    public void testSpanLimitOfProfile() {
+        QueryProfile profile = QueryProfile.begin("request");
+        // The root and 99 * 100 spans
+        for (int i = 0; i < 99; i++) {
+            try (Span ignored = QueryProfile.enter("vertices", null)) {
+                for (int j = 0; j < 99; j++) {
+                    QueryProfile.enter("backend", null).close();
+                }
+            }
+        }
+        try (Span vertices = QueryProfile.enter("vertices", null)) {
+            for (int j = 0; j < 98; j++) {
+                QueryProfile.enter("backend", null).close();
+            }
+            // Over the limit of the profile
+            QueryProfile.enter("backend", null).close();
+            QueryProfile.enter("edges", null).close();
+
+            List<Span> children = vertices.children();
+            Assert.assertEquals(98, children.size());
+            Assert.assertEquals(1L, children.get(97).merged());
+        }
+        profile.end();
+        Assert.assertEquals(1L, profile.asMap().get("dropped_spans"));
+    }
+
+    @Test
+    public void testBuildDetailLazily() {
+        QueryProfile profile = QueryProfile.begin("request");
+        int[] converted = {0};
+        Object query = new Object() {
+            @Override
+            public String toString() {
+                converted[0]++;
+                return "query";
+            }
+        };
+        QueryProfile.enter("index", query).close();
+        profile.end();
+
+        Assert.assertEquals(0, converted[0]);
+        Assert.assertContains("\"detail\":\"query\"", profile.toString());
+        Assert.assertEquals(1, converted[0]);
+    }
+
+    @Test
+    public void testCountConcurrently() throws Exception {
+        QueryProfile profile = QueryProfile.begin("request");
+        Span span = QueryProfile.enter("vertices", null);
+        ExecutorService executor = ExecutorUtil.newFixedThreadPool(
+                                   4, "profile-test");
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        span.count("rows", 1L);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        span.close();
+        profile.end();
+        Assert.assertEquals(4000L, span.counter("rows"));
+    }
+
+    private static class FilterOddIterator implements Iterator<Integer> {
+
+        private final Iterator<Integer> entries;
+        private Integer next;
+
+        public FilterOddIterator(Iterator<Integer> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null && this.entries.hasNext()) {
+                Integer entry = this.entries.next();
+                // Like deserializing each entry
+                QueryProfile.count("deserialize_time", entry == 1 ? 1L : 0L);
+                if (entry % 2 == 1) {
+                    this.next = entry;
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Integer next() {
+            this.hasNext();
+            Integer next = this.next;
+            this.next = null;
+            return next;
+        }
+    }
+}
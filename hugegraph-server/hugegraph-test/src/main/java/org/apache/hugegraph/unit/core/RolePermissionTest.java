@@ -18,6 +18,8 @@
 package org.apache.hugegraph.unit.core;
 
 import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.auth.HugeAuthenticator;
+import org.apache.hugegraph.auth.HugeAuthenticator.RolePerm;
 import org.apache.hugegraph.auth.HugePermission;
 import org.apache.hugegraph.auth.HugeProject;
 import org.apache.hugegraph.auth.HugeResource;
@@ -578,6 +580,46 @@ public class RolePermissionTest {
         Assert.assertFalse(project.filter(r2));
     }
 
+    @Test
+    public void testMatchAllResources() {
+        HugePermission read = HugePermission.READ;
+        Assert.assertTrue(RolePerm.matchAll(HugeAuthenticator.ROLE_ADMIN,
+                                            read, "hugegraph",
+                                            ResourceType.EDGE));
+        Assert.assertFalse(RolePerm.matchAll(HugeAuthenticator.ROLE_NONE,
+                                             read, "hugegraph",
+                                             ResourceType.EDGE));
+
+        RolePermission all = RolePermission.role("hugegraph", read);
+        Assert.assertTrue(RolePerm.matchAll(all, read, "hugegraph",
+                                            ResourceType.EDGE));
+        Assert.assertFalse(RolePerm.matchAll(all, read, "hugegraph1",
+                                             ResourceType.EDGE));
+
+        RolePermission edges = RolePermission.fromJson(
+                "{\"roles\":{\"hugegraph\":{\"READ\":[" +
+                "{\"type\":\"EDGE\",\"label\":\"*\",\"properties\":null}]}}");
+        Assert.assertTrue(RolePerm.matchAll(edges, read, "hugegraph",
+                                            ResourceType.EDGE));
+        Assert.assertFalse(RolePerm.matchAll(edges, HugePermission.WRITE,
+                                             "hugegraph", ResourceType.EDGE));
+        Assert.assertFalse(RolePerm.matchAll(edges, read, "hugegraph",
+                                             ResourceType.VERTEX));
+
+        // Limited by the label or the properties of edges
+        RolePermission label = RolePermission.fromJson(
+                "{\"roles\":{\"hugegraph\":{\"READ\":[" +
+                "{\"type\":\"EDGE\",\"label\":\"write\",\"properties\":null}]}}");
+        Assert.assertFalse(RolePerm.matchAll(label, read, "hugegraph",
+                                             ResourceType.EDGE));
+        RolePermission props = RolePermission.fromJson(
+                "{\"roles\":{\"hugegraph\":{\"READ\":[" +
+                "{\"type\":\"EDGE\",\"label\":\"*\",\"properties\":" +
+                "{\"date\":\"2018-8-8\"}}]}}");
+        Assert.assertFalse(RolePerm.matchAll(props, read, "hugegraph",
+                                             ResourceType.EDGE));
+    }
+
     private boolean roleContains(RolePermission role, RolePermission other) {
         return Whitebox.invoke(RolePermission.class, "contains", role, other);
     }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hugegraph.unit.core;
+
+import java.util.Set;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.page.SortedIdIntersector;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class SortedIdIntersectorTest {
+
+    @Test
+    public void testRetainAllWithNumberIds() {
+        SortedIdIntersector intersector = new SortedIdIntersector(
+                ImmutableList.of(id(9), id(1), id(5), id(3), id(7), id(5)));
+        Assert.assertEquals(5, intersector.size());
+
+        intersector.retainAll(ImmutableList.of(id(2), id(3), id(7), id(8)));
+        Assert.assertEquals(ImmutableSet.of(id(3), id(7)), intersector.ids());
+
+        intersector.retainAll(ImmutableList.of(id(7)));
+        Assert.assertEquals(ImmutableSet.of(id(7)), intersector.ids());
+
+        intersector.retainAll(ImmutableList.of(id(6)));
+        Assert.assertTrue(intersector.isEmpty());
+    }
+
+    @Test
+    public void testRetainAllWithMixedIds() {
+        SortedIdIntersector intersector = new SortedIdIntersector(
+                ImmutableList.of(id("b"), id(2), id("a"), id(1), id("c")));
+        Assert.assertEquals(5, intersector.size());
+
+        intersector.retainAll(ImmutableList.of(id("c"), id(1), id("a"),
+                                               id("d"), id(3)));
+        Assert.assertEquals(ImmutableSet.of(id(1), id("a"), id("c")),
+                            intersector.ids());
+    }
+
+    @Test
+    public void testRetainByBatches() {
+        SortedIdIntersector intersector = new SortedIdIntersector();
+        for (int i = 0; i < 10000; i += 1000) {
+            ImmutableList.Builder<Id> batch = ImmutableList.builder();
+            for (int j = i; j < i + 1000; j++) {
+                batch.add(id(j * 3));
+            }
+            intersector.addAll(batch.build());
+        }
+        intersector.seal();
+        Assert.assertEquals(10000, intersector.size());
+
+        // Unsorted batches of multiples of 5
+        intersector.retainBegin();
+        for (int i = 9; i >= 0; i--) {
+            ImmutableList.Builder<Id> batch = ImmutableList.builder();
+            for (int j = i * 1000 + 999; j >= i * 1000; j--) {
+                batch.add(id(j * 5));
+            }
+            intersector.retainBatch(batch.build());
+        }
+        intersector.retainEnd();
+
+        Set<Id> ids = intersector.ids();
+        // Multiples of 15 that less than 30000
+        Assert.assertEquals(2000, ids.size());
+        for (Id id : ids) {
+            Assert.assertEquals(0L, id.asLong() % 15L);
+        }
+    }
+
+    @Test
+    public void testRetainWithEmptyPosting() {
+        SortedIdIntersector intersector = new SortedIdIntersector(
+                ImmutableList.of(id(1), id("a")));
+        intersector.retainBegin();
+        intersector.retainEnd();
+        Assert.assertTrue(intersector.isEmpty());
+        Assert.assertEquals(ImmutableSet.of(), intersector.ids());
+    }
+
+    @Test
+    public void testAddDuringIntersection() {
+        SortedIdIntersector intersector = new SortedIdIntersector(
+                ImmutableList.of(id(1)));
+        intersector.retainBegin();
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            intersector.addAll(ImmutableList.of(id(2)));
+        }, e -> {
+            Assert.assertContains("Can't add ids during intersection",
+                                  e.getMessage());
+        });
+    }
+
+    private static Id id(long id) {
+        return IdGenerator.of(id);
+    }
+
+    private static Id id(String id) {
+        return IdGenerator.of(id);
+    }
+}
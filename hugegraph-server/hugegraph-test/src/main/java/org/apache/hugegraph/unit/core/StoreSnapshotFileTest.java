@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.backend.store.raft.StoreSnapshotFile;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.alipay.sofa.jraft.entity.LocalFileMetaOutter.LocalFileMeta;
+import com.alipay.sofa.jraft.entity.RaftOutter.SnapshotMeta;
+import com.alipay.sofa.jraft.option.RaftOptions;
+import com.alipay.sofa.jraft.storage.snapshot.SnapshotReader;
+import com.alipay.sofa.jraft.storage.snapshot.local.LocalSnapshot;
+import com.alipay.sofa.jraft.storage.snapshot.local.LocalSnapshotCopier;
+import com.alipay.sofa.jraft.storage.snapshot.local.LocalSnapshotStorage;
+import com.alipay.sofa.jraft.storage.snapshot.local.LocalSnapshotWriter;
+
+public class StoreSnapshotFileTest extends BaseUnitTest {
+
+    private static final String SST1 = "snapshot_rocksdb-data@000001.sst";
+    private static final String SST2 = "snapshot_rocksdb-data@000002.sst";
+    private static final String SST4 = "snapshot_rocksdb-data@000004.sst";
+    private static final String MANIFEST = "snapshot_rocksdb-data@MANIFEST-000003";
+
+    private Path root;
+
+    @Before
+    public void setup() throws Exception {
+        this.root = Files.createTempDirectory("raft-snapshot");
+    }
+
+    @After
+    public void teardown() {
+        FileUtils.deleteQuietly(this.root.toFile());
+    }
+
+    @Test
+    public void testChecksumOfWholeFile() throws Exception {
+        byte[] bytes = new byte[256 * 1024];
+        Path file = this.root.resolve(SST1);
+        Files.write(file, bytes);
+        String checksum = checksum(file);
+
+        // Corrupt the middle of the file, far from the tail blocks
+        bytes[1024] = 1;
+        Files.write(file, bytes);
+        Assert.assertNotEquals(checksum, checksum(file));
+    }
+
+    @Test
+    public void testFollowerReuseUnchangedSst() throws Exception {
+        RaftOptions options = new RaftOptions();
+
+        // The last snapshot of follower has the sst files 1 and 2
+        LocalSnapshotStorage storage = new LocalSnapshotStorage(
+                this.root.resolve("follower").toString(), options);
+        Assert.assertTrue(storage.init(null));
+        LocalSnapshotWriter last = (LocalSnapshotWriter) storage.create();
+        this.addFile(last, SST1, "sst-1");
+        this.addFile(last, SST2, "sst-2");
+        this.addFile(last, MANIFEST, "manifest-1");
+        last.saveMeta(SnapshotMeta.newBuilder().setLastIncludedIndex(1L)
+                                  .setLastIncludedTerm(1L).build());
+        last.close();
+
+        // The snapshot of leader, sst 1 is unchanged and sst 2 compacted
+        Path leader = Files.createDirectories(this.root.resolve("leader"));
+        LocalSnapshot remote = new LocalSnapshot(options);
+        remote.getMetaTable().addFile(SST1, meta(write(leader, SST1, "sst-1")));
+        remote.getMetaTable().addFile(SST4, meta(write(leader, SST4, "sst-4")));
+        remote.getMetaTable().addFile(MANIFEST,
+                                      meta(write(leader, MANIFEST, "manifest-2")));
+
+        LocalSnapshotCopier copier = new LocalSnapshotCopier();
+        Whitebox.setInternalState(copier, "remoteSnapshot", remote);
+        LocalSnapshotWriter writer = (LocalSnapshotWriter) storage.create(false);
+        SnapshotReader lastReader = storage.open();
+        Whitebox.invoke(LocalSnapshotCopier.class,
+                        new Class<?>[]{LocalSnapshotWriter.class,
+                                       SnapshotReader.class},
+                        "filterBeforeCopy", copier, writer, lastReader);
+
+        // The unchanged sst file is linked from the last snapshot
+        Assert.assertNotNull(writer.getFileMeta(SST1));
+        File linked = new File(writer.getPath(), SST1);
+        Assert.assertTrue(linked.exists());
+        Assert.assertEquals(Files.readAttributes(linked.toPath(), "unix:ino")
+                                 .get("ino"),
+                            Files.readAttributes(new File(lastReader.getPath(),
+                                                          SST1).toPath(),
+                                                 "unix:ino").get("ino"));
+        // The changed files will be copied from leader
+        Assert.assertNull(writer.getFileMeta(SST4));
+        Assert.assertNull(writer.getFileMeta(MANIFEST));
+
+        lastReader.close();
+        writer.close();
+        storage.shutdown();
+    }
+
+    private void addFile(LocalSnapshotWriter writer, String name,
+                         String content) throws Exception {
+        Path file = write(new File(writer.getPath()).toPath(), name, content);
+        Assert.assertTrue(writer.addFile(name, meta(file)));
+    }
+
+    private static Path write(Path dir, String name, String content)
+                              throws Exception {
+        Path file = dir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static LocalFileMeta meta(Path file) {
+        return LocalFileMeta.newBuilder().setChecksum(checksum(file)).build();
+    }
+
+    private static String checksum(Path file) {
+        return Whitebox.invokeStatic(StoreSnapshotFile.class,
+                                     new Class<?>[]{Path.class},
+                                     "checksum", file);
+    }
+}
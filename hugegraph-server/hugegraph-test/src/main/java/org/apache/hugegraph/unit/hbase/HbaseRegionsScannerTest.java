@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.hbase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hugegraph.backend.store.hbase.HbaseRegionsScanner;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HbaseRegionsScannerTest extends BaseUnitTest {
+
+    private static final byte[] FAMILY = {'f'};
+
+    private ExecutorService executor;
+    private List<FakeScanner> scanners;
+
+    @Before
+    public void setup() {
+        this.executor = ExecutorUtil.newFixedThreadPool(4, "hbase-scan-test");
+        this.scanners = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void teardown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testScanWithSlowConsumer() throws Exception {
+        int regions = 4;
+        int rows = 20;
+        // The regions scanned ahead fill their results and wait
+        HbaseRegionsScanner scanner = this.scanner(regions, 3, rows, -1);
+        Thread.sleep(500L);
+
+        List<String> results = new ArrayList<>();
+        for (Result result; (result = scanner.next()) != null; ) {
+            results.add(new String(result.getRow()));
+            Thread.sleep(1L);
+        }
+        scanner.close();
+
+        Assert.assertEquals(regions * rows, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(row(i / rows, i % rows), results.get(i));
+        }
+        this.assertScannersClosed(regions);
+    }
+
+    @Test
+    public void testCloseEarly() throws Exception {
+        // Endless regions, the regions scanned ahead wait for the consumer
+        HbaseRegionsScanner scanner = this.scanner(4, 3, Integer.MAX_VALUE, -1);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(row(0, i), new String(scanner.next().getRow()));
+        }
+        scanner.close();
+        Assert.assertNull(scanner.next());
+
+        // The waiting regions are stopped and their scanners closed
+        this.assertScannersClosed(3);
+        this.executor.shutdown();
+        Assert.assertTrue(this.executor.awaitTermination(5L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testScanWithRegionError() throws Exception {
+        int rows = 10;
+        // The second region fails after some rows
+        HbaseRegionsScanner scanner = this.scanner(3, 2, rows, 5);
+        int count = 0;
+        try {
+            while (scanner.next() != null) {
+                count++;
+            }
+            Assert.fail("Expect an exception");
+        } catch (IOException e) {
+            Assert.assertContains("Failed to scan region", e.getMessage());
+        } finally {
+            scanner.close();
+        }
+        Assert.assertEquals(rows + 5, count);
+    }
+
+    private HbaseRegionsScanner scanner(int regions, int parallelism,
+                                        int rows, int failAt) {
+        List<Scan> scans = new ArrayList<>();
+        for (int i = 0; i < regions; i++) {
+            scans.add(new Scan().withStartRow(new byte[]{(byte) i}));
+        }
+        return new HbaseRegionsScanner(scans, parallelism, 2, this.executor,
+                                       scan -> {
+            int region = scan.getStartRow()[0];
+            FakeScanner scanner = new FakeScanner(region, rows,
+                                                  region == 1 ? failAt : -1);
+            this.scanners.add(scanner);
+            return scanner;
+        });
+    }
+
+    private void assertScannersClosed(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (System.currentTimeMillis() < deadline &&
+               this.scanners.stream().filter(s -> s.closed).count() < expected) {
+            Thread.sleep(10L);
+        }
+        Assert.assertTrue(this.scanners.size() >= expected);
+        for (FakeScanner scanner : this.scanners) {
+            Assert.assertTrue(scanner.closed);
+        }
+    }
+
+    private static String row(int region, int index) {
+        return region + "-" + index;
+    }
+
+    private static class FakeScanner implements ResultScanner {
+
+        private final int region;
+        private final int rows;
+        private final int failAt;
+        private int index;
+        private volatile boolean closed;
+
+        public FakeScanner(int region, int rows, int failAt) {
+            this.region = region;
+            this.rows = rows;
+            this.failAt = failAt;
+            this.index = 0;
+            this.closed = false;
+        }
+
+        @Override
+        public Result next() throws IOException {
+            if (this.index == this.failAt) {
+                throw new IOException("Region server is gone");
+            }
+            if (this.index >= this.rows) {
+                return null;
+            }
+            byte[] row = row(this.region, this.index++).getBytes();
+            return Result.create(new Cell[]{
+                    new KeyValue(row, FAMILY, FAMILY, row)
+            });
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+
+        @Override
+        public boolean renewLease() {
+            return false;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.mysql;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hugegraph.backend.store.mysql.MysqlSessions;
+import org.apache.hugegraph.backend.store.mysql.MysqlTable;
+import org.apache.hugegraph.backend.store.mysql.MysqlTables;
+import org.apache.hugegraph.backend.store.postgresql.PostgresqlTable;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.common.collect.ImmutableList;
+
+public class BulkInsertTest extends BaseUnitTest {
+
+    private static final List<HugeKeys> COLUMNS = ImmutableList.of(
+            HugeKeys.ID, HugeKeys.LABEL, HugeKeys.PROPERTIES);
+
+    @Test
+    public void testBuildBulkInsertTemplate() {
+        MysqlTable table = new MysqlTables.Vertex("g");
+
+        Assert.assertEquals("REPLACE INTO g_v (ID, LABEL, PROPERTIES) " +
+                            "VALUES (?, ?, ?)",
+                            bulkInsertTemplate(table, COLUMNS, 1));
+        Assert.assertEquals("REPLACE INTO g_v (ID, LABEL, PROPERTIES) " +
+                            "VALUES (?, ?, ?), (?, ?, ?), (?, ?, ?)",
+                            bulkInsertTemplate(table, COLUMNS, 3));
+        Assert.assertEquals("REPLACE INTO g_v (ID) VALUES (?), (?)",
+                            bulkInsertTemplate(table,
+                                               ImmutableList.of(HugeKeys.ID),
+                                               2));
+    }
+
+    @Test
+    public void testInsertBulkSplitByRows() throws Exception {
+        MysqlTable table = new MysqlTables.Vertex("g");
+        Connection conn = Mockito.mock(Connection.class);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(conn.prepareStatement(Mockito.anyString()))
+               .thenReturn(statement);
+        Mockito.when(statement.executeUpdate()).thenReturn(1);
+        MysqlSessions.Session session = Mockito.mock(
+                                        MysqlSessions.Session.class);
+        Mockito.when(session.connection()).thenReturn(conn);
+
+        List<List<?>> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(ImmutableList.of("v" + i, 1, "{}"));
+        }
+        int updated = Whitebox.invoke(MysqlTable.class,
+                                      new Class<?>[]{MysqlSessions.Session.class,
+                                                     List.class, List.class},
+                                      "insertBulk", table, session,
+                                      COLUMNS, rows);
+        Assert.assertEquals(3, updated);
+
+        // At most 1000 rows of a statement, and the rows are kept in order
+        ArgumentCaptor<String> sqls = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(conn, Mockito.times(3)).prepareStatement(sqls.capture());
+        Assert.assertEquals(bulkInsertTemplate(table, COLUMNS, 1000),
+                            sqls.getAllValues().get(0));
+        Assert.assertEquals(bulkInsertTemplate(table, COLUMNS, 1000),
+                            sqls.getAllValues().get(1));
+        Assert.assertEquals(bulkInsertTemplate(table, COLUMNS, 500),
+                            sqls.getAllValues().get(2));
+        Mockito.verify(statement).setObject(1, "v0");
+        Mockito.verify(statement).setObject(3 * 999 + 1, "v999");
+        Mockito.verify(statement).setObject(3 * 499 + 1, "v2499");
+        Mockito.verify(statement, Mockito.times(2500 * 3))
+               .setObject(Mockito.anyInt(), Mockito.any());
+        Mockito.verify(statement, Mockito.times(3)).close();
+    }
+
+    @Test
+    public void testAppendCopyValue() {
+        Assert.assertEquals("\\N", copyValue(null));
+        Assert.assertEquals("", copyValue(""));
+        Assert.assertEquals("abc", copyValue("abc"));
+        Assert.assertEquals("a\\tb", copyValue("a\tb"));
+        Assert.assertEquals("a\\nb", copyValue("a\nb"));
+        Assert.assertEquals("a\\rb", copyValue("a\rb"));
+        Assert.assertEquals("a\\\\b", copyValue("a\\b"));
+        Assert.assertEquals("\\\\N", copyValue("\\N"));
+        Assert.assertEquals("\\\\t\\t", copyValue("\\t\t"));
+        Assert.assertEquals("{\"k\":\"v\"}", copyValue("{\"k\":\"v\"}"));
+
+        Assert.assertEquals("123", copyValue(123));
+        Assert.assertEquals("-1.5", copyValue(-1.5D));
+        Assert.assertEquals("true", copyValue(true));
+        Assert.assertEquals("10000000000",
+                            copyValue(new BigDecimal("1E+10")));
+    }
+
+    private static String bulkInsertTemplate(MysqlTable table,
+                                             List<HugeKeys> columns,
+                                             int rows) {
+        return Whitebox.invoke(MysqlTable.class,
+                               new Class<?>[]{List.class, int.class},
+                               "buildBulkInsertTemplate", table,
+                               columns, rows);
+    }
+
+    private static String copyValue(Object value) {
+        StringBuilder data = new StringBuilder();
+        Whitebox.invokeStatic(PostgresqlTable.class,
+                              new Class<?>[]{StringBuilder.class,
+                                             Object.class},
+                              "appendCopyValue", data, value);
+        return data.toString();
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.unit.serializer;
 
+import org.apache.hugegraph.backend.id.IdGenerator;
 import org.apache.hugegraph.backend.serializer.BinarySerializer;
 import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.hugegraph.config.HugeConfig;
@@ -26,8 +27,11 @@ import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.testutil.Whitebox;
 import org.apache.hugegraph.unit.BaseUnitTest;
 import org.apache.hugegraph.unit.FakeObjects;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+
 public class BinarySerializerTest extends BaseUnitTest {
 
     @Test
@@ -80,6 +84,37 @@ public class BinarySerializerTest extends BaseUnitTest {
         assertCollectionEquals(edge2.getProperties(), edge.getProperties());
     }
 
+    @Test
+    public void testReadAdjacentVertexIds() {
+        HugeConfig config = FakeObjects.newConfig();
+        BinarySerializer ser = new BinarySerializer(config);
+
+        FakeObjects objects = new FakeObjects();
+        HugeEdge edge1 = objects.newEdge(123, 456);
+        HugeEdge edge2 = objects.newEdge("123", "abc");
+
+        BackendEntry entry1 = ser.writeEdge(edge1);
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of(456)),
+                            IteratorUtils.list(
+                            ser.readAdjacentVertexIds(entry1)));
+        BackendEntry entry2 = ser.writeEdge(edge1.switchOwner());
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of(123)),
+                            IteratorUtils.list(
+                            ser.readAdjacentVertexIds(entry2)));
+
+        BackendEntry entry3 = ser.writeEdge(edge2);
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of("abc")),
+                            IteratorUtils.list(
+                            ser.readAdjacentVertexIds(entry3)));
+
+        BackendEntry entry4 = ser.writeVertex(edge1.sourceVertex());
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            ser.readAdjacentVertexIds(entry4);
+        }, e -> {
+            Assert.assertContains("Expect edge entry", e.getMessage());
+        });
+    }
+
     @Test
     public void testVertexForPartition() {
         BinarySerializer ser = new BinarySerializer(true, true, true);
@@ -127,4 +162,21 @@ public class BinarySerializerTest extends BaseUnitTest {
         Assert.assertEquals(edge2, edge);
         assertCollectionEquals(edge2.getProperties(), edge.getProperties());
     }
+
+    @Test
+    public void testReadAdjacentVertexIdsForPartition() {
+        BinarySerializer ser = new BinarySerializer(true, true, true);
+
+        FakeObjects objects = new FakeObjects();
+        HugeEdge edge1 = objects.newEdge("123", "456");
+
+        BackendEntry entry1 = ser.writeEdge(edge1);
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of("456")),
+                            IteratorUtils.list(ser.readAdjacentVertexIds(
+                                               ser.parse(entry1))));
+        BackendEntry entry2 = ser.writeEdge(edge1.switchOwner());
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of("123")),
+                            IteratorUtils.list(ser.readAdjacentVertexIds(
+                                               ser.parse(entry2))));
+    }
 }
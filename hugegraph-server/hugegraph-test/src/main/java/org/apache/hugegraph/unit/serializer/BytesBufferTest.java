@@ -69,6 +69,43 @@ public class BytesBufferTest extends BaseUnitTest {
                                  buf0.bytes());
     }
 
+    @Test
+    public void testAllocatePooled() {
+        BytesBuffer buf = BytesBuffer.allocatePooled();
+        buf.write(new byte[]{1, 2, 3, 4});
+        byte[] bytes = buf.bytes();
+        Assert.assertArrayEquals(new byte[]{1, 2, 3, 4}, bytes);
+        Assert.assertNotSame(buf.array(), bytes);
+
+        // Nested allocation gets a new buffer
+        BytesBuffer nested = BytesBuffer.allocatePooled();
+        Assert.assertNotSame(buf, nested);
+        nested.release();
+        buf.release();
+
+        // Reuse the released buffer and the written bytes are not affected
+        BytesBuffer reused = BytesBuffer.allocatePooled();
+        Assert.assertSame(nested, reused);
+        Assert.assertEquals(0, reused.position());
+        reused.write(new byte[]{5, 6});
+        Assert.assertArrayEquals(new byte[]{5, 6}, reused.bytes());
+        Assert.assertArrayEquals(new byte[]{1, 2, 3, 4}, bytes);
+        reused.release();
+
+        // The too big buffer is not reused
+        BytesBuffer big = BytesBuffer.allocatePooled();
+        big.write(new byte[BytesBuffer.POOLED_CAPACITY_MAX + 1]);
+        big.release();
+        Assert.assertNotSame(big, BytesBuffer.allocatePooled());
+
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            BytesBuffer.allocate(4).release();
+        }, e -> {
+            Assert.assertContains("Can't release the buffer not pooled",
+                                  e.getMessage());
+        });
+    }
+
     @Test
     public void testWrap() {
         BytesBuffer buf4 = BytesBuffer.wrap(new byte[]{1, 2, 3, 4});
@@ -91,6 +128,13 @@ public class BytesBufferTest extends BaseUnitTest {
         Assert.assertArrayEquals(bytes, BytesBuffer.allocate(5)
                                                    .writeId(id).bytes());
         Assert.assertEquals(id, BytesBuffer.wrap(bytes).readId());
+
+        id = IdGenerator.of("\u4f60");
+        bytes = new byte[]{(byte) 0x82, (byte) 0xe4, (byte) 0xbd, (byte) 0xa0};
+
+        Assert.assertArrayEquals(bytes, BytesBuffer.allocate(4)
+                                                   .writeId(id).bytes());
+        Assert.assertEquals(id, BytesBuffer.wrap(bytes).readId());
     }
 
     @Test
@@ -521,6 +565,30 @@ public class BytesBufferTest extends BaseUnitTest {
         Assert.assertEquals(id, BytesBuffer.wrap(bytes).readId());
     }
 
+    @Test
+    public void testSkipId() {
+        BytesBuffer buf = BytesBuffer.allocate(0);
+        buf.writeId(IdGenerator.of(123456789L));
+        buf.writeId(IdGenerator.of(-1L));
+        buf.writeId(IdGenerator.of("abc"));
+        buf.writeId(IdGenerator.of(genString(200)));
+        buf.writeId(IdGenerator.of("835e1153928149578691cf79258e90eb", true));
+        buf.writeStringWithEnding("sort-values");
+        buf.writeId(IdGenerator.of("end"));
+
+        buf.forReadWritten();
+        buf.skipId().skipId().skipId().skipId().skipId();
+        buf.skipStringWithEnding();
+        Assert.assertEquals(IdGenerator.of("end"), buf.readId());
+        Assert.assertEquals(0, buf.remaining());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            BytesBuffer.wrap(genBytes("616263")).skipStringWithEnding();
+        }, e -> {
+            Assert.assertContains("Not found ending", e.getMessage());
+        });
+    }
+
     @Test
     public void testVarInt() {
         Assert.assertArrayEquals(new byte[]{0},
@@ -1010,6 +1078,11 @@ public class BytesBufferTest extends BaseUnitTest {
         Assert.assertArrayEquals(bytes, buf.writeString("abcd").bytes());
         Assert.assertEquals("abcd", BytesBuffer.wrap(bytes).readString());
 
+        bytes = genBytes("06e4bda0e5a5bd");
+        buf = BytesBuffer.allocate(0);
+        Assert.assertArrayEquals(bytes, buf.writeString("\u4f60\u597d").bytes());
+        Assert.assertEquals("\u4f60\u597d", BytesBuffer.wrap(bytes).readString());
+
         bytes = genBytes("6162636400");
         buf = BytesBuffer.allocate(0);
         Assert.assertArrayEquals(bytes,
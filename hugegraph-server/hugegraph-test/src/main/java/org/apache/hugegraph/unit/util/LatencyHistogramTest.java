@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.unit.util;
+
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.util.LatencyHistogram;
+import org.junit.Test;
+
+public class LatencyHistogramTest extends BaseUnitTest {
+
+    @Test
+    public void testRecord() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(0L, snapshot.count());
+        Assert.assertEquals(0.0D, snapshot.mean(), 0.0D);
+        Assert.assertEquals(0.0D, snapshot.value(0.99D), 0.0D);
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        snapshot = histogram.snapshot();
+        Assert.assertEquals(100L, snapshot.count());
+        Assert.assertEquals(5050L, snapshot.sum());
+        Assert.assertEquals(100L, snapshot.max());
+        Assert.assertEquals(1L, snapshot.min());
+        Assert.assertEquals(50.5D, snapshot.mean(), 0.0D);
+
+        // The small values are exact
+        Assert.assertEquals(1.0D, snapshot.value(0.0D), 0.0D);
+        Assert.assertEquals(5.0D, snapshot.value(0.05D), 0.0D);
+        // The relative error of large values is less than 12.5%
+        assertApproximate(50.0D, snapshot.value(0.5D));
+        assertApproximate(99.0D, snapshot.value(0.99D));
+        Assert.assertEquals(100.0D, snapshot.value(1.0D), 0.0D);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            histogram.snapshot().value(1.1D);
+        }, e -> {
+            Assert.assertContains("The quantile must be in range [0, 1]",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testRecordLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1L);
+        histogram.record(1_000_000_000L);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(3L, snapshot.count());
+        Assert.assertEquals(0L, snapshot.min());
+        assertApproximate(1_000_000_000.0D, snapshot.value(0.5D));
+        // The too large values are truncated
+        Assert.assertEquals((1L << 40) - 1L, snapshot.max());
+        Assert.assertEquals((double) snapshot.max(), snapshot.value(1.0D),
+                            0.0D);
+    }
+
+    @Test
+    public void testRecordConcurrently() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        runWithThreads(8, () -> {
+            for (int i = 0; i < 10000; i++) {
+                histogram.record(i);
+            }
+        });
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(80000L, snapshot.count());
+        Assert.assertEquals(9999L, snapshot.max());
+        assertApproximate(5000.0D, snapshot.value(0.5D));
+    }
+
+    private static void assertApproximate(double expected, double actual) {
+        Assert.assertTrue(String.format("Expect %s ~ %s", actual, expected),
+                          Math.abs(actual - expected) <= expected * 0.125D);
+    }
+}
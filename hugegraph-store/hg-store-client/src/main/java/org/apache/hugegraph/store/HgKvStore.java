@@ -20,6 +20,7 @@ package org.apache.hugegraph.store;
 import java.util.List;
 
 import org.apache.hugegraph.store.client.grpc.KvCloseableIterator;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
 import org.apache.hugegraph.store.grpc.stream.ScanStreamReq;
 
 /**
@@ -100,6 +101,26 @@ public interface HgKvStore {
 
     long count(String table);
 
+    /**
+     * Count the elements of table inside the stores.
+     *
+     * @param query the serialized condition query of the labels to filter
+     *              the elements, or null to count all the elements
+     */
+    long count(String table, byte[] query);
+
+    /**
+     * Traverse from the source vertices by the steps of request inside the
+     * store nodes, only the frontier ids are exchanged between the nodes.
+     *
+     * @param sources  the owner keys of source vertices, the owner is the id
+     *                 bytes and the key is the serialized id
+     * @param request  the steps, nearest and limit of the traversal
+     * @param capacity the max number of vertices to be visited, 0 means no limit
+     * @return the serialized ids of the vertices reached by the last step
+     */
+    List<byte[]> traverse(List<HgOwnerKey> sources, TraverseReq.Builder request, long capacity);
+
     boolean truncate();
 
     default boolean existsTable(String table) {
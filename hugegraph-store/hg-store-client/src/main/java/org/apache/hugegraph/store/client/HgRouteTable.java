@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The routes of a graph, from the key code ranges to the partitions and
+ * their leaders.
+ * <p>
+ * The table is immutable, every change creates a new table with a greater
+ * version, so that the routes are looked up without any lock, and a stale
+ * change (like the one made by a slow writer) can be detected by the version.
+ */
+@Immutable
+public final class HgRouteTable {
+
+    private static final HgRouteTable EMPTY = new HgRouteTable(0L, new TreeMap<>());
+
+    private final long version;
+    // Start key -> route
+    private final NavigableMap<Long, Route> routes;
+
+    private HgRouteTable(long version, NavigableMap<Long, Route> routes) {
+        this.version = version;
+        this.routes = Collections.unmodifiableNavigableMap(routes);
+    }
+
+    public static HgRouteTable empty() {
+        return EMPTY;
+    }
+
+    public long version() {
+        return this.version;
+    }
+
+    public int size() {
+        return this.routes.size();
+    }
+
+    /**
+     * @return the route of the key code, or null if unknown
+     */
+    public Route route(long code) {
+        Map.Entry<Long, Route> entry = this.routes.floorEntry(code);
+        if (entry == null || code >= entry.getValue().endKey) {
+            return null;
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * @return the route of the partition, or null if unknown
+     */
+    public Route routeOf(int partitionId) {
+        for (Route route : this.routes.values()) {
+            if (route.partitionId == partitionId) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add the route, the routes overlapping with it (like the routes of a
+     * partition before split) are replaced
+     */
+    public HgRouteTable put(Route route) {
+        NavigableMap<Long, Route> routes = new TreeMap<>(this.routes);
+        Map.Entry<Long, Route> lower = routes.lowerEntry(route.startKey);
+        if (lower != null && lower.getValue().endKey > route.startKey) {
+            routes.remove(lower.getKey());
+        }
+        routes.subMap(route.startKey, true, route.endKey, false).clear();
+        routes.put(route.startKey, route);
+        return new HgRouteTable(this.version + 1, routes);
+    }
+
+    /**
+     * Change the leader of the partition, like by the redirect hint of a store
+     */
+    public HgRouteTable leader(int partitionId, long leaderId) {
+        Route route = this.routeOf(partitionId);
+        if (route == null || route.leaderId == leaderId) {
+            return this;
+        }
+        return this.put(new Route(partitionId, route.startKey, route.endKey, leaderId));
+    }
+
+    public HgRouteTable remove(int partitionId) {
+        Route route = this.routeOf(partitionId);
+        if (route == null) {
+            return this;
+        }
+        NavigableMap<Long, Route> routes = new TreeMap<>(this.routes);
+        routes.remove(route.startKey);
+        return new HgRouteTable(this.version + 1, routes);
+    }
+
+    /**
+     * Remove the routes led by the store, like the store is offline
+     */
+    public HgRouteTable removeLeader(long storeId) {
+        NavigableMap<Long, Route> routes = new TreeMap<>(this.routes);
+        if (!routes.values().removeIf(route -> route.leaderId == storeId)) {
+            return this;
+        }
+        return new HgRouteTable(this.version + 1, routes);
+    }
+
+    /**
+     * @return the partitions led by the store
+     */
+    public List<Integer> partitionsOf(long storeId) {
+        List<Integer> partitions = new ArrayList<>();
+        for (Route route : this.routes.values()) {
+            if (route.leaderId == storeId) {
+                partitions.add(route.partitionId);
+            }
+        }
+        return partitions;
+    }
+
+    @Immutable
+    public static final class Route {
+
+        private final int partitionId;
+        private final long startKey;
+        private final long endKey;
+        private final long leaderId;
+
+        public Route(int partitionId, long startKey, long endKey, long leaderId) {
+            this.partitionId = partitionId;
+            this.startKey = startKey;
+            this.endKey = endKey;
+            this.leaderId = leaderId;
+        }
+
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        public long getStartKey() {
+            return startKey;
+        }
+
+        public long getEndKey() {
+            return endKey;
+        }
+
+        public long getLeaderId() {
+            return leaderId;
+        }
+
+        @Override
+        public String toString() {
+            return "Route{" +
+                   "partitionId=" + partitionId +
+                   ", startKey=" + startKey +
+                   ", endKey=" + endKey +
+                   ", leaderId=" + leaderId +
+                   '}';
+        }
+    }
+}
@@ -20,12 +20,20 @@ package org.apache.hugegraph.store.client;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.hugegraph.pd.client.PDClient;
 import org.apache.hugegraph.pd.common.KVPair;
 import org.apache.hugegraph.pd.common.PDException;
 import org.apache.hugegraph.pd.common.PartitionUtils;
 import org.apache.hugegraph.pd.grpc.Metapb;
+import org.apache.hugegraph.pd.grpc.watch.WatchChangeType;
+import org.apache.hugegraph.pd.grpc.watch.WatchResponse;
+import org.apache.hugegraph.pd.grpc.watch.WatchShardGroupResponse;
+import org.apache.hugegraph.pd.watch.NodeEvent;
+import org.apache.hugegraph.pd.watch.PartitionEvent;
 import org.apache.hugegraph.store.client.type.HgNodeStatus;
 import org.apache.hugegraph.store.client.util.HgStoreClientConst;
 
@@ -36,6 +44,14 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
                                                    HgStoreNodeProvider,
                                                    HgStoreNodeNotifier {
 
+    // Graph name -> route table, which is replaced rather than modified
+    private final Map<String, HgRouteTable> routeTables = new ConcurrentHashMap<>();
+    /*
+     * Graph name -> the count of route changes, which is increased before
+     * every change of the graph, a route fetched from PD is installed only if
+     * no change of the graph during the fetch
+     */
+    private final Map<String, AtomicLong> routeChanges = new ConcurrentHashMap<>();
     private PDClient pdClient;
     private HgStoreNodeManager nodeManager;
 
@@ -45,6 +61,7 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
     public HgStoreNodePartitionerImpl(PDClient pdClient, HgStoreNodeManager nodeManager) {
         this.pdClient = pdClient;
         this.nodeManager = nodeManager;
+        this.pdClient.addEventListener(new RouteRefresher());
     }
 
     /**
@@ -64,12 +81,10 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
 
             } else if (endKey == HgStoreClientConst.EMPTY_BYTES
                        || startKey == endKey || Arrays.equals(startKey, endKey)) {
-                KVPair<Metapb.Partition, Metapb.Shard> partShard =
-                        pdClient.getPartition(graphName, startKey);
-                Metapb.Shard leader = partShard.getValue();
+                int code = PartitionUtils.calcHashcode(startKey);
+                HgRouteTable.Route route = this.route(graphName, code);
                 partitions = new HashSet<>();
-                partitions.add(HgNodePartition.of(leader.getStoreId(),
-                                                  pdClient.keyToCode(graphName, startKey)));
+                partitions.add(HgNodePartition.of(route.getLeaderId(), code));
             } else {
                 log.warn(
                         "StartOwnerkey is not equal to endOwnerkey, which is meaningless!!, It is" +
@@ -93,21 +108,14 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
                          int startKey, int endKey) {
         try {
             HashSet<HgNodePartition> partitions = new HashSet<>();
-            Metapb.Partition partition = null;
-            while ((partition == null || partition.getEndKey() < endKey)
+            HgRouteTable.Route route = null;
+            while ((route == null || route.getEndKey() < endKey)
                    && startKey < PartitionUtils.MAX_VALUE) {
-                KVPair<Metapb.Partition, Metapb.Shard> partShard =
-                        pdClient.getPartitionByCode(graphName, startKey);
-                if (partShard != null) {
-                    partition = partShard.getKey();
-                    Metapb.Shard leader = partShard.getValue();
-                    partitions.add(HgNodePartition.of(leader.getStoreId(), startKey,
-                                                      (int) partition.getStartKey(),
-                                                      (int) partition.getEndKey()));
-                    startKey = (int) partition.getEndKey();
-                } else {
-                    break;
-                }
+                route = this.route(graphName, startKey);
+                partitions.add(HgNodePartition.of(route.getLeaderId(), startKey,
+                                                  (int) route.getStartKey(),
+                                                  (int) route.getEndKey()));
+                startKey = (int) route.getEndKey();
             }
             builder.setPartitions(partitions);
         } catch (PDException e) {
@@ -122,15 +130,18 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
                          int partitionId) {
         try {
             HashSet<HgNodePartition> partitions = new HashSet<>();
-            Metapb.Partition partition = null;
-
-            KVPair<Metapb.Partition, Metapb.Shard> partShard =
-                    pdClient.getPartitionById(graphName, partitionId);
-            if (partShard != null) {
-                partition = partShard.getKey();
-                Metapb.Shard leader = partShard.getValue();
-                partitions.add(
-                        HgNodePartition.of(leader.getStoreId(), (int) partition.getStartKey()));
+            long changes = this.routeChanges(graphName).get();
+            HgRouteTable.Route route = this.routeTable(graphName).routeOf(partitionId);
+            if (route == null) {
+                KVPair<Metapb.Partition, Metapb.Shard> partShard =
+                        pdClient.getPartitionById(graphName, partitionId);
+                if (partShard != null) {
+                    route = this.install(graphName, partShard, changes);
+                }
+            }
+            if (route != null) {
+                partitions.add(HgNodePartition.of(route.getLeaderId(),
+                                                  (int) route.getStartKey()));
             }
             builder.setPartitions(partitions);
         } catch (PDException e) {
@@ -163,7 +174,11 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
     public int notice(String graphName, HgStoreNotice storeNotice) {
         log.warn(storeNotice.toString());
         if (storeNotice.getPartitionLeaders() != null) {
+            // The redirect hints of the store, the routes are corrected without PD
+            this.routeChanges(graphName).incrementAndGet();
             storeNotice.getPartitionLeaders().forEach((partId, leader) -> {
+                this.routeTables.computeIfPresent(graphName,
+                                                  (k, table) -> table.leader(partId, leader));
                 pdClient.updatePartitionLeader(graphName, partId, leader);
                 log.warn("updatePartitionLeader:{}-{}-{}",
                          graphName, partId, leader);
@@ -171,19 +186,89 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
         }
         if (storeNotice.getPartitionIds() != null) {
             storeNotice.getPartitionIds().forEach(partId -> {
-                pdClient.invalidPartitionCache(graphName, partId);
+                this.invalidRoute(graphName, partId);
             });
         }
         if (!storeNotice.getNodeStatus().equals(
                 HgNodeStatus.PARTITION_COMMON_FAULT)
             && !storeNotice.getNodeStatus().equals(
-                HgNodeStatus.NOT_PARTITION_LEADER)) {
-            pdClient.invalidPartitionCache();
-            log.warn("invalidPartitionCache:{} ", storeNotice.getNodeStatus());
+                HgNodeStatus.NOT_PARTITION_LEADER) && storeNotice.getNodeId() != null) {
+            // Only the routes led by the store are fetched from PD again
+            long storeId = storeNotice.getNodeId();
+            this.routeTables.forEach((graph, table) -> {
+                table.partitionsOf(storeId).forEach(partId -> this.invalidRoute(graph, partId));
+            });
+            log.warn("invalidPartitionCache:{} of store {}", storeNotice.getNodeStatus(),
+                     storeId);
         }
         return 0;
     }
 
+    /**
+     * Find the route of the key code in the route table, which is fetched
+     * from PD only if the route is unknown
+     */
+    private HgRouteTable.Route route(String graphName, int code) throws PDException {
+        long changes = this.routeChanges(graphName).get();
+        HgRouteTable table = this.routeTable(graphName);
+        HgRouteTable.Route route = table.route(code);
+        if (route != null) {
+            return route;
+        }
+        KVPair<Metapb.Partition, Metapb.Shard> partShard =
+                pdClient.getPartitionByCode(graphName, code);
+        if (partShard == null || partShard.getValue() == null) {
+            throw new PDException(-1, String.format("No leader of partition in graph %s " +
+                                                    "for code %s", graphName, code));
+        }
+        return this.install(graphName, partShard, changes);
+    }
+
+    /**
+     * Install the route fetched from PD. If the routes have been changed
+     * during the fetch (like removed by a watch event), the fetched route may
+     * be stale, then it's only used by the current request and not installed
+     */
+    private HgRouteTable.Route install(String graphName,
+                                       KVPair<Metapb.Partition, Metapb.Shard> partShard,
+                                       long changes) {
+        Metapb.Partition partition = partShard.getKey();
+        HgRouteTable.Route route = new HgRouteTable.Route(partition.getId(),
+                                                          partition.getStartKey(),
+                                                          partition.getEndKey(),
+                                                          partShard.getValue().getStoreId());
+        this.routeTables.compute(graphName, (k, current) -> {
+            if (this.routeChanges(graphName).get() != changes) {
+                return current;
+            }
+            return current == null ? HgRouteTable.empty().put(route) : current.put(route);
+        });
+        return route;
+    }
+
+    private AtomicLong routeChanges(String graphName) {
+        return this.routeChanges.computeIfAbsent(graphName, k -> new AtomicLong());
+    }
+
+    /**
+     * Increase the route changes of all the graphs, like the routes of all
+     * the graphs are changed by a store
+     */
+    private void allRouteChanged() {
+        this.routeChanges.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    private HgRouteTable routeTable(String graphName) {
+        HgRouteTable table = this.routeTables.get(graphName);
+        return table == null ? HgRouteTable.empty() : table;
+    }
+
+    private void invalidRoute(String graphName, int partitionId) {
+        this.routeChanges(graphName).incrementAndGet();
+        this.routeTables.computeIfPresent(graphName, (k, table) -> table.remove(partitionId));
+        pdClient.invalidPartitionCache(graphName, partitionId);
+    }
+
     public Metapb.Graph delGraph(String graphName) {
         try {
             return pdClient.delGraph(graphName);
@@ -196,4 +281,62 @@ public class HgStoreNodePartitionerImpl implements HgStoreNodePartitioner,
     public void setNodeManager(HgStoreNodeManager nodeManager) {
         this.nodeManager = nodeManager;
     }
+
+    /**
+     * Refresh the route tables by the events watched from PD
+     */
+    private class RouteRefresher implements PDClient.PDEventListener {
+
+        @Override
+        public void onStoreChanged(NodeEvent event) {
+            allRouteChanged();
+            if (event.getEventType() == NodeEvent.EventType.NODE_OFFLINE) {
+                routeTables.replaceAll((graph, table) -> table.removeLeader(event.getNodeId()));
+            } else if (event.getEventType() == NodeEvent.EventType.NODE_PD_LEADER_CHANGE) {
+                // The events may be lost while the watch is reconnecting
+                routeTables.clear();
+            }
+        }
+
+        @Override
+        public void onPartitionChanged(PartitionEvent event) {
+            routeChanges(event.getGraph()).incrementAndGet();
+            if (event.getChangeType() == PartitionEvent.ChangeType.DEL) {
+                routeTables.remove(event.getGraph());
+            } else {
+                routeTables.computeIfPresent(event.getGraph(), (graph, table) -> {
+                    return table.remove(event.getPartitionId());
+                });
+            }
+        }
+
+        @Override
+        public void onGraphChanged(WatchResponse event) {
+        }
+
+        @Override
+        public void onCacheReset() {
+            // The events may be lost while the watch is broken
+            allRouteChanged();
+            routeTables.clear();
+        }
+
+        @Override
+        public void onShardGroupChanged(WatchResponse event) {
+            WatchShardGroupResponse response = event.getShardGroupResponse();
+            int partitionId = response.getShardGroupId();
+            allRouteChanged();
+            if (response.getType() == WatchChangeType.WATCH_CHANGE_TYPE_DEL) {
+                routeTables.replaceAll((graph, table) -> table.remove(partitionId));
+            } else if (response.getType() == WatchChangeType.WATCH_CHANGE_TYPE_ALTER) {
+                for (Metapb.Shard shard : response.getShardGroup().getShardsList()) {
+                    if (shard.getRole() == Metapb.ShardRole.Leader) {
+                        routeTables.replaceAll((graph, table) -> {
+                            return table.leader(partitionId, shard.getStoreId());
+                        });
+                    }
+                }
+            }
+        }
+    }
 }
@@ -18,6 +18,8 @@
 package org.apache.hugegraph.store.client;
 
 import org.apache.hugegraph.store.HgStoreSession;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
 
 /**
  * created on 2021/10/11
@@ -40,4 +42,11 @@ public interface HgStoreNodeSession extends HgStoreSession {
      */
     HgStoreNode getStoreNode();
 
+    /**
+     * Expand the frontiers of a traversal in the partitions led by the node.
+     *
+     * @return the ids of the last step, and the frontiers of the other nodes
+     */
+    TraverseRes traverse(TraverseReq request);
+
 }
@@ -28,9 +28,16 @@ import static org.apache.hugegraph.store.client.util.HgStoreClientUtil.toStr;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -50,10 +57,16 @@ import org.apache.hugegraph.store.client.grpc.KvCloseableIterator;
 import org.apache.hugegraph.store.client.util.HgAssert;
 import org.apache.hugegraph.store.client.util.HgStoreClientConst;
 import org.apache.hugegraph.store.client.util.HgStoreClientUtil;
+import org.apache.hugegraph.store.grpc.common.ResCode;
+import org.apache.hugegraph.store.grpc.session.Frontier;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
 import org.apache.hugegraph.store.grpc.stream.ScanStreamReq.Builder;
 import org.apache.hugegraph.store.term.HgPair;
 import org.apache.hugegraph.store.term.HgTriple;
 
+import com.google.protobuf.ByteString;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -65,6 +78,10 @@ import lombok.extern.slf4j.Slf4j;
 @NotThreadSafe
 class NodeTxSessionProxy implements HgStoreSession {
 
+    // The max rounds of exchanging frontiers, to avoid the endless forwards
+    // between the nodes with the stale partition leaders
+    private static final int TRAVERSE_MAX_ROUNDS = 1024;
+
     private final HgStoreNodeManager nodeManager;
     private final HgStoreNodePartitioner nodePartitioner;
     private final String graphName;
@@ -514,6 +531,241 @@ class NodeTxSessionProxy implements HgStoreSession {
                    .collect(Collectors.summingLong(l -> l));
     }
 
+    @Override
+    public long count(String table, byte[] query) {
+        return this.toNodeTkvList(table)
+                   .parallelStream()
+                   .map(e -> this.getStoreNode(e.getNodeId()).openSession(this.graphName)
+                                 .count(e.getTable(), query))
+                   .collect(Collectors.summingLong(l -> l));
+    }
+
+    /**
+     * Each node expands the frontiers of its leader partitions by the steps
+     * as deep as possible, the vertices of the other partitions are returned
+     * as forwards and sent to their nodes in the next round, until no more
+     * forwards. In nearest mode the nodes expand the steps level by level,
+     * see traverseNearest().
+     */
+    @Override
+    public List<byte[]> traverse(List<HgOwnerKey> sources, TraverseReq.Builder request,
+                                 long capacity) {
+        isArgumentNotNull(sources, "sources");
+        isArgumentNotNull(request, "request");
+        isArgumentValid(request.getStepsList(), "steps");
+
+        if (request.getNearest()) {
+            return this.traverseNearest(sources, request, capacity);
+        }
+
+        long limit = request.getLimit() > 0L ? request.getLimit() : Long.MAX_VALUE;
+        // Node id -> (step -> (vertex id -> key code))
+        Map<Long, Map<Integer, Map<ByteString, Integer>>> pending = new TreeMap<>();
+        Set<ByteString> results = new LinkedHashSet<>();
+
+        for (HgOwnerKey source : sources) {
+            HgNodePartition partition = this.doPartition(null, source.getOwner(),
+                                                         source.getOwner())
+                                            .iterator().next();
+            this.addFrontier(pending, partition.getNodeId(), 0,
+                             ByteString.copyFrom(source.getKey()), partition.getKeyCode());
+        }
+        long visits = sources.size();
+
+        int rounds = 0;
+        while (!pending.isEmpty() && results.size() < limit) {
+            if (++rounds > TRAVERSE_MAX_ROUNDS) {
+                throw err("Failed to traverse, the frontiers are not settled in " +
+                          TRAVERSE_MAX_ROUNDS + " rounds");
+            }
+            Map<Long, TraverseReq> requests = new TreeMap<>();
+            for (Map.Entry<Long, Map<Integer, Map<ByteString, Integer>>> e :
+                    pending.entrySet()) {
+                TraverseReq.Builder builder = request.clone().clearFrontier();
+                for (Map.Entry<Integer, Map<ByteString, Integer>> frontier :
+                        e.getValue().entrySet()) {
+                    builder.addFrontier(newFrontier(frontier.getKey(), frontier.getValue()));
+                }
+                builder.setLimit(limit == Long.MAX_VALUE ? 0L : limit - results.size());
+                requests.put(e.getKey(), builder.build());
+            }
+            pending.clear();
+
+            for (HgPair<Long, TraverseRes> response : this.traverse(requests)) {
+                TraverseRes res = response.getValue();
+                for (ByteString id : res.getIdsList()) {
+                    if (results.size() >= limit) {
+                        break;
+                    }
+                    results.add(id);
+                }
+                for (Frontier frontier : res.getForwardsList()) {
+                    for (int i = 0; i < frontier.getIdsCount(); i++) {
+                        if (capacity > 0L && ++visits > capacity) {
+                            throw err("Failed to traverse, the visited vertices exceed " +
+                                      "the capacity " + capacity);
+                        }
+                        int code = frontier.getCodes(i);
+                        HgNodePartition partition = this.doPartition(null, code, code)
+                                                        .iterator().next();
+                        this.addFrontier(pending, partition.getNodeId(), frontier.getStep(),
+                                         frontier.getIds(i), code);
+                    }
+                }
+            }
+        }
+        return results.stream().map(ByteString::toByteArray).collect(Collectors.toList());
+    }
+
+    /**
+     * The nodes expand the steps level by level, and keep the frontier and
+     * the visited vertices of their leader partitions between the levels, so
+     * the vertices of a level are filtered by the visited ones by the node of
+     * their partition before the limit. Only the vertices reached in the
+     * other partitions are returned as forwards and sent to their nodes in
+     * the next level, the nodes not leading the partitions any more return
+     * the vertices back, which are sent to the new leaders in the same level.
+     */
+    private List<byte[]> traverseNearest(List<HgOwnerKey> sources,
+                                         TraverseReq.Builder request, long capacity) {
+        int size = request.getStepsCount();
+        long limit = request.getLimit() > 0L ? request.getLimit() : Long.MAX_VALUE;
+        String id = UUID.randomUUID().toString();
+        // Node id -> (vertex id -> key code) of the level
+        Map<Long, Map<ByteString, Integer>> pending = new TreeMap<>();
+        Map<Long, Map<ByteString, Integer>> nextPending = new TreeMap<>();
+        // Node id -> the size of the frontier kept by the node
+        Map<Long, Long> frontiers = new TreeMap<>();
+        // Node id -> the visited vertices of the node
+        Map<Long, Long> visits = new HashMap<>();
+        Set<ByteString> results = new LinkedHashSet<>();
+
+        for (HgOwnerKey source : sources) {
+            this.addForward(pending, ByteString.copyFrom(source.getKey()),
+                            this.doPartition(null, source.getOwner(), source.getOwner())
+                                .iterator().next().getKeyCode());
+        }
+
+        int rounds = 0;
+        try {
+            for (int level = 0; level <= size && results.size() < limit; level++) {
+                Set<Long> nodes = new TreeSet<>(pending.keySet());
+                frontiers.forEach((node, count) -> {
+                    if (count > 0L) {
+                        nodes.add(node);
+                    }
+                });
+                if (nodes.isEmpty()) {
+                    break;
+                }
+                while (!nodes.isEmpty() && results.size() < limit) {
+                    if (++rounds > TRAVERSE_MAX_ROUNDS) {
+                        throw err("Failed to traverse, the frontiers are not settled in " +
+                                  TRAVERSE_MAX_ROUNDS + " rounds");
+                    }
+                    Map<Long, TraverseReq> requests = new TreeMap<>();
+                    for (Long node : nodes) {
+                        TraverseReq.Builder builder = request.clone().clearFrontier()
+                                                             .setId(id)
+                                                             .setLevel(level)
+                                                             .setRelease(level == size);
+                        Map<ByteString, Integer> frontier = pending.get(node);
+                        if (frontier != null) {
+                            builder.addFrontier(newFrontier(level, frontier));
+                        }
+                        builder.setLimit(limit == Long.MAX_VALUE ? 0L : limit - results.size());
+                        requests.put(node, builder.build());
+                    }
+                    pending.clear();
+
+                    for (HgPair<Long, TraverseRes> response : this.traverse(requests)) {
+                        TraverseRes res = response.getValue();
+                        for (ByteString vertex : res.getIdsList()) {
+                            if (results.size() >= limit) {
+                                break;
+                            }
+                            results.add(vertex);
+                        }
+                        if (level == size) {
+                            frontiers.remove(response.getKey());
+                        } else {
+                            frontiers.put(response.getKey(), res.getFrontier());
+                        }
+                        visits.put(response.getKey(), res.getVisited());
+                        for (Frontier frontier : res.getForwardsList()) {
+                            boolean returned = frontier.getStep() == level;
+                            for (int i = 0; i < frontier.getIdsCount(); i++) {
+                                this.addForward(returned ? pending : nextPending,
+                                                frontier.getIds(i), frontier.getCodes(i));
+                            }
+                        }
+                    }
+                    long visited = visits.values().stream().mapToLong(Long::longValue).sum();
+                    if (capacity > 0L && visited > capacity) {
+                        throw err("Failed to traverse, the visited vertices exceed " +
+                                  "the capacity " + capacity);
+                    }
+                    nodes.clear();
+                    nodes.addAll(pending.keySet());
+                }
+                pending = nextPending;
+                nextPending = new TreeMap<>();
+            }
+        } finally {
+            // Release the visits of the nodes not expanded the last level
+            Map<Long, TraverseReq> requests = new TreeMap<>();
+            for (Long node : frontiers.keySet()) {
+                requests.put(node, request.clone().clearFrontier().setId(id).setRelease(true)
+                                          .build());
+            }
+            try {
+                this.traverse(requests);
+            } catch (Exception e) {
+                log.warn("Failed to release the traversal {}: {}", id, e.getMessage());
+            }
+        }
+        return results.stream().map(ByteString::toByteArray).collect(Collectors.toList());
+    }
+
+    private List<HgPair<Long, TraverseRes>> traverse(Map<Long, TraverseReq> requests) {
+        List<HgPair<Long, TraverseRes>> responses =
+                requests.entrySet().parallelStream().map(e -> {
+                    HgStoreNodeSession session = (HgStoreNodeSession)
+                            this.getStoreNode(e.getKey()).openSession(this.graphName);
+                    return new HgPair<>(e.getKey(), session.traverse(e.getValue()));
+                }).collect(Collectors.toList());
+        for (HgPair<Long, TraverseRes> response : responses) {
+            TraverseRes res = response.getValue();
+            if (res.getStatus().getCode() != ResCode.RES_CODE_OK) {
+                throw err("Failed to traverse on the node " + response.getKey() +
+                          ": " + res.getStatus().getMsg());
+            }
+        }
+        return responses;
+    }
+
+    private void addForward(Map<Long, Map<ByteString, Integer>> pending, ByteString id,
+                            int code) {
+        HgNodePartition partition = this.doPartition(null, code, code).iterator().next();
+        pending.computeIfAbsent(partition.getNodeId(), k -> new LinkedHashMap<>())
+               .putIfAbsent(id, code);
+    }
+
+    private static Frontier newFrontier(int step, Map<ByteString, Integer> vertices) {
+        return Frontier.newBuilder()
+                       .setStep(step)
+                       .addAllIds(vertices.keySet())
+                       .addAllCodes(vertices.values())
+                       .build();
+    }
+
+    private void addFrontier(Map<Long, Map<Integer, Map<ByteString, Integer>>> pending,
+                             long nodeId, int step, ByteString id, int code) {
+        pending.computeIfAbsent(nodeId, k -> new TreeMap<>())
+               .computeIfAbsent(step, k -> new LinkedHashMap<>())
+               .putIfAbsent(id, code);
+    }
+
     @Override
     public List<HgKvIterator<HgKvEntry>> scanBatch(HgScanQuery scanQuery) {
         HgAssert.isArgumentNotNull(scanQuery, "scanQuery");
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.client.grpc;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.hugegraph.store.grpc.common.ResCode;
+import org.apache.hugegraph.store.grpc.session.BatchEntry;
+import org.apache.hugegraph.store.grpc.session.FeedbackRes;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Merge the concurrent commits of a graph to the same store node into the
+ * larger batch requests.
+ * <p>
+ * At most maxInFlight batch requests are sent to the node at the same time,
+ * the commits arriving when all of them are in flight are queued, and the
+ * first committer which gets a free slot sends the queued commits (up to
+ * maxEntries entries) in one request on behalf of the others. Every commit
+ * is completed by the response of the request carrying it, so the committers
+ * handle the status or the error of the response as if it were their own.
+ * <p>
+ * A failed request fails all the commits carried by it, and they are never
+ * resent by the pipeline: the store splits a request into raft tasks by
+ * partition, so some of the entries may have been applied (or be applied
+ * later after a timeout), and resending the non-idempotent entries like
+ * OP_TYPE_MERGE would apply them twice.
+ */
+@Slf4j
+@ThreadSafe
+class GrpcBatchPipeline {
+
+    private final int maxEntries;
+    private final Semaphore inFlight;
+    private final Queue<Commit> commits;
+    private final ReentrantLock lock;
+    private final Condition released;
+
+    GrpcBatchPipeline(int maxInFlight, int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.commits = new LinkedList<>();
+        this.lock = new ReentrantLock();
+        this.released = this.lock.newCondition();
+    }
+
+    /**
+     * Commit the entries, which may be sent together with the entries of
+     * other commits
+     *
+     * @param entries the entries to commit
+     * @param sender  send the entries in a batch request and return the response
+     * @return the response of the batch request carrying the entries
+     */
+    FeedbackRes commit(List<BatchEntry> entries,
+                       Function<List<BatchEntry>, FeedbackRes> sender) {
+        Commit commit = new Commit(entries);
+        this.lock.lock();
+        try {
+            this.commits.add(commit);
+        } finally {
+            this.lock.unlock();
+        }
+        while (!commit.sent) {
+            if (this.inFlight.tryAcquire()) {
+                try {
+                    this.send(sender);
+                } finally {
+                    this.inFlight.release();
+                    this.signalAll();
+                }
+            } else {
+                this.awaitRelease(commit);
+            }
+        }
+
+        // Wait for the response of the request carrying the entries
+        try {
+            return commit.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private void send(Function<List<BatchEntry>, FeedbackRes> sender) {
+        List<Commit> batch = new ArrayList<>();
+        List<BatchEntry> entries = new ArrayList<>();
+        this.lock.lock();
+        try {
+            Commit commit;
+            while ((commit = this.commits.peek()) != null) {
+                if (!entries.isEmpty() &&
+                    entries.size() + commit.entries.size() > this.maxEntries) {
+                    break;
+                }
+                this.commits.poll();
+                commit.sent = true;
+                batch.add(commit);
+                entries.addAll(commit.entries);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() > 1 && log.isDebugEnabled()) {
+            log.debug("Merged {} commits with {} entries into a batch",
+                      batch.size(), entries.size());
+        }
+
+        try {
+            FeedbackRes res = sender.apply(entries);
+            if (batch.size() > 1 &&
+                res.getStatus().getCode() != ResCode.RES_CODE_OK) {
+                log.info("Failed to commit {} merged commits, status: {}",
+                         batch.size(), res.getStatus().getMsg());
+            }
+            batch.forEach(c -> c.future.complete(res));
+        } catch (Throwable t) {
+            batch.forEach(c -> c.future.completeExceptionally(t));
+        }
+    }
+
+    private void awaitRelease(Commit commit) {
+        this.lock.lock();
+        try {
+            while (!commit.sent && this.inFlight.availablePermits() == 0) {
+                this.released.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void signalAll() {
+        this.lock.lock();
+        try {
+            this.released.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static class Commit {
+
+        private final List<BatchEntry> entries;
+        private final CompletableFuture<FeedbackRes> future;
+        // Whether the entries are taken by a sender, set under the lock
+        private volatile boolean sent;
+
+        Commit(List<BatchEntry> entries) {
+            this.entries = entries;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -38,12 +38,13 @@ import org.apache.hugegraph.store.client.util.HgAssert;
 import org.apache.hugegraph.store.client.util.HgStoreClientConfig;
 import org.apache.hugegraph.store.client.util.HgStoreClientConst;
 import org.apache.hugegraph.store.client.util.HgStoreClientUtil;
-import org.apache.hugegraph.store.client.util.HgUuid;
 import org.apache.hugegraph.store.grpc.common.GraphMethod;
 import org.apache.hugegraph.store.grpc.common.Key;
 import org.apache.hugegraph.store.grpc.common.OpType;
 import org.apache.hugegraph.store.grpc.common.TableMethod;
 import org.apache.hugegraph.store.grpc.session.BatchEntry;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
 import org.apache.hugegraph.store.grpc.stream.HgStoreStreamGrpc.HgStoreStreamStub;
 import org.apache.hugegraph.store.grpc.stream.ScanStreamReq;
 
@@ -82,7 +83,6 @@ class GrpcStoreNodeSessionImpl implements HgStoreNodeSession {
     private final BatchEntry.Builder batchEntryBuilder = BatchEntry.newBuilder();
     private final Key.Builder builder = Key.newBuilder();
     private boolean isAutoCommit = true;
-    private String batchId;
     private LinkedList<BatchEntry> batchEntries = new LinkedList<>();
 
     GrpcStoreNodeSessionImpl(HgStoreNode storeNode, String graphName,
@@ -166,22 +166,9 @@ class GrpcStoreNodeSessionImpl implements HgStoreNodeSession {
 
     private void resetTx() {
         this.isAutoCommit = true;
-        this.batchId = null;
         this.batchEntries = new LinkedList<>();
     }
 
-    //TODO: not support distributed tx yet.
-    private String getBatchId() {
-        if (this.isAutoCommit) {
-            this.batchId = HgUuid.newUUID();
-        } else {
-            if (this.batchId == null) {
-                this.batchId = HgUuid.newUUID();
-            }
-        }
-        return this.batchId;
-    }
-
     @Override
     public boolean put(String table, HgOwnerKey ownerKey, byte[] value) {
         return this.prepareBatchEntry(OpType.OP_TYPE_PUT, table, ownerKey, null, value);
@@ -243,7 +230,7 @@ class GrpcStoreNodeSessionImpl implements HgStoreNodeSession {
 
     private boolean doCommit(List<BatchEntry> entries) {
         return this.notifier.invoke(
-                () -> this.storeSessionClient.doBatch(this, this.getBatchId(), entries),
+                () -> this.storeSessionClient.doPipelinedBatch(this, entries),
                 e -> true
         ).orElse(false);
     }
@@ -376,6 +363,23 @@ class GrpcStoreNodeSessionImpl implements HgStoreNodeSession {
         return this.storeSessionClient.count(this, table);
     }
 
+    @Override
+    public long count(String table, byte[] query) {
+        return this.storeSessionClient.count(this, table, query);
+    }
+
+    @Override
+    public TraverseRes traverse(TraverseReq request) {
+        return this.storeSessionClient.doTraverse(this, request);
+    }
+
+    @Override
+    public List<byte[]> traverse(List<HgOwnerKey> sources, TraverseReq.Builder request,
+                                 long capacity) {
+        // The frontiers are exchanged between the nodes by the NodeTxSessionProxy
+        throw new RuntimeException("not implemented");
+    }
+
     @Override
     public HgKvIterator<HgKvEntry> scanIterator(String table, byte[] query) {
         return GrpcKvIteratorImpl.of(this, this.storeStreamClient.doScan(this, table, 0, query));
@@ -20,12 +20,16 @@ package org.apache.hugegraph.store.client.grpc;
 import static org.apache.hugegraph.store.client.grpc.KvBatchUtil.getHeader;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.apache.hugegraph.store.HgOwnerKey;
 import org.apache.hugegraph.store.client.HgStoreNodeSession;
+import org.apache.hugegraph.store.client.util.HgStoreClientConfig;
+import org.apache.hugegraph.store.client.util.HgUuid;
 import org.apache.hugegraph.store.grpc.common.GraphMethod;
 import org.apache.hugegraph.store.grpc.common.ScanMethod;
 import org.apache.hugegraph.store.grpc.common.TableMethod;
@@ -41,8 +45,12 @@ import org.apache.hugegraph.store.grpc.session.GraphReq;
 import org.apache.hugegraph.store.grpc.session.HgStoreSessionGrpc;
 import org.apache.hugegraph.store.grpc.session.HgStoreSessionGrpc.HgStoreSessionBlockingStub;
 import org.apache.hugegraph.store.grpc.session.TableReq;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
 import org.apache.hugegraph.store.grpc.stream.ScanStreamReq;
 
+import com.google.protobuf.ByteString;
+
 import io.grpc.Deadline;
 import io.grpc.ManagedChannel;
 import lombok.extern.slf4j.Slf4j;
@@ -56,6 +64,10 @@ import lombok.extern.slf4j.Slf4j;
 @ThreadSafe
 class GrpcStoreSessionClient extends AbstractGrpcClient {
 
+    private static final HgStoreClientConfig config = HgStoreClientConfig.of();
+    // Store address + graph -> pipeline of the batch requests
+    private final Map<String, GrpcBatchPipeline> pipelines = new ConcurrentHashMap<>();
+
     @Override
     public HgStoreSessionBlockingStub getBlockingStub(ManagedChannel channel) {
         HgStoreSessionBlockingStub stub;
@@ -125,6 +137,21 @@ class GrpcStoreSessionClient extends AbstractGrpcClient {
                    );
     }
 
+    /**
+     * Send the entries through the pipeline of the store node and graph, so
+     * that they may be merged with the entries committed concurrently
+     */
+    FeedbackRes doPipelinedBatch(HgStoreNodeSession nodeSession, List<BatchEntry> entries) {
+        if (config.getNetKvBatchPipelineInFlight() <= 0) {
+            return this.doBatch(nodeSession, HgUuid.newUUID(), entries);
+        }
+        String key = nodeSession.getStoreNode().getAddress() + "/" + nodeSession.getGraphName();
+        GrpcBatchPipeline pipeline = this.pipelines.computeIfAbsent(
+                key, k -> new GrpcBatchPipeline(config.getNetKvBatchPipelineInFlight(),
+                                                config.getNetKvBatchPipelineMaxEntries()));
+        return pipeline.commit(entries, e -> this.doBatch(nodeSession, HgUuid.newUUID(), e));
+    }
+
     FeedbackRes doTable(HgStoreNodeSession nodeSession, String table, TableMethod method) {
         return this.getBlockingStub(nodeSession)
                    .table(TableReq.newBuilder()
@@ -155,4 +182,25 @@ class GrpcStoreSessionClient extends AbstractGrpcClient {
                       );
         return agg.getCount();
     }
+
+    public long count(HgStoreNodeSession nodeSession, String table, byte[] query) {
+        ScanStreamReq.Builder builder = ScanStreamReq.newBuilder()
+                                                     .setHeader(getHeader(nodeSession))
+                                                     .setTable(table)
+                                                     .setMethod(ScanMethod.ALL);
+        if (query != null) {
+            builder.setQuery(ByteString.copyFrom(query));
+        }
+        Agg agg = this.getBlockingStub(nodeSession).withDeadline(Deadline.after(24, TimeUnit.HOURS))
+                      .count(builder.build());
+        return agg.getCount();
+    }
+
+    TraverseRes doTraverse(HgStoreNodeSession nodeSession, TraverseReq request) {
+        return this.getBlockingStub(nodeSession)
+                   .traverse(request.toBuilder()
+                                    .setHeader(GrpcUtil.getHeader(nodeSession))
+                                    .build()
+                   );
+    }
 }
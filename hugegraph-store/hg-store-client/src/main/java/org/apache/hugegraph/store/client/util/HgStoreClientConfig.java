@@ -33,6 +33,8 @@ public final class HgStoreClientConfig {
 
     private static final int NET_KV_SCANNER_PAGE_SIZE = 10_000;
     private static final int NET_KV_SCANNER_HAVE_NEXT_TIMEOUT = 30 * 60;
+    private static final int NET_KV_BATCH_PIPELINE_IN_FLIGHT = 4;
+    private static final int NET_KV_BATCH_PIPELINE_MAX_ENTRIES = 10_000;
     private static final String fileName = "hg-store-client";
     private static PropertyResourceBundle prb = null;
     private static HgStoreClientConfig defaultInstance;
@@ -41,6 +43,8 @@ public final class HgStoreClientConfig {
     private Integer grpcMaxOutboundMessageSize = GRPC_DEFAULT_MAX_OUTBOUND_MESSAGE_SIZE;
     private Integer netKvScannerPageSize = NET_KV_SCANNER_PAGE_SIZE;
     private Integer netKvScannerHaveNextTimeout = NET_KV_SCANNER_HAVE_NEXT_TIMEOUT;
+    private Integer netKvBatchPipelineInFlight = NET_KV_BATCH_PIPELINE_IN_FLIGHT;
+    private Integer netKvBatchPipelineMaxEntries = NET_KV_BATCH_PIPELINE_MAX_ENTRIES;
 
     private HgStoreClientConfig() {
     }
@@ -83,6 +87,14 @@ public final class HgStoreClientConfig {
                 , config.netKvScannerPageSize))
         );
         log.info("net.kv.scanner.have.next.timeout = {}", config.netKvScannerHaveNextTimeout);
+        log.info("net.kv.batch.pipeline.inflight = "
+                 + (config.netKvBatchPipelineInFlight = wrapper.getInt(
+                "net.kv.batch.pipeline.inflight", config.netKvBatchPipelineInFlight))
+        );
+        log.info("net.kv.batch.pipeline.max.entries = "
+                 + (config.netKvBatchPipelineMaxEntries = wrapper.getInt(
+                "net.kv.batch.pipeline.max.entries", config.netKvBatchPipelineMaxEntries))
+        );
     }
 
     public Integer getGrpcTimeoutSeconds() {
@@ -130,6 +142,25 @@ public final class HgStoreClientConfig {
         return this;
     }
 
+    public Integer getNetKvBatchPipelineInFlight() {
+        return netKvBatchPipelineInFlight;
+    }
+
+    public HgStoreClientConfig setNetKvBatchPipelineInFlight(Integer netKvBatchPipelineInFlight) {
+        this.netKvBatchPipelineInFlight = netKvBatchPipelineInFlight;
+        return this;
+    }
+
+    public Integer getNetKvBatchPipelineMaxEntries() {
+        return netKvBatchPipelineMaxEntries;
+    }
+
+    public HgStoreClientConfig setNetKvBatchPipelineMaxEntries(
+            Integer netKvBatchPipelineMaxEntries) {
+        this.netKvBatchPipelineMaxEntries = netKvBatchPipelineMaxEntries;
+        return this;
+    }
+
     private static class PropertiesWrapper {
 
         private final PropertyResourceBundle prb;
@@ -29,6 +29,7 @@ import org.apache.hugegraph.store.meta.Partition;
 import org.apache.hugegraph.store.meta.PartitionRole;
 import org.apache.hugegraph.store.meta.Store;
 import org.apache.hugegraph.store.meta.StoreMetadata;
+import org.apache.hugegraph.store.metric.HgKeyAccessSampler;
 import org.apache.hugegraph.store.options.HgStoreEngineOptions;
 import org.apache.hugegraph.store.options.RaftRocksdbOptions;
 import org.apache.hugegraph.store.pd.PdProvider;
@@ -53,6 +54,7 @@ public class HeartbeatService implements Lifecycle<HgStoreEngineOptions>, Partit
     private final List<HgStoreStateListener> stateListeners;
     private final Object partitionThreadLock = new Object();
     private final Object storeThreadLock = new Object();
+    private final HgKeyAccessSampler keySampler = HgKeyAccessSampler.getInstance();
     private HgStoreEngineOptions options;
     private PdProvider pdProvider;
     private Store storeInfo;
@@ -318,10 +320,16 @@ public class HeartbeatService implements Lifecycle<HgStoreEngineOptions>, Partit
                                                 .setState(state).build());
             });
             stats.addAllShardStats(shardStats);
+            // The accesses of key ranges, which are used to split the partition by PD
+            partition.getPartitions().forEach((graph, p) -> {
+                stats.addAllHotRange(keySampler.hotRanges(graph, p.getStartKey(),
+                                                          p.getEndKey()));
+            });
             stats.setTimestamp(System.currentTimeMillis());
 
             statsList.add(stats.build());
         }
+        keySampler.decay();
         // Send heartbeat
         if (statsList.size() > 0) {
             pdProvider.partitionHeartbeat(statsList);
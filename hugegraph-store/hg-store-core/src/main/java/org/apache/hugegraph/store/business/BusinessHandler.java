@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.store.business;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -30,6 +31,8 @@ import org.apache.hugegraph.store.grpc.Graphpb;
 import org.apache.hugegraph.store.grpc.common.Key;
 import org.apache.hugegraph.store.grpc.common.OpType;
 import org.apache.hugegraph.store.grpc.session.BatchEntry;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
 import org.apache.hugegraph.store.meta.base.DBSessionBuilder;
 import org.apache.hugegraph.store.metric.HgStoreMetric;
 import org.apache.hugegraph.store.raft.HgStoreStateMachine;
@@ -130,37 +133,47 @@ public interface BusinessHandler extends DBSessionBuilder {
     TxBuilder txBuilder(String graph, int partId);
 
     default void doBatch(String graph, int partId, List<BatchEntry> entryList) {
+        doBatches(graph, partId, Collections.singletonList(entryList));
+    }
+
+    /**
+     * Write the entries of the batches in one transaction, so that the
+     * batches applied together are written to RocksDB in one write batch
+     */
+    default void doBatches(String graph, int partId, List<List<BatchEntry>> batches) {
         BusinessHandler.TxBuilder builder = txBuilder(graph, partId);
         try {
-            for (BatchEntry b : entryList) {
-                Key start = b.getStartKey();
-                String table = tables[b.getTable()];
-                byte[] startKey = start.getKey().toByteArray();
-                int number = b.getOpType().getNumber();
-                if (number == OpType.OP_TYPE_PUT_VALUE) {
-                    builder.put(start.getCode(), table, startKey, b.getValue().toByteArray());
-                } else {
-                    switch (number) {
-                        case OpType.OP_TYPE_DEL_VALUE:
-                            builder.del(start.getCode(), table, startKey);
-                            continue;
-                        case OpType.OP_TYPE_DEL_PREFIX_VALUE:
-                            builder.delPrefix(start.getCode(), table, startKey);
-                            continue;
-                        case OpType.OP_TYPE_DEL_RANGE_VALUE:
-                            builder.delRange(start.getCode(), table, startKey,
-                                             b.getEndKey().getKey().toByteArray());
-                            continue;
-                        case OpType.OP_TYPE_DEL_SINGLE_VALUE:
-                            builder.delSingle(start.getCode(), table, startKey);
-                            continue;
-                        case OpType.OP_TYPE_MERGE_VALUE:
-                            builder.merge(start.getCode(), table, startKey,
-                                          b.getValue().toByteArray());
-                            continue;
-                        default:
-                            throw new IllegalArgumentException(
-                                    "unsupported batch-op-type: " + b.getOpType().name());
+            for (List<BatchEntry> entryList : batches) {
+                for (BatchEntry b : entryList) {
+                    Key start = b.getStartKey();
+                    String table = tables[b.getTable()];
+                    byte[] startKey = start.getKey().toByteArray();
+                    int number = b.getOpType().getNumber();
+                    if (number == OpType.OP_TYPE_PUT_VALUE) {
+                        builder.put(start.getCode(), table, startKey, b.getValue().toByteArray());
+                    } else {
+                        switch (number) {
+                            case OpType.OP_TYPE_DEL_VALUE:
+                                builder.del(start.getCode(), table, startKey);
+                                continue;
+                            case OpType.OP_TYPE_DEL_PREFIX_VALUE:
+                                builder.delPrefix(start.getCode(), table, startKey);
+                                continue;
+                            case OpType.OP_TYPE_DEL_RANGE_VALUE:
+                                builder.delRange(start.getCode(), table, startKey,
+                                                 b.getEndKey().getKey().toByteArray());
+                                continue;
+                            case OpType.OP_TYPE_DEL_SINGLE_VALUE:
+                                builder.delSingle(start.getCode(), table, startKey);
+                                continue;
+                            case OpType.OP_TYPE_MERGE_VALUE:
+                                builder.merge(start.getCode(), table, startKey,
+                                              b.getValue().toByteArray());
+                                continue;
+                            default:
+                                throw new IllegalArgumentException(
+                                        "unsupported batch-op-type: " + b.getOpType().name());
+                        }
                     }
                 }
             }
@@ -190,6 +203,22 @@ public interface BusinessHandler extends DBSessionBuilder {
 
     long count(String graphName, String table);
 
+    /**
+     * Count the elements of table in the partitions led by the store
+     *
+     * @param query the serialized condition query of the labels to filter
+     *              the elements
+     */
+    long count(String graphName, String table, byte[] query);
+
+    /**
+     * Expand the frontiers of the traversal in the partitions led by the store
+     *
+     * @return the ids of the last step, and the frontiers to be expanded by
+     * the other stores
+     */
+    TraverseRes traverse(TraverseReq request) throws HgStoreException;
+
     @NotThreadSafe
     interface TxBuilder {
 
@@ -52,10 +52,13 @@ import org.apache.hugegraph.store.cmd.CleanDataRequest;
 import org.apache.hugegraph.store.grpc.Graphpb.ScanPartitionRequest;
 import org.apache.hugegraph.store.grpc.Graphpb.ScanPartitionRequest.Request;
 import org.apache.hugegraph.store.grpc.Graphpb.ScanPartitionRequest.ScanType;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
 import org.apache.hugegraph.store.meta.Partition;
 import org.apache.hugegraph.store.meta.PartitionManager;
 import org.apache.hugegraph.store.meta.asynctask.AsyncTaskState;
 import org.apache.hugegraph.store.meta.asynctask.CleanTask;
+import org.apache.hugegraph.store.metric.HgKeyAccessSampler;
 import org.apache.hugegraph.store.metric.HgStoreMetric;
 import org.apache.hugegraph.store.pd.PdProvider;
 import org.apache.hugegraph.store.term.Bits;
@@ -93,6 +96,9 @@ public class BusinessHandlerImpl implements BusinessHandler {
     private final PartitionManager partitionManager;
     private final PdProvider provider;
     private final InnerKeyCreator keyCreator;
+    private final HgKeyAccessSampler keySampler = HgKeyAccessSampler.getInstance();
+    // The visits of the nearest traversals by id
+    private final Map<String, VertexTraverser.Visit> traversals = new ConcurrentHashMap<>();
 
     public BusinessHandlerImpl(PartitionManager partitionManager) {
         this.partitionManager = partitionManager;
@@ -145,6 +151,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
                                                                                       HgStoreException {
 
         int partId = provider.getPartitionByCode(graph, code).getId();
+        keySampler.write(graph, code);
         try (RocksDBSession dbSession = getSession(graph, table, partId)) {
             SessionOperator op = dbSession.sessionOp();
             try {
@@ -163,6 +170,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
     @Override
     public byte[] doGet(String graph, int code, String table, byte[] key) throws HgStoreException {
         int partId = provider.getPartitionByCode(graph, code).getId();
+        keySampler.read(graph, code);
 
         try (RocksDBSession dbSession = getSession(graph, table, partId)) {
             byte[] targetKey = keyCreator.getKey(partId, graph, code, key);
@@ -207,6 +215,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
         } else {
             ids = new ArrayList<>();
             ids.add(partitionManager.getPartitionIdByCode(graph, code));
+            keySampler.read(graph, code);
         }
         BiFunction<Integer, byte[], ScanIterator> function = (id, position) -> {
             byte[] endKey;
@@ -332,6 +341,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
         } else {
             ids = new ArrayList<>();
             ids.add(partitionManager.getPartitionIdByCode(graph, code));
+            keySampler.read(graph, code);
         }
         BiFunction<Integer, byte[], ScanIterator> function = (id, position) -> {
             try (RocksDBSession dbSession = getSession(graph, table, id)) {
@@ -424,6 +434,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
             byte[] key = duality.getValue();
 
             int partId = provider.getPartitionByCode(graph, code).getId();
+            keySampler.read(graph, code);
 
             try (RocksDBSession dbSession = getSession(graph, table, partId)) {
                 byte[] targetKey = keyCreator.getKey(partId, graph, code, key);
@@ -806,6 +817,30 @@ public class BusinessHandlerImpl implements BusinessHandler {
         return all;
     }
 
+    @Override
+    public long count(String graph, String table, byte[] query) {
+        List<Integer> ids = this.getLeaderPartitionIds(graph);
+        // Count the partitions in parallel
+        return ids.parallelStream().mapToLong(id -> {
+            ElementCounter counter = new ElementCounter(table, query);
+            try (RocksDBSession dbSession = getSession(graph, table, id);
+                 ScanIterator it = new InnerKeyFilter(dbSession.sessionOp().scan(
+                         table, keyCreator.getStartKey(id, graph),
+                         keyCreator.getEndKey(id, graph), ScanIterator.Trait.SCAN_LT_END))) {
+                while (it.hasNext()) {
+                    counter.add(it.next());
+                }
+            }
+            return counter.count();
+        }).sum();
+    }
+
+    @Override
+    public TraverseRes traverse(TraverseReq request) throws HgStoreException {
+        return new VertexTraverser(this, this.partitionManager, this.traversals, request)
+                .traverse();
+    }
+
     @NotThreadSafe
     private class TxBuilderImpl implements TxBuilder {
 
@@ -826,6 +861,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
         public TxBuilder put(int code, String table, byte[] key, byte[] value) throws
                                                                                HgStoreException {
             try {
+                keySampler.write(graph, code);
                 byte[] targetKey = keyCreator.getKey(this.partId, graph, code, key);
                 this.op.put(table, targetKey, value);
             } catch (DBStoreException e) {
@@ -837,6 +873,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
         @Override
         public TxBuilder del(int code, String table, byte[] key) throws HgStoreException {
             try {
+                keySampler.write(graph, code);
                 byte[] targetKey = keyCreator.getKey(this.partId, graph, code, key);
                 this.op.delete(table, targetKey);
             } catch (DBStoreException e) {
@@ -891,6 +928,7 @@ public class BusinessHandlerImpl implements BusinessHandler {
                                                                                  HgStoreException {
 
             try {
+                keySampler.write(graph, code);
                 byte[] targetKey = keyCreator.getKey(this.partId, graph, code, key);
                 op.merge(table, targetKey, value);
             } catch (DBStoreException e) {
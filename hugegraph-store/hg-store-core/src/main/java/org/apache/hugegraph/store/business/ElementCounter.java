@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.business;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.Condition.Relation;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.rocksdb.access.RocksDBSession.BackendColumn;
+import org.apache.hugegraph.store.util.HgStoreException;
+import org.apache.hugegraph.type.define.HugeKeys;
+
+/**
+ * Count the vertices or edges of a table inside the store, the elements are
+ * filtered by the label conditions of the query, so that only the count
+ * rather than the elements is returned to the server.
+ * <p>
+ * The store has no schema of the graph, so the elements are not built but
+ * their labels are read from the keys or values, the conditions of the
+ * properties are not supported.
+ */
+public class ElementCounter {
+
+    private final boolean vertex;
+    private final ConditionQuery query;
+    private long count;
+
+    public ElementCounter(String table, byte[] query) {
+        if (BusinessHandler.tableVertex.equals(table)) {
+            this.vertex = true;
+        } else if (BusinessHandler.tableOutEdge.equals(table) ||
+                   BusinessHandler.tableInEdge.equals(table)) {
+            this.vertex = false;
+        } else {
+            throw new HgStoreException(HgStoreException.EC_DATAFMT_NOT_SUPPORTED,
+                                       "Can't filter the elements of table " + table);
+        }
+        this.query = ConditionQuery.fromBytes(query);
+        for (Condition condition : this.query.conditions()) {
+            for (Relation relation : condition.relations()) {
+                if (relation.key() != HugeKeys.LABEL &&
+                    relation.key() != HugeKeys.SUB_LABEL) {
+                    throw new HgStoreException(HgStoreException.EC_DATAFMT_NOT_SUPPORTED,
+                                               "Can't filter the elements by " +
+                                               relation.key());
+                }
+            }
+        }
+    }
+
+    public void add(BackendColumn column) {
+        Id label;
+        Id subLabel;
+        if (this.vertex) {
+            // vertex-label + properties
+            label = BytesBuffer.wrap(column.value).readId();
+            subLabel = label;
+        } else {
+            // owner-vertex + dir + edge-label + sub-edge-label + ...
+            BytesBuffer buffer = BytesBuffer.wrap(column.name);
+            buffer.readId();
+            buffer.read();
+            label = buffer.readId();
+            subLabel = buffer.readId();
+        }
+        for (Condition condition : this.query.conditions()) {
+            if (!test(condition, label, subLabel)) {
+                return;
+            }
+        }
+        this.count++;
+    }
+
+    public long count() {
+        return this.count;
+    }
+
+    private static boolean test(Condition condition, Id label, Id subLabel) {
+        switch (condition.type()) {
+            case AND:
+                Condition.And and = (Condition.And) condition;
+                return test(and.left(), label, subLabel) &&
+                       test(and.right(), label, subLabel);
+            case OR:
+                Condition.Or or = (Condition.Or) condition;
+                return test(or.left(), label, subLabel) ||
+                       test(or.right(), label, subLabel);
+            case NOT:
+                return !test(((Condition.Not) condition).condition(), label, subLabel);
+            case RELATION:
+                Relation relation = (Relation) condition;
+                return relation.test(relation.key() == HugeKeys.LABEL ? label : subLabel);
+            default:
+                throw new HgStoreException(HgStoreException.EC_DATAFMT_NOT_SUPPORTED,
+                                           "Unsupported condition " + condition);
+        }
+    }
+}
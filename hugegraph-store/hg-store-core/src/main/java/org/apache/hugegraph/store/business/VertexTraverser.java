@@ -0,0 +1,390 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.business;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.serializer.BinaryBackendEntry;
+import org.apache.hugegraph.backend.serializer.BinarySerializer;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.iterator.CIter;
+import org.apache.hugegraph.pd.common.PartitionUtils;
+import org.apache.hugegraph.rocksdb.access.RocksDBSession.BackendColumn;
+import org.apache.hugegraph.rocksdb.access.ScanIterator;
+import org.apache.hugegraph.store.HgStoreEngine;
+import org.apache.hugegraph.store.PartitionEngine;
+import org.apache.hugegraph.store.grpc.session.Frontier;
+import org.apache.hugegraph.store.grpc.session.TraverseDirection;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
+import org.apache.hugegraph.store.grpc.session.TraverseStep;
+import org.apache.hugegraph.store.meta.PartitionManager;
+import org.apache.hugegraph.store.util.HgStoreException;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
+
+import com.google.protobuf.ByteString;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expand the vertices by the steps of a traversal inside the store.
+ * <p>
+ * The edges of the vertices in the partitions led by the store are scanned
+ * locally, and the adjacent vertices are expanded by the next step in the
+ * store as long as they are in the local partitions too. The vertices of
+ * other partitions are returned as the forwards, which are sent to the
+ * stores of their leaders by the coordinator, so that only the ids of the
+ * frontier rather than the edges are exchanged between the nodes.
+ * <p>
+ * In nearest mode the steps are expanded level by level, the store keeps the
+ * frontier and the visited vertices of the local partitions between the
+ * levels, so only the vertices of the other partitions are exchanged.
+ */
+@Slf4j
+public class VertexTraverser {
+
+    // The visits of the nearest traversals not requested in the time are dropped
+    private static final long VISIT_IDLE_TIMEOUT = 10 * 60 * 1000L;
+
+    private final BusinessHandler handler;
+    private final PartitionManager partitionManager;
+    private final Map<String, Visit> visits;
+    private final String graph;
+    private final TraverseReq request;
+    private final Step[] steps;
+    // Partition id -> whether the partition is led by the store
+    private final Map<Integer, Boolean> localPartitions;
+
+    public VertexTraverser(BusinessHandler handler, PartitionManager partitionManager,
+                           Map<String, Visit> visits, TraverseReq request) {
+        this.handler = handler;
+        this.partitionManager = partitionManager;
+        this.visits = visits;
+        this.graph = request.getHeader().getGraph();
+        this.request = request;
+        this.steps = new Step[request.getStepsCount()];
+        for (int i = 0; i < this.steps.length; i++) {
+            this.steps[i] = new Step(request.getSteps(i));
+        }
+        this.localPartitions = new HashMap<>();
+    }
+
+    public TraverseRes traverse() {
+        if (this.request.getNearest()) {
+            return this.traverseNearest();
+        }
+
+        int size = this.steps.length;
+        // The frontier of each step, vertex id -> key code
+        List<Map<ByteString, Integer>> frontiers = this.frontiers(size - 1);
+        List<Map<ByteString, Integer>> forwards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            forwards.add(new LinkedHashMap<>());
+        }
+        Map<ByteString, Integer> results = new LinkedHashMap<>();
+        long limit = this.request.getLimit() > 0L ? this.request.getLimit() : Long.MAX_VALUE;
+
+        for (int step = 0; step < size; step++) {
+            boolean last = step == size - 1;
+            for (Map.Entry<ByteString, Integer> vertex : frontiers.get(step).entrySet()) {
+                // The vertices left by the limit are returned as the forwards
+                // too, the results may be duplicated with the other stores
+                if (!this.isLocal(vertex.getValue()) || last && results.size() >= limit) {
+                    forwards.get(step).put(vertex.getKey(), vertex.getValue());
+                    continue;
+                }
+                Map<ByteString, Integer> next = last ? results : frontiers.get(step + 1);
+                this.expand(this.steps[step], vertex.getKey(), vertex.getValue(), next);
+            }
+            frontiers.get(step).clear();
+        }
+
+        TraverseRes.Builder builder = TraverseRes.newBuilder();
+        builder.addAllIds(results.keySet());
+        for (int step = 0; step < size; step++) {
+            addForward(builder, step, forwards.get(step));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Expand the frontier kept by the store for the level of the request.
+     * The adjacent vertices in the local partitions are kept as the frontier
+     * of the next level if they are not visited, and the others are returned
+     * as the forwards, which are checked by the stores of their leaders in
+     * the next level. The frontier of the last level is returned as the ids.
+     */
+    private TraverseRes traverseNearest() {
+        String id = this.request.getId();
+        if (StringUtils.isEmpty(id)) {
+            throw new HgStoreException(HgStoreException.EC_FAIL,
+                                       "The id of nearest traversal can't be empty");
+        }
+        TraverseRes.Builder builder = TraverseRes.newBuilder();
+        long now = System.currentTimeMillis();
+        this.visits.values().removeIf(visit -> now - visit.accessed > VISIT_IDLE_TIMEOUT);
+        Visit visit;
+        if (this.request.getRelease()) {
+            visit = this.visits.remove(id);
+            if (this.request.getFrontierCount() == 0) {
+                return builder.build();
+            }
+            visit = visit == null ? new Visit() : visit;
+        } else {
+            visit = this.visits.computeIfAbsent(id, k -> new Visit());
+        }
+
+        int size = this.steps.length;
+        int level = this.request.getLevel();
+        List<Map<ByteString, Integer>> frontiers = this.frontiers(size);
+        if (level < 0 || level > size ||
+            this.request.getFrontierList().stream().anyMatch(f -> f.getStep() != level)) {
+            throw new HgStoreException(HgStoreException.EC_FAIL,
+                                       "Invalid frontier of level " + level);
+        }
+
+        synchronized (visit) {
+            visit.accessed = now;
+            Map<ByteString, Integer> current = new LinkedHashMap<>();
+            Map<ByteString, Integer> returned = new LinkedHashMap<>();
+            for (Map.Entry<ByteString, Integer> vertex : frontiers.get(level).entrySet()) {
+                if (!this.isLocal(vertex.getValue())) {
+                    returned.put(vertex.getKey(), vertex.getValue());
+                } else if (visit.visited.add(vertex.getKey())) {
+                    current.put(vertex.getKey(), vertex.getValue());
+                }
+            }
+
+            Map<ByteString, Integer> next;
+            if (visit.level == level || visit.frontier.isEmpty()) {
+                current.putAll(visit.frontier);
+                next = new LinkedHashMap<>();
+            } else if (visit.level == level + 1) {
+                // The vertices returned by the previous leader of the level
+                next = visit.frontier;
+            } else {
+                throw new HgStoreException(HgStoreException.EC_FAIL,
+                                           "Invalid level " + level + " of traversal " + id +
+                                           ", expect " + visit.level);
+            }
+
+            Map<ByteString, Integer> forwards = new LinkedHashMap<>();
+            if (level < size) {
+                Map<ByteString, Integer> adjacent = new LinkedHashMap<>();
+                for (Map.Entry<ByteString, Integer> vertex : current.entrySet()) {
+                    this.expand(this.steps[level], vertex.getKey(), vertex.getValue(), adjacent);
+                }
+                for (Map.Entry<ByteString, Integer> vertex : adjacent.entrySet()) {
+                    if (!this.isLocal(vertex.getValue())) {
+                        forwards.put(vertex.getKey(), vertex.getValue());
+                    } else if (visit.visited.add(vertex.getKey())) {
+                        next.put(vertex.getKey(), vertex.getValue());
+                    }
+                }
+                visit.level = level + 1;
+            } else {
+                next.putAll(current);
+                visit.level = level;
+            }
+            visit.frontier = next;
+
+            if (visit.level == size) {
+                // The frontier of the last level are the results
+                long limit = this.request.getLimit() > 0L ?
+                             this.request.getLimit() : Long.MAX_VALUE;
+                builder.addAllIds(visit.frontier.keySet().stream().limit(limit)
+                                                .collect(Collectors.toList()));
+                visit.frontier = new LinkedHashMap<>();
+            }
+            builder.setFrontier(visit.frontier.size())
+                   .setVisited(visit.visited.size());
+            addForward(builder, level, returned);
+            addForward(builder, level + 1, forwards);
+        }
+        return builder.build();
+    }
+
+    private List<Map<ByteString, Integer>> frontiers(int maxStep) {
+        List<Map<ByteString, Integer>> frontiers = new ArrayList<>(maxStep + 1);
+        for (int i = 0; i <= maxStep; i++) {
+            frontiers.add(new LinkedHashMap<>());
+        }
+        for (Frontier frontier : this.request.getFrontierList()) {
+            int step = frontier.getStep();
+            if (step < 0 || step > maxStep || frontier.getIdsCount() != frontier.getCodesCount()) {
+                throw new HgStoreException(HgStoreException.EC_FAIL,
+                                           "Invalid frontier of step " + step);
+            }
+            for (int i = 0; i < frontier.getIdsCount(); i++) {
+                frontiers.get(step).put(frontier.getIds(i), frontier.getCodes(i));
+            }
+        }
+        return frontiers;
+    }
+
+    private static void addForward(TraverseRes.Builder builder, int step,
+                                   Map<ByteString, Integer> forward) {
+        if (!forward.isEmpty()) {
+            builder.addForwards(Frontier.newBuilder()
+                                        .setStep(step)
+                                        .addAllIds(forward.keySet())
+                                        .addAllCodes(forward.values()));
+        }
+    }
+
+    private void expand(Step step, ByteString vertex, int code, Map<ByteString, Integer> next) {
+        long edges = 0L;
+        for (String table : step.tables) {
+            byte directionCode = BusinessHandler.tableOutEdge.equals(table) ?
+                                 HugeType.EDGE_OUT.code() : HugeType.EDGE_IN.code();
+            BytesBuffer prefix = BytesBuffer.allocate(vertex.size() + 1 + 9);
+            prefix.write(vertex.toByteArray());
+            prefix.write(directionCode);
+            if (step.labels.size() == 1) {
+                prefix.writeId(IdGenerator.of(step.labels.iterator().next()));
+            }
+
+            try (ScanIterator iterator = this.handler.scanPrefix(this.graph, code, table,
+                                                                 prefix.bytes())) {
+                while (iterator.hasNext()) {
+                    if (step.degree > 0L && edges >= step.degree) {
+                        return;
+                    }
+                    BackendColumn column = iterator.next();
+                    BytesBuffer buffer = BytesBuffer.wrap(column.name);
+                    // owner-vertex + dir + edge-label + sub-edge-label + sort-values + other-vertex
+                    buffer.readId();
+                    buffer.read();
+                    long label = buffer.readId().asLong();
+                    long subLabel = buffer.readId().asLong();
+                    if (!step.labels.isEmpty() && !step.labels.contains(label) &&
+                        !step.labels.contains(subLabel)) {
+                        continue;
+                    }
+                    buffer.readStringWithEnding();
+                    int start = buffer.position();
+                    Id other = buffer.readId();
+                    if (step.script != null && !step.test(column)) {
+                        continue;
+                    }
+                    edges++;
+
+                    ByteString otherId = ByteString.copyFrom(column.name, start,
+                                                             buffer.position() - start);
+                    next.putIfAbsent(otherId, PartitionUtils.calcHashcode(other.asBytes()));
+                }
+            }
+        }
+    }
+
+    private boolean isLocal(int code) {
+        int partitionId = this.partitionManager.getPartitionIdByCode(this.graph, code);
+        return this.localPartitions.computeIfAbsent(partitionId, id -> {
+            PartitionEngine engine = HgStoreEngine.getInstance().getPartitionEngine(id);
+            return engine != null && engine.isLeader();
+        });
+    }
+
+    /**
+     * The visit of a nearest traversal in the partitions led by the store
+     */
+    public static class Visit {
+
+        // The vertices visited in the local partitions
+        private final Set<ByteString> visited = new HashSet<>();
+        // The vertices of the level to be expanded, vertex id -> key code
+        private Map<ByteString, Integer> frontier = new LinkedHashMap<>();
+        private int level;
+        private volatile long accessed;
+    }
+
+    private static class Step {
+
+        private final List<String> tables;
+        private final Set<Long> labels;
+        private final long degree;
+        private final CompiledScript script;
+        private final GroovyScriptEngineImpl engine;
+        private final BinarySerializer serializer;
+
+        public Step(TraverseStep step) {
+            TraverseDirection direction = step.getDirection();
+            this.tables = new ArrayList<>(2);
+            if (direction != TraverseDirection.TRAVERSE_IN) {
+                this.tables.add(BusinessHandler.tableOutEdge);
+            }
+            if (direction != TraverseDirection.TRAVERSE_OUT) {
+                this.tables.add(BusinessHandler.tableInEdge);
+            }
+            this.labels = new HashSet<>(step.getLabelsList());
+            this.degree = step.getDegree();
+
+            String condition = step.getCondition();
+            if (StringUtils.isEmpty(condition)) {
+                this.engine = null;
+                this.script = null;
+                this.serializer = null;
+            } else {
+                ScriptEngineManager factory = new ScriptEngineManager();
+                this.engine = (GroovyScriptEngineImpl) factory.getEngineByName("groovy");
+                try {
+                    this.script = this.engine.compile(condition);
+                } catch (ScriptException e) {
+                    throw new HgStoreException(HgStoreException.EC_FAIL,
+                                               "Invalid condition: " + e.getMessage());
+                }
+                this.serializer = new BinarySerializer();
+            }
+        }
+
+        public boolean test(BackendColumn column) {
+            BackendEntry entry = new BinaryBackendEntry(HugeType.EDGE, column.name);
+            entry.columns(BackendEntry.BackendColumn.of(column.name, column.value));
+            CIter<Edge> edges = this.serializer.readEdges(null, entry);
+            if (!edges.hasNext()) {
+                return false;
+            }
+            Bindings bindings = this.engine.createBindings();
+            bindings.put("element", edges.next());
+            try {
+                return (boolean) this.script.eval(bindings);
+            } catch (ScriptException e) {
+                log.warn("Failed to eval the condition of edge: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.metric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hugegraph.pd.common.PartitionUtils;
+import org.apache.hugegraph.pd.grpc.Metapb;
+
+/**
+ * Sample the accesses of key codes of each graph, which are reported to PD
+ * with the partition heartbeats as the hot ranges of partitions, so that PD
+ * can split the partitions by the accesses rather than the key ranges.
+ * <p>
+ * One of SAMPLE_RATE accesses is counted into the bucket of 16 codes, the
+ * counters are decayed by half each heartbeat, so they are the accesses of
+ * the recent heartbeats. The keys read and written are counted without
+ * sampling, which are reported to PD with the store heartbeats.
+ */
+public class HgKeyAccessSampler {
+
+    private static final HgKeyAccessSampler instance = new HgKeyAccessSampler();
+
+    private static final int SAMPLE_RATE = 16;
+    private static final int BUCKET_SHIFT = 4;
+    private static final int BUCKETS = (PartitionUtils.MAX_VALUE >> BUCKET_SHIFT) + 1;
+    // A partition is reported as COARSE_RANGES ranges of same length, and the
+    // HOT_BUCKETS hottest buckets are reported as separate ranges
+    private static final int COARSE_RANGES = 8;
+    private static final int HOT_BUCKETS = 4;
+
+    private final Map<String, AtomicLongArray> graphs = new ConcurrentHashMap<>();
+    private final LongAdder keysRead = new LongAdder();
+    private final LongAdder keysWritten = new LongAdder();
+
+    public static HgKeyAccessSampler getInstance() {
+        return instance;
+    }
+
+    public void read(String graph, int code) {
+        this.keysRead.increment();
+        this.sample(graph, code);
+    }
+
+    public void write(String graph, int code) {
+        this.keysWritten.increment();
+        this.sample(graph, code);
+    }
+
+    /**
+     * Get the keys read since the last call
+     */
+    public long takeKeysRead() {
+        return this.keysRead.sumThenReset();
+    }
+
+    /**
+     * Get the keys written since the last call
+     */
+    public long takeKeysWritten() {
+        return this.keysWritten.sumThenReset();
+    }
+
+    public void sample(String graph, int code) {
+        if (code < 0 || code > PartitionUtils.MAX_VALUE ||
+            ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            return;
+        }
+        AtomicLongArray buckets = this.graphs.get(graph);
+        if (buckets == null) {
+            buckets = this.graphs.computeIfAbsent(graph, g -> new AtomicLongArray(BUCKETS));
+        }
+        buckets.incrementAndGet(code >> BUCKET_SHIFT);
+    }
+
+    /**
+     * Get the hot ranges of the partition [startKey, endKey) of the graph
+     */
+    public List<Metapb.HotRange> hotRanges(String graph, long startKey, long endKey) {
+        List<Metapb.HotRange> ranges = new ArrayList<>();
+        AtomicLongArray buckets = this.graphs.get(graph);
+        if (buckets == null || startKey >= endKey) {
+            return ranges;
+        }
+        int from = (int) Math.max(0L, startKey >> BUCKET_SHIFT);
+        int to = (int) Math.min(BUCKETS, ((endKey - 1) >> BUCKET_SHIFT) + 1);
+        if (from >= to) {
+            return ranges;
+        }
+
+        long[] accesses = new long[to - from];
+        long total = 0L;
+        for (int i = from; i < to; i++) {
+            accesses[i - from] = buckets.get(i);
+            total += accesses[i - from];
+        }
+        if (total == 0L) {
+            return ranges;
+        }
+
+        // The edges of the ranges are the edges of coarse ranges and hot buckets
+        TreeSet<Integer> edges = new TreeSet<>();
+        for (int i = 0; i <= COARSE_RANGES; i++) {
+            edges.add(from + (to - from) * i / COARSE_RANGES);
+        }
+        long average = total / accesses.length;
+        boolean[] hot = new boolean[accesses.length];
+        for (int i = 0; i < HOT_BUCKETS; i++) {
+            int hottest = -1;
+            for (int j = 0; j < accesses.length; j++) {
+                if (!hot[j] && accesses[j] > average * 2 &&
+                    (hottest < 0 || accesses[j] > accesses[hottest])) {
+                    hottest = j;
+                }
+            }
+            if (hottest < 0) {
+                break;
+            }
+            hot[hottest] = true;
+            edges.add(from + hottest);
+            edges.add(from + hottest + 1);
+        }
+
+        Integer start = null;
+        for (Integer end : edges) {
+            if (start != null) {
+                long sum = 0L;
+                for (int i = start; i < end; i++) {
+                    sum += accesses[i - from];
+                }
+                if (sum > 0L) {
+                    ranges.add(Metapb.HotRange.newBuilder()
+                                              .setGraphName(graph)
+                                              .setStartKey(Math.max(startKey,
+                                                                    (long) start << BUCKET_SHIFT))
+                                              .setEndKey(Math.min(endKey,
+                                                                  (long) end << BUCKET_SHIFT))
+                                              .setAccesses(sum)
+                                              .build());
+                }
+            }
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * Decay the accesses by half, called after each heartbeat
+     */
+    public void decay() {
+        for (AtomicLongArray buckets : this.graphs.values()) {
+            for (int i = 0; i < buckets.length(); i++) {
+                if (buckets.get(i) != 0L) {
+                    buckets.getAndUpdate(i, v -> v >> 1);
+                }
+            }
+        }
+    }
+}
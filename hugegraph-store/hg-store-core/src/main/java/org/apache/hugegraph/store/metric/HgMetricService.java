@@ -45,6 +45,7 @@ public class HgMetricService implements Lifecycle<Void> {
     private final static AtomicLong keysRead = new AtomicLong();
     private final static long startTime = Instant.now().getEpochSecond();
     private static long lastQueryTime = 0;
+    private static long lastReportTime = startTime;
     private final SystemMetricService systemMetricService = new SystemMetricService();
     private HgStoreEngine storeEngine;
     private Map<String, Long> systemMetrics = new HashMap<>();
@@ -127,6 +128,15 @@ public class HgMetricService implements Lifecycle<Void> {
         builder.setStoreId(this.storeEngine.getHeartbeatService().getStoreInfo().getId());
 
         builder.setStartTime((int) startTime);
+        // The keys accessed since the last heartbeat, PD computes the rates by the interval
+        long now = Instant.now().getEpochSecond();
+        HgKeyAccessSampler sampler = HgKeyAccessSampler.getInstance();
+        builder.setKeysRead(sampler.takeKeysRead())
+               .setKeysWritten(sampler.takeKeysWritten())
+               .setInterval(Metapb.TimeInterval.newBuilder()
+                                               .setStartTimestamp(lastReportTime)
+                                               .setEndTimestamp(now));
+        lastReportTime = now;
         this.storeEngine.getPartitionManager().getPartitions().forEach((graphName, partitions) -> {
             partitions.forEach((partId, partition) -> {
                 HgStoreMetric.Graph graphMetric =
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.raft;
+
+import java.util.List;
+
+import org.apache.hugegraph.store.util.HgStoreException;
+
+/**
+ * The task handler which processes the consecutive operations of some
+ * methods together, on the followers the data sent by raft is parsed by
+ * the handler first
+ */
+public interface BatchableTaskHandler extends RaftTaskHandler {
+
+    /**
+     * Whether the consecutive operations of the method can be processed
+     * together by {@link #invoke(int, byte, List, List)}
+     */
+    boolean batchable(final byte methodId);
+
+    /**
+     * Parse the data sent by raft of a batchable method into the request
+     */
+    Object parse(final byte methodId, final byte[] request) throws HgStoreException;
+
+    /**
+     * Process the consecutive operations of a batchable method together,
+     * every response is completed by the handler, and nothing is processed
+     * if an exception is thrown, then the operations are invoked one by one
+     *
+     * @param responses the responses of the requests, which are null on the followers
+     */
+    boolean invoke(final int groupId, final byte methodId, final List<Object> reqs,
+                   final List<RaftClosure> responses) throws HgStoreException;
+}
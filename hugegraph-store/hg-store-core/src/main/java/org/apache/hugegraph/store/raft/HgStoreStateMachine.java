@@ -17,10 +17,13 @@
 
 package org.apache.hugegraph.store.raft;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import org.apache.hugegraph.store.snapshot.HgSnapshotHandler;
 import org.apache.hugegraph.store.util.HgStoreException;
@@ -47,6 +50,9 @@ import com.alipay.sofa.jraft.util.Utils;
 public class HgStoreStateMachine extends StateMachineAdapter {
 
     private static final Logger LOG = LoggerFactory.getLogger(HgStoreStateMachine.class);
+    // The max operations and the max bytes of them applied together
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long MAX_BATCH_BYTES = 4L * 1024 * 1024;
     private final AtomicLong leaderTerm = new AtomicLong(-1);
     private final HgSnapshotHandler snapshotHandler;
     private final List<RaftTaskHandler> taskHandlers;
@@ -75,44 +81,128 @@ public class HgStoreStateMachine extends StateMachineAdapter {
 
     @Override
     public void onApply(Iterator inter) {
-
+        // The consecutive batchable operations, which are applied together
+        List<Applying> batch = new ArrayList<>();
+        long batchBytes = 0L;
         while (inter.hasNext()) {
             final RaftClosureAdapter done = (RaftClosureAdapter) inter.done();
+            Applying applying = this.toBatchable(done, inter);
+            if (!batch.isEmpty() &&
+                (applying == null || !batch.get(0).sameBatch(applying) ||
+                 batch.size() >= MAX_BATCH_SIZE ||
+                 batchBytes + applying.data.length > MAX_BATCH_BYTES)) {
+                this.applyBatch(batch);
+                batch.clear();
+                batchBytes = 0L;
+            }
+
+            if (applying != null) {
+                batch.add(applying);
+                batchBytes += applying.data.length;
+            } else {
+                this.applyOne(done, inter.getIndex(), inter::getData);
+            }
+            // Traverse the next item
+            inter.next();
+        }
+        if (!batch.isEmpty()) {
+            this.applyBatch(batch);
+        }
+    }
+
+    private Applying toBatchable(RaftClosureAdapter done, Iterator inter) {
+        if (this.taskHandlers.isEmpty()) {
+            return null;
+        }
+        byte[] data = inter.getData().array();
+        byte methodId = done != null ? done.op.getOp() : data[0];
+        for (RaftTaskHandler taskHandler : this.taskHandlers) {
+            if (!(taskHandler instanceof BatchableTaskHandler)) {
+                continue;
+            }
+            BatchableTaskHandler handler = (BatchableTaskHandler) taskHandler;
+            if (handler.batchable(methodId)) {
+                try {
+                    Object req = done != null ? done.op.getReq() :
+                                 handler.parse(methodId, data);
+                    return new Applying(handler, methodId, req, done, inter.getIndex(), data);
+                } catch (Throwable t) {
+                    LOG.error("StateMachine{} failed to parse op {}.", groupId, methodId, t);
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void applyBatch(List<Applying> batch) {
+        Applying first = batch.get(0);
+        if (batch.size() > 1) {
+            List<Object> reqs = new ArrayList<>(batch.size());
+            List<RaftClosure> responses = new ArrayList<>(batch.size());
+            for (Applying applying : batch) {
+                reqs.add(applying.req);
+                responses.add(applying.done != null ? applying.done.closure : null);
+            }
+            boolean handled = false;
             try {
-                for (RaftTaskHandler taskHandler : taskHandlers) {
-                    if (done != null) {
-                        // Leader branch, local call
-                        if (taskHandler.invoke(groupId, done.op.getOp(), done.op.getReq(),
-                                               done.closure)) {
-                            done.run(Status.OK());
-                            break;
-                        }
-                    } else {
-                        if (taskHandler.invoke(groupId, inter.getData().array(), null)) {
-                            break;
-                        }
+                handled = first.handler.invoke(groupId, first.methodId, reqs, responses);
+            } catch (Throwable t) {
+                LOG.warn("StateMachine{} failed to apply {} ops together, apply them one by " +
+                         "one: {}", groupId, batch.size(), t.getMessage());
+            }
+            if (handled) {
+                for (Applying applying : batch) {
+                    if (applying.done != null) {
+                        applying.done.run(Status.OK());
                     }
+                    this.onCommitted(applying.done, applying.index);
                 }
-            } catch (Throwable t) {
-                LOG.info("{}", Base64.getEncoder().encode(inter.getData().array()));
-                LOG.error("StateMachine{} meet critical error: .", groupId, t);
+                return;
+            }
+        }
+        for (Applying applying : batch) {
+            this.applyOne(applying.done, applying.index, () -> ByteBuffer.wrap(applying.data));
+        }
+    }
+
+    private void applyOne(RaftClosureAdapter done, long index, Supplier<ByteBuffer> data) {
+        try {
+            for (RaftTaskHandler taskHandler : taskHandlers) {
                 if (done != null) {
-                    LOG.error("StateMachine meet critical error: op = {} {}.", done.op.getOp(),
-                              done.op.getReq());
-                    //    done.run(new Status(RaftError.EINTERNAL, t.getMessage()));
+                    // Leader branch, local call
+                    if (taskHandler.invoke(groupId, done.op.getOp(), done.op.getReq(),
+                                           done.closure)) {
+                        done.run(Status.OK());
+                        break;
+                    }
+                } else {
+                    if (taskHandler.invoke(groupId, data.get().array(), null)) {
+                        break;
+                    }
                 }
             }
-            committedIndex = inter.getIndex();
-
-            stateListeners.forEach(listener -> {
-                listener.onDataCommitted(committedIndex);
-            });
-            // Clean up data
+        } catch (Throwable t) {
+            LOG.info("{}", Base64.getEncoder().encode(data.get().array()));
+            LOG.error("StateMachine{} meet critical error: .", groupId, t);
             if (done != null) {
-                done.clear();
+                LOG.error("StateMachine meet critical error: op = {} {}.", done.op.getOp(),
+                          done.op.getReq());
+                //    done.run(new Status(RaftError.EINTERNAL, t.getMessage()));
             }
-            // Traverse the next item
-            inter.next();
+        }
+        this.onCommitted(done, index);
+    }
+
+    private void onCommitted(RaftClosureAdapter done, long index) {
+        committedIndex = index;
+
+        stateListeners.forEach(listener -> {
+            listener.onDataCommitted(committedIndex);
+        });
+        // Clean up data
+        if (done != null) {
+            done.clear();
         }
     }
 
@@ -243,6 +333,30 @@ public class HgStoreStateMachine extends StateMachineAdapter {
         }
     }
 
+    private static class Applying {
+
+        private final BatchableTaskHandler handler;
+        private final byte methodId;
+        private final Object req;
+        private final RaftClosureAdapter done;
+        private final long index;
+        private final byte[] data;
+
+        public Applying(BatchableTaskHandler handler, byte methodId, Object req,
+                        RaftClosureAdapter done, long index, byte[] data) {
+            this.handler = handler;
+            this.methodId = methodId;
+            this.req = req;
+            this.done = done;
+            this.index = index;
+            this.data = data;
+        }
+
+        public boolean sameBatch(Applying other) {
+            return this.handler == other.handler && this.methodId == other.methodId;
+        }
+    }
+
     public static class RaftClosureAdapter implements RaftClosure {
 
         private final RaftClosure closure;
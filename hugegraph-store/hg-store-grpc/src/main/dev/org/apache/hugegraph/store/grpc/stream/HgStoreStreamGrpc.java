@@ -149,8 +149,7 @@ public final class HgStoreStreamGrpc {
               .setSampledToLocalTracing(true)
               .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
                   org.apache.hugegraph.store.grpc.stream.ScanStreamBatchReq.getDefaultInstance()))
-              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
-                      KvStream.getDefaultInstance()))
+              .setResponseMarshaller(KvStreamMarshaller.instance())
               .setSchemaDescriptor(new HgStoreStreamMethodDescriptorSupplier("ScanBatch2"))
               .build();
         }
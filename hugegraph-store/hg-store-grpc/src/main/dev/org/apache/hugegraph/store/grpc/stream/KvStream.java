@@ -347,13 +347,25 @@ public final class KvStream extends
             output.writeUInt32(4, version_);
         }
         if (stream_.limit() > 0) {
-            output.writeByteArray(5, stream_.array(), 0, stream_.limit());
+            if (stream_.hasArray()) {
+                output.writeByteArray(5, stream_.array(), stream_.arrayOffset(),
+                                      stream_.limit());
+            } else {
+                // writeByteBuffer() writes the capacity, not the limit
+                ByteBuffer page = stream_.duplicate();
+                page.position(0).limit(stream_.limit());
+                output.writeByteBuffer(5, page.slice());
+            }
         }
         if (type_ !=
             org.apache.hugegraph.store.grpc.stream.KvStreamType.STREAM_TYPE_NONE.getNumber()) {
             output.writeEnum(6, type_);
         }
         unknownFields.writeTo(output);
+        complete();
+    }
+
+    void complete() {
         if (complete_ != null) {
             complete_.accept(this);
         }
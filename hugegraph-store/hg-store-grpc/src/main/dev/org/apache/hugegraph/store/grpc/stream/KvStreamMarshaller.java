@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.grpc.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * The marshaller of KvStream, which avoids the copies of the scanned pages
+ * when sending.
+ * <p>
+ * On the sender side, the page is written to the transport directly from the
+ * pooled buffer, and the buffer is returned to the pool once written.
+ * <p>
+ * On the receiver side, the message is read into one array and the page is
+ * sliced over it, which is the only copy of the page. The transport receives
+ * a large page in many frames, so the page can't be sliced over the received
+ * buffers, and the entries are copied out of it by the reader anyway.
+ */
+public final class KvStreamMarshaller implements MethodDescriptor.Marshaller<KvStream> {
+
+    private static final KvStreamMarshaller INSTANCE = new KvStreamMarshaller();
+
+    private KvStreamMarshaller() {
+    }
+
+    public static KvStreamMarshaller instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public InputStream stream(KvStream value) {
+        return new KvStreamInputStream(value);
+    }
+
+    @Override
+    public KvStream parse(InputStream stream) {
+        try {
+            return parse(ByteBuffer.wrap(stream.readAllBytes()));
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Failed to parse KvStream")
+                                 .withCause(e).asRuntimeException();
+        }
+    }
+
+    /**
+     * Parse the fields of KvStream, the stream field is sliced over the buffer
+     */
+    static KvStream parse(ByteBuffer buffer) throws IOException {
+        KvStream.Builder builder = KvStream.newBuilder();
+        while (buffer.hasRemaining()) {
+            int tag = (int) readVarint(buffer);
+            switch (tag) {
+                case 8:
+                    builder.setSeqNo((int) readVarint(buffer));
+                    break;
+                case 16:
+                    builder.setOver(readVarint(buffer) != 0);
+                    break;
+                case 32:
+                    builder.setVersion((int) readVarint(buffer));
+                    break;
+                case 42:
+                    int length = (int) readVarint(buffer);
+                    if (length < 0 || length > buffer.remaining()) {
+                        throw invalid("truncated message");
+                    }
+                    int end = buffer.position() + length;
+                    ByteBuffer slice = buffer.duplicate().limit(end).slice();
+                    buffer.position(end);
+                    builder.setStream(slice);
+                    break;
+                case 48:
+                    builder.setTypeValue((int) readVarint(buffer));
+                    break;
+                default:
+                    skipField(buffer, tag);
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    private static void skipField(ByteBuffer buffer, int tag) throws IOException {
+        switch (WireFormat.getTagWireType(tag)) {
+            case WireFormat.WIRETYPE_VARINT:
+                readVarint(buffer);
+                break;
+            case WireFormat.WIRETYPE_FIXED64:
+                skip(buffer, 8);
+                break;
+            case WireFormat.WIRETYPE_LENGTH_DELIMITED:
+                skip(buffer, (int) readVarint(buffer));
+                break;
+            case WireFormat.WIRETYPE_FIXED32:
+                skip(buffer, 4);
+                break;
+            default:
+                throw invalid("invalid wire type");
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, int length) throws IOException {
+        if (length < 0 || length > buffer.remaining()) {
+            throw invalid("truncated message");
+        }
+        buffer.position(buffer.position() + length);
+    }
+
+    private static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw invalid("truncated message");
+            }
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw invalid("malformed varint");
+    }
+
+    private static InvalidProtocolBufferException invalid(String reason) {
+        return new InvalidProtocolBufferException("Failed to parse KvStream: " + reason);
+    }
+
+    /**
+     * Write the fields of KvStream in the same order as KvStream.writeTo(),
+     * the page is written to the target without any intermediate buffer.
+     */
+    private static final class KvStreamInputStream extends InputStream
+            implements Drainable, KnownLength {
+
+        private KvStream value;
+        private InputStream partial;
+
+        KvStreamInputStream(KvStream value) {
+            this.value = value;
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            int written;
+            if (this.value != null) {
+                written = this.write(target);
+                this.value = null;
+            } else if (this.partial != null) {
+                written = (int) this.partial.transferTo(target);
+                this.partial = null;
+            } else {
+                written = 0;
+            }
+            return written;
+        }
+
+        private int write(OutputStream target) throws IOException {
+            KvStream value = this.value;
+            ByteBuffer stream = value.getStream();
+            int length = stream.limit();
+
+            byte[] header = new byte[32];
+            CodedOutputStream output = CodedOutputStream.newInstance(header);
+            if (value.getSeqNo() != 0) {
+                output.writeInt32(KvStream.SEQ_NO_FIELD_NUMBER, value.getSeqNo());
+            }
+            if (value.getOver()) {
+                output.writeBool(KvStream.OVER_FIELD_NUMBER, true);
+            }
+            if (value.getVersion() != 0) {
+                output.writeUInt32(KvStream.VERSION_FIELD_NUMBER, value.getVersion());
+            }
+            if (length > 0) {
+                output.writeTag(KvStream.STREAM_FIELD_NUMBER,
+                                WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(length);
+            }
+            int headerSize = output.getTotalBytesWritten();
+            target.write(header, 0, headerSize);
+
+            if (length > 0) {
+                if (stream.hasArray()) {
+                    target.write(stream.array(), stream.arrayOffset(), length);
+                } else {
+                    byte[] bytes = new byte[length];
+                    stream.duplicate().position(0).get(bytes);
+                    target.write(bytes);
+                }
+            }
+
+            ByteArrayOutputStream trailer = new ByteArrayOutputStream();
+            output = CodedOutputStream.newInstance(trailer);
+            if (value.getTypeValue() != 0) {
+                output.writeEnum(KvStream.TYPE_FIELD_NUMBER, value.getTypeValue());
+            }
+            value.getUnknownFields().writeTo(output);
+            output.flush();
+            trailer.writeTo(target);
+
+            // Return the page to the pool
+            value.complete();
+            return headerSize + length + trailer.size();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return this.partial().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return this.partial().read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            if (this.value != null) {
+                return this.value.getSerializedSize();
+            }
+            try {
+                return this.partial == null ? 0 : this.partial.available();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        private InputStream partial() throws IOException {
+            if (this.value != null) {
+                // Not drained by the transport, read the fields as bytes
+                ByteArrayOutputStream bytes =
+                        new ByteArrayOutputStream(this.value.getSerializedSize());
+                this.write(bytes);
+                this.partial = new ByteArrayInputStream(bytes.toByteArray());
+                this.value = null;
+            }
+            return this.partial == null ? InputStream.nullInputStream() : this.partial;
+        }
+    }
+}
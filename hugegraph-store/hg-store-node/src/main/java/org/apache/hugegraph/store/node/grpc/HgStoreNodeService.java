@@ -35,9 +35,9 @@ import org.apache.hugegraph.store.grpc.session.TableReq;
 import org.apache.hugegraph.store.node.AppConfig;
 import org.apache.hugegraph.store.options.HgStoreEngineOptions;
 import org.apache.hugegraph.store.options.RaftRocksdbOptions;
+import org.apache.hugegraph.store.raft.BatchableTaskHandler;
 import org.apache.hugegraph.store.raft.RaftClosure;
 import org.apache.hugegraph.store.raft.RaftOperation;
-import org.apache.hugegraph.store.raft.RaftTaskHandler;
 import org.apache.hugegraph.store.util.HgRaftError;
 import org.apache.hugegraph.store.util.HgStoreException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,7 +55,7 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Service
-public class HgStoreNodeService implements RaftTaskHandler {
+public class HgStoreNodeService implements BatchableTaskHandler {
 
     public static final byte BATCH_OP = 0x12;
     public static final byte TABLE_OP = 0x13;
@@ -219,6 +219,32 @@ public class HgStoreNodeService implements RaftTaskHandler {
         return true;
     }
 
+    @Override
+    public boolean batchable(byte methodId) {
+        return methodId == HgStoreNodeService.BATCH_OP;
+    }
+
+    @Override
+    public Object parse(byte methodId, byte[] request) throws HgStoreException {
+        try {
+            // Skip the method id
+            return BatchReq.parseFrom(CodedInputStream.newInstance(request, 1,
+                                                                   request.length - 1));
+        } catch (IOException e) {
+            throw new HgStoreException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean invoke(int partId, byte methodId, List<Object> reqs,
+                          List<RaftClosure> responses) throws HgStoreException {
+        if (methodId != HgStoreNodeService.BATCH_OP) {
+            return false;
+        }
+        hgStoreSession.doBatch(partId, reqs, responses);
+        return true;
+    }
+
     @PreDestroy
     public void destroy() {
         storeEngine.shutdown();
@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.store.node.grpc;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -44,6 +45,8 @@ import org.apache.hugegraph.store.grpc.session.GraphReq;
 import org.apache.hugegraph.store.grpc.session.HgStoreSessionGrpc;
 import org.apache.hugegraph.store.grpc.session.KeyValueResponse;
 import org.apache.hugegraph.store.grpc.session.TableReq;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
 import org.apache.hugegraph.store.grpc.session.ValueResponse;
 import org.apache.hugegraph.store.grpc.stream.ScanStreamReq;
 import org.apache.hugegraph.store.meta.Graph;
@@ -336,6 +339,40 @@ public class HgStoreSessionImpl extends HgStoreSessionGrpc.HgStoreSessionImplBas
         GrpcClosure.setResult(response, builder.build());
     }
 
+    /**
+     * Apply the consecutive batch requests of a partition together, the
+     * requests of the same graph are written in one write batch, and the
+     * requests of a failed write batch are retried one by one
+     */
+    public void doBatch(int partId, List<Object> requests, List<RaftClosure> responses) {
+        int start = 0;
+        for (int i = 1; i <= requests.size(); i++) {
+            String graph = ((BatchReq) requests.get(start)).getHeader().getGraph();
+            if (i < requests.size() &&
+                graph.equals(((BatchReq) requests.get(i)).getHeader().getGraph())) {
+                continue;
+            }
+            List<List<BatchEntry>> batches = new ArrayList<>(i - start);
+            for (int j = start; j < i; j++) {
+                batches.add(((BatchReq) requests.get(j)).getWriteReq().getEntryList());
+            }
+            try {
+                getWrapper().doBatches(graph, partId, batches);
+                FeedbackRes res = FeedbackRes.newBuilder().setStatus(HgGrpc.success()).build();
+                for (int j = start; j < i; j++) {
+                    GrpcClosure.setResult(responses.get(j), res);
+                }
+            } catch (Throwable t) {
+                log.warn("Failed to doBatch {} requests of graph {} together, retry them " +
+                         "one by one", i - start, graph);
+                for (int j = start; j < i; j++) {
+                    this.doBatch(partId, (BatchReq) requests.get(j), responses.get(j));
+                }
+            }
+            start = i;
+        }
+    }
+
     // private static HgBusinessHandler.Batch toBatch(BatchEntry entry) {
     //    return new HgBusinessHandler.Batch() {
     //        @Override
@@ -533,7 +570,15 @@ public class HgStoreSessionImpl extends HgStoreSessionGrpc.HgStoreSessionImplBas
         ScanIterator it = null;
         try {
             BusinessHandler handler = storeService.getStoreEngine().getBusinessHandler();
-            long count = handler.count(request.getHeader().getGraph(), request.getTable());
+            String graph = request.getHeader().getGraph();
+            long count;
+            if (request.getQuery().isEmpty()) {
+                count = handler.count(graph, request.getTable());
+            } else {
+                // Filter the elements by the labels inside the store
+                count = handler.count(graph, request.getTable(),
+                                      request.getQuery().toByteArray());
+            }
             observer.onNext(Agg.newBuilder().setCount(count).build());
             observer.onCompleted();
         } catch (Exception e) {
@@ -548,4 +593,24 @@ public class HgStoreSessionImpl extends HgStoreSessionGrpc.HgStoreSessionImplBas
             }
         }
     }
+
+    @Override
+    public void traverse(TraverseReq request, StreamObserver<TraverseRes> observer) {
+        String graph = request.getHeader().getGraph();
+        TraverseRes res;
+        try {
+            BusinessHandler handler = storeService.getStoreEngine().getBusinessHandler();
+            res = handler.traverse(request).toBuilder()
+                         .setStatus(HgGrpc.success())
+                         .build();
+        } catch (Throwable t) {
+            String msg = "Failed to traverse, graph: " + graph;
+            log.error(msg, t);
+            res = TraverseRes.newBuilder()
+                             .setStatus(HgGrpc.fail(msg + ", cause: " + t.getMessage()))
+                             .build();
+        }
+        observer.onNext(res);
+        observer.onCompleted();
+    }
 }
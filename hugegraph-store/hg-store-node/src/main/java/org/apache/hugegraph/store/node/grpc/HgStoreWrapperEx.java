@@ -82,6 +82,10 @@ public class HgStoreWrapperEx {
         this.handler.doBatch(graph, partId, entryList);
     }
 
+    public void doBatches(String graph, int partId, List<List<BatchEntry>> batches) {
+        this.handler.doBatches(graph, partId, batches);
+    }
+
     public boolean doTable(int partId, TableMethod method, String graph, String table) {
         boolean flag;
         switch (method) {
@@ -64,6 +64,8 @@ public class RocksDBMetrics {
     private final static Set<String> graphSet = new HashSet<>();
     private final static HgStoreEngine storeEngine = HgStoreEngine.getInstance();
     private final static MemoryUseWrapper memoryUseWrapper = new MemoryUseWrapper();
+    private final static PartitionMemoryUseWrapper partitionMemoryUseWrapper =
+            new PartitionMemoryUseWrapper();
     private final static Map<String, StatisticsWrapper> statisticsHolder = new HashMap<>();
     private final static Map<HistogramDataWrapper, HistogramType> histogramHolder = new HashMap<>();
     private final static Map<String, Set<Meter>> graphMeterMap = new ConcurrentHashMap<>();
@@ -146,6 +148,7 @@ public class RocksDBMetrics {
             }
 
             registrySessionRefNum(g);
+            registerPartitionMemoryUse(g);
 
         });
 
@@ -223,6 +226,35 @@ public class RocksDBMetrics {
 
     }
 
+    /**
+     * The memory used by a rocksdb instance, which holds a partition of all
+     * the graphs, the total of a store is the sum of its partitions
+     */
+    private static void registerPartitionMemoryUse(String partition) {
+        saveGraphMeter(partition,
+                       Gauge.builder(PREFIX + ".partition.table.reader.total",
+                                     partitionMemoryUseWrapper,
+                                     (e) -> e.get(partition, MemoryUsageType.kTableReadersTotal))
+                            .description("The memory used by the table readers of the partition")
+                            .tag("partition", partition)
+                            .register(registry));
+        saveGraphMeter(partition,
+                       Gauge.builder(PREFIX + ".partition.mem.table.total",
+                                     partitionMemoryUseWrapper,
+                                     (e) -> e.get(partition, MemoryUsageType.kMemTableTotal))
+                            .description("The memory used by the memtables of the partition")
+                            .tag("partition", partition)
+                            .register(registry));
+        saveGraphMeter(partition,
+                       Gauge.builder(PREFIX + ".partition.mem.table.unFlushed",
+                                     partitionMemoryUseWrapper,
+                                     (e) -> e.get(partition, MemoryUsageType.kMemTableUnFlushed))
+                            .description("The memory used by the unflushed memtables of the " +
+                                         "partition")
+                            .tag("partition", partition)
+                            .register(registry));
+    }
+
     private static void registrySessionRefNum(String graph) {
 
         SessionWrapper sessionWrapper = new SessionWrapper(graph);
@@ -263,6 +295,24 @@ public class RocksDBMetrics {
         }
     }
 
+    private static class PartitionMemoryUseWrapper {
+
+        Map<String, Map<MemoryUsageType, Long>> mems = null;
+        long lastTime = 0;
+
+        private synchronized Map<String, Map<MemoryUsageType, Long>> loadData() {
+            if (mems == null || System.currentTimeMillis() - lastTime > 30000) {
+                mems = rocksDBFactory.getApproximateMemoryUsageByDb();
+                lastTime = System.currentTimeMillis();
+            }
+            return mems;
+        }
+
+        public Long get(String partition, MemoryUsageType type) {
+            return loadData().getOrDefault(partition, Map.of()).getOrDefault(type, 0L);
+        }
+    }
+
     private static class MemoryUseWrapper {
 
         Map<MemoryUsageType, Long> mems = null;
@@ -19,6 +19,7 @@ package org.apache.hugegraph.rocksdb.access;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -273,6 +274,23 @@ public final class RocksDBFactory {
         }
     }
 
+    /**
+     * @return the approximate memory usage of every db by name, which is the
+     * partition id for a partition db, the caches shared by all dbs are
+     * reported by getApproximateMemoryUsageByType
+     */
+    public Map<String, Map<MemoryUsageType, Long>> getApproximateMemoryUsageByDb() {
+        Map<String, Map<MemoryUsageType, Long>> usages = new HashMap<>();
+        for (String dbName : getGraphNames()) {
+            try (RocksDBSession session = this.queryGraphDB(dbName)) {
+                if (session != null && session.getDB() != null) {
+                    usages.put(dbName, session.getApproximateMemoryUsageByType());
+                }
+            }
+        }
+        return usages;
+    }
+
     public void addRocksdbChangedListener(RocksdbChangedListener listener) {
         rocksdbChangedListeners.add(listener);
     }
@@ -50,6 +50,27 @@ public class RocksDBOptions extends OptionHolder {
                     rangeDouble(0.0, 1.0),
                     0.66
             );
+    public static final ConfigOption<Long> PARTITION_WRITE_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.partition_write_buffer_size",
+                    "Limit total memory of memtables for each partition db, so the " +
+                    "memtables of a store may take up to this size times the number " +
+                    "of partitions, and are still capped by the write cache shared by " +
+                    "all dbs, 0 means the partition dbs share the global write buffer " +
+                    "manager.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+    public static final ConfigOption<Long> PARTITION_COMPACTION_RATE_LIMIT =
+            new ConfigOption<>(
+                    "rocksdb.partition_compaction_rate_limit",
+                    "The rate limit in bytes/s of flush and compaction writes of each " +
+                    "partition db, so that a busy partition will not starve the " +
+                    "background threads shared by all dbs, the writes of a store may " +
+                    "reach this rate times the number of partitions, 0 means no limit.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
     public static final ConfigOption<Boolean> WRITE_BUFFER_ALLOW_STALL =
             new ConfigOption<>(
                     "rocksdb.write_buffer_allow_stall",
@@ -40,6 +40,7 @@ import org.apache.hugegraph.store.term.HgPair;
 import org.apache.hugegraph.util.Bytes;
 import org.apache.hugegraph.util.E;
 import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
 import org.rocksdb.Checkpoint;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
@@ -51,10 +52,13 @@ import org.rocksdb.DBOptionsInterface;
 import org.rocksdb.Env;
 import org.rocksdb.FlushOptions;
 import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.MemoryUsageType;
+import org.rocksdb.MemoryUtil;
 import org.rocksdb.MutableColumnFamilyOptionsInterface;
 import org.rocksdb.MutableDBOptionsInterface;
 import org.rocksdb.Options;
 import org.rocksdb.Range;
+import org.rocksdb.RateLimiter;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.SizeApproximationFlag;
@@ -81,6 +85,9 @@ public class RocksDBSession implements AutoCloseable, Cloneable {
     private transient String dbPath;
     private RocksDB rocksDB;
     private DBOptions dbOptions;
+    // The resources limiting this db (a partition) only, null if not limited
+    private WriteBufferManager writeBufferManager;
+    private RateLimiter rateLimiter;
     private volatile boolean closed = false;
 
     public RocksDBSession(HugeConfig hugeConfig, String dbDataPath, String graphName,
@@ -104,6 +111,8 @@ public class RocksDBSession implements AutoCloseable, Cloneable {
         this.dbPath = origin.dbPath;
         this.rocksDB = origin.rocksDB;
         this.dbOptions = origin.dbOptions;
+        this.writeBufferManager = origin.writeBufferManager;
+        this.rateLimiter = origin.rateLimiter;
         this.writeOptions = origin.writeOptions;
         this.rocksDbStats = origin.rocksDbStats;
         this.shutdown = origin.shutdown;
@@ -423,6 +432,7 @@ public class RocksDBSession implements AutoCloseable, Cloneable {
         RocksDBSession.initOptions(hugeConfig, opts, opts, opts, opts);
         dbOptions = new DBOptions(opts);
         dbOptions.setStatistics(rocksDbStats);
+        initPartitionResources(dbOptions);
 
         try {
             List<ColumnFamilyDescriptor> columnFamilyDescriptorList =
@@ -457,6 +467,33 @@ public class RocksDBSession implements AutoCloseable, Cloneable {
         }
     }
 
+    /**
+     * Limit the memtables and the flush/compaction writes of this db, which
+     * holds a partition of the graphs, so the limits of a store scale with the
+     * number of its partitions. The memtables are still charged to the write
+     * cache shared by all dbs.
+     */
+    private void initPartitionResources(DBOptions options) {
+        long bufferSize = hugeConfig.get(RocksDBOptions.PARTITION_WRITE_BUFFER_SIZE);
+        Cache writeCache = (Cache) hugeConfig.getProperty(RocksDBOptions.WRITE_CACHE);
+        if (bufferSize > 0 && writeCache != null) {
+            this.writeBufferManager = new WriteBufferManager(
+                    bufferSize, writeCache,
+                    hugeConfig.get(RocksDBOptions.WRITE_BUFFER_ALLOW_STALL));
+            options.setWriteBufferManager(this.writeBufferManager);
+            log.info("{} use partition WriteBufferManager, size {}", this.graphName,
+                     bufferSize);
+        }
+
+        long rateLimit = hugeConfig.get(RocksDBOptions.PARTITION_COMPACTION_RATE_LIMIT);
+        if (rateLimit > 0) {
+            this.rateLimiter = new RateLimiter(rateLimit);
+            options.setRateLimiter(this.rateLimiter);
+            log.info("{} limit flush and compaction rate to {} bytes/s",
+                     this.graphName, rateLimit);
+        }
+    }
+
     private ColumnFamilyHandle createTable(String table) throws RocksDBException {
         cfHandleLock.writeLock().lock();
         try {
@@ -640,6 +677,14 @@ public class RocksDBSession implements AutoCloseable, Cloneable {
                 this.rocksDbStats.close();
                 dbOptions = null;
             }
+            if (writeBufferManager != null) {
+                this.writeBufferManager.close();
+                writeBufferManager = null;
+            }
+            if (rateLimiter != null) {
+                this.rateLimiter.close();
+                rateLimiter = null;
+            }
         } finally {
             cfHandleLock.writeLock().unlock();
         }
@@ -816,6 +861,19 @@ public class RocksDBSession implements AutoCloseable, Cloneable {
                                       "\255".getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * @return the approximate memory usage of this db, the caches shared by
+     * all dbs are not included
+     */
+    public Map<MemoryUsageType, Long> getApproximateMemoryUsageByType() {
+        cfHandleLock.readLock().lock();
+        try {
+            return MemoryUtil.getApproximateMemoryUsageByType(List.of(this.rocksDB), Set.of());
+        } finally {
+            cfHandleLock.readLock().unlock();
+        }
+    }
+
     public long getEstimateNumKeys() {
         cfHandleLock.readLock().lock();
         try {
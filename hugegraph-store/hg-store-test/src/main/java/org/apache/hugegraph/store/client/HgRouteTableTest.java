@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.client;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HgRouteTableTest {
+
+    @Test
+    public void testRoute() {
+        HgRouteTable table = HgRouteTable.empty()
+                                         .put(new HgRouteTable.Route(1, 0, 100, 11L))
+                                         .put(new HgRouteTable.Route(2, 100, 200, 12L));
+        Assert.assertEquals(2L, table.version());
+        Assert.assertEquals(1, table.route(0).getPartitionId());
+        Assert.assertEquals(1, table.route(99).getPartitionId());
+        Assert.assertEquals(2, table.route(100).getPartitionId());
+        Assert.assertNull(table.route(200));
+        Assert.assertEquals(100L, table.routeOf(2).getStartKey());
+        Assert.assertNull(table.routeOf(3));
+        // The table is immutable
+        Assert.assertEquals(0, HgRouteTable.empty().size());
+    }
+
+    @Test
+    public void testSplit() {
+        HgRouteTable table = HgRouteTable.empty()
+                                         .put(new HgRouteTable.Route(1, 0, 200, 11L));
+        table = table.put(new HgRouteTable.Route(2, 100, 200, 12L));
+        // The route before split is replaced
+        Assert.assertEquals(1, table.size());
+        Assert.assertNull(table.route(50));
+        Assert.assertEquals(2, table.route(150).getPartitionId());
+
+        table = table.put(new HgRouteTable.Route(1, 0, 100, 11L));
+        Assert.assertEquals(2, table.size());
+        Assert.assertEquals(1, table.route(50).getPartitionId());
+    }
+
+    @Test
+    public void testLeader() {
+        HgRouteTable table = HgRouteTable.empty()
+                                         .put(new HgRouteTable.Route(1, 0, 100, 11L))
+                                         .put(new HgRouteTable.Route(2, 100, 200, 11L))
+                                         .put(new HgRouteTable.Route(3, 200, 300, 12L));
+        // Unchanged by the same leader
+        Assert.assertSame(table, table.leader(1, 11L));
+
+        HgRouteTable redirected = table.leader(1, 13L);
+        Assert.assertEquals(table.version() + 1, redirected.version());
+        Assert.assertEquals(13L, redirected.route(50).getLeaderId());
+        Assert.assertEquals(11L, table.route(50).getLeaderId());
+
+        Assert.assertEquals(List.of(1, 2), table.partitionsOf(11L));
+        HgRouteTable removed = table.removeLeader(11L);
+        Assert.assertEquals(1, removed.size());
+        Assert.assertEquals(3, removed.route(250).getPartitionId());
+        Assert.assertSame(removed, removed.removeLeader(11L));
+
+        Assert.assertNull(removed.remove(3).route(250));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.client;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hugegraph.pd.client.PDClient;
+import org.apache.hugegraph.pd.common.KVPair;
+import org.apache.hugegraph.pd.common.PartitionUtils;
+import org.apache.hugegraph.pd.grpc.Metapb;
+import org.apache.hugegraph.pd.watch.PartitionEvent;
+import org.apache.hugegraph.store.client.type.HgNodeStatus;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class HgStoreNodePartitionerImplTest {
+
+    private static final String GRAPH = "g1";
+    private static final byte[] KEY = {1, 2, 3};
+
+    private PDClient pdClient;
+    private PDClient.PDEventListener listener;
+    private HgStoreNodePartitionerImpl partitioner;
+
+    @Before
+    public void setUp() {
+        this.pdClient = mock(PDClient.class);
+        this.partitioner = new HgStoreNodePartitionerImpl(this.pdClient, null);
+
+        ArgumentCaptor<PDClient.PDEventListener> captor =
+                ArgumentCaptor.forClass(PDClient.PDEventListener.class);
+        verify(this.pdClient).addEventListener(captor.capture());
+        this.listener = captor.getValue();
+    }
+
+    @Test
+    public void testRouteRemovedDuringFetch() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+        when(this.pdClient.getPartitionByCode(eq(GRAPH), anyLong())).thenAnswer(invocation -> {
+            fetching.countDown();
+            Assert.assertTrue(removed.await(5, TimeUnit.SECONDS));
+            return partShard(11L);
+        }).thenReturn(partShard(12L));
+
+        CompletableFuture<Long> stale = CompletableFuture.supplyAsync(this::leader);
+        Assert.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        // The leader is changed while the old route is being fetched
+        this.listener.onPartitionChanged(new PartitionEvent(GRAPH, 1,
+                                                            PartitionEvent.ChangeType.ALTER));
+        removed.countDown();
+
+        // The fetched route is used by the request but not installed
+        Assert.assertEquals(11L, (long) stale.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(12L, this.leader());
+        Assert.assertEquals(12L, this.leader());
+        verify(this.pdClient, times(2)).getPartitionByCode(eq(GRAPH), anyLong());
+    }
+
+    @Test
+    public void testRouteChangedOfOtherGraph() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch changed = new CountDownLatch(1);
+        when(this.pdClient.getPartitionByCode(eq(GRAPH), anyLong())).thenAnswer(invocation -> {
+            fetching.countDown();
+            Assert.assertTrue(changed.await(5, TimeUnit.SECONDS));
+            return partShard(11L);
+        });
+
+        CompletableFuture<Long> fetched = CompletableFuture.supplyAsync(this::leader);
+        Assert.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        // The routes of another graph don't affect the routes being fetched
+        this.listener.onPartitionChanged(new PartitionEvent("g2", 1,
+                                                            PartitionEvent.ChangeType.ALTER));
+        changed.countDown();
+
+        Assert.assertEquals(11L, (long) fetched.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(11L, this.leader());
+        verify(this.pdClient, times(1)).getPartitionByCode(eq(GRAPH), anyLong());
+    }
+
+    @Test
+    public void testNoticePartitionLeader() throws Exception {
+        when(this.pdClient.getPartitionByCode(eq(GRAPH), anyLong()))
+                .thenReturn(partShard(11L));
+        Assert.assertEquals(11L, this.leader());
+
+        // The leader redirected by the store is used without fetching from PD
+        HgStoreNotice notice = HgStoreNotice.of(11L, HgNodeStatus.NOT_PARTITION_LEADER);
+        notice.setPartitionLeaders(Collections.singletonMap(1, 12L));
+        this.partitioner.notice(GRAPH, notice);
+        Assert.assertEquals(12L, this.leader());
+        verify(this.pdClient, times(1)).getPartitionByCode(eq(GRAPH), anyLong());
+        // The cache of PD client is also updated
+        verify(this.pdClient).updatePartitionLeader(GRAPH, 1, 12L);
+    }
+
+    @Test
+    public void testCacheReset() throws Exception {
+        when(this.pdClient.getPartitionByCode(eq(GRAPH), anyLong()))
+                .thenReturn(partShard(11L), partShard(12L));
+
+        Assert.assertEquals(11L, this.leader());
+        Assert.assertEquals(11L, this.leader());
+        verify(this.pdClient, times(1)).getPartitionByCode(eq(GRAPH), anyLong());
+
+        // The watch of PD is broken, the events may be lost
+        this.listener.onCacheReset();
+        Assert.assertEquals(12L, this.leader());
+        verify(this.pdClient, times(2)).getPartitionByCode(eq(GRAPH), anyLong());
+    }
+
+    private long leader() {
+        HgNodePartitionerBuilder builder = HgNodePartitionerBuilder.resetAndGet();
+        this.partitioner.partition(builder, GRAPH, KEY, KEY);
+        Assert.assertEquals(1, builder.getPartitions().size());
+        return builder.getPartitions().iterator().next().getNodeId();
+    }
+
+    private static KVPair<Metapb.Partition, Metapb.Shard> partShard(long leader) {
+        Metapb.Partition partition = Metapb.Partition.newBuilder()
+                                                     .setId(1)
+                                                     .setGraphName(GRAPH)
+                                                     .setStartKey(0)
+                                                     .setEndKey(PartitionUtils.MAX_VALUE + 1)
+                                                     .build();
+        Metapb.Shard shard = Metapb.Shard.newBuilder()
+                                         .setStoreId(leader)
+                                         .setRole(Metapb.ShardRole.Leader)
+                                         .build();
+        return new KVPair<>(partition, shard);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.client.grpc;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.hugegraph.store.grpc.common.OpType;
+import org.apache.hugegraph.store.grpc.common.ResCode;
+import org.apache.hugegraph.store.grpc.common.ResStatus;
+import org.apache.hugegraph.store.grpc.session.BatchEntry;
+import org.apache.hugegraph.store.grpc.session.FeedbackRes;
+import org.apache.hugegraph.store.grpc.session.PartitionFaultResponse;
+import org.apache.hugegraph.store.grpc.session.PartitionFaultType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GrpcBatchPipelineTest {
+
+    private static final int COMMITS = 64;
+
+    @Test
+    public void testMergeCommits() throws Exception {
+        GrpcBatchPipeline pipeline = new GrpcBatchPipeline(2, 1000);
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger entries = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<FeedbackRes>> results = new ArrayList<>();
+            for (int i = 0; i < COMMITS; i++) {
+                results.add(executor.submit(() -> pipeline.commit(entries(2), batch -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    requests.incrementAndGet();
+                    entries.addAndGet(batch.size());
+                    sleep();
+                    inFlight.decrementAndGet();
+                    return FeedbackRes.getDefaultInstance();
+                })));
+            }
+            for (Future<FeedbackRes> result : results) {
+                Assert.assertNotNull(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(COMMITS * 2, entries.get());
+        Assert.assertTrue(requests.get() < COMMITS);
+        Assert.assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void testMaxEntries() {
+        GrpcBatchPipeline pipeline = new GrpcBatchPipeline(1, 1);
+        // A commit larger than the max entries is sent alone
+        FeedbackRes res = pipeline.commit(entries(3), batch -> {
+            Assert.assertEquals(3, batch.size());
+            return FeedbackRes.getDefaultInstance();
+        });
+        Assert.assertNotNull(res);
+    }
+
+    @Test
+    public void testFailedRequest() {
+        GrpcBatchPipeline pipeline = new GrpcBatchPipeline(1, 1000);
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            pipeline.commit(entries(1), batch -> {
+                throw new IllegalStateException("failed");
+            });
+        });
+        // The pipeline is still available after the failure
+        Assert.assertNotNull(pipeline.commit(entries(1),
+                                             batch -> FeedbackRes.getDefaultInstance()));
+    }
+
+    @Test
+    public void testNotResendFailedMergedCommits() throws Exception {
+        // The requests with the DEL entries fail
+        List<Integer> requests = Collections.synchronizedList(new ArrayList<>());
+        FeedbackRes[] results = this.commitMerged(requests, batch -> {
+            boolean failed = batch.stream().anyMatch(
+                    e -> e.getOpType() == OpType.OP_TYPE_DEL);
+            return failed ? response(ResCode.RES_CODE_FAIL) :
+                   FeedbackRes.getDefaultInstance();
+        });
+
+        // Some entries may have been applied, so the commits are not resent
+        Assert.assertEquals(Arrays.asList(1, 5), requests);
+        Assert.assertEquals(ResCode.RES_CODE_FAIL, results[0].getStatus().getCode());
+        Assert.assertEquals(ResCode.RES_CODE_FAIL, results[1].getStatus().getCode());
+    }
+
+    @Test
+    public void testNotResendMergedPartitionFault() throws Exception {
+        List<Integer> requests = Collections.synchronizedList(new ArrayList<>());
+        PartitionFaultType type = PartitionFaultType.PARTITION_FAULT_TYPE_NOT_LEADER;
+        PartitionFaultResponse notLeader = PartitionFaultResponse.newBuilder()
+                                                                 .setFaultType(type)
+                                                                 .build();
+        FeedbackRes fault = response(ResCode.RES_CODE_FAIL).toBuilder()
+                                                            .setPartitionFaultResponse(notLeader)
+                                                            .build();
+        FeedbackRes[] results = this.commitMerged(requests, batch -> fault);
+
+        // The partition fault is shared by the merged commits
+        Assert.assertEquals(Arrays.asList(1, 5), requests);
+        Assert.assertSame(fault, results[0]);
+        Assert.assertSame(fault, results[1]);
+    }
+
+    /**
+     * Commit 2 DEL entries and 3 PUT entries in 2 commits merged into one
+     * request, after a commit of 1 entry which holds the only request slot
+     */
+    private FeedbackRes[] commitMerged(List<Integer> requests,
+                                       Function<List<BatchEntry>, FeedbackRes> handler)
+            throws Exception {
+        GrpcBatchPipeline pipeline = new GrpcBatchPipeline(1, 1000);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<List<BatchEntry>, FeedbackRes> sender = batch -> {
+            requests.add(batch.size());
+            if (requests.size() == 1) {
+                try {
+                    Assert.assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return FeedbackRes.getDefaultInstance();
+            }
+            return handler.apply(batch);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<FeedbackRes> first = executor.submit(
+                    () -> pipeline.commit(entries(1), sender));
+            while (requests.isEmpty()) {
+                Thread.sleep(1);
+            }
+            List<BatchEntry> deletions = new ArrayList<>(entries(2));
+            deletions.replaceAll(e -> e.toBuilder().setOpType(OpType.OP_TYPE_DEL).build());
+            Future<FeedbackRes> deleted = executor.submit(
+                    () -> pipeline.commit(deletions, sender));
+            while (queued(pipeline) < 1) {
+                Thread.sleep(1);
+            }
+            Future<FeedbackRes> put = executor.submit(
+                    () -> pipeline.commit(entries(3), sender));
+            while (queued(pipeline) < 2) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Assert.assertNotNull(first.get(10, TimeUnit.SECONDS));
+            return new FeedbackRes[]{deleted.get(10, TimeUnit.SECONDS),
+                                     put.get(10, TimeUnit.SECONDS)};
+        } catch (ExecutionException e) {
+            throw new AssertionError(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int queued(GrpcBatchPipeline pipeline) throws Exception {
+        Field field = GrpcBatchPipeline.class.getDeclaredField("commits");
+        field.setAccessible(true);
+        return ((Queue<?>) field.get(pipeline)).size();
+    }
+
+    private static FeedbackRes response(ResCode code) {
+        return FeedbackRes.newBuilder()
+                          .setStatus(ResStatus.newBuilder().setCode(code))
+                          .build();
+    }
+
+    private static List<BatchEntry> entries(int size) {
+        BatchEntry entry = BatchEntry.newBuilder().setOpType(OpType.OP_TYPE_PUT).build();
+        return new ArrayList<>(Collections.nCopies(size, entry));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
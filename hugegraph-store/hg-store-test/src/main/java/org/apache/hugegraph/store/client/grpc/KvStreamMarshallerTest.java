@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.client.grpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.hugegraph.store.grpc.stream.HgStoreStreamGrpc;
+import org.apache.hugegraph.store.grpc.stream.KvStream;
+import org.apache.hugegraph.store.grpc.stream.KvStreamMarshaller;
+import org.apache.hugegraph.store.grpc.stream.KvStreamType;
+import org.apache.hugegraph.store.grpc.stream.ScanStreamBatchReq;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.grpc.Drainable;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+public class KvStreamMarshallerTest {
+
+    private static final KvStreamMarshaller MARSHALLER = KvStreamMarshaller.instance();
+
+    @Test
+    public void testStream() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        KvStream value = page(ByteBuffer.wrap(data(1024)), completed);
+        byte[] expected = value.toByteArray();
+        Assert.assertEquals(1, completed.get());
+
+        ByteArrayOutputStream drained = new ByteArrayOutputStream();
+        InputStream stream = MARSHALLER.stream(value);
+        Assert.assertEquals(expected.length, stream.available());
+        Assert.assertEquals(expected.length, ((Drainable) stream).drainTo(drained));
+        Assert.assertArrayEquals(expected, drained.toByteArray());
+        // The page is returned to the pool once written
+        Assert.assertEquals(2, completed.get());
+
+        // Read by the transport without draining
+        Assert.assertArrayEquals(expected, MARSHALLER.stream(value).readAllBytes());
+    }
+
+    @Test
+    public void testParse() {
+        KvStream value = page(ByteBuffer.wrap(data(1024)), null);
+        KvStream parsed = MARSHALLER.parse(new ByteArrayInputStream(value.toByteArray()));
+        assertPage(value, parsed);
+    }
+
+    @Test
+    public void testWriteDirectPage() throws Exception {
+        // The pooled page is larger than the entries written into it
+        byte[] data = data(1024);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096).put(data).flip();
+        KvStream value = page(buffer, null);
+
+        KvStream parsed = KvStream.parseFrom(value.toByteArray());
+        Assert.assertEquals(ByteBuffer.wrap(data), parsed.getStream());
+        parsed = MARSHALLER.parse(MARSHALLER.stream(value));
+        Assert.assertEquals(ByteBuffer.wrap(data), parsed.getStream());
+    }
+
+    @Test
+    public void testScanLargePage() throws Exception {
+        // The page is received in many frames of the transport
+        byte[] data = data(1024 * 1024 + 7);
+        AtomicInteger completed = new AtomicInteger();
+        Server server = ServerBuilder.forPort(0).addService(
+                new HgStoreStreamGrpc.HgStoreStreamImplBase() {
+                    @Override
+                    public StreamObserver<ScanStreamBatchReq> scanBatch2(
+                            StreamObserver<KvStream> observer) {
+                        return new Receiver<>(req -> {
+                            observer.onNext(page(ByteBuffer.wrap(data), completed));
+                            observer.onCompleted();
+                        });
+                    }
+                }).build().start();
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("127.0.0.1",
+                                                                  server.getPort())
+                                                      .usePlaintext()
+                                                      .maxInboundMessageSize(4 * data.length)
+                                                      .build();
+        try {
+            CompletableFuture<KvStream> received = new CompletableFuture<>();
+            StreamObserver<ScanStreamBatchReq> requests =
+                    HgStoreStreamGrpc.newStub(channel).scanBatch2(new StreamObserver<>() {
+                        @Override
+                        public void onNext(KvStream value) {
+                            received.complete(value);
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            received.completeExceptionally(t);
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            received.completeExceptionally(
+                                    new IllegalStateException("No page received"));
+                        }
+                    });
+            requests.onNext(ScanStreamBatchReq.getDefaultInstance());
+
+            KvStream parsed = received.get(30, TimeUnit.SECONDS);
+            requests.onCompleted();
+            assertPage(page(ByteBuffer.wrap(data), null), parsed);
+            Assert.assertEquals(1, completed.get());
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    private static KvStream page(ByteBuffer stream, AtomicInteger completed) {
+        KvStream.Builder builder = KvStream.newBuilder()
+                                           .setSeqNo(7)
+                                           .setVersion(1)
+                                           .setType(KvStreamType.STREAM_TYPE_KV)
+                                           .setStream(stream);
+        if (completed != null) {
+            builder.complete(e -> completed.incrementAndGet());
+        }
+        return builder.build();
+    }
+
+    private static void assertPage(KvStream expected, KvStream actual) {
+        Assert.assertEquals(expected.getSeqNo(), actual.getSeqNo());
+        Assert.assertEquals(expected.getOver(), actual.getOver());
+        Assert.assertEquals(expected.getVersion(), actual.getVersion());
+        Assert.assertEquals(expected.getType(), actual.getType());
+        Assert.assertEquals(expected.getStream(), actual.getStream());
+    }
+
+    private static class Receiver<T> implements StreamObserver<T> {
+
+        private final Consumer<T> consumer;
+
+        Receiver(Consumer<T> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onNext(T value) {
+            this.consumer.accept(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // pass
+        }
+
+        @Override
+        public void onCompleted() {
+            // pass
+        }
+    }
+}
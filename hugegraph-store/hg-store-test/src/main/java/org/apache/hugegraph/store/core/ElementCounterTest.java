@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.rocksdb.access.RocksDBSession.BackendColumn;
+import org.apache.hugegraph.store.business.BusinessHandler;
+import org.apache.hugegraph.store.business.ElementCounter;
+import org.apache.hugegraph.store.util.HgStoreException;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.junit.Test;
+
+public class ElementCounterTest {
+
+    @Test
+    public void testCountByLabel() {
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        query.eq(HugeKeys.LABEL, IdGenerator.of(2L));
+        assertEquals(1L, count(query));
+
+        query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.or(Condition.eq(HugeKeys.LABEL, IdGenerator.of(1L)),
+                                 Condition.eq(HugeKeys.LABEL, IdGenerator.of(2L))));
+        assertEquals(4L, count(query));
+
+        query = new ConditionQuery(HugeType.VERTEX);
+        query.eq(HugeKeys.LABEL, IdGenerator.of(3L));
+        assertEquals(0L, count(query));
+    }
+
+    @Test
+    public void testCountByProperty() {
+        // The store has no schema to parse the properties
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.eq(IdGenerator.of(1L), 10));
+        assertThrows(HgStoreException.class,
+                     () -> new ElementCounter(BusinessHandler.tableVertex, query.bytes()));
+    }
+
+    private static long count(ConditionQuery query) {
+        ElementCounter counter = new ElementCounter(BusinessHandler.tableVertex,
+                                                    query.bytes());
+        counter.add(vertex(1L, 1L));
+        counter.add(vertex(2L, 1L));
+        counter.add(vertex(3L, 1L));
+        counter.add(vertex(4L, 2L));
+        return counter.count();
+    }
+
+    private static BackendColumn vertex(long id, long label) {
+        BytesBuffer key = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+        key.writeId(IdGenerator.of(id));
+
+        // vertex-label + properties
+        BytesBuffer value = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+        value.writeId(IdGenerator.of(label));
+        value.writeVInt(0);
+        return BackendColumn.of(key.bytes(), value.bytes());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.hugegraph.pd.grpc.Metapb;
+import org.apache.hugegraph.store.metric.HgKeyAccessSampler;
+import org.junit.Test;
+
+public class KeyAccessSamplerTest {
+
+    @Test
+    public void testHotRanges() {
+        HgKeyAccessSampler sampler = HgKeyAccessSampler.getInstance();
+        String graph = "sampler_test/g";
+        for (int i = 0; i < 16000; i++) {
+            // The celebrity vertex of code 403
+            sampler.sample(graph, 403);
+            sampler.sample(graph, i % 1024);
+        }
+
+        List<Metapb.HotRange> ranges = sampler.hotRanges(graph, 0, 1024);
+        long total = 0L;
+        Metapb.HotRange hottest = null;
+        for (Metapb.HotRange range : ranges) {
+            assertEquals(graph, range.getGraphName());
+            assertTrue(range.getStartKey() < range.getEndKey());
+            total += range.getAccesses();
+            if (hottest == null || range.getAccesses() > hottest.getAccesses()) {
+                hottest = range;
+            }
+        }
+        // One of 16 accesses is sampled
+        assertTrue(total > 1000L && total < 3000L);
+        // The hot bucket is reported as a separate range
+        assertEquals(400L, hottest.getStartKey());
+        assertEquals(416L, hottest.getEndKey());
+
+        // The ranges of other partitions
+        assertTrue(sampler.hotRanges(graph, 1024, 2048).isEmpty());
+        assertTrue(sampler.hotRanges("sampler_test/none", 0, 1024).isEmpty());
+
+        // Decayed by half each heartbeat
+        long accesses = hottest.getAccesses();
+        sampler.decay();
+        for (Metapb.HotRange range : sampler.hotRanges(graph, 0, 1024)) {
+            if (range.getStartKey() == 400L) {
+                assertEquals(accesses / 2, range.getAccesses());
+            }
+        }
+    }
+
+    @Test
+    public void testKeysReadAndWritten() {
+        HgKeyAccessSampler sampler = HgKeyAccessSampler.getInstance();
+        String graph = "sampler_test/keys";
+        sampler.takeKeysRead();
+        sampler.takeKeysWritten();
+        for (int i = 0; i < 100; i++) {
+            sampler.read(graph, i);
+        }
+        for (int i = 0; i < 30; i++) {
+            sampler.write(graph, i);
+        }
+
+        // All the keys are counted, and reset after taken
+        assertEquals(100L, sampler.takeKeysRead());
+        assertEquals(30L, sampler.takeKeysWritten());
+        assertEquals(0L, sampler.takeKeysRead());
+        assertEquals(0L, sampler.takeKeysWritten());
+    }
+}
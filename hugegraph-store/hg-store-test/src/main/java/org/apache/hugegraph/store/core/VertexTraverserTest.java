@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hugegraph.store.core;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.pd.common.PartitionUtils;
+import org.apache.hugegraph.store.business.BusinessHandler;
+import org.apache.hugegraph.store.grpc.common.Header;
+import org.apache.hugegraph.store.grpc.session.Frontier;
+import org.apache.hugegraph.store.grpc.session.TraverseDirection;
+import org.apache.hugegraph.store.grpc.session.TraverseReq;
+import org.apache.hugegraph.store.grpc.session.TraverseRes;
+import org.apache.hugegraph.store.grpc.session.TraverseStep;
+import org.apache.hugegraph.store.util.HgStoreException;
+import org.apache.hugegraph.type.HugeType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+
+public class VertexTraverserTest extends StoreEngineTestBase {
+
+    private static final String GRAPH = "traverse-graph";
+    private static final String NEAREST_GRAPH = "traverse-nearest-graph";
+
+    @Test
+    public void testTraverse() {
+        createPartitionEngine(0, GRAPH);
+        BusinessHandler handler = getStoreEngine().getBusinessHandler();
+        putEdge(handler, GRAPH, 1L, 1L, 2L);
+        putEdge(handler, GRAPH, 1L, 1L, 3L);
+        putEdge(handler, GRAPH, 1L, 2L, 4L);
+        putEdge(handler, GRAPH, 2L, 1L, 5L);
+        putEdge(handler, GRAPH, 3L, 1L, 5L);
+        putEdge(handler, GRAPH, 3L, 1L, 6L);
+
+        TraverseRes res = handler.traverse(request(GRAPH, 0L, false, 0L));
+        Assert.assertEquals(ids(5L, 6L), new HashSet<>(res.getIdsList()));
+        Assert.assertEquals(0, res.getForwardsCount());
+
+        // One edge of each vertex in the last step
+        res = handler.traverse(request(GRAPH, 1L, false, 0L));
+        Assert.assertEquals(ids(5L), new HashSet<>(res.getIdsList()));
+
+        // The vertex left by the limit is returned to be expanded again
+        res = handler.traverse(request(GRAPH, 0L, false, 1L));
+        Assert.assertEquals(ids(5L), new HashSet<>(res.getIdsList()));
+        Assert.assertEquals(1, res.getForwardsCount());
+        Assert.assertEquals(1, res.getForwards(0).getStep());
+        Assert.assertEquals(ids(3L), new HashSet<>(res.getForwards(0).getIdsList()));
+    }
+
+    @Test
+    public void testTraverseNearest() {
+        createPartitionEngine(0, NEAREST_GRAPH);
+        BusinessHandler handler = getStoreEngine().getBusinessHandler();
+        putEdge(handler, NEAREST_GRAPH, 1L, 1L, 2L);
+        putEdge(handler, NEAREST_GRAPH, 1L, 1L, 3L);
+        putEdge(handler, NEAREST_GRAPH, 2L, 1L, 1L);
+        putEdge(handler, NEAREST_GRAPH, 2L, 1L, 3L);
+        putEdge(handler, NEAREST_GRAPH, 3L, 1L, 5L);
+
+        // The frontier of the next level is kept by the store
+        TraverseReq request = request(NEAREST_GRAPH, 0L, true, 1L).toBuilder()
+                                                                   .setId("t1").build();
+        TraverseRes res = handler.traverse(request);
+        Assert.assertEquals(0, res.getIdsCount());
+        Assert.assertEquals(0, res.getForwardsCount());
+        Assert.assertEquals(2L, res.getFrontier());
+        Assert.assertEquals(3L, res.getVisited());
+
+        // The visited vertices 1 and 3 are skipped before the limit
+        res = handler.traverse(request.toBuilder().clearFrontier().setLevel(1).build());
+        Assert.assertEquals(ids(5L), new HashSet<>(res.getIdsList()));
+        Assert.assertEquals(0L, res.getFrontier());
+        Assert.assertEquals(4L, res.getVisited());
+
+        // The level not matched with the kept frontier
+        handler.traverse(request.toBuilder().setId("t2").build());
+        Assert.assertThrows(HgStoreException.class, () -> {
+            handler.traverse(request.toBuilder().clearFrontier().setId("t2").setLevel(2)
+                                    .build());
+        });
+        res = handler.traverse(request.toBuilder().clearFrontier().setId("t2")
+                                      .setRelease(true).build());
+        Assert.assertEquals(0L, res.getVisited());
+        res = handler.traverse(request.toBuilder().clearFrontier().setId("t2").setLevel(1)
+                                      .build());
+        Assert.assertEquals(0, res.getIdsCount());
+        Assert.assertEquals(0L, res.getVisited());
+    }
+
+    private static TraverseReq request(String graph, long degree, boolean nearest, long limit) {
+        TraverseStep step = TraverseStep.newBuilder()
+                                        .setDirection(TraverseDirection.TRAVERSE_OUT)
+                                        .addLabels(1L)
+                                        .build();
+        return TraverseReq.newBuilder()
+                          .setHeader(Header.newBuilder().setGraph(graph))
+                          .addSteps(step)
+                          .addSteps(step.toBuilder().setDegree(degree))
+                          .addFrontier(Frontier.newBuilder()
+                                               .setStep(0)
+                                               .addIds(id(1L))
+                                               .addCodes(code(1L)))
+                          .setNearest(nearest)
+                          .setLimit(limit)
+                          .build();
+    }
+
+    private static void putEdge(BusinessHandler handler, String graph, long owner, long label,
+                                long other) {
+        Id ownerId = IdGenerator.of(owner);
+        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+        buffer.writeId(ownerId);
+        buffer.write(HugeType.EDGE_OUT.code());
+        buffer.writeId(IdGenerator.of(label));
+        buffer.writeId(IdGenerator.of(label));
+        buffer.writeStringWithEnding("");
+        buffer.writeId(IdGenerator.of(other));
+        handler.doPut(graph, code(owner), BusinessHandler.tableOutEdge, buffer.bytes(),
+                      new byte[0]);
+    }
+
+    private static ByteString id(long id) {
+        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+        buffer.writeId(IdGenerator.of(id));
+        return ByteString.copyFrom(buffer.bytes());
+    }
+
+    private static Set<ByteString> ids(long... ids) {
+        Set<ByteString> results = new HashSet<>();
+        for (long id : ids) {
+            results.add(id(id));
+        }
+        return results;
+    }
+
+    private static int code(long id) {
+        return PartitionUtils.calcHashcode(IdGenerator.of(id).asBytes());
+    }
+}
@@ -24,6 +24,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.hugegraph.store.raft.BatchableTaskHandler;
 import org.apache.hugegraph.store.raft.HgStoreStateMachine;
 import org.apache.hugegraph.store.raft.RaftClosure;
 import org.apache.hugegraph.store.raft.RaftOperation;
@@ -173,6 +174,132 @@ public class HgStoreStateMachineTest {
         // Verify the results
     }
 
+    @Test
+    public void testOnApplyBatch() {
+        final byte batchOp = 1;
+        final byte otherOp = 2;
+        List<String> calls = new ArrayList<>();
+        hgStoreStateMachineUnderTest.addTaskHandler(batchHandler(batchOp, calls));
+
+        List<Status> statuses = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (byte op : new byte[]{batchOp, batchOp, batchOp, otherOp, batchOp}) {
+            tasks.add(task(RaftOperation.create(op), statuses));
+        }
+        // Applied by a follower
+        tasks.get(4).setDone(null);
+
+        hgStoreStateMachineUnderTest.onApply(iterator(tasks));
+
+        assertEquals(List.of("batch:3", "one:" + otherOp, "one:" + batchOp), calls);
+        assertEquals(4, statuses.size());
+        assertEquals(5L, hgStoreStateMachineUnderTest.getCommittedIndex());
+    }
+
+    @Test
+    public void testOnApplyBatchLimitedByBytes() {
+        final byte batchOp = 1;
+        List<String> calls = new ArrayList<>();
+        hgStoreStateMachineUnderTest.addTaskHandler(batchHandler(batchOp, calls));
+
+        List<Status> statuses = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        // The operations of 1.5MB, at most 2 of them are applied together
+        for (int i = 0; i < 5; i++) {
+            byte[] values = new byte[1536 * 1024];
+            values[0] = batchOp;
+            tasks.add(task(RaftOperation.create(batchOp, values, values), statuses));
+        }
+
+        hgStoreStateMachineUnderTest.onApply(iterator(tasks));
+
+        assertEquals(List.of("batch:2", "batch:2", "one:" + batchOp), calls);
+        assertEquals(5, statuses.size());
+        assertEquals(5L, hgStoreStateMachineUnderTest.getCommittedIndex());
+    }
+
+    private static BatchableTaskHandler batchHandler(byte batchOp, List<String> calls) {
+        return new BatchableTaskHandler() {
+            @Override
+            public boolean invoke(int groupId, byte[] request, RaftClosure response) {
+                calls.add("one:" + request[0]);
+                return true;
+            }
+
+            @Override
+            public boolean invoke(int groupId, byte methodId, Object req,
+                                  RaftClosure response) {
+                calls.add("one:" + methodId);
+                return true;
+            }
+
+            @Override
+            public boolean batchable(byte methodId) {
+                return methodId == batchOp;
+            }
+
+            @Override
+            public Object parse(byte methodId, byte[] request) {
+                return request;
+            }
+
+            @Override
+            public boolean invoke(int groupId, byte methodId, List<Object> reqs,
+                                  List<RaftClosure> responses) {
+                calls.add("batch:" + reqs.size());
+                return true;
+            }
+        };
+    }
+
+    private static Task task(RaftOperation operation, List<Status> statuses) {
+        Task task = new Task();
+        task.setData(ByteBuffer.wrap(operation.getValues()));
+        task.setDone(new HgStoreStateMachine.RaftClosureAdapter(operation, statuses::add));
+        return task;
+    }
+
+    private static Iterator iterator(List<Task> tasks) {
+        return new Iterator() {
+            int index = 0;
+
+            @Override
+            public ByteBuffer getData() {
+                return tasks.get(index).getData();
+            }
+
+            @Override
+            public long getIndex() {
+                return index + 1;
+            }
+
+            @Override
+            public long getTerm() {
+                return 1;
+            }
+
+            @Override
+            public Closure done() {
+                return tasks.get(index).getDone();
+            }
+
+            @Override
+            public void setErrorAndRollback(long ntail, Status st) {
+
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < tasks.size();
+            }
+
+            @Override
+            public ByteBuffer next() {
+                return tasks.get(index++).getData();
+            }
+        };
+    }
+
     @Test
     public void testGetLeaderTerm() {
         // Setup
@@ -17,10 +17,17 @@
 
 package org.apache.hugegraph.store.rocksdb;
 
+import java.util.Map;
+
+import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.rocksdb.access.RocksDBFactory;
+import org.apache.hugegraph.rocksdb.access.RocksDBOptions;
 import org.apache.hugegraph.rocksdb.access.RocksDBSession;
 import org.apache.hugegraph.rocksdb.access.SessionOperator;
+import org.junit.Assert;
 import org.junit.Test;
+import org.rocksdb.LRUCache;
+import org.rocksdb.MemoryUsageType;
 
 public class RocksDBFactoryTest extends BaseRocksDbTest {
     @Test
@@ -40,6 +47,31 @@ public class RocksDBFactoryTest extends BaseRocksDbTest {
         factory.destroyGraphDB("test1");
     }
 
+    @Test
+    public void testPartitionResources() {
+        RocksDBFactory factory = RocksDBFactory.getInstance();
+        HugeConfig config = factory.getHugeConfig();
+        config.setProperty(RocksDBOptions.PARTITION_WRITE_BUFFER_SIZE.name(), 8L * 1024 * 1024);
+        config.setProperty(RocksDBOptions.PARTITION_COMPACTION_RATE_LIMIT.name(), 64L * 1024 * 1024);
+        config.setProperty(RocksDBOptions.WRITE_CACHE, new LRUCache(64L * 1024 * 1024));
+        try (RocksDBSession dbSession = factory.createGraphDB("./tmp", "test2")) {
+            SessionOperator op = dbSession.sessionOp();
+            op.prepare();
+            op.put("tbl", "k1".getBytes(), "v1".getBytes());
+            op.commit();
+
+            Map<MemoryUsageType, Long> usage =
+                    factory.getApproximateMemoryUsageByDb().get("test2");
+            Assert.assertNotNull(usage);
+            Assert.assertTrue(usage.get(MemoryUsageType.kMemTableTotal) > 0);
+        } finally {
+            config.clearProperty(RocksDBOptions.PARTITION_WRITE_BUFFER_SIZE.name());
+            config.clearProperty(RocksDBOptions.PARTITION_COMPACTION_RATE_LIMIT.name());
+            config.clearProperty(RocksDBOptions.WRITE_CACHE);
+            factory.destroyGraphDB("test2");
+        }
+    }
+
     @Test
     public void testTotalKeys() {
         RocksDBFactory dbFactory = RocksDBFactory.getInstance();